@@ -0,0 +1,183 @@
+package com.tecknobit.krakenmanager.benchmarks;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * The {@code BenchmarkPayloads} class is useful to create the responses used by the benchmarks and by the
+ * {@link com.tecknobit.krakenmanager.replay.KrakenReplayServer} <br>
+ * The responses have the same shape, the same number formats and the same sizes of the ones captured from Kraken, and
+ * are generated with a seed given by their size, so the same response is always created and the results of different
+ * releases can be compared
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ */
+public final class BenchmarkPayloads {
+
+    /**
+     * {@code TIME} is the timestamp, in seconds, of the last value of the responses
+     */
+    public static final long TIME = 1688671200L;
+
+    /**
+     * {@code SYMBOL} is the pair of the responses
+     */
+    public static final String SYMBOL = "XXBTZUSD";
+
+    /**
+     * Constructor to avoid the instantiation of a {@link BenchmarkPayloads} <br>
+     * No-any params required
+     */
+    private BenchmarkPayloads() {
+    }
+
+    /**
+     * Method to create a response of the {@code "OHLC"} endpoint
+     *
+     * @param size: number of the ticks, Kraken sends up to 720 ticks
+     * @return response as {@link String}
+     */
+    public static String ohlc(int size) {
+        Random random = new Random(size);
+        long start = TIME - (size - 1) * 60L;
+        StringBuilder ohlc = new StringBuilder(size * 96).append("{\"error\":[],\"result\":{\"").append(SYMBOL)
+                .append("\":[");
+        double price = 30000;
+        for (int j = 0; j < size; j++) {
+            double open = price;
+            price = Math.max(1, price + (random.nextDouble() - 0.5) * 60);
+            if (j > 0)
+                ohlc.append(',');
+            ohlc.append('[').append(start + j * 60L).append(",\"").append(price(open)).append("\",\"")
+                    .append(price(Math.max(open, price) + 5)).append("\",\"")
+                    .append(price(Math.min(open, price) - 5)).append("\",\"").append(price(price))
+                    .append("\",\"").append(price((open + price) / 2)).append("\",\"")
+                    .append(format("%.8f", random.nextDouble() * 10)).append("\",")
+                    .append(random.nextInt(100)).append(']');
+        }
+        return ohlc.append("],\"last\":").append(TIME).append("}}").toString();
+    }
+
+    /**
+     * Method to create a response of the {@code "Depth"} endpoint
+     *
+     * @param size: number of the levels of each side, Kraken sends up to 500 levels
+     * @return response as {@link String}
+     */
+    public static String depth(int size) {
+        Random random = new Random(size);
+        StringBuilder depth = new StringBuilder(size * 80).append("{\"error\":[],\"result\":{\"").append(SYMBOL)
+                .append("\":{\"asks\":[");
+        appendBookSide(depth, random, size, 30000.1, 0.1);
+        depth.append("],\"bids\":[");
+        appendBookSide(depth, random, size, 30000, -0.1);
+        return depth.append("]}}}").toString();
+    }
+
+    /**
+     * Method to append the levels of a side of a book
+     *
+     * @param depth:  builder of the book
+     * @param random: random used to create the volumes
+     * @param size:   number of the levels
+     * @param price:  price of the first level
+     * @param step:   step between the prices of the levels
+     */
+    private static void appendBookSide(StringBuilder depth, Random random, int size, double price, double step) {
+        for (int j = 0; j < size; j++) {
+            if (j > 0)
+                depth.append(',');
+            depth.append("[\"").append(price(price + j * step)).append("\",\"")
+                    .append(format("%.3f", random.nextDouble() * 5)).append("\",")
+                    .append(TIME - random.nextInt(600)).append(']');
+        }
+    }
+
+    /**
+     * Method to create a response of the {@code "Trades"} endpoint
+     *
+     * @param size: number of the trades, Kraken sends up to 1000 trades
+     * @return response as {@link String}
+     */
+    public static String trades(int size) {
+        Random random = new Random(size);
+        StringBuilder trades = new StringBuilder(size * 80).append("{\"error\":[],\"result\":{\"").append(SYMBOL)
+                .append("\":[");
+        double price = 30000;
+        for (int j = 0; j < size; j++) {
+            price = Math.max(1, price + (random.nextDouble() - 0.5) * 10);
+            if (j > 0)
+                trades.append(',');
+            trades.append("[\"").append(price(price)).append("\",\"")
+                    .append(format("%.8f", random.nextDouble())).append("\",")
+                    .append(TIME - size + j).append('.').append(format("%07d", random.nextInt(10000000)))
+                    .append(",\"").append(random.nextBoolean() ? 'b' : 's').append("\",\"")
+                    .append(random.nextBoolean() ? 'l' : 'm').append("\",\"\",").append(61044952 + j)
+                    .append(']');
+        }
+        return trades.append("],\"last\":\"").append(TIME).append("993150842\"}}").toString();
+    }
+
+    /**
+     * Method to create a response of the {@code "Ledgers"} endpoint
+     *
+     * @param size: number of the ledgers, Kraken sends up to 50 ledgers
+     * @return response as {@link String}
+     */
+    public static String ledgers(int size) {
+        Random random = new Random(size);
+        StringBuilder ledgers = new StringBuilder(size * 240).append("{\"error\":[],\"result\":{\"ledger\":{");
+        double balance = 10000;
+        for (int j = 0; j < size; j++) {
+            double amount = (random.nextDouble() - 0.5) * 100;
+            balance += amount;
+            if (j > 0)
+                ledgers.append(',');
+            ledgers.append("\"L").append(format("%05d", j)).append("-KG3EQ-UFO4T5\":{\"refid\":\"T")
+                    .append(format("%05d", j)).append("-PGMUI-4NTLXU\",\"time\":").append(TIME - j * 3600L)
+                    .append(".1787,\"type\":\"trade\",\"subtype\":\"\",\"aclass\":\"currency\",\"asset\":\"ZUSD\"," +
+                            "\"amount\":\"").append(format("%.4f", amount)).append("\",\"fee\":\"")
+                    .append(format("%.4f", Math.abs(amount) * 0.0026)).append("\",\"balance\":\"")
+                    .append(format("%.4f", balance)).append("\"}");
+        }
+        return ledgers.append("},\"count\":").append(size).append("}}").toString();
+    }
+
+    /**
+     * Method to create a response with errors
+     *
+     * @param errors: errors of the response es. EAPI:Rate limit exceeded
+     * @return response as {@link String}
+     */
+    public static String errors(String... errors) {
+        StringBuilder response = new StringBuilder("{\"error\":[");
+        for (int j = 0; j < errors.length; j++) {
+            if (j > 0)
+                response.append(',');
+            response.append('"').append(errors[j]).append('"');
+        }
+        return response.append("]}").toString();
+    }
+
+    /**
+     * Method to format a price as Kraken does
+     *
+     * @param price: price to format
+     * @return price formatted as {@link String} es. 30306.10000
+     */
+    private static String price(double price) {
+        return format("%.5f", price);
+    }
+
+    /**
+     * Method to format a value independently of the default locale
+     *
+     * @param format: format of the value
+     * @param value:  value to format
+     * @return value formatted as {@link String}
+     */
+    private static String format(String format, Object value) {
+        return String.format(Locale.ROOT, format, value);
+    }
+
+}
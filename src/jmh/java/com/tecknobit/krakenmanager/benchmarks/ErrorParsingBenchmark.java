@@ -0,0 +1,144 @@
+package com.tecknobit.krakenmanager.benchmarks;
+
+import com.tecknobit.krakenmanager.KrakenError;
+import com.tecknobit.krakenmanager.KrakenManager.KrakenPayload;
+import com.tecknobit.krakenmanager.KrakenManager.KrakenResponse;
+import com.tecknobit.krakenmanager.KrakenResult;
+import com.tecknobit.krakenmanager.transport.KrakenJsonReader;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The {@code ErrorParsingBenchmark} class is useful to measure the cost of reading the errors of a response, that is
+ * paid on each request refused by Kraken, es. while the rate limits are exceeded
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote run it with {@code "gradle jmh"}, the allocation rate of each parsing is reported by the gc profiler
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorParsingBenchmark {
+
+    /**
+     * {@code ERRORS} are the errors sent by the responses
+     */
+    private static final String[] ERRORS = {"EAPI:Rate limit exceeded", "EOrder:Insufficient funds",
+            "EGeneral:Invalid arguments:volume", "EOrder:Orders limit exceeded", "EService:Unavailable"};
+
+    /**
+     * {@code errors} is the number of the errors of the response
+     */
+    @Param({"1", "5"})
+    private int errors;
+
+    /**
+     * {@code response} is the response with the errors
+     */
+    private String response;
+
+    /**
+     * {@code responseBytes} is the response with the errors as sent by Kraken
+     */
+    private byte[] responseBytes;
+
+    /**
+     * Method to set up the response of the benchmarks <br>
+     * No-any params required
+     */
+    @Setup
+    public void setUp() {
+        response = BenchmarkPayloads.errors(Arrays.copyOf(ERRORS, errors));
+        responseBytes = response.getBytes(UTF_8);
+    }
+
+    /**
+     * Method to read the errors with a {@link KrakenPayload}, as the managers do <br>
+     * No-any params required
+     *
+     * @return errors of the response as {@link String}
+     */
+    @Benchmark
+    public String payloadErrors() {
+        try {
+            return new KrakenPayload(response).getBody();
+        } catch (IOException e) {
+            return e.getMessage();
+        }
+    }
+
+    /**
+     * Method to read the errors with a {@link KrakenResponse} <br>
+     * No-any params required
+     *
+     * @return errors of the response as array of {@link String}
+     */
+    @Benchmark
+    public String[] responseErrors() {
+        return new KrakenResponse(new JSONObject(response)).getErrors();
+    }
+
+    /**
+     * Method to read the errors from the stream of the response, as the managers do with the large responses <br>
+     * No-any params required
+     *
+     * @return errors of the response as {@link String}
+     */
+    @Benchmark
+    public String streamErrors() throws IOException {
+        JSONArray jErrors = new JSONArray();
+        try (KrakenJsonReader reader = new KrakenJsonReader(new ByteArrayInputStream(responseBytes))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName().equals("error")) {
+                    reader.beginArray();
+                    while (reader.hasNext())
+                        jErrors.put(reader.nextString());
+                    reader.endArray();
+                } else
+                    reader.skipValue();
+            }
+            reader.endObject();
+        }
+        return jErrors.toString();
+    }
+
+    /**
+     * Method to read the errors from the stream of the response into a {@link KrakenResult}, as the managers do with
+     * the requests that do not throw exceptions <br>
+     * No-any params required
+     *
+     * @return first error of the response as {@link KrakenError}
+     */
+    @Benchmark
+    public KrakenError resultErrors() throws IOException {
+        ArrayList<String> rawErrors = new ArrayList<>(1);
+        try (KrakenJsonReader reader = new KrakenJsonReader(new ByteArrayInputStream(responseBytes))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName().equals("error")) {
+                    reader.beginArray();
+                    while (reader.hasNext())
+                        rawErrors.add(reader.nextString());
+                    reader.endArray();
+                } else
+                    reader.skipValue();
+            }
+            reader.endObject();
+        }
+        return KrakenResult.failure(400, rawErrors).getError();
+    }
+
+}
@@ -0,0 +1,152 @@
+package com.tecknobit.krakenmanager.benchmarks;
+
+import com.tecknobit.apimanager.apis.APIRequest;
+import com.tecknobit.krakenmanager.KrakenClientContext;
+import com.tecknobit.krakenmanager.KrakenManager.Params;
+import com.tecknobit.krakenmanager.privates.KrakenNonceGenerator;
+import com.tecknobit.krakenmanager.privates.KrakenRequestTemplate;
+import com.tecknobit.krakenmanager.privates.KrakenSigner;
+import com.tecknobit.krakenmanager.privates.usertrading.KrakenUserTradingManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import static com.tecknobit.krakenmanager.privates.userdata.records.orders.Order.Side.buy;
+import static com.tecknobit.krakenmanager.privates.usertrading.KrakenUserTradingManager.ADD_ORDER_ENDPOINT;
+
+/**
+ * The {@code RequestPreparationBenchmark} class is useful to measure the cost of preparing a private request before
+ * it is sent: the assembling of the params, the nonce, the encoding of the body and the signature, also when the
+ * order is filled from a {@link KrakenRequestTemplate}
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote run it with {@code "gradle jmh"}, the allocation rate of each step is reported by the gc profiler
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestPreparationBenchmark {
+
+    /**
+     * {@code apiRequest} is the instance used by the managers to encode the body params
+     */
+    private APIRequest apiRequest;
+
+    /**
+     * {@code signer} is the instance used by the managers to sign the requests
+     */
+    private KrakenSigner signer;
+
+    /**
+     * {@code template} is the template of the limit orders prepared from it
+     */
+    private KrakenRequestTemplate template;
+
+    /**
+     * {@code price} is the price of the order filled from the {@link #template}, changed by each order
+     */
+    private double price = 37500;
+
+    /**
+     * Method to set up the state of the benchmarks <br>
+     * No-any params required
+     */
+    @Setup
+    public void setUp() {
+        byte[] secret = new byte[64];
+        new SecureRandom().nextBytes(secret);
+        KrakenClientContext context = new KrakenClientContext.Builder()
+                .setCredentials("apiKey", Base64.getEncoder().encodeToString(secret))
+                .build();
+        apiRequest = context.getApiRequest();
+        signer = context.getSigner();
+        Params params = new Params();
+        params.addParam("oflags", "post");
+        params.addParam("timeinforce", "GTC");
+        template = new KrakenUserTradingManager(context).createLimitOrderTemplate(buy, "XBTUSD", params);
+    }
+
+    /**
+     * Method to assemble and encode the body params of an order <br>
+     * No-any params required
+     *
+     * @return body params encoded as {@link String}
+     */
+    @Benchmark
+    public String encodeParams() {
+        return apiRequest.encodeBodyParams(assembleOrderParams(KrakenNonceGenerator.nextNonce()));
+    }
+
+    /**
+     * Method to prepare an order as the managers do, encoding its body params and signing them <br>
+     * No-any params required
+     *
+     * @return signature of the order as {@link String}
+     */
+    @Benchmark
+    public String prepareRequest() {
+        long nonce = KrakenNonceGenerator.nextNonce();
+        return signer.sign(ADD_ORDER_ENDPOINT, nonce, apiRequest.encodeBodyParams(assembleOrderParams(nonce)));
+    }
+
+    /**
+     * Method to encode the body of an order filled from a template <br>
+     * No-any params required
+     *
+     * @return body of the order as {@link CharSequence}
+     */
+    @Benchmark
+    public CharSequence encodeTemplate() {
+        return fillOrder().encode(KrakenNonceGenerator.nextNonce());
+    }
+
+    /**
+     * Method to prepare an order filled from a template as the managers do, encoding its body and signing it <br>
+     * No-any params required
+     *
+     * @return signature of the order as {@link String}
+     */
+    @Benchmark
+    public String prepareTemplateRequest() {
+        long nonce = KrakenNonceGenerator.nextNonce();
+        return signer.sign(ADD_ORDER_ENDPOINT, nonce, fillOrder().encode(nonce));
+    }
+
+    /**
+     * Method to fill an order from the {@link #template} changing its price <br>
+     * No-any params required
+     *
+     * @return order filled as {@link KrakenRequestTemplate.Request}
+     */
+    private KrakenRequestTemplate.Request fillOrder() {
+        price = price >= 38000 ? 37500 : price + 0.5;
+        return template.request()
+                .set(0, price)
+                .set(1, 1.25);
+    }
+
+    /**
+     * Method to assemble the body params of an order
+     *
+     * @param nonce: nonce of the order
+     * @return body params as {@link Params}
+     */
+    private static Params assembleOrderParams(long nonce) {
+        Params params = new Params();
+        params.addParam("ordertype", "limit");
+        params.addParam("type", "buy");
+        params.addParam("volume", 1.25);
+        params.addParam("pair", "XBTUSD");
+        params.addParam("price", 37500);
+        params.addParam("oflags", "post");
+        params.addParam("timeinforce", "GTC");
+        params.addParam("nonce", nonce);
+        return params;
+    }
+
+}
@@ -0,0 +1,228 @@
+package com.tecknobit.krakenmanager.benchmarks;
+
+import com.tecknobit.krakenmanager.KrakenManager.KrakenPayload;
+import com.tecknobit.krakenmanager.privates.userdata.records.Ledger;
+import com.tecknobit.krakenmanager.publics.market.records.Book;
+import com.tecknobit.krakenmanager.publics.market.records.lists.OHLCData;
+import com.tecknobit.krakenmanager.publics.market.records.lists.Trades;
+import com.tecknobit.krakenmanager.transport.KrakenJsonReader;
+import com.tecknobit.krakenmanager.transport.KrakenJsonReader.StreamDecoder;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The {@code ResponseParsingBenchmark} class is useful to measure the cost of the custom records given by library,
+ * both when they are created from the parsed {@code "JSON"} tree, as the {@code "LIBRARY_OBJECT"} format does, and when
+ * they are decoded directly from the stream of the response
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote run it with {@code "gradle jmh"}, the allocation rate of each record is reported by the gc profiler
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseParsingBenchmark {
+
+    /**
+     * {@code size} is the number of the values of each response, es. the ticks of the {@code "OHLC"} response
+     */
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    /**
+     * {@code depth} is the response of the {@code "Depth"} endpoint
+     */
+    private String depth;
+
+    /**
+     * {@code ohlc} is the response of the {@code "OHLC"} endpoint
+     */
+    private String ohlc;
+
+    /**
+     * {@code trades} is the response of the {@code "Trades"} endpoint
+     */
+    private String trades;
+
+    /**
+     * {@code ledgers} is the response of the {@code "Ledgers"} endpoint
+     */
+    private String ledgers;
+
+    /**
+     * {@code depthBytes} is the response of the {@code "Depth"} endpoint as sent by Kraken
+     */
+    private byte[] depthBytes;
+
+    /**
+     * {@code ohlcBytes} is the response of the {@code "OHLC"} endpoint as sent by Kraken
+     */
+    private byte[] ohlcBytes;
+
+    /**
+     * {@code tradesBytes} is the response of the {@code "Trades"} endpoint as sent by Kraken
+     */
+    private byte[] tradesBytes;
+
+    /**
+     * {@code ledgersBytes} is the response of the {@code "Ledgers"} endpoint as sent by Kraken
+     */
+    private byte[] ledgersBytes;
+
+    /**
+     * Method to set up the responses of the benchmarks <br>
+     * No-any params required
+     */
+    @Setup
+    public void setUp() {
+        depth = BenchmarkPayloads.depth(size);
+        ohlc = BenchmarkPayloads.ohlc(size);
+        trades = BenchmarkPayloads.trades(size);
+        ledgers = BenchmarkPayloads.ledgers(size);
+        depthBytes = depth.getBytes(UTF_8);
+        ohlcBytes = ohlc.getBytes(UTF_8);
+        tradesBytes = trades.getBytes(UTF_8);
+        ledgersBytes = ledgers.getBytes(UTF_8);
+    }
+
+    /**
+     * Method to create a {@link Book} from the parsed response <br>
+     * No-any params required
+     *
+     * @return book as {@link Book}
+     */
+    @Benchmark
+    public Book bookTree() throws IOException {
+        return new Book(new KrakenPayload(depth).getJSONPayload());
+    }
+
+    /**
+     * Method to decode a {@link Book} from the stream of the response <br>
+     * No-any params required
+     *
+     * @return book as {@link Book}
+     */
+    @Benchmark
+    public Book bookStream() throws IOException {
+        return decodeResult(depthBytes, Book::decode);
+    }
+
+    /**
+     * Method to create an {@link OHLCData} from the parsed response <br>
+     * No-any params required
+     *
+     * @return OHLC data as {@link OHLCData}
+     */
+    @Benchmark
+    public OHLCData ohlcTree() throws IOException {
+        return new OHLCData(new KrakenPayload(ohlc).getJSONPayload());
+    }
+
+    /**
+     * Method to decode an {@link OHLCData} from the stream of the response <br>
+     * No-any params required
+     *
+     * @return OHLC data as {@link OHLCData}
+     */
+    @Benchmark
+    public OHLCData ohlcStream() throws IOException {
+        return decodeResult(ohlcBytes, OHLCData::decode);
+    }
+
+    /**
+     * Method to create a {@link Trades} from the parsed response <br>
+     * No-any params required
+     *
+     * @return trades as {@link Trades}
+     */
+    @Benchmark
+    public Trades tradesTree() throws IOException {
+        return new Trades(new KrakenPayload(trades).getJSONPayload());
+    }
+
+    /**
+     * Method to decode a {@link Trades} from the stream of the response <br>
+     * No-any params required
+     *
+     * @return trades as {@link Trades}
+     */
+    @Benchmark
+    public Trades tradesStream() throws IOException {
+        return decodeResult(tradesBytes, Trades::decode);
+    }
+
+    /**
+     * Method to create a ledgers list from the parsed response <br>
+     * No-any params required
+     *
+     * @return ledgers list as {@link ArrayList} of {@link Ledger}
+     */
+    @Benchmark
+    public ArrayList<Ledger> ledgersTree() throws IOException {
+        ArrayList<Ledger> ledgersList = new ArrayList<>();
+        JSONObject jLedgers = new KrakenPayload(ledgers).getJSONPayload().getJSONObject("result")
+                .getJSONObject("ledger");
+        for (String ledgerId : jLedgers.keySet())
+            ledgersList.add(new Ledger(jLedgers.getJSONObject(ledgerId).put("ledgerId", ledgerId)));
+        return ledgersList;
+    }
+
+    /**
+     * Method to decode a ledgers list from the stream of the response <br>
+     * No-any params required
+     *
+     * @return ledgers list as {@link ArrayList} of {@link Ledger}
+     */
+    @Benchmark
+    public ArrayList<Ledger> ledgersStream() throws IOException {
+        return decodeResult(ledgersBytes, reader -> {
+            ArrayList<Ledger> ledgersList = new ArrayList<>();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName().equals("ledger")) {
+                    reader.beginObject();
+                    while (reader.hasNext())
+                        ledgersList.add(Ledger.decode(reader.nextName(), reader));
+                    reader.endObject();
+                } else
+                    reader.skipValue();
+            }
+            reader.endObject();
+            return ledgersList;
+        });
+    }
+
+    /**
+     * Method to decode the {@code "result"} value of a response as the managers do
+     *
+     * @param response: response to decode
+     * @param decoder:  decoder of the {@code "result"} value
+     * @return {@code "result"} value decoded as {@link T}
+     * @throws IOException when the response is not valid
+     */
+    private static <T> T decodeResult(byte[] response, StreamDecoder<T> decoder) throws IOException {
+        T result = null;
+        try (KrakenJsonReader reader = new KrakenJsonReader(new ByteArrayInputStream(response))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName().equals("result"))
+                    result = decoder.decode(reader);
+                else
+                    reader.skipValue();
+            }
+            reader.endObject();
+        }
+        return result;
+    }
+
+}
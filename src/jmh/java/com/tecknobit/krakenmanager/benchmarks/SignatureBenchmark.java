@@ -0,0 +1,96 @@
+package com.tecknobit.krakenmanager.benchmarks;
+
+import com.tecknobit.krakenmanager.privates.KrakenSigner;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import static com.tecknobit.apimanager.apis.APIRequest.HMAC_SHA512_ALGORITHM;
+import static com.tecknobit.apimanager.apis.APIRequest.SHA256_ALGORITHM;
+
+/**
+ * The {@code SignatureBenchmark} class is useful to compare the {@link KrakenSigner} with the signing implementation
+ * that creates a new {@link Mac} and decodes the api sign for each request
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote run it with {@code "gradle jmh"}, the allocation rate of each signing is reported by the gc profiler
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SignatureBenchmark {
+
+    /**
+     * {@code ENDPOINT} is the endpoint signed by the benchmarks
+     */
+    private static final String ENDPOINT = "AddOrder";
+
+    /**
+     * {@code NONCE} is the nonce signed by the benchmarks
+     */
+    private static final long NONCE = 1616492376594L;
+
+    /**
+     * {@code apiSign} is the random api sign used by the benchmarks
+     */
+    private String apiSign;
+
+    /**
+     * {@code body} is the encoded body payload signed by the benchmarks
+     */
+    private String body;
+
+    /**
+     * {@code signer} is the signer under benchmark
+     */
+    private KrakenSigner signer;
+
+    /**
+     * Method to set up the state of the benchmarks <br>
+     * No-any params required
+     */
+    @Setup
+    public void setUp() {
+        byte[] secret = new byte[64];
+        new SecureRandom().nextBytes(secret);
+        apiSign = Base64.getEncoder().encodeToString(secret);
+        body = "nonce=" + NONCE + "&ordertype=limit&type=buy&volume=1.25&pair=XBTUSD&price=37500" +
+                "&oflags=post&timeinforce=GTC";
+        signer = new KrakenSigner(apiSign);
+    }
+
+    /**
+     * Method to sign a request as the managers did before the {@link KrakenSigner} <br>
+     * No-any params required
+     *
+     * @return signature value as {@link String}
+     */
+    @Benchmark
+    public String legacySignature() throws Exception {
+        Mac mac = Mac.getInstance(HMAC_SHA512_ALGORITHM);
+        mac.init(new SecretKeySpec(Base64.getDecoder().decode(apiSign.getBytes()), HMAC_SHA512_ALGORITHM));
+        mac.update(("/0/private/" + ENDPOINT).getBytes());
+        return new String(Base64.getEncoder().encode(mac.doFinal(MessageDigest.getInstance(SHA256_ALGORITHM)
+                .digest((NONCE + body).getBytes()))));
+    }
+
+    /**
+     * Method to sign a request with the {@link KrakenSigner} <br>
+     * No-any params required
+     *
+     * @return signature value as {@link String}
+     */
+    @Benchmark
+    public String signerSignature() {
+        return signer.sign(ENDPOINT, NONCE, body);
+    }
+
+}
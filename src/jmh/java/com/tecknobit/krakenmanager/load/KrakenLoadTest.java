@@ -0,0 +1,1003 @@
+package com.tecknobit.krakenmanager.load;
+
+import com.tecknobit.krakenmanager.KrakenClientContext;
+import com.tecknobit.krakenmanager.KrakenManager;
+import com.tecknobit.krakenmanager.KrakenManager.Params;
+import com.tecknobit.krakenmanager.metrics.KrakenHistogram;
+import com.tecknobit.krakenmanager.privates.KrakenRateGovernor;
+import com.tecknobit.krakenmanager.privates.KrakenRateGovernor.VerificationTier;
+import com.tecknobit.krakenmanager.privates.userdata.KrakenUserDataManager;
+import com.tecknobit.krakenmanager.privates.usertrading.KrakenUserTradingManager;
+import com.tecknobit.krakenmanager.publics.market.KrakenMarketManager;
+import com.tecknobit.krakenmanager.replay.KrakenReplayServer;
+import com.tecknobit.krakenmanager.replay.KrakenReplayServer.Fault;
+
+import java.lang.management.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.tecknobit.krakenmanager.privates.userdata.records.orders.Order.Side.buy;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.*;
+
+/**
+ * The {@code KrakenLoadTest} class is useful to drive many threads that mix market data, user data and trading
+ * requests through the {@link KrakenMarketManager}, the {@link KrakenUserDataManager} and the
+ * {@link KrakenUserTradingManager}, to know how the whole stack behaves under load <br>
+ * The managers are shared by all the threads, as an application does, and a {@link Report} with the sustained
+ * throughput, the latency percentiles and the errors of each operation, the threads, the heap and the garbage
+ * collections of the run is created at the end of the measurement. Run it against a {@link KrakenReplayServer} with
+ * the {@link #main(String[])} method:
+ * <pre>
+ *     {@code
+ *        gradle jmhClasses
+ *        java -cp <jmh runtime classpath> com.tecknobit.krakenmanager.load.KrakenLoadTest threads=64 duration=60
+ *        workload=book=50,ledgers=30,addOrder=20 latency=25 jitter=10 faultRate=0.01 governor=off
+ *     }
+ * </pre>
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ */
+public class KrakenLoadTest {
+
+    /**
+     * {@code Operation} list of the operations that can be driven
+     */
+    public enum Operation {
+
+        /**
+         * {@code ORDER_BOOK} request to get the order book of a pair
+         */
+        ORDER_BOOK("book"),
+
+        /**
+         * {@code OHLC} request to get the OHLC data of a pair
+         */
+        OHLC("ohlc"),
+
+        /**
+         * {@code RECENT_TRADES} request to get the recent trades of a pair
+         */
+        RECENT_TRADES("trades"),
+
+        /**
+         * {@code TICKER_SNAPSHOT} request to get the tickers of all the pairs
+         */
+        TICKER_SNAPSHOT("ticker"),
+
+        /**
+         * {@code ACCOUNT_BALANCE} request to get the balance of the account
+         */
+        ACCOUNT_BALANCE("balance"),
+
+        /**
+         * {@code LEDGERS} request to get the ledgers of the account
+         */
+        LEDGERS("ledgers"),
+
+        /**
+         * {@code ADD_ORDER} request to add a limit order
+         */
+        ADD_ORDER("addOrder");
+
+        /**
+         * {@code key} is the key of the operation used by the {@link Workload#parse(String)} method
+         */
+        private final String key;
+
+        /**
+         * Constructor to init an {@link Operation}
+         *
+         * @param key: key of the operation
+         */
+        Operation(String key) {
+            this.key = key;
+        }
+
+        /**
+         * Method to get {@link #key} instance <br>
+         * No-any params required
+         *
+         * @return {@link #key} instance as {@link String}
+         */
+        public String getKey() {
+            return key;
+        }
+
+    }
+
+    /**
+     * {@code PAIR} is the pair requested by the operations
+     */
+    private static final String PAIR = "XBTUSD";
+
+    /**
+     * {@code SAMPLING_PERIOD} is the period, in milliseconds, of the sampling of the threads and of the heap
+     */
+    private static final long SAMPLING_PERIOD = 200;
+
+    /**
+     * {@code context} is the context of the managers driven
+     */
+    private final KrakenClientContext context;
+
+    /**
+     * {@code threads} is the number of the threads that send the requests
+     */
+    private int threads;
+
+    /**
+     * {@code warmupSeconds} is the duration of the warmup, whose results are discarded
+     */
+    private int warmupSeconds;
+
+    /**
+     * {@code durationSeconds} is the duration of the measurement
+     */
+    private int durationSeconds;
+
+    /**
+     * {@code workload} is the mix of the operations sent by the threads
+     */
+    private Workload workload;
+
+    /**
+     * Constructor to init a {@link KrakenLoadTest}
+     *
+     * @param context: context of the managers driven, es. created with {@link KrakenReplayServer#createContext()}
+     */
+    public KrakenLoadTest(KrakenClientContext context) {
+        this.context = context;
+        threads = 32;
+        warmupSeconds = 5;
+        durationSeconds = 30;
+        workload = Workload.BALANCED;
+    }
+
+    /**
+     * Method to run a load test against a local {@link KrakenReplayServer}, the arguments are {@code "key=value"}
+     * pairs: <br>
+     * <ul>
+     *     <li>
+     *         {@code "threads"} -> number of the threads - [integer, default 32]
+     *     </li>
+     *     <li>
+     *         {@code "warmup"} -> duration of the warmup in seconds - [integer, default 5]
+     *     </li>
+     *     <li>
+     *         {@code "duration"} -> duration of the measurement in seconds - [integer, default 30]
+     *     </li>
+     *     <li>
+     *         {@code "workload"} -> {@code "market"}, {@code "balanced"}, {@code "trading"} or the weights of the
+     *         operations es. {@code "book=50,ohlc=30,addOrder=20"} - [string, default balanced]
+     *     </li>
+     *     <li>
+     *         {@code "latency"} -> latency of the server in milliseconds - [integer, default 0]
+     *     </li>
+     *     <li>
+     *         {@code "jitter"} -> maximum jitter of the latency of the server in milliseconds - [integer, default 0]
+     *     </li>
+     *     <li>
+     *         {@code "fault"} -> fault injected by the server, constants available at {@link Fault}
+     *         - [string, default RATE_LIMIT]
+     *     </li>
+     *     <li>
+     *         {@code "faultRate"} -> rate of the requests where the fault is injected - [decimal, default 0]
+     *     </li>
+     *     <li>
+     *         {@code "governor"} -> verification tier used by the rate governor, constants available at
+     *         {@link VerificationTier}, or {@code "off"} to not delay the private requests - [string, default off]
+     *     </li>
+     * </ul>
+     *
+     * @param args: arguments of the load test
+     * @throws Exception when the server cannot be started
+     */
+    public static void main(String[] args) throws Exception {
+        HashMap<String, String> arguments = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 0)
+                throw new IllegalArgumentException("The arguments must be key=value pairs: " + arg);
+            arguments.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        try (KrakenReplayServer server = new KrakenReplayServer()) {
+            server.setLatency(Long.parseLong(arguments.getOrDefault("latency", "0")),
+                    Long.parseLong(arguments.getOrDefault("jitter", "0")));
+            server.setFaultRate(Fault.valueOf(arguments.getOrDefault("fault", Fault.RATE_LIMIT.name())),
+                    Double.parseDouble(arguments.getOrDefault("faultRate", "0")));
+            server.start();
+            String governor = arguments.getOrDefault("governor", "off");
+            KrakenClientContext context = server.createContext()
+                    .setCredentials("apiKey", Base64.getEncoder().encodeToString(new byte[64]))
+                    .setGovernor(governor.equals("off") ? new UnlimitedGovernor()
+                            : new KrakenRateGovernor(VerificationTier.valueOf(governor)))
+                    .build();
+            KrakenLoadTest loadTest = new KrakenLoadTest(context);
+            loadTest.setThreads(Integer.parseInt(arguments.getOrDefault("threads", "32")));
+            loadTest.setWarmupSeconds(Integer.parseInt(arguments.getOrDefault("warmup", "5")));
+            loadTest.setDurationSeconds(Integer.parseInt(arguments.getOrDefault("duration", "30")));
+            loadTest.setWorkload(Workload.parse(arguments.getOrDefault("workload", "balanced")));
+            System.out.println(loadTest.run());
+        }
+    }
+
+    /**
+     * Method to run the load test, the warmup and then the measurement <br>
+     * No-any params required
+     *
+     * @return report of the measurement as {@link Report}
+     * @throws InterruptedException when the calling thread has been interrupted while it was waiting for the threads
+     */
+    public Report run() throws InterruptedException {
+        KrakenMarketManager marketManager = new KrakenMarketManager(context);
+        KrakenUserDataManager userDataManager = new KrakenUserDataManager(context);
+        KrakenUserTradingManager tradingManager = new KrakenUserTradingManager(context);
+        Stats warmup = new Stats();
+        AtomicReference<Stats> current = new AtomicReference<>(warmup);
+        long deadline = System.nanoTime() + SECONDS.toNanos(warmupSeconds + durationSeconds);
+        CountDownLatch finished = new CountDownLatch(threads);
+        for (int j = 0; j < threads; j++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    while (System.nanoTime() < deadline) {
+                        Operation operation = workload.next(ThreadLocalRandom.current());
+                        Stats stats = current.get();
+                        long startTime = System.nanoTime();
+                        String error = execute(operation, marketManager, userDataManager, tradingManager);
+                        stats.record(operation, System.nanoTime() - startTime, error);
+                    }
+                } finally {
+                    finished.countDown();
+                }
+            }, "kraken-load-test-" + j);
+            worker.setDaemon(true);
+            worker.start();
+        }
+        SECONDS.sleep(warmupSeconds);
+        Stats measurement = new Stats();
+        Sampler sampler = new Sampler();
+        current.set(measurement);
+        ScheduledExecutorService sampling = newSingleThreadScheduledExecutor();
+        sampling.scheduleAtFixedRate(sampler::sample, 0, SAMPLING_PERIOD, MILLISECONDS);
+        finished.await();
+        long elapsed = System.nanoTime() - sampler.startTime;
+        sampling.shutdownNow();
+        sampling.awaitTermination(1, SECONDS);
+        sampler.sample();
+        return new Report(threads, workload, elapsed, measurement, sampler);
+    }
+
+    /**
+     * Method to execute an operation
+     *
+     * @param operation:       operation to execute
+     * @param marketManager:   manager of the market data requests
+     * @param userDataManager: manager of the user data requests
+     * @param tradingManager:  manager of the trading requests
+     * @return error of the operation as {@link String}, null if the operation succeeded
+     */
+    private static String execute(Operation operation, KrakenMarketManager marketManager,
+                                  KrakenUserDataManager userDataManager, KrakenUserTradingManager tradingManager) {
+        KrakenManager manager = switch (operation) {
+            case ACCOUNT_BALANCE, LEDGERS -> userDataManager;
+            case ADD_ORDER -> tradingManager;
+            default -> marketManager;
+        };
+        try {
+            switch (operation) {
+                case ORDER_BOOK -> marketManager.getOrderBook(PAIR);
+                case OHLC -> marketManager.getOHLCData(PAIR);
+                case RECENT_TRADES -> marketManager.getRecentTrades(PAIR);
+                case TICKER_SNAPSHOT -> marketManager.getTickerSnapshot();
+                case ACCOUNT_BALANCE -> userDataManager.getAccountBalance();
+                case LEDGERS -> userDataManager.getLedgersInfo(new Params());
+                case ADD_ORDER -> tradingManager.addLimitOrder(buy, 1.25, PAIR, 27500);
+            }
+            return null;
+        } catch (Exception e) {
+            String error = manager.getErrorResponse();
+            return error != null ? error : e.getClass().getSimpleName();
+        }
+    }
+
+    /**
+     * Method to get {@link #threads} instance <br>
+     * No-any params required
+     *
+     * @return {@link #threads} instance as int
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Method to set {@link #threads} instance
+     *
+     * @param threads: number of the threads that send the requests
+     * @throws IllegalArgumentException when the number of the threads is lower than 1
+     */
+    public void setThreads(int threads) {
+        if (threads < 1)
+            throw new IllegalArgumentException("The threads must be at least 1");
+        this.threads = threads;
+    }
+
+    /**
+     * Method to get {@link #warmupSeconds} instance <br>
+     * No-any params required
+     *
+     * @return {@link #warmupSeconds} instance as int
+     */
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    /**
+     * Method to set {@link #warmupSeconds} instance
+     *
+     * @param warmupSeconds: duration of the warmup, whose results are discarded
+     * @throws IllegalArgumentException when the duration is negative
+     */
+    public void setWarmupSeconds(int warmupSeconds) {
+        if (warmupSeconds < 0)
+            throw new IllegalArgumentException("The warmup cannot be negative");
+        this.warmupSeconds = warmupSeconds;
+    }
+
+    /**
+     * Method to get {@link #durationSeconds} instance <br>
+     * No-any params required
+     *
+     * @return {@link #durationSeconds} instance as int
+     */
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    /**
+     * Method to set {@link #durationSeconds} instance
+     *
+     * @param durationSeconds: duration of the measurement
+     * @throws IllegalArgumentException when the duration is lower than 1
+     */
+    public void setDurationSeconds(int durationSeconds) {
+        if (durationSeconds < 1)
+            throw new IllegalArgumentException("The duration must be at least 1 second");
+        this.durationSeconds = durationSeconds;
+    }
+
+    /**
+     * Method to get {@link #workload} instance <br>
+     * No-any params required
+     *
+     * @return {@link #workload} instance as {@link Workload}
+     */
+    public Workload getWorkload() {
+        return workload;
+    }
+
+    /**
+     * Method to set {@link #workload} instance
+     *
+     * @param workload: mix of the operations sent by the threads
+     */
+    public void setWorkload(Workload workload) {
+        this.workload = workload;
+    }
+
+    /**
+     * The {@code Workload} class is useful to define the mix of the operations sent by the threads, each operation is
+     * chosen with a probability proportional to its weight
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     */
+    public static class Workload {
+
+        /**
+         * {@code MARKET} workload of an application that mostly reads the market data
+         */
+        public static final Workload MARKET = parse("book=40,ohlc=25,trades=20,ticker=10,balance=5");
+
+        /**
+         * {@code BALANCED} workload of an application that reads the market data and the account and trades
+         */
+        public static final Workload BALANCED = parse("book=25,ohlc=15,trades=10,ticker=10,balance=15,ledgers=10," +
+                "addOrder=15");
+
+        /**
+         * {@code TRADING} workload of an application that mostly trades
+         */
+        public static final Workload TRADING = parse("book=30,ticker=10,balance=10,addOrder=50");
+
+        /**
+         * {@code weights} is the instance that memorizes the weight of each operation
+         */
+        private final EnumMap<Operation, Integer> weights;
+
+        /**
+         * {@code operations} is the instance that memorizes the operations with a weight
+         */
+        private final Operation[] operations;
+
+        /**
+         * {@code cumulativeWeights} is the instance that memorizes the cumulative weights of the {@link #operations}
+         */
+        private final int[] cumulativeWeights;
+
+        /**
+         * Constructor to init a {@link Workload}
+         *
+         * @param weights: weight of each operation, the operations without a weight are not sent
+         * @throws IllegalArgumentException when a weight is negative or all the weights are 0
+         */
+        public Workload(Map<Operation, Integer> weights) {
+            this.weights = new EnumMap<>(Operation.class);
+            ArrayList<Operation> operations = new ArrayList<>();
+            ArrayList<Integer> cumulativeWeights = new ArrayList<>();
+            int total = 0;
+            for (Operation operation : Operation.values()) {
+                int weight = weights.getOrDefault(operation, 0);
+                if (weight < 0)
+                    throw new IllegalArgumentException("The weight of " + operation + " cannot be negative");
+                if (weight > 0) {
+                    total += weight;
+                    this.weights.put(operation, weight);
+                    operations.add(operation);
+                    cumulativeWeights.add(total);
+                }
+            }
+            if (total == 0)
+                throw new IllegalArgumentException("At least an operation must have a weight");
+            this.operations = operations.toArray(new Operation[0]);
+            this.cumulativeWeights = cumulativeWeights.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        /**
+         * Method to parse a workload
+         *
+         * @param workload: {@code "market"}, {@code "balanced"}, {@code "trading"} or the weights of the operations
+         *                  by their keys es. {@code "book=50,ohlc=30,addOrder=20"}
+         * @return workload as {@link Workload}
+         * @throws IllegalArgumentException when the workload is not valid
+         */
+        public static Workload parse(String workload) {
+            switch (workload.toLowerCase()) {
+                case "market":
+                    return MARKET;
+                case "balanced":
+                    return BALANCED;
+                case "trading":
+                    return TRADING;
+            }
+            EnumMap<Operation, Integer> weights = new EnumMap<>(Operation.class);
+            for (String entry : workload.split(",")) {
+                String[] weight = entry.trim().split("=");
+                Operation operation = null;
+                for (Operation candidate : Operation.values())
+                    if (candidate.key.equalsIgnoreCase(weight[0]))
+                        operation = candidate;
+                if (operation == null || weight.length != 2)
+                    throw new IllegalArgumentException("Invalid weight of the workload: " + entry);
+                weights.put(operation, Integer.parseInt(weight[1]));
+            }
+            return new Workload(weights);
+        }
+
+        /**
+         * Method to choose the next operation
+         *
+         * @param random: random used to choose the operation
+         * @return operation as {@link Operation}
+         */
+        public Operation next(Random random) {
+            int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            for (int j = 0; j < cumulativeWeights.length; j++)
+                if (value < cumulativeWeights[j])
+                    return operations[j];
+            return operations[operations.length - 1];
+        }
+
+        /**
+         * Method to get {@link #weights} instance <br>
+         * No-any params required
+         *
+         * @return {@link #weights} instance as {@link Map} of {@link Operation} and {@link Integer}
+         */
+        public Map<Operation, Integer> getWeights() {
+            return Collections.unmodifiableMap(weights);
+        }
+
+        /**
+         * Returns a string representation of the object <br>
+         * No-any params required
+         *
+         * @return a string representation of the object as {@link String}
+         */
+        @Override
+        public String toString() {
+            StringJoiner workload = new StringJoiner(",");
+            weights.forEach((operation, weight) -> workload.add(operation.key + "=" + weight));
+            return workload.toString();
+        }
+
+    }
+
+    /**
+     * The {@code Stats} class is useful to record the latencies and the errors of the operations of a phase
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     */
+    private static class Stats {
+
+        /**
+         * {@code latencies} is the instance that memorizes the latencies, in microseconds, of each operation
+         */
+        private final EnumMap<Operation, KrakenHistogram> latencies;
+
+        /**
+         * {@code failures} is the instance that memorizes the number of the failures of each operation
+         */
+        private final EnumMap<Operation, LongAdder> failures;
+
+        /**
+         * {@code errors} is the instance that memorizes the number of the occurrences of each error
+         */
+        private final ConcurrentHashMap<String, LongAdder> errors;
+
+        /**
+         * Constructor to init a {@link Stats} <br>
+         * No-any params required
+         */
+        private Stats() {
+            latencies = new EnumMap<>(Operation.class);
+            failures = new EnumMap<>(Operation.class);
+            for (Operation operation : Operation.values()) {
+                latencies.put(operation, new KrakenHistogram());
+                failures.put(operation, new LongAdder());
+            }
+            errors = new ConcurrentHashMap<>();
+        }
+
+        /**
+         * Method to record an operation
+         *
+         * @param operation: operation executed
+         * @param latency:   latency of the operation in nanoseconds
+         * @param error:     error of the operation, null if it succeeded
+         */
+        private void record(Operation operation, long latency, String error) {
+            latencies.get(operation).record(NANOSECONDS.toMicros(latency));
+            if (error != null) {
+                failures.get(operation).increment();
+                errors.computeIfAbsent(error, key -> new LongAdder()).increment();
+            }
+        }
+
+    }
+
+    /**
+     * The {@code Sampler} class is useful to sample the threads, the heap and the garbage collections of the JVM
+     * during the measurement
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     */
+    private static class Sampler {
+
+        /**
+         * {@code threadBean} is the instance used to sample the threads
+         */
+        private final ThreadMXBean threadBean;
+
+        /**
+         * {@code memoryBean} is the instance used to sample the heap
+         */
+        private final MemoryMXBean memoryBean;
+
+        /**
+         * {@code startTime} is the time, in nanoseconds, when the measurement started
+         */
+        private final long startTime;
+
+        /**
+         * {@code startedThreads} is the number of the threads started by the JVM when the measurement started
+         */
+        private final long startedThreads;
+
+        /**
+         * {@code gcCount} is the number of the garbage collections when the measurement started
+         */
+        private final long gcCount;
+
+        /**
+         * {@code gcTime} is the time, in milliseconds, spent by the garbage collections when the measurement started
+         */
+        private final long gcTime;
+
+        /**
+         * {@code maxThreads} is the maximum number of the live threads sampled
+         */
+        private final LongAccumulator maxThreads;
+
+        /**
+         * {@code maxHeap} is the maximum heap used sampled, in bytes
+         */
+        private final LongAccumulator maxHeap;
+
+        /**
+         * {@code heapSum} is the sum of the heap used sampled, in bytes
+         */
+        private final LongAdder heapSum;
+
+        /**
+         * {@code samples} is the number of the samples
+         */
+        private final LongAdder samples;
+
+        /**
+         * Constructor to init a {@link Sampler} <br>
+         * No-any params required
+         */
+        private Sampler() {
+            threadBean = ManagementFactory.getThreadMXBean();
+            memoryBean = ManagementFactory.getMemoryMXBean();
+            threadBean.resetPeakThreadCount();
+            startTime = System.nanoTime();
+            startedThreads = threadBean.getTotalStartedThreadCount();
+            long[] gc = getGarbageCollections();
+            gcCount = gc[0];
+            gcTime = gc[1];
+            maxThreads = new LongAccumulator(Math::max, 0);
+            maxHeap = new LongAccumulator(Math::max, 0);
+            heapSum = new LongAdder();
+            samples = new LongAdder();
+        }
+
+        /**
+         * Method to sample the threads and the heap <br>
+         * No-any params required
+         */
+        private void sample() {
+            long heap = memoryBean.getHeapMemoryUsage().getUsed();
+            maxThreads.accumulate(threadBean.getThreadCount());
+            maxHeap.accumulate(heap);
+            heapSum.add(heap);
+            samples.increment();
+        }
+
+        /**
+         * Method to get the number and the time, in milliseconds, of the garbage collections <br>
+         * No-any params required
+         *
+         * @return number and time of the garbage collections as array of long
+         */
+        private static long[] getGarbageCollections() {
+            long[] gc = new long[2];
+            for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+                gc[0] += Math.max(0, collector.getCollectionCount());
+                gc[1] += Math.max(0, collector.getCollectionTime());
+            }
+            return gc;
+        }
+
+    }
+
+    /**
+     * The {@code Report} class is useful to format the results of a load test
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     */
+    public static class Report {
+
+        /**
+         * {@code threads} is the number of the threads that sent the requests
+         */
+        private final int threads;
+
+        /**
+         * {@code workload} is the mix of the operations sent
+         */
+        private final Workload workload;
+
+        /**
+         * {@code elapsedNanos} is the duration of the measurement in nanoseconds
+         */
+        private final long elapsedNanos;
+
+        /**
+         * {@code latencies} is the instance that memorizes the latencies, in microseconds, of each operation
+         */
+        private final EnumMap<Operation, KrakenHistogram.Snapshot> latencies;
+
+        /**
+         * {@code failures} is the instance that memorizes the number of the failures of each operation
+         */
+        private final EnumMap<Operation, Long> failures;
+
+        /**
+         * {@code errors} is the instance that memorizes the number of the occurrences of each error
+         */
+        private final TreeMap<String, Long> errors;
+
+        /**
+         * {@code maxThreads} is the maximum number of the live threads sampled
+         */
+        private final long maxThreads;
+
+        /**
+         * {@code peakThreads} is the peak number of the live threads reported by the JVM
+         */
+        private final long peakThreads;
+
+        /**
+         * {@code startedThreads} is the number of the threads started during the measurement
+         */
+        private final long startedThreads;
+
+        /**
+         * {@code maxHeap} is the maximum heap used sampled, in bytes
+         */
+        private final long maxHeap;
+
+        /**
+         * {@code averageHeap} is the average heap used sampled, in bytes
+         */
+        private final long averageHeap;
+
+        /**
+         * {@code gcCount} is the number of the garbage collections during the measurement
+         */
+        private final long gcCount;
+
+        /**
+         * {@code gcTime} is the time, in milliseconds, spent by the garbage collections during the measurement
+         */
+        private final long gcTime;
+
+        /**
+         * Constructor to init a {@link Report}
+         *
+         * @param threads:      number of the threads that sent the requests
+         * @param workload:     mix of the operations sent
+         * @param elapsedNanos: duration of the measurement in nanoseconds
+         * @param stats:        stats of the measurement
+         * @param sampler:      sampler of the measurement
+         */
+        private Report(int threads, Workload workload, long elapsedNanos, Stats stats, Sampler sampler) {
+            this.threads = threads;
+            this.workload = workload;
+            this.elapsedNanos = elapsedNanos;
+            latencies = new EnumMap<>(Operation.class);
+            failures = new EnumMap<>(Operation.class);
+            for (Operation operation : workload.weights.keySet()) {
+                latencies.put(operation, stats.latencies.get(operation).snapshot());
+                failures.put(operation, stats.failures.get(operation).sum());
+            }
+            errors = new TreeMap<>();
+            stats.errors.forEach((error, count) -> errors.put(error, count.sum()));
+            maxThreads = sampler.maxThreads.get();
+            peakThreads = sampler.threadBean.getPeakThreadCount();
+            startedThreads = sampler.threadBean.getTotalStartedThreadCount() - sampler.startedThreads;
+            maxHeap = sampler.maxHeap.get();
+            long samples = sampler.samples.sum();
+            averageHeap = samples > 0 ? sampler.heapSum.sum() / samples : 0;
+            long[] gc = Sampler.getGarbageCollections();
+            gcCount = gc[0] - sampler.gcCount;
+            gcTime = gc[1] - sampler.gcTime;
+        }
+
+        /**
+         * Method to get the number of the operations executed <br>
+         * No-any params required
+         *
+         * @return number of the operations as long
+         */
+        public long getOperations() {
+            long operations = 0;
+            for (KrakenHistogram.Snapshot latency : latencies.values())
+                operations += latency.getCount();
+            return operations;
+        }
+
+        /**
+         * Method to get the number of the operations failed <br>
+         * No-any params required
+         *
+         * @return number of the operations failed as long
+         */
+        public long getFailures() {
+            long total = 0;
+            for (long failure : failures.values())
+                total += failure;
+            return total;
+        }
+
+        /**
+         * Method to get the sustained throughput <br>
+         * No-any params required
+         *
+         * @return throughput in operations per second as double
+         */
+        public double getThroughput() {
+            return getOperations() / (elapsedNanos / (double) SECONDS.toNanos(1));
+        }
+
+        /**
+         * Method to get the rate of the operations failed <br>
+         * No-any params required
+         *
+         * @return rate of the operations failed, from 0 to 1, as double
+         */
+        public double getErrorRate() {
+            long operations = getOperations();
+            return operations > 0 ? getFailures() / (double) operations : 0;
+        }
+
+        /**
+         * Method to get the latencies of an operation
+         *
+         * @param operation: operation of the latencies
+         * @return latencies in microseconds as {@link KrakenHistogram.Snapshot}, null if the operation was not sent
+         */
+        public KrakenHistogram.Snapshot getLatencies(Operation operation) {
+            return latencies.get(operation);
+        }
+
+        /**
+         * Method to get {@link #errors} instance <br>
+         * No-any params required
+         *
+         * @return {@link #errors} instance as {@link Map} of {@link String} and {@link Long}
+         */
+        public Map<String, Long> getErrors() {
+            return Collections.unmodifiableMap(errors);
+        }
+
+        /**
+         * Method to get {@link #maxThreads} instance <br>
+         * No-any params required
+         *
+         * @return {@link #maxThreads} instance as long
+         */
+        public long getMaxThreads() {
+            return maxThreads;
+        }
+
+        /**
+         * Method to get {@link #peakThreads} instance <br>
+         * No-any params required
+         *
+         * @return {@link #peakThreads} instance as long
+         */
+        public long getPeakThreads() {
+            return peakThreads;
+        }
+
+        /**
+         * Method to get {@link #startedThreads} instance <br>
+         * No-any params required
+         *
+         * @return {@link #startedThreads} instance as long
+         */
+        public long getStartedThreads() {
+            return startedThreads;
+        }
+
+        /**
+         * Method to get {@link #maxHeap} instance <br>
+         * No-any params required
+         *
+         * @return {@link #maxHeap} instance as long
+         */
+        public long getMaxHeap() {
+            return maxHeap;
+        }
+
+        /**
+         * Method to get {@link #averageHeap} instance <br>
+         * No-any params required
+         *
+         * @return {@link #averageHeap} instance as long
+         */
+        public long getAverageHeap() {
+            return averageHeap;
+        }
+
+        /**
+         * Method to get {@link #gcCount} instance <br>
+         * No-any params required
+         *
+         * @return {@link #gcCount} instance as long
+         */
+        public long getGcCount() {
+            return gcCount;
+        }
+
+        /**
+         * Method to get {@link #gcTime} instance <br>
+         * No-any params required
+         *
+         * @return {@link #gcTime} instance as long
+         */
+        public long getGcTime() {
+            return gcTime;
+        }
+
+        /**
+         * Returns a string representation of the object <br>
+         * No-any params required
+         *
+         * @return a string representation of the object as {@link String}
+         */
+        @Override
+        public String toString() {
+            double seconds = elapsedNanos / (double) SECONDS.toNanos(1);
+            StringBuilder report = new StringBuilder();
+            Formatter formatter = new Formatter(report, Locale.ROOT);
+            formatter.format("threads=%d workload=%s duration=%.1fs%n", threads, workload, seconds);
+            formatter.format("%-16s %10s %10s %8s %9s %9s %9s %9s %9s%n", "operation", "count", "ops/s", "errors",
+                    "p50 ms", "p90 ms", "p99 ms", "p999 ms", "max ms");
+            latencies.forEach((operation, latency) -> formatter.format("%-16s %10d %10.1f %7.2f%% %9.2f %9.2f %9.2f " +
+                            "%9.2f %9.2f%n", operation.key, latency.getCount(), latency.getCount() / seconds,
+                    latency.getCount() > 0 ? failures.get(operation) * 100.0 / latency.getCount() : 0,
+                    latency.getP50() / 1000.0, latency.getP90() / 1000.0, latency.getP99() / 1000.0,
+                    latency.getP999() / 1000.0, latency.getMax() / 1000.0));
+            formatter.format("%-16s %10d %10.1f %7.2f%%%n", "total", getOperations(), getThroughput(),
+                    getErrorRate() * 100);
+            formatter.format("threads: max live=%d peak=%d started=%d%n", maxThreads, peakThreads, startedThreads);
+            formatter.format("heap: max used=%.1fMB average used=%.1fMB%n", maxHeap / 1048576.0,
+                    averageHeap / 1048576.0);
+            formatter.format("gc: collections=%d time=%dms%n", gcCount, gcTime);
+            errors.forEach((error, count) -> formatter.format("error %s: %d%n", error, count));
+            return report.toString();
+        }
+
+    }
+
+    /**
+     * The {@code UnlimitedGovernor} class is useful to send the private requests without waiting for the budget of the
+     * API call counter, so the load test measures the stack instead of the rate limits of an account
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     */
+    private static class UnlimitedGovernor extends KrakenRateGovernor {
+
+        /**
+         * Constructor to init an {@link UnlimitedGovernor} <br>
+         * No-any params required
+         */
+        private UnlimitedGovernor() {
+            super(VerificationTier.PRO);
+        }
+
+        /**
+         * Method to reserve the budget of a request, always available
+         *
+         * @param cost: cost of the request
+         * @return time to wait before the request can be sent, always 0
+         */
+        @Override
+        public long reserve(int cost) {
+            return 0;
+        }
+
+        /**
+         * Method to acquire the budget of a request, always available
+         *
+         * @param endpoint: endpoint of the request es. Ledgers
+         * @return whether the budget has been acquired, always true
+         */
+        @Override
+        public boolean tryAcquire(String endpoint) {
+            return true;
+        }
+
+    }
+
+}
@@ -0,0 +1,558 @@
+package com.tecknobit.krakenmanager.replay;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.tecknobit.krakenmanager.KrakenClientContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+import static com.tecknobit.krakenmanager.KrakenManager.BASE_ENDPOINT;
+import static com.tecknobit.krakenmanager.benchmarks.BenchmarkPayloads.*;
+import static com.tecknobit.krakenmanager.privates.KrakenPrivateManager.API_KEY_HEADER;
+import static com.tecknobit.krakenmanager.privates.KrakenPrivateManager.API_SIGN_HEADER;
+import static com.tecknobit.krakenmanager.privates.KrakenPrivateManager.CONTENT_TYPE_HEADER;
+import static com.tecknobit.krakenmanager.privates.userdata.KrakenUserDataManager.GET_ACCOUNT_BALANCE_ENDPOINT;
+import static com.tecknobit.krakenmanager.privates.userdata.KrakenUserDataManager.GET_LEDGERS_ENDPOINT;
+import static com.tecknobit.krakenmanager.privates.usertrading.KrakenUserTradingManager.ADD_ORDER_ENDPOINT;
+import static com.tecknobit.krakenmanager.publics.market.KrakenMarketManager.*;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The {@code KrakenReplayServer} class is useful to run a local stand-in of the Kraken's API, so the managers can be
+ * benchmarked and load-tested offline and repeatably <br>
+ * The server replays a recorded response for each endpoint: synthetic responses with the shape of the real ones are
+ * available for the {@code "OHLC"}, {@code "Depth"}, {@code "Trades"}, {@code "Ticker"}, {@code "Time"},
+ * {@code "SystemStatus"}, {@code "Balance"}, {@code "Ledgers"} and {@code "AddOrder"} endpoints, and other responses
+ * can be set or loaded from the files recorded while the server works in the recording mode. A latency and some faults
+ * can be injected in the responses, the faults are chosen by a seeded random, so the same seed injects them in the
+ * same requests:
+ * <pre>
+ *     {@code
+ *        try (KrakenReplayServer server = new KrakenReplayServer()) {
+ *            server.setLatency(20, 5);
+ *            server.setFaultRate(Fault.RATE_LIMIT, 0.01);
+ *            server.start();
+ *            KrakenMarketManager manager = new KrakenMarketManager(server.createContext().build());
+ *            manager.getOHLCData("XBTUSD");
+ *        }
+ *     }
+ * </pre>
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @implNote the signatures of the private requests are not verified
+ */
+public class KrakenReplayServer implements Closeable {
+
+    /**
+     * {@code Fault} list of the faults that can be injected in the responses
+     */
+    public enum Fault {
+
+        /**
+         * {@code RATE_LIMIT} the request has been refused by the API call counter
+         */
+        RATE_LIMIT(200, "EAPI:Rate limit exceeded"),
+
+        /**
+         * {@code ORDER_RATE_LIMIT} the request has been refused by the trading counter of the matching engine
+         */
+        ORDER_RATE_LIMIT(200, "EOrder:Rate limit exceeded"),
+
+        /**
+         * {@code INVALID_NONCE} the nonce of the request is not valid
+         */
+        INVALID_NONCE(200, "EAPI:Invalid nonce"),
+
+        /**
+         * {@code SERVICE_UNAVAILABLE} the service is not available
+         */
+        SERVICE_UNAVAILABLE(503, "EService:Unavailable");
+
+        /**
+         * {@code status} is the status code of the fault
+         */
+        private final int status;
+
+        /**
+         * {@code error} is the error of the fault
+         */
+        private final String error;
+
+        /**
+         * Constructor to init a {@link Fault}
+         *
+         * @param status: status code of the fault
+         * @param error:  error of the fault
+         */
+        Fault(int status, String error) {
+            this.status = status;
+            this.error = error;
+        }
+
+        /**
+         * Method to get {@link #status} instance <br>
+         * No-any params required
+         *
+         * @return {@link #status} instance as int
+         */
+        public int getStatus() {
+            return status;
+        }
+
+        /**
+         * Method to get {@link #error} instance <br>
+         * No-any params required
+         *
+         * @return {@link #error} instance as {@link String}
+         */
+        public String getError() {
+            return error;
+        }
+
+    }
+
+    /**
+     * {@code API_PATH} is the path of the API served, the same of the real one because it is signed by the private
+     * requests
+     */
+    public static final String API_PATH = "/0";
+
+    /**
+     * {@code UNKNOWN_METHOD_ERROR} is the error sent for the endpoints without a response
+     */
+    public static final String UNKNOWN_METHOD_ERROR = "EGeneral:Unknown method";
+
+    /**
+     * {@code RECORDING_EXTENSION} is the extension of the recorded responses
+     */
+    public static final String RECORDING_EXTENSION = ".json";
+
+    static {
+        // the headers and the body of a response are written separately, without this option the body waits for the
+        // delayed acknowledgement of the headers, adding about 40 milliseconds to each response
+        if (System.getProperty("sun.net.httpserver.nodelay") == null)
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    /**
+     * {@code server} is the instance of the local {@code "HTTP"} server
+     */
+    private final HttpServer server;
+
+    /**
+     * {@code executor} is the instance where the requests are handled
+     */
+    private final ExecutorService executor;
+
+    /**
+     * {@code responses} is the instance that memorizes the response of each endpoint
+     */
+    private final ConcurrentHashMap<String, byte[]> responses;
+
+    /**
+     * {@code requests} is the instance that memorizes the number of the requests of each endpoint
+     */
+    private final ConcurrentHashMap<String, LongAdder> requests;
+
+    /**
+     * {@code scheduledFaults} is the instance that memorizes the faults to inject in the next requests
+     */
+    private final ConcurrentLinkedQueue<Fault> scheduledFaults;
+
+    /**
+     * {@code random} is the instance used to choose the latency and the faults
+     */
+    private volatile Random random;
+
+    /**
+     * {@code latencyMillis} is the latency added to each response in milliseconds
+     */
+    private volatile long latencyMillis;
+
+    /**
+     * {@code jitterMillis} is the maximum jitter added to the latency in milliseconds
+     */
+    private volatile long jitterMillis;
+
+    /**
+     * {@code fault} is the fault injected randomly, null if the faults are not injected randomly
+     */
+    private volatile Fault fault;
+
+    /**
+     * {@code faultRate} is the rate of the requests where the {@link #fault} is injected, from 0 to 1
+     */
+    private volatile double faultRate;
+
+    /**
+     * {@code compression} whether the responses are compressed when the requests accept the gzip encoding
+     */
+    private volatile boolean compression;
+
+    /**
+     * {@code recordingDirectory} is the directory where the responses are recorded, null if the server is not
+     * recording
+     */
+    private volatile Path recordingDirectory;
+
+    /**
+     * {@code upstream} is the instance used to forward the requests to the real API while the server is recording
+     */
+    private volatile HttpClient upstream;
+
+    /**
+     * Constructor to init a {@link KrakenReplayServer} on a free port <br>
+     * No-any params required
+     *
+     * @throws IOException when the server cannot be created
+     */
+    public KrakenReplayServer() throws IOException {
+        this(0);
+    }
+
+    /**
+     * Constructor to init a {@link KrakenReplayServer}
+     *
+     * @param port: port of the server, 0 to use a free port
+     * @throws IOException when the server cannot be created
+     */
+    public KrakenReplayServer(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "kraken-replay-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext(API_PATH + "/", this::handle);
+        responses = new ConcurrentHashMap<>();
+        requests = new ConcurrentHashMap<>();
+        scheduledFaults = new ConcurrentLinkedQueue<>();
+        random = new Random(0);
+        compression = true;
+        setSyntheticResponses();
+    }
+
+    /**
+     * Method to start the server <br>
+     * No-any params required
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Method to stop the server <br>
+     * No-any params required
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Method to get the base endpoint of the server <br>
+     * No-any params required
+     *
+     * @return base endpoint as {@link String} es. http://127.0.0.1:52123/0
+     */
+    public String getBaseEndpoint() {
+        InetSocketAddress address = server.getAddress();
+        return "http://" + address.getAddress().getHostAddress() + ":" + address.getPort() + API_PATH;
+    }
+
+    /**
+     * Method to create the builder of a context that points the managers to the server <br>
+     * No-any params required
+     *
+     * @return builder of the context as {@link KrakenClientContext.Builder}
+     */
+    public KrakenClientContext.Builder createContext() {
+        return new KrakenClientContext.Builder().setBaseEndpoint(getBaseEndpoint());
+    }
+
+    /**
+     * Method to set the response of an endpoint
+     *
+     * @param endpoint: endpoint of the response es. OHLC
+     * @param response: body of the response
+     */
+    public void setResponse(String endpoint, String response) {
+        responses.put(endpoint, response.getBytes(UTF_8));
+    }
+
+    /**
+     * Method to load the responses recorded in a directory, one file for each endpoint named es. OHLC.json
+     *
+     * @param directory: directory of the recorded responses
+     * @throws IOException when the responses cannot be read
+     */
+    public void loadRecordings(Path directory) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + RECORDING_EXTENSION)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                responses.put(name.substring(0, name.length() - RECORDING_EXTENSION.length()),
+                        Files.readAllBytes(file));
+            }
+        }
+    }
+
+    /**
+     * Method to start the recording mode, the requests are forwarded to the real API and its responses are served,
+     * memorized to be replayed and saved in a directory
+     *
+     * @param directory: directory where save the responses
+     * @throws IOException when the directory cannot be created
+     * @apiNote the private requests are forwarded with their headers, so they are signed with real credentials
+     */
+    public void startRecording(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        if (upstream == null)
+            upstream = HttpClient.newHttpClient();
+        recordingDirectory = directory;
+    }
+
+    /**
+     * Method to stop the recording mode, the responses recorded are replayed <br>
+     * No-any params required
+     */
+    public void stopRecording() {
+        recordingDirectory = null;
+    }
+
+    /**
+     * Method to set the latency added to each response
+     *
+     * @param latencyMillis: latency in milliseconds
+     * @param jitterMillis:  maximum jitter added to the latency in milliseconds
+     */
+    public void setLatency(long latencyMillis, long jitterMillis) {
+        this.latencyMillis = latencyMillis;
+        this.jitterMillis = jitterMillis;
+    }
+
+    /**
+     * Method to inject a fault randomly in the responses
+     *
+     * @param fault: fault to inject, null to not inject the faults randomly
+     * @param rate:  rate of the requests where the fault is injected, from 0 to 1
+     */
+    public void setFaultRate(Fault fault, double rate) {
+        this.fault = fault;
+        faultRate = rate;
+    }
+
+    /**
+     * Method to inject a fault in the next requests
+     *
+     * @param fault: fault to inject
+     * @param count: number of the next requests where the fault is injected
+     */
+    public void injectFault(Fault fault, int count) {
+        for (int j = 0; j < count; j++)
+            scheduledFaults.add(fault);
+    }
+
+    /**
+     * Method to set the seed of the random used to choose the latency and the faults
+     *
+     * @param seed: seed of the random
+     */
+    public void setSeed(long seed) {
+        random = new Random(seed);
+    }
+
+    /**
+     * Method to set whether the responses are compressed when the requests accept the gzip encoding
+     *
+     * @param compression: whether the responses are compressed
+     */
+    public void setCompression(boolean compression) {
+        this.compression = compression;
+    }
+
+    /**
+     * Method to get the number of the requests of an endpoint
+     *
+     * @param endpoint: endpoint of the requests es. OHLC
+     * @return number of the requests as long
+     */
+    public long getRequests(String endpoint) {
+        LongAdder count = requests.get(endpoint);
+        return count != null ? count.sum() : 0;
+    }
+
+    /**
+     * Method to handle a request
+     *
+     * @param exchange: exchange of the request
+     * @throws IOException when the response cannot be sent
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            String endpoint = path.substring(path.lastIndexOf('/') + 1);
+            requests.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            sleepLatency();
+            Fault fault = nextFault();
+            if (fault != null) {
+                send(exchange, fault.status, errorResponse(fault.error));
+                return;
+            }
+            Path recordingDirectory = this.recordingDirectory;
+            if (recordingDirectory != null) {
+                HttpResponse<byte[]> response = forward(exchange, body);
+                if (response.statusCode() == 200) {
+                    responses.put(endpoint, response.body());
+                    Files.write(recordingDirectory.resolve(endpoint + RECORDING_EXTENSION), response.body());
+                }
+                send(exchange, response.statusCode(), response.body());
+                return;
+            }
+            byte[] response = responses.get(endpoint);
+            if (response == null)
+                send(exchange, 404, errorResponse(UNKNOWN_METHOD_ERROR));
+            else
+                send(exchange, 200, response);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Method to wait for the latency of a response <br>
+     * No-any params required
+     *
+     * @throws InterruptedException when the server has been stopped while it was waiting
+     */
+    private void sleepLatency() throws InterruptedException {
+        long latency = latencyMillis;
+        long jitter = jitterMillis;
+        if (jitter > 0)
+            latency += (long) (random.nextDouble() * jitter);
+        if (latency > 0)
+            TimeUnit.MILLISECONDS.sleep(latency);
+    }
+
+    /**
+     * Method to get the fault to inject in a response <br>
+     * No-any params required
+     *
+     * @return fault to inject as {@link Fault}, null if a fault does not have to be injected
+     */
+    private Fault nextFault() {
+        Fault fault = scheduledFaults.poll();
+        if (fault != null)
+            return fault;
+        fault = this.fault;
+        if (fault != null && random.nextDouble() < faultRate)
+            return fault;
+        return null;
+    }
+
+    /**
+     * Method to forward a request to the real API
+     *
+     * @param exchange: exchange of the request
+     * @param body:     body of the request
+     * @return response of the real API as {@link HttpResponse}
+     * @throws IOException          when the request has been go wrong
+     * @throws InterruptedException when the server has been stopped while it was waiting
+     */
+    private HttpResponse<byte[]> forward(HttpExchange exchange, byte[] body) throws IOException,
+            InterruptedException {
+        URI uri = exchange.getRequestURI();
+        String query = uri.getRawQuery();
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(BASE_ENDPOINT
+                + uri.getRawPath().substring(API_PATH.length()) + (query != null ? "?" + query : "")));
+        for (String header : List.of(API_KEY_HEADER, API_SIGN_HEADER, CONTENT_TYPE_HEADER)) {
+            String value = exchange.getRequestHeaders().getFirst(header);
+            if (value != null)
+                request.header(header, value);
+        }
+        if (exchange.getRequestMethod().equals("POST"))
+            request.POST(HttpRequest.BodyPublishers.ofByteArray(body));
+        else
+            request.GET();
+        return upstream.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    /**
+     * Method to send a response, compressing it when the request accepts the gzip encoding
+     *
+     * @param exchange: exchange of the request
+     * @param status:   status code of the response
+     * @param response: body of the response
+     * @throws IOException when the response cannot be sent
+     */
+    private void send(HttpExchange exchange, int status, byte[] response) throws IOException {
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        if (compression && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(response.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(response);
+            }
+            response = compressed.toByteArray();
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+        exchange.sendResponseHeaders(status, response.length);
+        try (OutputStream body = exchange.getResponseBody()) {
+            body.write(response);
+        }
+    }
+
+    /**
+     * Method to create the body of a response with an error
+     *
+     * @param error: error of the response
+     * @return body of the response as byte array
+     */
+    private static byte[] errorResponse(String error) {
+        return errors(error).getBytes(UTF_8);
+    }
+
+    /**
+     * Method to set the synthetic responses, with the largest sizes sent by Kraken <br>
+     * No-any params required
+     */
+    private void setSyntheticResponses() {
+        setResponse(GET_OHLC_ENDPOINT, ohlc(720));
+        setResponse(GET_ORDER_BOOK_ENDPOINT, depth(100));
+        setResponse(GET_RECENT_TRADES_ENDPOINT, trades(1000));
+        setResponse(GET_TICKER_ENDPOINT, "{\"error\":[],\"result\":{\"" + SYMBOL + "\":{\"a\":[\"30000.10000\"," +
+                "\"1\",\"1.000\"],\"b\":[\"30000.00000\",\"2\",\"2.000\"],\"c\":[\"30000.00000\",\"0.00100000\"]," +
+                "\"v\":[\"1215.37315208\",\"3174.84426386\"],\"p\":[\"30312.43562\",\"30251.97418\"]," +
+                "\"t\":[9847,26417],\"l\":[\"30060.00000\",\"29950.10000\"],\"h\":[\"30500.00000\"," +
+                "\"30500.00000\"],\"o\":\"30155.20000\"}}}");
+        setResponse(GET_SERVER_TIME_ENDPOINT, "{\"error\":[],\"result\":{\"unixtime\":" + TIME + ",\"rfc1123\":" +
+                "\"Thu,  6 Jul 23 19:20:00 +0000\"}}");
+        setResponse(GET_SYSTEM_STATUS_ENDPOINT, "{\"error\":[],\"result\":{\"status\":\"online\"," +
+                "\"timestamp\":\"2023-07-06T19:20:00Z\"}}");
+        setResponse(ADD_ORDER_ENDPOINT, "{\"error\":[],\"result\":{\"descr\":{\"order\":\"buy 1.25000000 XBTUSD @ " +
+                "limit 27500.0\"},\"txid\":[\"OU22CG-KLAF2-FWUDD7\"]}}");
+        setResponse(GET_ACCOUNT_BALANCE_ENDPOINT, "{\"error\":[],\"result\":{\"ZUSD\":\"171288.6158\"," +
+                "\"ZEUR\":\"504861.8946\",\"XXBT\":\"1011.1908877900\",\"XETH\":\"818.5500000000\"}}");
+        setResponse(GET_LEDGERS_ENDPOINT, ledgers(50));
+    }
+
+}
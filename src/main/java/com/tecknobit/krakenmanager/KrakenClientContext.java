@@ -0,0 +1,579 @@
+package com.tecknobit.krakenmanager;
+
+import com.tecknobit.apimanager.apis.APIRequest;
+import com.tecknobit.krakenmanager.privates.KrakenRateGovernor;
+import com.tecknobit.krakenmanager.privates.KrakenRateGovernor.VerificationTier;
+import com.tecknobit.krakenmanager.privates.KrakenSigner;
+import com.tecknobit.krakenmanager.privates.usertrading.KrakenTradingRateLimiter;
+import com.tecknobit.krakenmanager.publics.market.KrakenReferenceCache;
+import com.tecknobit.krakenmanager.transport.KrakenClockSync;
+import com.tecknobit.krakenmanager.transport.KrakenFanOut;
+import com.tecknobit.krakenmanager.transport.KrakenStatusBreaker;
+import com.tecknobit.krakenmanager.transport.KrakenTransport;
+
+/**
+ * The {@code KrakenClientContext} class is useful to share the same configuration between different managers <br>
+ * A context is immutable and thread-safe: the credentials, the signer, the transport, the rate limiters and the
+ * caches are resolved just once when it is built, so all the managers created with it share the same connections and
+ * the same counters, and the managers of different accounts can work at the same time with their own contexts:
+ * <pre>
+ *     {@code
+ *        KrakenClientContext context = new KrakenClientContext.Builder()
+ *                .setCredentials("apiKey", "apiSign")
+ *                .setRequestTimeout(5000)
+ *                .build();
+ *        KrakenMarketManager marketManager = new KrakenMarketManager(context);
+ *        KrakenUserDataManager userDataManager = new KrakenUserDataManager(context);
+ *        KrakenUserTradingManager tradingManager = new KrakenUserTradingManager(context);
+ *     }
+ * </pre>
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ */
+public final class KrakenClientContext {
+
+    /**
+     * {@code EMPTY_CONTEXT} is the context without credentials and with the default settings
+     */
+    public static final KrakenClientContext EMPTY_CONTEXT = new Builder().build();
+
+    /**
+     * {@code defaultErrorMessage} is the custom error to show when is not a request error, null if it has not been set
+     */
+    private final String defaultErrorMessage;
+
+    /**
+     * {@code requestTimeout} is the custom timeout for request, -1 if it has not been set
+     */
+    private final int requestTimeout;
+
+    /**
+     * {@code baseEndpoint} is the base endpoint of the requests
+     */
+    private final String baseEndpoint;
+
+    /**
+     * {@code apiKey} is the instance that contains api key of Kraken's platform, null if it has not been set
+     */
+    private final String apiKey;
+
+    /**
+     * {@code apiSign} is the instance that contains api sign of Kraken's platform, null if it has not been set
+     */
+    private final String apiSign;
+
+    /**
+     * {@code signer} is the instance used to sign the private requests, null if the api sign has not been set
+     */
+    private final KrakenSigner signer;
+
+    /**
+     * {@code apiRequest} is the instance used for the utility methods of the managers
+     */
+    private final APIRequest apiRequest;
+
+    /**
+     * {@code transport} is the instance used to make the API requests
+     */
+    private final KrakenTransport transport;
+
+    /**
+     * {@code governor} is the instance that models the API call counter of the api key, null if the credentials have
+     * not been set
+     */
+    private final KrakenRateGovernor governor;
+
+    /**
+     * {@code tradingLimiter} is the instance used to track the trading rate counters of the matching engine, null if
+     * the credentials have not been set
+     */
+    private final KrakenTradingRateLimiter tradingLimiter;
+
+    /**
+     * {@code referenceCache} is instance that memorizes the reference data of the market
+     */
+    private final KrakenReferenceCache referenceCache;
+
+    /**
+     * {@code fanOut} is the instance used to send the bulk requests
+     */
+    private final KrakenFanOut fanOut;
+
+    /**
+     * {@code statusBreaker} is the instance used to stop the requests refused by the system status of Kraken, null if
+     * the requests are not checked
+     */
+    private final KrakenStatusBreaker statusBreaker;
+
+    /**
+     * {@code clockSync} is the instance used to estimate the clock of the Kraken's servers, null if it is not estimated
+     */
+    private final KrakenClockSync clockSync;
+
+    /**
+     * Constructor to init a {@link KrakenClientContext}
+     *
+     * @param builder: builder with the configuration of the context
+     * @throws IllegalArgumentException when the api sign is not a valid {@code "Base64"} value
+     */
+    private KrakenClientContext(Builder builder) {
+        defaultErrorMessage = builder.defaultErrorMessage;
+        requestTimeout = builder.requestTimeout;
+        baseEndpoint = builder.baseEndpoint;
+        apiKey = builder.apiKey;
+        apiSign = builder.apiSign;
+        signer = apiSign != null ? new KrakenSigner(apiSign) : null;
+        apiRequest = createAPIRequest(defaultErrorMessage, requestTimeout);
+        transport = builder.transport != null ? builder.transport : KrakenTransport.getSharedTransport();
+        if (builder.referenceCache != null)
+            referenceCache = builder.referenceCache;
+        else if (baseEndpoint.equals(KrakenManager.BASE_ENDPOINT))
+            referenceCache = KrakenReferenceCache.getSharedCache();
+        else
+            referenceCache = new KrakenReferenceCache();
+        fanOut = builder.fanOut != null ? builder.fanOut : KrakenFanOut.getSharedFanOut();
+        statusBreaker = builder.statusBreaker;
+        clockSync = builder.clockSync;
+        if (clockSync != null)
+            clockSync.start();
+        if (apiKey != null) {
+            governor = builder.governor != null ? builder.governor : KrakenRateGovernor.getSharedGovernor(apiKey);
+            tradingLimiter = builder.tradingLimiter != null ? builder.tradingLimiter
+                    : KrakenTradingRateLimiter.getSharedLimiter(apiKey);
+            if (builder.tier != null) {
+                governor.setTier(builder.tier);
+                tradingLimiter.setTier(builder.tier);
+            }
+        } else {
+            governor = null;
+            tradingLimiter = null;
+        }
+    }
+
+    /**
+     * Method to create a new {@link APIRequest}
+     *
+     * @param defaultErrorMessage: custom error to show when is not a request error
+     * @param requestTimeout:      custom timeout for request
+     * @return API request as {@link APIRequest}
+     */
+    private static APIRequest createAPIRequest(String defaultErrorMessage, int requestTimeout) {
+        if (defaultErrorMessage != null && requestTimeout != -1)
+            return new APIRequest(defaultErrorMessage, requestTimeout);
+        else if (defaultErrorMessage != null)
+            return new APIRequest(defaultErrorMessage);
+        else if (requestTimeout != -1)
+            return new APIRequest(requestTimeout);
+        else
+            return new APIRequest();
+    }
+
+    /**
+     * Method to get whether the credentials have been set <br>
+     * No-any params required
+     *
+     * @return whether the credentials have been set as boolean
+     */
+    public boolean hasCredentials() {
+        return apiKey != null && apiSign != null;
+    }
+
+    /**
+     * Method to get {@link #defaultErrorMessage} instance <br>
+     * No-any params required
+     *
+     * @return {@link #defaultErrorMessage} instance as {@link String}
+     */
+    public String getDefaultErrorMessage() {
+        return defaultErrorMessage;
+    }
+
+    /**
+     * Method to get {@link #requestTimeout} instance <br>
+     * No-any params required
+     *
+     * @return {@link #requestTimeout} instance as int
+     */
+    public int getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    /**
+     * Method to get {@link #baseEndpoint} instance <br>
+     * No-any params required
+     *
+     * @return {@link #baseEndpoint} instance as {@link String}
+     */
+    public String getBaseEndpoint() {
+        return baseEndpoint;
+    }
+
+    /**
+     * Method to get {@link #apiKey} instance <br>
+     * No-any params required
+     *
+     * @return {@link #apiKey} instance as {@link String}
+     */
+    public String getApiKey() {
+        return apiKey;
+    }
+
+    /**
+     * Method to get {@link #apiSign} instance <br>
+     * No-any params required
+     *
+     * @return {@link #apiSign} instance as {@link String}
+     */
+    public String getApiSign() {
+        return apiSign;
+    }
+
+    /**
+     * Method to get {@link #signer} instance <br>
+     * No-any params required
+     *
+     * @return {@link #signer} instance as {@link KrakenSigner}
+     */
+    public KrakenSigner getSigner() {
+        return signer;
+    }
+
+    /**
+     * Method to get {@link #apiRequest} instance <br>
+     * No-any params required
+     *
+     * @return {@link #apiRequest} instance as {@link APIRequest}
+     */
+    public APIRequest getApiRequest() {
+        return apiRequest;
+    }
+
+    /**
+     * Method to get {@link #transport} instance <br>
+     * No-any params required
+     *
+     * @return {@link #transport} instance as {@link KrakenTransport}
+     */
+    public KrakenTransport getTransport() {
+        return transport;
+    }
+
+    /**
+     * Method to get {@link #governor} instance <br>
+     * No-any params required
+     *
+     * @return {@link #governor} instance as {@link KrakenRateGovernor}
+     */
+    public KrakenRateGovernor getGovernor() {
+        return governor;
+    }
+
+    /**
+     * Method to get {@link #tradingLimiter} instance <br>
+     * No-any params required
+     *
+     * @return {@link #tradingLimiter} instance as {@link KrakenTradingRateLimiter}
+     */
+    public KrakenTradingRateLimiter getTradingLimiter() {
+        return tradingLimiter;
+    }
+
+    /**
+     * Method to get {@link #referenceCache} instance <br>
+     * No-any params required
+     *
+     * @return {@link #referenceCache} instance as {@link KrakenReferenceCache}
+     */
+    public KrakenReferenceCache getReferenceCache() {
+        return referenceCache;
+    }
+
+    /**
+     * Method to get {@link #fanOut} instance <br>
+     * No-any params required
+     *
+     * @return {@link #fanOut} instance as {@link KrakenFanOut}
+     */
+    public KrakenFanOut getFanOut() {
+        return fanOut;
+    }
+
+    /**
+     * Method to get {@link #statusBreaker} instance <br>
+     * No-any params required
+     *
+     * @return {@link #statusBreaker} instance as {@link KrakenStatusBreaker}, null if the requests are not checked
+     */
+    public KrakenStatusBreaker getStatusBreaker() {
+        return statusBreaker;
+    }
+
+    /**
+     * Method to get {@link #clockSync} instance <br>
+     * No-any params required
+     *
+     * @return {@link #clockSync} instance as {@link KrakenClockSync}, null if the clock is not estimated
+     */
+    public KrakenClockSync getClockSync() {
+        return clockSync;
+    }
+
+    /**
+     * The {@code Builder} class is useful to build a {@link KrakenClientContext} <br>
+     * The components that are not set are the shared ones: the {@link KrakenTransport#getSharedTransport()}, the
+     * {@link KrakenReferenceCache#getSharedCache()}, the {@link KrakenFanOut#getSharedFanOut()} and the governor and
+     * the trading limiter of the api key, except the reference cache of a custom base endpoint, that is a new one so
+     * the reference data of different servers are not mixed
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     */
+    public static class Builder {
+
+        /**
+         * {@code defaultErrorMessage} is the custom error to show when is not a request error
+         */
+        private String defaultErrorMessage;
+
+        /**
+         * {@code requestTimeout} is the custom timeout for request
+         */
+        private int requestTimeout = -1;
+
+        /**
+         * {@code baseEndpoint} is the base endpoint of the requests
+         */
+        private String baseEndpoint = KrakenManager.BASE_ENDPOINT;
+
+        /**
+         * {@code apiKey} is the instance that contains api key of Kraken's platform
+         */
+        private String apiKey;
+
+        /**
+         * {@code apiSign} is the instance that contains api sign of Kraken's platform
+         */
+        private String apiSign;
+
+        /**
+         * {@code transport} is the instance used to make the API requests
+         */
+        private KrakenTransport transport;
+
+        /**
+         * {@code governor} is the instance that models the API call counter of the api key
+         */
+        private KrakenRateGovernor governor;
+
+        /**
+         * {@code tradingLimiter} is the instance used to track the trading rate counters of the matching engine
+         */
+        private KrakenTradingRateLimiter tradingLimiter;
+
+        /**
+         * {@code referenceCache} is instance that memorizes the reference data of the market
+         */
+        private KrakenReferenceCache referenceCache;
+
+        /**
+         * {@code fanOut} is the instance used to send the bulk requests
+         */
+        private KrakenFanOut fanOut;
+
+        /**
+         * {@code statusBreaker} is the instance used to stop the requests refused by the system status of Kraken
+         */
+        private KrakenStatusBreaker statusBreaker;
+
+        /**
+         * {@code clockSync} is the instance used to estimate the clock of the Kraken's servers
+         */
+        private KrakenClockSync clockSync;
+
+        /**
+         * {@code tier} is the verification tier of the account
+         */
+        private VerificationTier tier;
+
+        /**
+         * Constructor to init a {@link Builder} <br>
+         * No-any params required
+         */
+        public Builder() {
+        }
+
+        /**
+         * Constructor to init a {@link Builder} with the configuration of another context
+         *
+         * @param context: context from which copy the configuration
+         * @apiNote the governor and the trading limiter are not copied, so they are the shared ones of the api key of
+         * the new context if they are not set
+         */
+        public Builder(KrakenClientContext context) {
+            defaultErrorMessage = context.defaultErrorMessage;
+            requestTimeout = context.requestTimeout;
+            baseEndpoint = context.baseEndpoint;
+            apiKey = context.apiKey;
+            apiSign = context.apiSign;
+            transport = context.transport;
+            referenceCache = context.referenceCache;
+            fanOut = context.fanOut;
+            statusBreaker = context.statusBreaker;
+            clockSync = context.clockSync;
+        }
+
+        /**
+         * Method to set {@link #defaultErrorMessage} instance
+         *
+         * @param defaultErrorMessage: custom error to show when is not a request error
+         * @return the builder as {@link Builder}
+         */
+        public Builder setDefaultErrorMessage(String defaultErrorMessage) {
+            this.defaultErrorMessage = defaultErrorMessage;
+            return this;
+        }
+
+        /**
+         * Method to set {@link #requestTimeout} instance
+         *
+         * @param requestTimeout: custom timeout for request, -1 to use the default one
+         * @return the builder as {@link Builder}
+         */
+        public Builder setRequestTimeout(int requestTimeout) {
+            this.requestTimeout = requestTimeout;
+            return this;
+        }
+
+        /**
+         * Method to set {@link #baseEndpoint} instance
+         *
+         * @param baseEndpoint: base endpoint of the requests, es. the one of a local stand-in server
+         *                      http://localhost:8080/0
+         * @return the builder as {@link Builder}
+         * @apiNote the path of the base endpoint has to be {@code "/0"}, because it is part of the signature of the
+         * private requests
+         */
+        public Builder setBaseEndpoint(String baseEndpoint) {
+            this.baseEndpoint = baseEndpoint;
+            return this;
+        }
+
+        /**
+         * Method to set the credentials
+         *
+         * @param apiKey:  api key of Kraken's platform
+         * @param apiSign: api sign of Kraken's platform
+         * @return the builder as {@link Builder}
+         */
+        public Builder setCredentials(String apiKey, String apiSign) {
+            this.apiKey = apiKey;
+            this.apiSign = apiSign;
+            return this;
+        }
+
+        /**
+         * Method to set {@link #transport} instance
+         *
+         * @param transport: instance used to make the API requests
+         * @return the builder as {@link Builder}
+         */
+        public Builder setTransport(KrakenTransport transport) {
+            this.transport = transport;
+            return this;
+        }
+
+        /**
+         * Method to set {@link #governor} instance
+         *
+         * @param governor: instance that models the API call counter of the api key
+         * @return the builder as {@link Builder}
+         */
+        public Builder setGovernor(KrakenRateGovernor governor) {
+            this.governor = governor;
+            return this;
+        }
+
+        /**
+         * Method to set {@link #tradingLimiter} instance
+         *
+         * @param tradingLimiter: instance used to track the trading rate counters of the matching engine
+         * @return the builder as {@link Builder}
+         */
+        public Builder setTradingLimiter(KrakenTradingRateLimiter tradingLimiter) {
+            this.tradingLimiter = tradingLimiter;
+            return this;
+        }
+
+        /**
+         * Method to set {@link #referenceCache} instance
+         *
+         * @param referenceCache: instance that memorizes the reference data of the market
+         * @return the builder as {@link Builder}
+         */
+        public Builder setReferenceCache(KrakenReferenceCache referenceCache) {
+            this.referenceCache = referenceCache;
+            return this;
+        }
+
+        /**
+         * Method to set {@link #fanOut} instance
+         *
+         * @param fanOut: instance used to send the bulk requests
+         * @return the builder as {@link Builder}
+         */
+        public Builder setFanOut(KrakenFanOut fanOut) {
+            this.fanOut = fanOut;
+            return this;
+        }
+
+        /**
+         * Method to set {@link #statusBreaker} instance
+         *
+         * @param statusBreaker: instance used to stop the requests refused by the system status of Kraken, null to
+         *                       not check the requests
+         * @return the builder as {@link Builder}
+         * @apiNote the breaker polls the system status from the first request checked, share the same breaker between
+         * the contexts of the same server
+         */
+        public Builder setStatusBreaker(KrakenStatusBreaker statusBreaker) {
+            this.statusBreaker = statusBreaker;
+            return this;
+        }
+
+        /**
+         * Method to set {@link #clockSync} instance
+         *
+         * @param clockSync: instance used to estimate the clock of the Kraken's servers, null to not estimate it
+         * @return the builder as {@link Builder}
+         * @apiNote the sampling of the server time is started when the context is built
+         */
+        public Builder setClockSync(KrakenClockSync clockSync) {
+            this.clockSync = clockSync;
+            return this;
+        }
+
+        /**
+         * Method to set {@link #tier} instance
+         *
+         * @param tier: verification tier of the account, applied to the governor and the trading limiter
+         * @return the builder as {@link Builder}
+         */
+        public Builder setVerificationTier(VerificationTier tier) {
+            this.tier = tier;
+            return this;
+        }
+
+        /**
+         * Method to build the context <br>
+         * No-any params required
+         *
+         * @return context as {@link KrakenClientContext}
+         * @throws IllegalArgumentException when the api sign is not a valid {@code "Base64"} value, so a wrong key fails
+         *                                  here instead of sending private requests without a valid signature
+         */
+        public KrakenClientContext build() {
+            return new KrakenClientContext(this);
+        }
+
+    }
+
+}
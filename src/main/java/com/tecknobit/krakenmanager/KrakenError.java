@@ -0,0 +1,353 @@
+package com.tecknobit.krakenmanager;
+
+import java.util.HashMap;
+
+import static com.tecknobit.krakenmanager.KrakenManager.INVALID_RESPONSE_ERROR;
+import static com.tecknobit.krakenmanager.transport.KrakenStatusBreaker.*;
+
+/**
+ * {@code KrakenError} list of the errors sent by Kraken and of the errors of the library <br>
+ * The errors are looked up by their codes in a map built once, so the errors of a response are resolved without
+ * parsing or comparing their texts
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote see the official documentation at: <a href="https://support.kraken.com/hc/en-us/articles/360001491786-API-error-messages">
+ * API error messages</a>
+ */
+public enum KrakenError {
+
+    /**
+     * {@code INVALID_ARGUMENTS} the request payload is malformed, incorrect or ambiguous
+     */
+    INVALID_ARGUMENTS("EGeneral:Invalid arguments", false),
+
+    /**
+     * {@code INDEX_UNAVAILABLE} the index pricing is unavailable for the stop orders on the pair
+     */
+    INDEX_UNAVAILABLE("EGeneral:Invalid arguments:Index unavailable", false),
+
+    /**
+     * {@code TEMPORARY_LOCKOUT} too many sequential failed authentications
+     */
+    TEMPORARY_LOCKOUT("EGeneral:Temporary lockout", true),
+
+    /**
+     * {@code PERMISSION_DENIED} the api key has not the permissions for the request
+     */
+    PERMISSION_DENIED("EGeneral:Permission denied", false),
+
+    /**
+     * {@code UNKNOWN_METHOD} the endpoint requested is not valid
+     */
+    UNKNOWN_METHOD("EGeneral:Unknown method", false),
+
+    /**
+     * {@code INTERNAL_ERROR} an internal error of Kraken
+     */
+    INTERNAL_ERROR("EGeneral:Internal error", true),
+
+    /**
+     * {@code SERVICE_UNAVAILABLE} the matching engine or the API are offline
+     */
+    SERVICE_UNAVAILABLE("EService:Unavailable", true),
+
+    /**
+     * {@code SERVICE_BUSY} the matching engine or the API are busy
+     */
+    SERVICE_BUSY("EService:Busy", true),
+
+    /**
+     * {@code MARKET_CANCEL_ONLY} the market accepts only the cancels
+     */
+    MARKET_CANCEL_ONLY("EService:Market in cancel_only mode", true),
+
+    /**
+     * {@code MARKET_POST_ONLY} the market accepts only the post-only orders
+     */
+    MARKET_POST_ONLY("EService:Market in post_only mode", true),
+
+    /**
+     * {@code DEADLINE_ELAPSED} the deadline of the request has been passed
+     */
+    DEADLINE_ELAPSED("EService:Deadline elapsed", true),
+
+    /**
+     * {@code INVALID_KEY} the api key is not valid
+     */
+    INVALID_KEY("EAPI:Invalid key", false),
+
+    /**
+     * {@code INVALID_SIGNATURE} the signature of the request is not valid
+     */
+    INVALID_SIGNATURE("EAPI:Invalid signature", false),
+
+    /**
+     * {@code INVALID_NONCE} the nonce of the request is not valid
+     */
+    INVALID_NONCE("EAPI:Invalid nonce", true),
+
+    /**
+     * {@code RATE_LIMIT_EXCEEDED} the API call counter of the api key has been exceeded
+     */
+    RATE_LIMIT_EXCEEDED("EAPI:Rate limit exceeded", true),
+
+    /**
+     * {@code FEATURE_DISABLED} the feature requested is disabled
+     */
+    FEATURE_DISABLED("EAPI:Feature disabled", false),
+
+    /**
+     * {@code UNKNOWN_ASSET_PAIR} the pair requested is not valid
+     */
+    UNKNOWN_ASSET_PAIR("EQuery:Unknown asset pair", false),
+
+    /**
+     * {@code UNKNOWN_ASSET} the asset requested is not valid
+     */
+    UNKNOWN_ASSET("EQuery:Unknown asset", false),
+
+    /**
+     * {@code TRADE_LOCKED} the account is locked for the trading
+     */
+    TRADE_LOCKED("ETrade:Locked", false),
+
+    /**
+     * {@code CANNOT_OPEN_POSITION} the account cannot open the margin positions
+     */
+    CANNOT_OPEN_POSITION("EOrder:Cannot open position", false),
+
+    /**
+     * {@code CANNOT_OPEN_OPPOSING_POSITION} the account cannot open an opposing margin position
+     */
+    CANNOT_OPEN_OPPOSING_POSITION("EOrder:Cannot open opposing position", false),
+
+    /**
+     * {@code MARGIN_ALLOWANCE_EXCEEDED} the margin allowance of the account has been exceeded
+     */
+    MARGIN_ALLOWANCE_EXCEEDED("EOrder:Margin allowance exceeded", false),
+
+    /**
+     * {@code MARGIN_LEVEL_TOO_LOW} the margin level of the account is too low
+     */
+    MARGIN_LEVEL_TOO_LOW("EOrder:Margin level too low", false),
+
+    /**
+     * {@code MARGIN_POSITION_SIZE_EXCEEDED} the margin position size has been exceeded
+     */
+    MARGIN_POSITION_SIZE_EXCEEDED("EOrder:Margin position size exceeded", false),
+
+    /**
+     * {@code INSUFFICIENT_MARGIN} Kraken has not enough margin for the order
+     */
+    INSUFFICIENT_MARGIN("EOrder:Insufficient margin", true),
+
+    /**
+     * {@code INSUFFICIENT_FUNDS} the account has not enough funds for the order
+     */
+    INSUFFICIENT_FUNDS("EOrder:Insufficient funds", false),
+
+    /**
+     * {@code ORDER_MINIMUM_NOT_MET} the volume of the order is lower than the minimum of the pair
+     */
+    ORDER_MINIMUM_NOT_MET("EOrder:Order minimum not met", false),
+
+    /**
+     * {@code COST_MINIMUM_NOT_MET} the cost of the order is lower than the minimum of the pair
+     */
+    COST_MINIMUM_NOT_MET("EOrder:Cost minimum not met", false),
+
+    /**
+     * {@code TICK_SIZE_CHECK_FAILED} the price of the order is not a multiple of the tick size of the pair
+     */
+    TICK_SIZE_CHECK_FAILED("EOrder:Tick size check failed", false),
+
+    /**
+     * {@code ORDERS_LIMIT_EXCEEDED} the account has too many open orders
+     */
+    ORDERS_LIMIT_EXCEEDED("EOrder:Orders limit exceeded", false),
+
+    /**
+     * {@code ORDER_RATE_LIMIT_EXCEEDED} the trading counter of the pair has been exceeded
+     */
+    ORDER_RATE_LIMIT_EXCEEDED("EOrder:Rate limit exceeded", true),
+
+    /**
+     * {@code DOMAIN_RATE_LIMIT_EXCEEDED} the trading counter of the domain has been exceeded
+     */
+    DOMAIN_RATE_LIMIT_EXCEEDED("EOrder:Domain rate limit exceeded", true),
+
+    /**
+     * {@code POSITIONS_LIMIT_EXCEEDED} the account has too many open positions
+     */
+    POSITIONS_LIMIT_EXCEEDED("EOrder:Positions limit exceeded", false),
+
+    /**
+     * {@code UNKNOWN_POSITION} the position requested is not valid
+     */
+    UNKNOWN_POSITION("EOrder:Unknown position", false),
+
+    /**
+     * {@code UNKNOWN_ORDER} the order requested is not valid or has been already closed
+     */
+    UNKNOWN_ORDER("EOrder:Unknown order", false),
+
+    /**
+     * {@code INVALID_ORDER} the order is not valid
+     */
+    INVALID_ORDER("EOrder:Invalid order", false),
+
+    /**
+     * {@code INVALID_PRICE} the price of the order is not valid
+     */
+    INVALID_PRICE("EOrder:Invalid price", false),
+
+    /**
+     * {@code UNKNOWN_WITHDRAW_KEY} the withdrawal key requested is not valid
+     */
+    UNKNOWN_WITHDRAW_KEY("EFunding:Unknown withdraw key", false),
+
+    /**
+     * {@code INVALID_AMOUNT} the amount of the funding is not valid
+     */
+    INVALID_AMOUNT("EFunding:Invalid amount", false),
+
+    /**
+     * {@code CIRCUIT_OPEN} the request has not been sent because Kraken is not available
+     */
+    CIRCUIT_OPEN(CIRCUIT_OPEN_ERROR, true),
+
+    /**
+     * {@code CANCEL_ONLY} the request has not been sent because Kraken accepts only the cancels
+     */
+    CANCEL_ONLY(CANCEL_ONLY_ERROR, true),
+
+    /**
+     * {@code POST_ONLY} the request has not been sent because Kraken accepts only the post-only orders
+     */
+    POST_ONLY(POST_ONLY_ERROR, true),
+
+    /**
+     * {@code LIMIT_ONLY} the request has not been sent because Kraken accepts only the limit orders
+     */
+    LIMIT_ONLY(LIMIT_ONLY_ERROR, true),
+
+    /**
+     * {@code INVALID_RESPONSE} the response is not valid
+     */
+    INVALID_RESPONSE(INVALID_RESPONSE_ERROR, true),
+
+    /**
+     * {@code TRANSPORT_FAILED} the request has not been completed, es. the connection has been refused or timed out
+     */
+    TRANSPORT_FAILED("ETransport:Request failed", true),
+
+    /**
+     * {@code UNKNOWN} the error is not known by the library
+     */
+    UNKNOWN("EGeneral:Unknown error", false);
+
+    /**
+     * {@code errors} is the map of the errors by their codes
+     */
+    private static final HashMap<String, KrakenError> errors = new HashMap<>();
+
+    static {
+        for (KrakenError error : values())
+            errors.put(error.code, error);
+    }
+
+    /**
+     * {@code code} is the code of the error
+     */
+    private final String code;
+
+    /**
+     * {@code category} is the category of the error es. EOrder
+     */
+    private final String category;
+
+    /**
+     * {@code retryable} whether the same request could be successful if sent again later
+     */
+    private final boolean retryable;
+
+    /**
+     * Constructor to init a {@link KrakenError}
+     *
+     * @param code:      code of the error
+     * @param retryable: whether the same request could be successful if sent again later
+     */
+    KrakenError(String code, boolean retryable) {
+        this.code = code;
+        category = code.substring(0, code.indexOf(':'));
+        this.retryable = retryable;
+    }
+
+    /**
+     * Method to get an error from its code
+     *
+     * @param code: code of the error es. EOrder:Insufficient funds
+     * @return error as {@link KrakenError}, {@link #UNKNOWN} if the code is not known
+     * @implNote the codes with details, es. {@code "EGeneral:Invalid arguments:volume"}, are resolved as the longest
+     * known code they start with, so {@code "EGeneral:Invalid arguments:Index unavailable:XBTUSD"} is resolved as
+     * {@link #INDEX_UNAVAILABLE}
+     */
+    public static KrakenError fromCode(String code) {
+        if (code == null)
+            return UNKNOWN;
+        KrakenError error = errors.get(code);
+        if (error != null)
+            return error;
+        int categoryIndex = code.indexOf(':');
+        int detailsIndex = code.lastIndexOf(':');
+        while (detailsIndex > categoryIndex) {
+            error = errors.get(code.substring(0, detailsIndex));
+            if (error != null)
+                return error;
+            detailsIndex = code.lastIndexOf(':', detailsIndex - 1);
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * Method to get {@link #code} instance <br>
+     * No-any params required
+     *
+     * @return {@link #code} instance as {@link String}
+     */
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * Method to get {@link #category} instance <br>
+     * No-any params required
+     *
+     * @return {@link #category} instance as {@link String}
+     */
+    public String getCategory() {
+        return category;
+    }
+
+    /**
+     * Method to get {@link #retryable} instance <br>
+     * No-any params required
+     *
+     * @return {@link #retryable} instance as boolean
+     */
+    public boolean isRetryable() {
+        return retryable;
+    }
+
+    /**
+     * Returns a string representation of the object <br>
+     * No-any params required
+     *
+     * @return a string representation of the object as {@link String}
+     */
+    @Override
+    public String toString() {
+        return code;
+    }
+
+}
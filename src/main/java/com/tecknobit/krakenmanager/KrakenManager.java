@@ -4,16 +4,33 @@ import com.tecknobit.apimanager.annotations.Returner;
 import com.tecknobit.apimanager.apis.APIRequest;
 import com.tecknobit.apimanager.formatters.JsonHelper;
 import com.tecknobit.apimanager.trading.TradingTools;
-import com.tecknobit.krakenmanager.privates.KrakenPrivateManager;
+import com.tecknobit.krakenmanager.metrics.KrakenEndpointMetrics;
+import com.tecknobit.krakenmanager.metrics.KrakenMetrics;
+import com.tecknobit.krakenmanager.metrics.KrakenRequestListener;
+import com.tecknobit.krakenmanager.metrics.KrakenRequestTrace;
+import com.tecknobit.krakenmanager.transport.KrakenClockSync;
+import com.tecknobit.krakenmanager.transport.KrakenJsonReader;
+import com.tecknobit.krakenmanager.transport.KrakenJsonReader.StreamDecoder;
+import com.tecknobit.krakenmanager.transport.KrakenStatusBreaker;
+import com.tecknobit.krakenmanager.transport.KrakenTransport;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
-import java.util.Properties;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
 
 import static com.tecknobit.apimanager.apis.APIRequest.DEFAULT_ERROR_RESPONSE;
 import static com.tecknobit.apimanager.trading.TradingTools.computeAssetPercent;
 import static com.tecknobit.apimanager.trading.TradingTools.textualizeAssetPercent;
+import static com.tecknobit.krakenmanager.metrics.KrakenRequestListener.Stage.COALESCED;
+import static com.tecknobit.krakenmanager.metrics.KrakenRequestListener.Stage.FAILED;
+import static com.tecknobit.krakenmanager.metrics.KrakenRequestListener.Stage.PARSED;
 
 /**
  * The {@code KrakenManager} class is useful to manage all KrakenManager's endpoints
@@ -51,41 +68,99 @@ public class KrakenManager {
     }
 
     /**
-     * {@code properties} is a local instance used to instantiate a new {@link KrakenPrivateManager}'s manager without
-     * re-insert credentials
+     * {@code BASE_ENDPOINT} is Kraken's base API endpoint
      */
-    protected static final Properties properties = new Properties();
+    public static final String BASE_ENDPOINT = "https://api.kraken.com/0";
 
     /**
-     * {@code BASE_ENDPOINT} is Kraken's base API endpoint
+     * {@code INVALID_RESPONSE_ERROR} is the error code recorded in the {@link KrakenMetrics} when a response is not a
+     * valid {@code "JSON"} payload of Kraken
      */
-    public static final String BASE_ENDPOINT = "https://api.kraken.com/0";
+    public static final String INVALID_RESPONSE_ERROR = "EResponse:Invalid payload";
+
+    /**
+     * {@code lastContext} is the context of the last manager instantiated with a parameterized constructor, used to
+     * instantiate a new manager without re-insert the settings and the credentials
+     *
+     * @implNote the context is immutable and replaced atomically, so a manager never reads the settings of a manager
+     * mixed with the credentials of another one
+     */
+    private static volatile KrakenClientContext lastContext = KrakenClientContext.EMPTY_CONTEXT;
 
     /**
      * {@code apiRequest} is instance to make the API requests
+     *
+     * @implNote this instance is used just for the utility methods, like the params assembling, the API requests are
+     * sent by the {@link #transport}
      */
-    protected APIRequest apiRequest;
+    protected final APIRequest apiRequest;
 
     /**
-     * {@code errorResponse} is instance for responses error
+     * {@code baseEndpoint} is the base endpoint of the requests, {@link #BASE_ENDPOINT} if it has not been set
      */
-    protected String errorResponse;
+    protected final String baseEndpoint;
+
+    /**
+     * {@code errorResponse} is instance for responses error of the calling thread
+     *
+     * @apiNote until the version 1.0.9 it was a {@link String} shared by all the threads, so the subclasses that read
+     * or assigned it have to use {@link ThreadLocal#get()} and {@link ThreadLocal#set(Object)} instead
+     */
+    protected final ThreadLocal<String> errorResponse = new ThreadLocal<>();
+
+    /**
+     * {@code defaultErrorMessage} is the custom error to show when is not a request error, null if it has not been set
+     */
+    protected final String defaultErrorMessage;
+
+    /**
+     * {@code requestTimeout} is the custom timeout for request, -1 if it has not been set
+     */
+    protected final int requestTimeout;
+
+    /**
+     * {@code statusResponse} is instance for the status code of the last response of the calling thread
+     */
+    protected final ThreadLocal<Integer> statusResponse = ThreadLocal.withInitial(() -> -1);
+
+    /**
+     * {@code transport} is the instance shared by the managers to make the API requests
+     */
+    protected final KrakenTransport transport;
+
+    /**
+     * {@code context} is the configuration of the manager
+     */
+    protected final KrakenClientContext context;
+
+    /**
+     * {@code statusBreaker} is the instance used to stop the requests refused by the system status of Kraken, null if
+     * the requests are not checked
+     */
+    protected final KrakenStatusBreaker statusBreaker;
+
+    /**
+     * {@code clockSync} is the instance used to estimate the clock of the Kraken's servers, null if it is not estimated
+     */
+    protected final KrakenClockSync clockSync;
 
     /** Constructor to init a {@link KrakenManager}
      * @param defaultErrorMessage: custom error to show when is not a request error
      * @param requestTimeout: custom timeout for request
      */
     public KrakenManager(String defaultErrorMessage, int requestTimeout) {
-        apiRequest = new APIRequest(defaultErrorMessage, requestTimeout);
-        storeProperties(defaultErrorMessage, requestTimeout);
+        this(new KrakenClientContext.Builder()
+                .setDefaultErrorMessage(defaultErrorMessage)
+                .setRequestTimeout(requestTimeout)
+                .build());
+        storeContext(context);
     }
 
     /** Constructor to init a {@link KrakenManager}
      * @param defaultErrorMessage: custom error to show when is not a request error
      */
     public KrakenManager(String defaultErrorMessage) {
-        apiRequest = new APIRequest(defaultErrorMessage);
-        storeProperties(defaultErrorMessage, -1);
+        this(defaultErrorMessage, -1);
     }
 
     /**
@@ -94,44 +169,463 @@ public class KrakenManager {
      * @param requestTimeout: custom timeout for request
      */
     public KrakenManager(int requestTimeout) {
-        apiRequest = new APIRequest(requestTimeout);
-        storeProperties(null, requestTimeout);
+        this(null, requestTimeout);
     }
 
     /**
      * Constructor to init a {@link KrakenManager} <br>
      * No-any params required
+     *
+     * @apiNote the settings are the same of the last manager instantiated with a parameterized constructor
      */
     public KrakenManager() {
-        String defaultErrorMessage = properties.getProperty("defaultErrorMessage");
-        int requestTimeout;
+        this(lastContext);
+    }
+
+    /**
+     * Constructor to init a {@link KrakenManager}
+     *
+     * @param context: configuration of the manager, shared with the other managers created with it
+     * @apiNote this constructor does not change the settings used by the no-any params constructors, so the managers
+     * of different accounts can be created at the same time
+     */
+    public KrakenManager(KrakenClientContext context) {
+        this.context = context;
+        defaultErrorMessage = context.getDefaultErrorMessage();
+        requestTimeout = context.getRequestTimeout();
+        baseEndpoint = context.getBaseEndpoint();
+        apiRequest = context.getApiRequest();
+        transport = context.getTransport();
+        statusBreaker = context.getStatusBreaker();
+        clockSync = context.getClockSync();
+    }
+
+    /**
+     * Method to store the context used by the no-any params constructors
+     *
+     * @param context: context to store
+     */
+    protected static void storeContext(KrakenClientContext context) {
+        lastContext = context;
+    }
+
+    /**
+     * Method to get the context used by the no-any params constructors <br>
+     * No-any params required
+     *
+     * @return context as {@link KrakenClientContext}
+     */
+    protected static KrakenClientContext getLastContext() {
+        return lastContext;
+    }
+
+    /**
+     * Method to get {@link #context} instance <br>
+     * No-any params required
+     *
+     * @return {@link #context} instance as {@link KrakenClientContext}
+     */
+    public KrakenClientContext getContext() {
+        return context;
+    }
+
+    /**
+     * Method to get {@link #statusBreaker} instance <br>
+     * No-any params required
+     *
+     * @return {@link #statusBreaker} instance as {@link KrakenStatusBreaker}, null if the requests are not checked
+     */
+    public KrakenStatusBreaker getStatusBreaker() {
+        return statusBreaker;
+    }
+
+    /**
+     * Method to get {@link #clockSync} instance <br>
+     * No-any params required
+     *
+     * @return {@link #clockSync} instance as {@link KrakenClockSync}, null if the clock is not estimated
+     */
+    public KrakenClockSync getClockSync() {
+        return clockSync;
+    }
+
+    /**
+     * Method to get the current time of the Kraken's servers <br>
+     * No-any params required
+     *
+     * @return server time in milliseconds as long, estimated by the {@link #clockSync} or the local time if it is not
+     * set
+     * @implNote no requests are sent, use it instead of the {@code "Time"} endpoint to compare the timestamps of the
+     * responses
+     */
+    public long currentServerTimeMillis() {
+        return clockSync != null ? clockSync.currentServerTimeMillis() : System.currentTimeMillis();
+    }
+
+    /**
+     * Method to check whether a request can be sent according to the system status of Kraken, the error of a request
+     * that cannot be sent is memorized for the calling thread
+     *
+     * @param endpoint: endpoint of the request
+     * @param params:   body params of the request, null if the request has not params, the {@code "post"} flag can be
+     *                  added to them by the {@link #statusBreaker}
+     * @throws IOException when the request cannot be sent
+     */
+    protected void checkStatus(String endpoint, Params params) throws IOException {
+        String error = checkStatusError(endpoint, params);
+        if (error != null) {
+            statusResponse.set(-1);
+            errorResponse.set(error);
+            throw new IOException();
+        }
+    }
+
+    /**
+     * Method to check whether a request can be sent according to the system status of Kraken
+     *
+     * @param endpoint: endpoint of the request
+     * @param params:   body params of the request, null if the request has not params, the {@code "post"} flag can be
+     *                  added to them by the {@link #statusBreaker}
+     * @return error of the request formatted as {@code "JSON"} array as {@link String}, null if the request can be sent
+     */
+    protected String checkStatusError(String endpoint, Params params) {
+        if (statusBreaker == null)
+            return null;
+        String error = statusBreaker.check(endpoint, params);
+        return error != null ? new JSONArray().put(error).toString() : null;
+    }
+
+    /**
+     * Method to check whether a request can be sent according to the system status of Kraken, without throwing
+     * exceptions
+     *
+     * @param endpoint: endpoint of the request
+     * @param params:   body params of the request, null if the request has not params, the {@code "post"} flag can be
+     *                  added to them by the {@link #statusBreaker}
+     * @return result with the error of the request as {@link KrakenResult}, null if the request can be sent
+     */
+    protected <T> KrakenResult<T> checkStatusResult(String endpoint, Params params) {
+        if (statusBreaker == null)
+            return null;
+        String error = statusBreaker.check(endpoint, params);
+        return error != null ? KrakenResult.failure(-1, KrakenError.fromCode(error), null) : null;
+    }
+
+    /**
+     * Method to record the outcome of a response in the {@link #statusBreaker}
+     *
+     * @param response: response obtained by the {@link #transport}
+     * @param errors:   errors of the response, null if it has not errors
+     * @implNote it is invoked once for each response received by the {@link #transport}, the requests that shared the
+     * response of an identical request in flight do not record it again, so a single failed response shared by many
+     * requests counts as one failure
+     */
+    private void recordOutcome(HttpResponse<?> response, String errors) {
+        if (statusBreaker != null)
+            statusBreaker.onResponse(response.statusCode(), errors);
+    }
+
+    /**
+     * Method to assemble the payload of a response, the status code and the errors are memorized for the calling
+     * thread
+     *
+     * @param response: response obtained by the {@link #transport}
+     * @param trace:    trace of the request
+     * @return payload of the response as {@link KrakenPayload}
+     * @throws IOException when the request has been go wrong
+     */
+    protected KrakenPayload assemblePayload(HttpResponse<String> response,
+                                            KrakenRequestTrace trace) throws IOException {
+        statusResponse.set(response.statusCode());
         try {
-            requestTimeout = Integer.parseInt(properties.getProperty("requestTimeout"));
-        } catch (NumberFormatException e) {
-            requestTimeout = -1;
+            KrakenPayload payload = parsePayload(response, trace);
+            errorResponse.remove();
+            return payload;
+        } catch (IOException e) {
+            errorResponse.set(e.getMessage());
+            throw new IOException();
         }
-        if (defaultErrorMessage != null && requestTimeout != -1)
-            apiRequest = new APIRequest(defaultErrorMessage, requestTimeout);
-        else if (defaultErrorMessage != null)
-            apiRequest = new APIRequest(defaultErrorMessage);
-        else if (requestTimeout != -1)
-            apiRequest = new APIRequest(requestTimeout);
-        else
-            apiRequest = new APIRequest();
     }
 
     /**
-     * Method to store some properties
+     * Method to decode a response reading it directly from its stream, without building the whole {@code "JSON"}
+     * tree, the status code and the errors are memorized for the calling thread
      *
-     * @param defaultErrorMessage: custom error to show when is not a request error
-     * @param requestTimeout:      custom timeout for request
+     * @param response: response obtained by the {@link #transport}
+     * @param decoder:  decoder of the {@code "result"} value of the response
+     * @param trace:    trace of the request
+     * @return {@code "result"} value decoded as {@link T}
+     * @throws IOException when the request has been go wrong
+     */
+    protected <T> T decodeStream(HttpResponse<InputStream> response, StreamDecoder<T> decoder,
+                                 KrakenRequestTrace trace) throws IOException {
+        KrakenResult<T> result = decodeResult(response, decoder, trace);
+        if (!result.isSuccessful()) {
+            errorResponse.set(result.getErrorResponse());
+            throw new IOException();
+        }
+        errorResponse.remove();
+        return result.getValue();
+    }
+
+    /**
+     * Method to decode a response reading it directly from its stream, without building the whole {@code "JSON"}
+     * tree and without throwing exceptions when Kraken refused the request, the status code is memorized for the
+     * calling thread
+     *
+     * @param response: response obtained by the {@link #transport}
+     * @param decoder:  decoder of the {@code "result"} value of the response
+     * @param trace:    trace of the request
+     * @return {@code "result"} value decoded, or the errors of the response, as {@link KrakenResult}
      */
-    protected void storeProperties(String defaultErrorMessage, int requestTimeout) {
-        properties.clear();
-        if (defaultErrorMessage != null)
-            properties.setProperty("defaultErrorMessage", defaultErrorMessage);
-        if (requestTimeout != -1)
-            properties.setProperty("requestTimeout", String.valueOf(requestTimeout));
+    protected <T> KrakenResult<T> decodeResult(HttpResponse<InputStream> response, StreamDecoder<T> decoder,
+                                               KrakenRequestTrace trace) {
+        return decodeResult(response, response.body(), decoder, trace);
+    }
+
+    /**
+     * Method to decode a response reading it directly from a stream of its body, recording its size, its parse time
+     * and its errors in the {@link KrakenMetrics}, the status code is memorized for the calling thread
+     *
+     * @param response: response obtained by the {@link #transport}
+     * @param body:     stream of the body of the response to read
+     * @param decoder:  decoder of the {@code "result"} value of the response
+     * @param trace:    trace of the request
+     * @return {@code "result"} value decoded, or the errors of the response, as {@link KrakenResult}
+     */
+    protected <T> KrakenResult<T> decodeResult(HttpResponse<?> response, InputStream body, StreamDecoder<T> decoder,
+                                               KrakenRequestTrace trace) {
+        int statusCode = response.statusCode();
+        statusResponse.set(statusCode);
+        KrakenEndpointMetrics endpointMetrics = getEndpointMetrics(response);
+        long startTime = System.nanoTime();
+        KrakenJsonReader reader = new KrakenJsonReader(body);
+        KrakenResult<T> result;
+        try {
+            result = readResult(reader, decoder, statusCode);
+        } finally {
+            endpointMetrics.recordPayload(reader.getCharsRead(), System.nanoTime() - startTime);
+            closeReader(reader);
+        }
+        if (!result.isSuccessful()) {
+            List<String> errors = result.getRawErrors();
+            endpointMetrics.recordErrors(errors);
+            recordOutcome(response, String.join(",", errors));
+            trace.mark(FAILED);
+        } else {
+            recordOutcome(response, null);
+            trace.mark(PARSED);
+        }
+        return result;
+    }
+
+    /**
+     * Method to decode the body of a response shared by an identical request in flight, the status code is
+     * memorized for the calling thread
+     *
+     * @param statusCode: status code of the response
+     * @param body:       buffer with the body of the response
+     * @param length:     number of the bytes of the body in the buffer
+     * @param decoder:    decoder of the {@code "result"} value of the response
+     * @param trace:      trace of the request
+     * @return {@code "result"} value decoded, or the errors of the response, as {@link KrakenResult}
+     * @implNote the response has been already recorded in the {@link KrakenMetrics} and in the {@link #statusBreaker}
+     * by the request that received it, so it is not recorded again
+     */
+    protected <T> KrakenResult<T> decodeSharedResult(int statusCode, byte[] body, int length,
+                                                     StreamDecoder<T> decoder, KrakenRequestTrace trace) {
+        statusResponse.set(statusCode);
+        trace.mark(COALESCED);
+        KrakenJsonReader reader = new KrakenJsonReader(new ByteArrayInputStream(body, 0, length));
+        KrakenResult<T> result;
+        try {
+            result = readResult(reader, decoder, statusCode);
+        } finally {
+            closeReader(reader);
+        }
+        trace.mark(result.isSuccessful() ? PARSED : FAILED);
+        return result;
+    }
+
+    /**
+     * Method to read the {@code "error"} and the {@code "result"} values of a response
+     *
+     * @param reader:     reader of the response
+     * @param decoder:    decoder of the {@code "result"} value of the response
+     * @param statusCode: status code of the response
+     * @return {@code "result"} value decoded, or the errors of the response, as {@link KrakenResult}
+     * @implNote the exceptions thrown by the decoder, es. for a value not known by the library, are returned as
+     * {@link KrakenError#INVALID_RESPONSE}, so the response is recorded and the exceptions do not escape the
+     * {@link KrakenResult} methods
+     */
+    private static <T> KrakenResult<T> readResult(KrakenJsonReader reader, StreamDecoder<T> decoder,
+                                                  int statusCode) {
+        T result = null;
+        boolean hasResult = false;
+        ArrayList<String> errors = new ArrayList<>(1);
+        try {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "error" -> {
+                        reader.beginArray();
+                        while (reader.hasNext())
+                            errors.add(reader.nextString());
+                        reader.endArray();
+                    }
+                    case "result" -> {
+                        if (errors.isEmpty()) {
+                            result = decoder.decode(reader);
+                            hasResult = true;
+                        } else
+                            reader.skipValue();
+                    }
+                    default -> reader.skipValue();
+                }
+            }
+            reader.endObject();
+        } catch (IOException | RuntimeException e) {
+            return KrakenResult.failure(statusCode, KrakenError.INVALID_RESPONSE, e.getMessage());
+        }
+        if (!hasResult || !errors.isEmpty())
+            return KrakenResult.failure(statusCode, errors);
+        return KrakenResult.success(result, statusCode);
+    }
+
+    /**
+     * Method to close a reader of a response, its stream is already consumed so a failure to close it is ignored
+     *
+     * @param reader: reader to close
+     */
+    private static void closeReader(KrakenJsonReader reader) {
+        try {
+            reader.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    /**
+     * Method to assemble the payload of the response of an asynchronous request
+     *
+     * @param response: response obtained by the {@link #transport}
+     * @param trace:    trace of the request
+     * @return payload of the response as {@link KrakenPayload}
+     * @throws CompletionException wrapping an {@link IOException}, with the errors of the response as message, when
+     *                             the request has been go wrong
+     */
+    protected KrakenPayload assembleAsyncPayload(HttpResponse<String> response, KrakenRequestTrace trace) {
+        try {
+            return parsePayload(response, trace);
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * Method to parse the payload of a response, recording its size, its parse time and its errors in the
+     * {@link KrakenMetrics}
+     *
+     * @param response: response obtained by the {@link #transport}
+     * @param trace:    trace of the request
+     * @return payload of the response as {@link KrakenPayload}
+     * @throws IOException with the errors of the response as message, when the request has been go wrong
+     */
+    protected KrakenPayload parsePayload(HttpResponse<String> response, KrakenRequestTrace trace) throws IOException {
+        KrakenEndpointMetrics endpointMetrics = getEndpointMetrics(response);
+        String body = response.body();
+        long startTime = System.nanoTime();
+        try {
+            KrakenPayload payload = new KrakenPayload(body);
+            recordOutcome(response, null);
+            trace.mark(PARSED);
+            return payload;
+        } catch (IOException e) {
+            recordErrors(endpointMetrics, e.getMessage());
+            recordOutcome(response, e.getMessage());
+            trace.mark(FAILED);
+            throw e;
+        } finally {
+            endpointMetrics.recordPayload(body != null ? body.length() : 0, System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * Method to parse the payload of a response shared by an identical request in flight
+     *
+     * @param body:  body of the response
+     * @param trace: trace of the request
+     * @return payload of the response as {@link KrakenPayload}
+     * @throws IOException with the errors of the response as message, when the request has been go wrong
+     * @implNote the response has been already recorded in the {@link KrakenMetrics} and in the {@link #statusBreaker}
+     * by the request that received it, so it is not recorded again
+     */
+    protected KrakenPayload parseSharedPayload(String body, KrakenRequestTrace trace) throws IOException {
+        trace.mark(COALESCED);
+        try {
+            KrakenPayload payload = new KrakenPayload(body);
+            trace.mark(PARSED);
+            return payload;
+        } catch (IOException e) {
+            trace.mark(FAILED);
+            throw e;
+        }
+    }
+
+    /**
+     * Method to get the metrics of the endpoint of a response
+     *
+     * @param response: response obtained by the {@link #transport}
+     * @return metrics of the endpoint as {@link KrakenEndpointMetrics}
+     */
+    private KrakenEndpointMetrics getEndpointMetrics(HttpResponse<?> response) {
+        return transport.getMetrics().getEndpointMetrics(response.request().uri());
+    }
+
+    /**
+     * Method to record the errors of a response
+     *
+     * @param endpointMetrics: metrics of the endpoint of the response
+     * @param errors:          errors of the response formatted as {@code "JSON"} array, any other value is recorded as
+     *                         {@link #INVALID_RESPONSE_ERROR}
+     */
+    private void recordErrors(KrakenEndpointMetrics endpointMetrics, String errors) {
+        ArrayList<String> errorCodes = new ArrayList<>();
+        try {
+            JSONArray jErrors = new JSONArray(errors);
+            for (int j = 0; j < jErrors.length(); j++)
+                errorCodes.add(jErrors.optString(j, INVALID_RESPONSE_ERROR));
+        } catch (JSONException | NullPointerException e) {
+            errorCodes.add(INVALID_RESPONSE_ERROR);
+        }
+        endpointMetrics.recordErrors(errorCodes);
+    }
+
+    /**
+     * Method to get the metrics of the requests sent by all the managers <br>
+     * No-any params required
+     *
+     * @return metrics of the requests as {@link KrakenMetrics}
+     * @apiNote the metrics are also registered as {@code "JMX"} MBeans, one for each endpoint requested
+     */
+    public KrakenMetrics getMetrics() {
+        return transport.getMetrics();
+    }
+
+    /**
+     * Method to set the listener of the stages of the requests sent by all the managers
+     *
+     * @param listener: listener to set, null to remove the current one
+     * @apiNote useful to plug a tracer and break down the time of the requests:
+     * <pre>
+     *     {@code
+     *        KrakenManager.setRequestListener((requestId, endpoint, stage, nanoTime) ->
+     *              tracer.record(requestId, endpoint, stage.name(), nanoTime));
+     *     }
+     * </pre>
+     * @implNote when the listener is not set the stages are not traced at all
+     */
+    public static void setRequestListener(KrakenRequestListener listener) {
+        KrakenRequestTrace.setRequestListener(listener);
     }
 
     /**
@@ -139,9 +633,10 @@ public class KrakenManager {
      * No-any params required
      *
      * @return status code of request response
+     * @implNote the status code is the one of the last request sent by the calling thread
      */
     public int getStatusResponse() {
-        return apiRequest.getResponseStatusCode();
+        return statusResponse.get();
     }
 
     /**
@@ -149,11 +644,16 @@ public class KrakenManager {
      * No-any params required
      *
      * @return error of the response as {@link String}
+     * @implNote the error is the one of the last request sent by the calling thread
      */
     public String getErrorResponse() {
-        if (errorResponse == null)
+        String error = errorResponse.get();
+        if (error == null) {
+            if (defaultErrorMessage != null)
+                return defaultErrorMessage;
             return DEFAULT_ERROR_RESPONSE;
-        return errorResponse;
+        }
+        return error;
     }
 
     /**
@@ -161,9 +661,13 @@ public class KrakenManager {
      * No-any params required
      *
      * @return error response of the request formatted as {@code "JSON"}
+     * @implNote the error is the one of the last request sent by the calling thread
      */
     public String getJSONErrorResponse() {
-        return apiRequest.getJSONErrorResponse();
+        return new JSONObject()
+                .put("status", getStatusResponse())
+                .put("error", getErrorResponse())
+                .toString();
     }
 
     /**
@@ -234,6 +738,75 @@ public class KrakenManager {
         return textualizeAssetPercent(startValue, finalValue, decimalDigits);
     }
 
+    /**
+     * The {@code KrakenPayload} class is useful to memorize a response of Kraken's API, its body is parsed just once
+     * and the parsed tree is shared with the {@link Returner} methods and the custom records given by library
+     */
+    public static class KrakenPayload {
+
+        /**
+         * {@code body} is instance that memorizes the raw body of the response
+         */
+        private final String body;
+
+        /**
+         * {@code jPayload} is instance that memorizes the parsed body of the response
+         */
+        private final JSONObject jPayload;
+
+        /**
+         * Constructor to init a {@link KrakenPayload}
+         *
+         * @param body: raw body of the response
+         * @throws IOException when the body is not a valid response, the errors of the response are the message of the
+         *                     exception
+         */
+        public KrakenPayload(String body) throws IOException {
+            this.body = body;
+            try {
+                jPayload = new JSONObject(body);
+            } catch (JSONException e) {
+                throw new IOException(body);
+            }
+            if (!jPayload.has("result")) {
+                JSONArray errors = jPayload.optJSONArray("error");
+                throw new IOException(errors != null ? errors.toString() : body);
+            }
+        }
+
+        /**
+         * Method to get {@link #body} instance <br>
+         * No-any params required
+         *
+         * @return {@link #body} instance as {@link String}
+         */
+        public String getBody() {
+            return body;
+        }
+
+        /**
+         * Method to get {@link #jPayload} instance <br>
+         * No-any params required
+         *
+         * @return {@link #jPayload} instance as {@link JSONObject}
+         */
+        public JSONObject getJSONPayload() {
+            return jPayload;
+        }
+
+        /**
+         * Returns a string representation of the object <br>
+         * No-any params required
+         *
+         * @return a string representation of the object as {@link String}
+         */
+        @Override
+        public String toString() {
+            return body;
+        }
+
+    }
+
     /**
      * The {@code KrakenResponse} class is useful to format all responses and give base details for
      * others custom records given by library
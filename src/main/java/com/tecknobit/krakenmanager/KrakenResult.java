@@ -0,0 +1,248 @@
+package com.tecknobit.krakenmanager;
+
+import org.json.JSONArray;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The {@code KrakenResult} class is useful to return the outcome of a request without throwing an exception <br>
+ * A result holds the value of the response, or the errors of the request resolved as {@link KrakenError}, with the
+ * status code of the response, so the errors can be handled by the calling thread without reading them from the
+ * manager:
+ * <pre>
+ *     {@code
+ *        KrakenResult<OrderAdded> result = manager.addLimitOrderResult(Side.buy, 1, "XBTUSD", 30000, null);
+ *        if (result.isSuccessful())
+ *            System.out.println(result.getValue().getTxIds());
+ *        else if (result.hasError(KrakenError.INSUFFICIENT_FUNDS))
+ *            System.out.println(result.getErrorResponse());
+ *     }
+ * </pre>
+ *
+ * @param <T> type of the value of the response
+ * @author N7ghtm4r3 - Tecknobit
+ */
+public final class KrakenResult<T> {
+
+    /**
+     * {@code NO_ERRORS} are the errors of the successful results
+     */
+    private static final KrakenError[] NO_ERRORS = new KrakenError[0];
+
+    /**
+     * {@code NO_RAW_ERRORS} are the raw errors of the successful results
+     */
+    private static final String[] NO_RAW_ERRORS = new String[0];
+
+    /**
+     * {@code value} is the value of the response, null when the request has been go wrong
+     */
+    private final T value;
+
+    /**
+     * {@code statusCode} is the status code of the response, -1 if the request has not been completed
+     */
+    private final int statusCode;
+
+    /**
+     * {@code errors} are the errors of the request, empty when the request has been successful
+     */
+    private final KrakenError[] errors;
+
+    /**
+     * {@code rawErrors} are the errors of the request as sent by Kraken, empty when the request has been successful
+     */
+    private final String[] rawErrors;
+
+    /**
+     * {@code message} is the message of the error when it is not an error sent by Kraken, es. a response not valid
+     */
+    private final String message;
+
+    /**
+     * Constructor to init a {@link KrakenResult}
+     *
+     * @param value:      value of the response, null when the request has been go wrong
+     * @param statusCode: status code of the response, -1 if the request has not been completed
+     * @param errors:     errors of the request
+     * @param rawErrors:  errors of the request as sent by Kraken
+     * @param message:    message of the error when it is not an error sent by Kraken
+     */
+    private KrakenResult(T value, int statusCode, KrakenError[] errors, String[] rawErrors, String message) {
+        this.value = value;
+        this.statusCode = statusCode;
+        this.errors = errors;
+        this.rawErrors = rawErrors;
+        this.message = message;
+    }
+
+    /**
+     * Method to create a successful result
+     *
+     * @param value:      value of the response
+     * @param statusCode: status code of the response
+     * @return result as {@link KrakenResult}
+     */
+    public static <T> KrakenResult<T> success(T value, int statusCode) {
+        return new KrakenResult<>(value, statusCode, NO_ERRORS, NO_RAW_ERRORS, null);
+    }
+
+    /**
+     * Method to create the result of a request refused by Kraken
+     *
+     * @param statusCode: status code of the response
+     * @param rawErrors:  errors of the request as sent by Kraken
+     * @return result as {@link KrakenResult}, with the {@link KrakenError#INVALID_RESPONSE} error if there are not
+     * errors
+     */
+    public static <T> KrakenResult<T> failure(int statusCode, List<String> rawErrors) {
+        if (rawErrors.isEmpty())
+            return failure(statusCode, KrakenError.INVALID_RESPONSE, null);
+        String[] codes = rawErrors.toArray(new String[0]);
+        KrakenError[] errors = new KrakenError[codes.length];
+        for (int j = 0; j < codes.length; j++)
+            errors[j] = KrakenError.fromCode(codes[j]);
+        return new KrakenResult<>(null, statusCode, errors, codes, null);
+    }
+
+    /**
+     * Method to create the result of a request that has been go wrong before or after Kraken handled it
+     *
+     * @param statusCode: status code of the response, -1 if the request has not been completed
+     * @param error:      error of the request
+     * @param message:    message of the error, null to use the code of the error
+     * @return result as {@link KrakenResult}
+     */
+    public static <T> KrakenResult<T> failure(int statusCode, KrakenError error, String message) {
+        return new KrakenResult<>(null, statusCode, new KrakenError[]{error}, new String[]{error.getCode()}, message);
+    }
+
+    /**
+     * Method to get whether the request has been successful <br>
+     * No-any params required
+     *
+     * @return whether the request has been successful as boolean
+     */
+    public boolean isSuccessful() {
+        return errors.length == 0;
+    }
+
+    /**
+     * Method to get {@link #value} instance <br>
+     * No-any params required
+     *
+     * @return {@link #value} instance as {@link T}
+     */
+    public T getValue() {
+        return value;
+    }
+
+    /**
+     * Method to get the value of the response or another value when the request has been go wrong
+     *
+     * @param other: value to return when the request has been go wrong
+     * @return value as {@link T}
+     */
+    public T orElse(T other) {
+        return isSuccessful() ? value : other;
+    }
+
+    /**
+     * Method to get {@link #statusCode} instance <br>
+     * No-any params required
+     *
+     * @return {@link #statusCode} instance as int
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Method to get the first error of the request <br>
+     * No-any params required
+     *
+     * @return first error as {@link KrakenError}, null when the request has been successful
+     */
+    public KrakenError getError() {
+        return errors.length > 0 ? errors[0] : null;
+    }
+
+    /**
+     * Method to get {@link #errors} instance <br>
+     * No-any params required
+     *
+     * @return {@link #errors} instance as {@link List} of {@link KrakenError}
+     */
+    public List<KrakenError> getErrors() {
+        return List.of(errors);
+    }
+
+    /**
+     * Method to get {@link #rawErrors} instance <br>
+     * No-any params required
+     *
+     * @return {@link #rawErrors} instance as {@link List} of {@link String}
+     */
+    public List<String> getRawErrors() {
+        return List.of(rawErrors);
+    }
+
+    /**
+     * Method to get whether the request has been go wrong with an error
+     *
+     * @param error: error to check
+     * @return whether the request has been go wrong with the error as boolean
+     */
+    public boolean hasError(KrakenError error) {
+        for (KrakenError current : errors)
+            if (current == error)
+                return true;
+        return false;
+    }
+
+    /**
+     * Method to get whether the same request could be successful if sent again later <br>
+     * No-any params required
+     *
+     * @return whether all the errors of the request are retryable as boolean, false when the request has been
+     * successful
+     */
+    public boolean isRetryable() {
+        if (errors.length == 0)
+            return false;
+        for (KrakenError error : errors)
+            if (!error.isRetryable())
+                return false;
+        return true;
+    }
+
+    /**
+     * Method to get the errors of the request as they are returned by {@link KrakenManager#getErrorResponse()} <br>
+     * No-any params required
+     *
+     * @return errors formatted as {@code "JSON"} array, or the message of the error when it is not an error sent by
+     * Kraken, as {@link String}, null when the request has been successful
+     */
+    public String getErrorResponse() {
+        if (errors.length == 0)
+            return null;
+        if (message != null)
+            return message;
+        return new JSONArray(Arrays.asList(rawErrors)).toString();
+    }
+
+    /**
+     * Returns a string representation of the object <br>
+     * No-any params required
+     *
+     * @return a string representation of the object as {@link String}
+     */
+    @Override
+    public String toString() {
+        if (isSuccessful())
+            return "KrakenResult{statusCode=" + statusCode + ", value=" + value + "}";
+        return "KrakenResult{statusCode=" + statusCode + ", errors=" + Arrays.toString(rawErrors) + "}";
+    }
+
+}
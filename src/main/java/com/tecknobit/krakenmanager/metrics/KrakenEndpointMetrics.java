@@ -0,0 +1,548 @@
+package com.tecknobit.krakenmanager.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code KrakenEndpointMetrics} class is useful to record the metrics of the requests sent to an endpoint <br>
+ * The latency is the time from the sending of the request to the receiving of its response headers, the parse time is
+ * the time spent to parse the body, or to decode it while it is read for the streamed responses, and the payload size
+ * is the number of the chars of the body, equal to its bytes for the {@code "ASCII"} payloads of Kraken <br>
+ * The bytes saved are the difference between the decompressed bytes and the compressed bytes of the compressed
+ * responses
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ */
+public class KrakenEndpointMetrics implements KrakenEndpointMetricsMBean {
+
+    /**
+     * {@code endpoint} is the endpoint of the metrics
+     */
+    private final String endpoint;
+
+    /**
+     * {@code latency} is the histogram of the latency in nanoseconds
+     */
+    private final KrakenHistogram latency;
+
+    /**
+     * {@code payloadSize} is the histogram of the payload size in chars
+     */
+    private final KrakenHistogram payloadSize;
+
+    /**
+     * {@code parseTime} is the histogram of the parse time in nanoseconds
+     */
+    private final KrakenHistogram parseTime;
+
+    /**
+     * {@code transportFailures} is the number of the requests failed before a response has been received
+     */
+    private final LongAdder transportFailures;
+
+    /**
+     * {@code errors} is the number of the responses with errors sent by Kraken
+     */
+    private final LongAdder errors;
+
+    /**
+     * {@code errorCodes} is the instance that memorizes the number of each error code
+     */
+    private final ConcurrentHashMap<String, LongAdder> errorCodes;
+
+    /**
+     * {@code compressedResponses} is the number of the compressed responses received
+     */
+    private final LongAdder compressedResponses;
+
+    /**
+     * {@code compressedBytes} is the number of the compressed bytes received
+     */
+    private final LongAdder compressedBytes;
+
+    /**
+     * {@code decompressedBytes} is the number of the bytes of the compressed responses once decompressed
+     */
+    private final LongAdder decompressedBytes;
+
+    /**
+     * Constructor to init a {@link KrakenEndpointMetrics}
+     *
+     * @param endpoint: endpoint of the metrics es. OHLC
+     */
+    public KrakenEndpointMetrics(String endpoint) {
+        this.endpoint = endpoint;
+        latency = new KrakenHistogram();
+        payloadSize = new KrakenHistogram();
+        parseTime = new KrakenHistogram();
+        transportFailures = new LongAdder();
+        errors = new LongAdder();
+        errorCodes = new ConcurrentHashMap<>();
+        compressedResponses = new LongAdder();
+        compressedBytes = new LongAdder();
+        decompressedBytes = new LongAdder();
+    }
+
+    /**
+     * Method to record the latency of a request
+     *
+     * @param nanos: latency in nanoseconds
+     */
+    public void recordLatency(long nanos) {
+        latency.record(nanos);
+    }
+
+    /**
+     * Method to record a request failed before a response has been received
+     *
+     * @param cause: cause of the failure
+     */
+    public void recordTransportFailure(Throwable cause) {
+        transportFailures.increment();
+        recordErrorCode("ETransport:" + cause.getClass().getSimpleName());
+    }
+
+    /**
+     * Method to record the payload of a response, once for each response also when it has been shared by more
+     * requests
+     *
+     * @param size:       size of the payload in chars
+     * @param parseNanos: parse time of the payload in nanoseconds
+     */
+    public void recordPayload(long size, long parseNanos) {
+        payloadSize.record(size);
+        parseTime.record(parseNanos);
+    }
+
+    /**
+     * Method to record a compressed payload
+     *
+     * @param compressedBytes:   number of the compressed bytes received
+     * @param decompressedBytes: number of the bytes once decompressed
+     */
+    public void recordCompressedPayload(long compressedBytes, long decompressedBytes) {
+        compressedResponses.increment();
+        this.compressedBytes.add(compressedBytes);
+        this.decompressedBytes.add(decompressedBytes);
+    }
+
+    /**
+     * Method to record a response with errors, once for each response also when it has been shared by more requests
+     *
+     * @param errorCodes: error codes of the response es. EAPI:Rate limit exceeded
+     */
+    public void recordErrors(Iterable<String> errorCodes) {
+        errors.increment();
+        for (String errorCode : errorCodes)
+            recordErrorCode(errorCode);
+    }
+
+    /**
+     * Method to get a snapshot of the metrics <br>
+     * No-any params required
+     *
+     * @return snapshot of the metrics as {@link Snapshot}
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(endpoint, latency.getCount(), transportFailures.sum(), errors.sum(), getErrorCodes(),
+                latency.snapshot(), payloadSize.snapshot(), parseTime.snapshot(), compressedResponses.sum(),
+                getBytesSaved());
+    }
+
+    /**
+     * Method to get {@link #endpoint} instance <br>
+     * No-any params required
+     *
+     * @return {@link #endpoint} instance as {@link String}
+     */
+    @Override
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Method to get the number of the requests sent <br>
+     * No-any params required
+     *
+     * @return number of the requests sent as long
+     */
+    @Override
+    public long getCalls() {
+        return latency.getCount() + transportFailures.sum();
+    }
+
+    /**
+     * Method to get the number of the requests failed before a response has been received <br>
+     * No-any params required
+     *
+     * @return number of the requests failed as long
+     */
+    @Override
+    public long getTransportFailures() {
+        return transportFailures.sum();
+    }
+
+    /**
+     * Method to get the number of the responses with errors sent by Kraken <br>
+     * No-any params required
+     *
+     * @return number of the responses with errors as long
+     */
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    /**
+     * Method to get the rate of the requests failed or with errors <br>
+     * No-any params required
+     *
+     * @return rate of the requests failed or with errors as double, from 0 to 1
+     */
+    @Override
+    public double getErrorRate() {
+        long calls = getCalls();
+        if (calls == 0)
+            return 0;
+        return (double) (errors.sum() + transportFailures.sum()) / calls;
+    }
+
+    /**
+     * Method to get the number of each error code sent by Kraken <br>
+     * No-any params required
+     *
+     * @return number of each error code as {@link Map} of {@link String} and {@link Long}
+     */
+    @Override
+    public Map<String, Long> getErrorCodes() {
+        TreeMap<String, Long> errorCodes = new TreeMap<>();
+        this.errorCodes.forEach((errorCode, count) -> errorCodes.put(errorCode, count.sum()));
+        return Collections.unmodifiableMap(errorCodes);
+    }
+
+    /**
+     * Method to get the mean latency of the requests <br>
+     * No-any params required
+     *
+     * @return mean latency in milliseconds as double
+     */
+    @Override
+    public double getLatencyMeanMillis() {
+        return latency.getMean() / 1e6;
+    }
+
+    /**
+     * Method to get the median latency of the requests <br>
+     * No-any params required
+     *
+     * @return median latency in milliseconds as double
+     */
+    @Override
+    public double getLatencyP50Millis() {
+        return latency.getValueAtPercentile(50) / 1e6;
+    }
+
+    /**
+     * Method to get the 99th percentile of the latency of the requests <br>
+     * No-any params required
+     *
+     * @return 99th percentile of the latency in milliseconds as double
+     */
+    @Override
+    public double getLatencyP99Millis() {
+        return latency.getValueAtPercentile(99) / 1e6;
+    }
+
+    /**
+     * Method to get the maximum latency of the requests <br>
+     * No-any params required
+     *
+     * @return maximum latency in milliseconds as double
+     */
+    @Override
+    public double getLatencyMaxMillis() {
+        return latency.getMax() / 1e6;
+    }
+
+    /**
+     * Method to get the mean size of the payloads <br>
+     * No-any params required
+     *
+     * @return mean size of the payloads in chars as double
+     */
+    @Override
+    public double getPayloadSizeMean() {
+        return payloadSize.getMean();
+    }
+
+    /**
+     * Method to get the maximum size of the payloads <br>
+     * No-any params required
+     *
+     * @return maximum size of the payloads in chars as long
+     */
+    @Override
+    public long getPayloadSizeMax() {
+        return payloadSize.getMax();
+    }
+
+    /**
+     * Method to get the mean parse time of the payloads <br>
+     * No-any params required
+     *
+     * @return mean parse time in microseconds as double
+     */
+    @Override
+    public double getParseTimeMeanMicros() {
+        return parseTime.getMean() / 1e3;
+    }
+
+    /**
+     * Method to get the 99th percentile of the parse time of the payloads <br>
+     * No-any params required
+     *
+     * @return 99th percentile of the parse time in microseconds as double
+     */
+    @Override
+    public double getParseTimeP99Micros() {
+        return parseTime.getValueAtPercentile(99) / 1e3;
+    }
+
+    /**
+     * Method to get the number of the compressed responses received <br>
+     * No-any params required
+     *
+     * @return number of the compressed responses as long
+     */
+    @Override
+    public long getCompressedResponses() {
+        return compressedResponses.sum();
+    }
+
+    /**
+     * Method to get the number of the bytes saved by the compression of the responses <br>
+     * No-any params required
+     *
+     * @return number of the bytes saved as long
+     */
+    @Override
+    public long getBytesSaved() {
+        return decompressedBytes.sum() - compressedBytes.sum();
+    }
+
+    /**
+     * Method to count an error code
+     *
+     * @param errorCode: error code to count
+     */
+    private void recordErrorCode(String errorCode) {
+        errorCodes.computeIfAbsent(errorCode, key -> new LongAdder()).increment();
+    }
+
+    /**
+     * The {@code Snapshot} class is useful to format a snapshot of the metrics of an endpoint
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     */
+    public static class Snapshot {
+
+        /**
+         * {@code endpoint} is the endpoint of the metrics
+         */
+        private final String endpoint;
+
+        /**
+         * {@code responses} is the number of the responses received
+         */
+        private final long responses;
+
+        /**
+         * {@code transportFailures} is the number of the requests failed before a response has been received
+         */
+        private final long transportFailures;
+
+        /**
+         * {@code errors} is the number of the responses with errors sent by Kraken
+         */
+        private final long errors;
+
+        /**
+         * {@code errorCodes} is the number of each error code
+         */
+        private final Map<String, Long> errorCodes;
+
+        /**
+         * {@code latency} is the distribution of the latency in nanoseconds
+         */
+        private final KrakenHistogram.Snapshot latency;
+
+        /**
+         * {@code payloadSize} is the distribution of the payload size in chars
+         */
+        private final KrakenHistogram.Snapshot payloadSize;
+
+        /**
+         * {@code parseTime} is the distribution of the parse time in nanoseconds
+         */
+        private final KrakenHistogram.Snapshot parseTime;
+
+        /**
+         * {@code compressedResponses} is the number of the compressed responses received
+         */
+        private final long compressedResponses;
+
+        /**
+         * {@code bytesSaved} is the number of the bytes saved by the compression of the responses
+         */
+        private final long bytesSaved;
+
+        /**
+         * Constructor to init a {@link Snapshot}
+         *
+         * @param endpoint:            endpoint of the metrics
+         * @param responses:           number of the responses received
+         * @param transportFailures:   number of the requests failed before a response has been received
+         * @param errors:              number of the responses with errors sent by Kraken
+         * @param errorCodes:          number of each error code
+         * @param latency:             distribution of the latency in nanoseconds
+         * @param payloadSize:         distribution of the payload size in chars
+         * @param parseTime:           distribution of the parse time in nanoseconds
+         * @param compressedResponses: number of the compressed responses received
+         * @param bytesSaved:          number of the bytes saved by the compression of the responses
+         */
+        public Snapshot(String endpoint, long responses, long transportFailures, long errors,
+                        Map<String, Long> errorCodes, KrakenHistogram.Snapshot latency,
+                        KrakenHistogram.Snapshot payloadSize, KrakenHistogram.Snapshot parseTime,
+                        long compressedResponses, long bytesSaved) {
+            this.endpoint = endpoint;
+            this.responses = responses;
+            this.transportFailures = transportFailures;
+            this.errors = errors;
+            this.errorCodes = errorCodes;
+            this.latency = latency;
+            this.payloadSize = payloadSize;
+            this.parseTime = parseTime;
+            this.compressedResponses = compressedResponses;
+            this.bytesSaved = bytesSaved;
+        }
+
+        /**
+         * Method to get {@link #endpoint} instance <br>
+         * No-any params required
+         *
+         * @return {@link #endpoint} instance as {@link String}
+         */
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        /**
+         * Method to get {@link #responses} instance <br>
+         * No-any params required
+         *
+         * @return {@link #responses} instance as long
+         */
+        public long getResponses() {
+            return responses;
+        }
+
+        /**
+         * Method to get {@link #transportFailures} instance <br>
+         * No-any params required
+         *
+         * @return {@link #transportFailures} instance as long
+         */
+        public long getTransportFailures() {
+            return transportFailures;
+        }
+
+        /**
+         * Method to get {@link #errors} instance <br>
+         * No-any params required
+         *
+         * @return {@link #errors} instance as long
+         */
+        public long getErrors() {
+            return errors;
+        }
+
+        /**
+         * Method to get {@link #errorCodes} instance <br>
+         * No-any params required
+         *
+         * @return {@link #errorCodes} instance as {@link Map} of {@link String} and {@link Long}
+         */
+        public Map<String, Long> getErrorCodes() {
+            return errorCodes;
+        }
+
+        /**
+         * Method to get {@link #latency} instance <br>
+         * No-any params required
+         *
+         * @return {@link #latency} instance as {@link KrakenHistogram.Snapshot}
+         */
+        public KrakenHistogram.Snapshot getLatency() {
+            return latency;
+        }
+
+        /**
+         * Method to get {@link #payloadSize} instance <br>
+         * No-any params required
+         *
+         * @return {@link #payloadSize} instance as {@link KrakenHistogram.Snapshot}
+         */
+        public KrakenHistogram.Snapshot getPayloadSize() {
+            return payloadSize;
+        }
+
+        /**
+         * Method to get {@link #parseTime} instance <br>
+         * No-any params required
+         *
+         * @return {@link #parseTime} instance as {@link KrakenHistogram.Snapshot}
+         */
+        public KrakenHistogram.Snapshot getParseTime() {
+            return parseTime;
+        }
+
+        /**
+         * Method to get {@link #compressedResponses} instance <br>
+         * No-any params required
+         *
+         * @return {@link #compressedResponses} instance as long
+         */
+        public long getCompressedResponses() {
+            return compressedResponses;
+        }
+
+        /**
+         * Method to get {@link #bytesSaved} instance <br>
+         * No-any params required
+         *
+         * @return {@link #bytesSaved} instance as long
+         */
+        public long getBytesSaved() {
+            return bytesSaved;
+        }
+
+        /**
+         * Returns a string representation of the object <br>
+         * No-any params required
+         *
+         * @return a string representation of the object as {@link String}
+         */
+        @Override
+        public String toString() {
+            return endpoint + "{responses=" + responses + ", transportFailures=" + transportFailures + ", errors=" +
+                    errors + ", errorCodes=" + errorCodes + ", latency=" + latency + ", payloadSize=" + payloadSize +
+                    ", parseTime=" + parseTime + ", compressedResponses=" + compressedResponses + ", bytesSaved=" +
+                    bytesSaved + "}";
+        }
+
+    }
+
+}
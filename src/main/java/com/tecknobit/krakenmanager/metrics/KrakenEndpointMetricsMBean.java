@@ -0,0 +1,142 @@
+package com.tecknobit.krakenmanager.metrics;
+
+import java.util.Map;
+
+/**
+ * The {@code KrakenEndpointMetricsMBean} interface is useful to expose the metrics of an endpoint as {@code "JMX"}
+ * attributes
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @see KrakenEndpointMetrics
+ */
+public interface KrakenEndpointMetricsMBean {
+
+    /**
+     * Method to get the endpoint of the metrics <br>
+     * No-any params required
+     *
+     * @return endpoint of the metrics as {@link String}
+     */
+    String getEndpoint();
+
+    /**
+     * Method to get the number of the requests sent <br>
+     * No-any params required
+     *
+     * @return number of the requests sent as long
+     */
+    long getCalls();
+
+    /**
+     * Method to get the number of the requests failed before a response has been received <br>
+     * No-any params required
+     *
+     * @return number of the requests failed as long
+     */
+    long getTransportFailures();
+
+    /**
+     * Method to get the number of the responses with errors sent by Kraken <br>
+     * No-any params required
+     *
+     * @return number of the responses with errors as long
+     */
+    long getErrors();
+
+    /**
+     * Method to get the rate of the requests failed or with errors <br>
+     * No-any params required
+     *
+     * @return rate of the requests failed or with errors as double, from 0 to 1
+     */
+    double getErrorRate();
+
+    /**
+     * Method to get the number of each error code sent by Kraken <br>
+     * No-any params required
+     *
+     * @return number of each error code as {@link Map} of {@link String} and {@link Long}
+     */
+    Map<String, Long> getErrorCodes();
+
+    /**
+     * Method to get the mean latency of the requests <br>
+     * No-any params required
+     *
+     * @return mean latency in milliseconds as double
+     */
+    double getLatencyMeanMillis();
+
+    /**
+     * Method to get the median latency of the requests <br>
+     * No-any params required
+     *
+     * @return median latency in milliseconds as double
+     */
+    double getLatencyP50Millis();
+
+    /**
+     * Method to get the 99th percentile of the latency of the requests <br>
+     * No-any params required
+     *
+     * @return 99th percentile of the latency in milliseconds as double
+     */
+    double getLatencyP99Millis();
+
+    /**
+     * Method to get the maximum latency of the requests <br>
+     * No-any params required
+     *
+     * @return maximum latency in milliseconds as double
+     */
+    double getLatencyMaxMillis();
+
+    /**
+     * Method to get the mean size of the payloads <br>
+     * No-any params required
+     *
+     * @return mean size of the payloads in chars as double
+     */
+    double getPayloadSizeMean();
+
+    /**
+     * Method to get the maximum size of the payloads <br>
+     * No-any params required
+     *
+     * @return maximum size of the payloads in chars as long
+     */
+    long getPayloadSizeMax();
+
+    /**
+     * Method to get the mean parse time of the payloads <br>
+     * No-any params required
+     *
+     * @return mean parse time in microseconds as double
+     */
+    double getParseTimeMeanMicros();
+
+    /**
+     * Method to get the 99th percentile of the parse time of the payloads <br>
+     * No-any params required
+     *
+     * @return 99th percentile of the parse time in microseconds as double
+     */
+    double getParseTimeP99Micros();
+
+    /**
+     * Method to get the number of the compressed responses received <br>
+     * No-any params required
+     *
+     * @return number of the compressed responses as long
+     */
+    long getCompressedResponses();
+
+    /**
+     * Method to get the number of the bytes saved by the compression of the responses <br>
+     * No-any params required
+     *
+     * @return number of the bytes saved as long
+     */
+    long getBytesSaved();
+
+}
@@ -0,0 +1,340 @@
+package com.tecknobit.krakenmanager.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code KrakenHistogram} class is useful to record the distribution of a value without locks <br>
+ * The values are counted in buckets with a logarithmic size, each power of two is split in {@link #SUB_BUCKETS}
+ * buckets, so the percentiles are computed with a relative error lower than the 12.5% and recording a value costs an
+ * atomic increment, whatever is the number of the values already recorded
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ */
+public class KrakenHistogram {
+
+    /**
+     * {@code SUB_BUCKET_BITS} is the number of the bits used to split each power of two
+     */
+    private static final int SUB_BUCKET_BITS = 3;
+
+    /**
+     * {@code SUB_BUCKETS} is the number of the buckets of each power of two
+     */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * {@code BUCKETS} is the number of the buckets needed to count all the positive long values
+     */
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    /**
+     * {@code buckets} is the instance that memorizes the count of each bucket
+     */
+    private final AtomicLongArray buckets;
+
+    /**
+     * {@code count} is the number of the values recorded
+     */
+    private final LongAdder count;
+
+    /**
+     * {@code sum} is the sum of the values recorded
+     */
+    private final LongAdder sum;
+
+    /**
+     * {@code max} is the maximum value recorded
+     */
+    private final LongAccumulator max;
+
+    /**
+     * Constructor to init a {@link KrakenHistogram} <br>
+     * No-any params required
+     */
+    public KrakenHistogram() {
+        buckets = new AtomicLongArray(BUCKETS);
+        count = new LongAdder();
+        sum = new LongAdder();
+        max = new LongAccumulator(Math::max, 0);
+    }
+
+    /**
+     * Method to record a value
+     *
+     * @param value: value to record, the negative values are recorded as 0
+     */
+    public void record(long value) {
+        if (value < 0)
+            value = 0;
+        buckets.incrementAndGet(getBucket(value));
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Method to get the number of the values recorded <br>
+     * No-any params required
+     *
+     * @return number of the values recorded as long
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Method to get the mean of the values recorded <br>
+     * No-any params required
+     *
+     * @return mean of the values recorded as double, 0 if no values have been recorded
+     */
+    public double getMean() {
+        long count = this.count.sum();
+        if (count == 0)
+            return 0;
+        return (double) sum.sum() / count;
+    }
+
+    /**
+     * Method to get the maximum value recorded <br>
+     * No-any params required
+     *
+     * @return maximum value recorded as long
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Method to get the value at a percentile of the values recorded
+     *
+     * @param percentile: percentile to get, from 0 to 100
+     * @return value at the percentile as long, the upper bound of its bucket, 0 if no values have been recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int j = 0; j < BUCKETS; j++) {
+            counts[j] = buckets.get(j);
+            total += counts[j];
+        }
+        return getValueAtPercentile(counts, total, percentile);
+    }
+
+    /**
+     * Method to get a snapshot of the distribution <br>
+     * No-any params required
+     *
+     * @return snapshot of the distribution as {@link Snapshot}
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int j = 0; j < BUCKETS; j++) {
+            counts[j] = buckets.get(j);
+            total += counts[j];
+        }
+        return new Snapshot(total, getMean(), getValueAtPercentile(counts, total, 50),
+                getValueAtPercentile(counts, total, 90), getValueAtPercentile(counts, total, 99),
+                getValueAtPercentile(counts, total, 99.9), getMax());
+    }
+
+    /**
+     * Method to get the value at a percentile of the counts of the buckets
+     *
+     * @param counts:     counts of the buckets
+     * @param total:      sum of the counts
+     * @param percentile: percentile to get, from 0 to 100
+     * @return value at the percentile as long, the upper bound of its bucket, 0 if no values have been recorded
+     */
+    private long getValueAtPercentile(long[] counts, long total, double percentile) {
+        if (total == 0)
+            return 0;
+        long target = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * total));
+        long cumulative = 0;
+        for (int j = 0; j < BUCKETS; j++) {
+            cumulative += counts[j];
+            if (cumulative >= target)
+                return Math.min(getUpperBound(j), getMax());
+        }
+        return getMax();
+    }
+
+    /**
+     * Method to get the bucket of a value
+     *
+     * @param value: value to count
+     * @return index of the bucket as int
+     */
+    private static int getBucket(long value) {
+        if (value < SUB_BUCKETS)
+            return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Method to get the upper bound of a bucket
+     *
+     * @param bucket: index of the bucket
+     * @return upper bound of the bucket as long
+     */
+    private static long getUpperBound(int bucket) {
+        if (bucket < SUB_BUCKETS)
+            return bucket;
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long lowerBound = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << (exponent - SUB_BUCKET_BITS);
+        return lowerBound + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    /**
+     * The {@code Snapshot} class is useful to format a snapshot of the distribution of a {@link KrakenHistogram}
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     */
+    public static class Snapshot {
+
+        /**
+         * {@code count} is the number of the values recorded
+         */
+        private final long count;
+
+        /**
+         * {@code mean} is the mean of the values recorded
+         */
+        private final double mean;
+
+        /**
+         * {@code p50} is the median of the values recorded
+         */
+        private final long p50;
+
+        /**
+         * {@code p90} is the 90th percentile of the values recorded
+         */
+        private final long p90;
+
+        /**
+         * {@code p99} is the 99th percentile of the values recorded
+         */
+        private final long p99;
+
+        /**
+         * {@code p999} is the 99.9th percentile of the values recorded
+         */
+        private final long p999;
+
+        /**
+         * {@code max} is the maximum value recorded
+         */
+        private final long max;
+
+        /**
+         * Constructor to init a {@link Snapshot}
+         *
+         * @param count: number of the values recorded
+         * @param mean:  mean of the values recorded
+         * @param p50:   median of the values recorded
+         * @param p90:   90th percentile of the values recorded
+         * @param p99:   99th percentile of the values recorded
+         * @param p999:  99.9th percentile of the values recorded
+         * @param max:   maximum value recorded
+         */
+        public Snapshot(long count, double mean, long p50, long p90, long p99, long p999, long max) {
+            this.count = count;
+            this.mean = mean;
+            this.p50 = p50;
+            this.p90 = p90;
+            this.p99 = p99;
+            this.p999 = p999;
+            this.max = max;
+        }
+
+        /**
+         * Method to get {@link #count} instance <br>
+         * No-any params required
+         *
+         * @return {@link #count} instance as long
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Method to get {@link #mean} instance <br>
+         * No-any params required
+         *
+         * @return {@link #mean} instance as double
+         */
+        public double getMean() {
+            return mean;
+        }
+
+        /**
+         * Method to get {@link #p50} instance <br>
+         * No-any params required
+         *
+         * @return {@link #p50} instance as long
+         */
+        public long getP50() {
+            return p50;
+        }
+
+        /**
+         * Method to get {@link #p90} instance <br>
+         * No-any params required
+         *
+         * @return {@link #p90} instance as long
+         */
+        public long getP90() {
+            return p90;
+        }
+
+        /**
+         * Method to get {@link #p99} instance <br>
+         * No-any params required
+         *
+         * @return {@link #p99} instance as long
+         */
+        public long getP99() {
+            return p99;
+        }
+
+        /**
+         * Method to get {@link #p999} instance <br>
+         * No-any params required
+         *
+         * @return {@link #p999} instance as long
+         */
+        public long getP999() {
+            return p999;
+        }
+
+        /**
+         * Method to get {@link #max} instance <br>
+         * No-any params required
+         *
+         * @return {@link #max} instance as long
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * Returns a string representation of the object <br>
+         * No-any params required
+         *
+         * @return a string representation of the object as {@link String}
+         */
+        @Override
+        public String toString() {
+            return "{count=" + count + ", mean=" + mean + ", p50=" + p50 + ", p90=" + p90 + ", p99=" + p99 +
+                    ", p999=" + p999 + ", max=" + max + "}";
+        }
+
+    }
+
+}
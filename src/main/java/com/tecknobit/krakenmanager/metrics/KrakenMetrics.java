@@ -0,0 +1,133 @@
+package com.tecknobit.krakenmanager.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code KrakenMetrics} class is useful to collect the metrics of the requests sent by all the managers, grouped
+ * by their endpoints <br>
+ * The metrics of each endpoint are registered as {@code "JMX"} MBean with the name
+ * {@code "com.tecknobit.krakenmanager:type=KrakenEndpointMetrics,name=<endpoint>"} the first time that the endpoint
+ * is requested, and all of them can be read also with the {@link #snapshot()} method
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ */
+public class KrakenMetrics {
+
+    /**
+     * {@code JMX_DOMAIN} is the domain of the {@code "JMX"} MBeans
+     */
+    public static final String JMX_DOMAIN = "com.tecknobit.krakenmanager";
+
+    /**
+     * {@code sharedMetrics} is the instance shared by all the managers
+     */
+    private static final KrakenMetrics sharedMetrics = new KrakenMetrics(true);
+
+    /**
+     * {@code endpoints} is the instance that memorizes the metrics of each endpoint
+     */
+    private final ConcurrentHashMap<String, KrakenEndpointMetrics> endpoints;
+
+    /**
+     * {@code registerMBeans} whether the metrics of the endpoints have to be registered as {@code "JMX"} MBeans
+     */
+    private final boolean registerMBeans;
+
+    /**
+     * Constructor to init a {@link KrakenMetrics}
+     *
+     * @param registerMBeans: whether the metrics of the endpoints have to be registered as {@code "JMX"} MBeans
+     */
+    public KrakenMetrics(boolean registerMBeans) {
+        this.registerMBeans = registerMBeans;
+        endpoints = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Method to get the metrics shared by all the managers <br>
+     * No-any params required
+     *
+     * @return shared metrics as {@link KrakenMetrics}
+     */
+    public static KrakenMetrics getSharedMetrics() {
+        return sharedMetrics;
+    }
+
+    /**
+     * Method to get the endpoint of a request, without its version, its scope and its query
+     *
+     * @param uri: uri of the request es. https://api.kraken.com/0/public/OHLC?pair=XBTUSD
+     * @return endpoint of the request as {@link String} es. OHLC
+     */
+    public static String getEndpoint(URI uri) {
+        String path = uri.getPath();
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    /**
+     * Method to get the metrics of an endpoint, they are created and registered if they do not exist yet
+     *
+     * @param endpoint: endpoint of the metrics es. OHLC
+     * @return metrics of the endpoint as {@link KrakenEndpointMetrics}
+     */
+    public KrakenEndpointMetrics getEndpointMetrics(String endpoint) {
+        KrakenEndpointMetrics metrics = endpoints.get(endpoint);
+        if (metrics != null)
+            return metrics;
+        return endpoints.computeIfAbsent(endpoint, key -> {
+            KrakenEndpointMetrics endpointMetrics = new KrakenEndpointMetrics(key);
+            if (registerMBeans)
+                registerMBean(endpointMetrics);
+            return endpointMetrics;
+        });
+    }
+
+    /**
+     * Method to get the metrics of the endpoint of a request
+     *
+     * @param uri: uri of the request es. https://api.kraken.com/0/public/OHLC?pair=XBTUSD
+     * @return metrics of the endpoint as {@link KrakenEndpointMetrics}
+     */
+    public KrakenEndpointMetrics getEndpointMetrics(URI uri) {
+        return getEndpointMetrics(getEndpoint(uri));
+    }
+
+    /**
+     * Method to get a snapshot of the metrics of all the endpoints requested <br>
+     * No-any params required
+     *
+     * @return snapshots of the metrics as {@link Map} of {@link String} and {@link KrakenEndpointMetrics.Snapshot},
+     * sorted by their endpoints
+     */
+    public Map<String, KrakenEndpointMetrics.Snapshot> snapshot() {
+        TreeMap<String, KrakenEndpointMetrics.Snapshot> snapshots = new TreeMap<>();
+        endpoints.forEach((endpoint, metrics) -> snapshots.put(endpoint, metrics.snapshot()));
+        return Collections.unmodifiableMap(snapshots);
+    }
+
+    /**
+     * Method to register the metrics of an endpoint as {@code "JMX"} MBean, when the registration fails the metrics
+     * are still available with the {@link #snapshot()} method
+     *
+     * @param metrics: metrics to register
+     */
+    private void registerMBean(KrakenEndpointMetrics metrics) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(JMX_DOMAIN + ":type=KrakenEndpointMetrics,name="
+                    + ObjectName.quote(metrics.getEndpoint()));
+            if (!server.isRegistered(name))
+                server.registerMBean(metrics, name);
+        } catch (JMException | SecurityException ignored) {
+        }
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.tecknobit.krakenmanager.metrics;
+
+/**
+ * The {@code KrakenRequestListener} interface is useful to receive the timestamps of the stages of each request sent
+ * by the managers, so a tracer can break down where the time of a request goes <br>
+ * The listener is invoked by the threads that send the requests and by the threads of the {@code "HTTP"} client, so
+ * it has to be thread safe and it has to return quickly, the exceptions it throws are ignored
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @see KrakenRequestTrace
+ */
+@FunctionalInterface
+public interface KrakenRequestListener {
+
+    /**
+     * {@code Stage} list of available stages of a request
+     */
+    enum Stage {
+
+        /**
+         * {@code STARTED} the request has been started, its params have been already assembled
+         */
+        STARTED,
+
+        /**
+         * {@code BODY_ENCODED} the body params of the private request have been encoded
+         */
+        BODY_ENCODED,
+
+        /**
+         * {@code SIGNED} the private request has been signed
+         */
+        SIGNED,
+
+        /**
+         * {@code SENT} the request has been handed to the {@code "HTTP"} client
+         */
+        SENT,
+
+        /**
+         * {@code FIRST_BYTE} the status and the headers of the response have been received
+         */
+        FIRST_BYTE,
+
+        /**
+         * {@code RECEIVED} the response has been returned by the {@code "HTTP"} client, with its whole body when it is
+         * not streamed
+         */
+        RECEIVED,
+
+        /**
+         * {@code COALESCED} the request has not been sent because the response of an identical request in flight has
+         * been shared with it
+         */
+        COALESCED,
+
+        /**
+         * {@code PARSED} the payload of the response has been parsed, or decoded in its records when it is streamed
+         */
+        PARSED,
+
+        /**
+         * {@code FAILED} the request has been failed
+         */
+        FAILED
+
+    }
+
+    /**
+     * {@code NO_OP} is the listener that ignores all the stages, used when a listener has not been set
+     */
+    KrakenRequestListener NO_OP = (requestId, endpoint, stage, nanoTime) -> {
+    };
+
+    /**
+     * Method invoked when a request reaches a stage
+     *
+     * @param requestId: identifier of the request, the same for all its stages
+     * @param endpoint:  endpoint of the request es. AddOrder
+     * @param stage:     stage reached
+     * @param nanoTime:  time when the stage has been reached, as returned by {@link System#nanoTime()}
+     */
+    void onStage(long requestId, String endpoint, Stage stage, long nanoTime);
+
+}
@@ -0,0 +1,125 @@
+package com.tecknobit.krakenmanager.metrics;
+
+import com.tecknobit.krakenmanager.metrics.KrakenRequestListener.Stage;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.tecknobit.krakenmanager.metrics.KrakenRequestListener.NO_OP;
+import static com.tecknobit.krakenmanager.metrics.KrakenRequestListener.Stage.STARTED;
+
+/**
+ * The {@code KrakenRequestTrace} class is useful to notify the stages of a request to the {@link KrakenRequestListener}
+ * set <br>
+ * When the listener is not set every request uses the same {@link #NO_TRACE}, so no objects are allocated, no
+ * timestamps are taken and its marks are just a field check
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ */
+public final class KrakenRequestTrace {
+
+    /**
+     * {@code NO_TRACE} is the trace used when the listener is not set
+     */
+    public static final KrakenRequestTrace NO_TRACE = new KrakenRequestTrace(null, 0, null);
+
+    /**
+     * {@code requestIds} is the generator of the identifiers of the requests traced
+     */
+    private static final AtomicLong requestIds = new AtomicLong();
+
+    /**
+     * {@code requestListener} is the listener of the stages of the requests
+     */
+    private static volatile KrakenRequestListener requestListener = NO_OP;
+
+    /**
+     * {@code listener} is the listener notified by this trace, null if the trace is not active
+     */
+    private final KrakenRequestListener listener;
+
+    /**
+     * {@code requestId} is the identifier of the request traced
+     */
+    private final long requestId;
+
+    /**
+     * {@code endpoint} is the endpoint of the request traced
+     */
+    private final String endpoint;
+
+    /**
+     * Constructor to init a {@link KrakenRequestTrace}
+     *
+     * @param listener:  listener notified by the trace, null if the trace is not active
+     * @param requestId: identifier of the request traced
+     * @param endpoint:  endpoint of the request traced
+     */
+    private KrakenRequestTrace(KrakenRequestListener listener, long requestId, String endpoint) {
+        this.listener = listener;
+        this.requestId = requestId;
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Method to start the trace of a request, marking its {@link Stage#STARTED} stage
+     *
+     * @param endpoint: endpoint of the request es. AddOrder or OHLC?pair=XBTUSD, its query is not traced
+     * @return trace of the request as {@link KrakenRequestTrace}, {@link #NO_TRACE} if the listener is not set
+     */
+    public static KrakenRequestTrace start(String endpoint) {
+        KrakenRequestListener listener = requestListener;
+        if (listener == NO_OP)
+            return NO_TRACE;
+        int queryIndex = endpoint.indexOf('?');
+        if (queryIndex != -1)
+            endpoint = endpoint.substring(0, queryIndex);
+        KrakenRequestTrace trace = new KrakenRequestTrace(listener, requestIds.incrementAndGet(), endpoint);
+        trace.mark(STARTED);
+        return trace;
+    }
+
+    /**
+     * Method to set the listener of the stages of the requests
+     *
+     * @param listener: listener to set, null to remove the current one
+     */
+    public static void setRequestListener(KrakenRequestListener listener) {
+        requestListener = listener != null ? listener : NO_OP;
+    }
+
+    /**
+     * Method to get the listener of the stages of the requests <br>
+     * No-any params required
+     *
+     * @return listener of the stages of the requests as {@link KrakenRequestListener}, {@link KrakenRequestListener#NO_OP}
+     * if it is not set
+     */
+    public static KrakenRequestListener getRequestListener() {
+        return requestListener;
+    }
+
+    /**
+     * Method to mark a stage of the request
+     *
+     * @param stage: stage reached
+     */
+    public void mark(Stage stage) {
+        if (listener != null) {
+            try {
+                listener.onStage(requestId, endpoint, stage, System.nanoTime());
+            } catch (RuntimeException ignored) {
+            }
+        }
+    }
+
+    /**
+     * Method to get whether the trace is active <br>
+     * No-any params required
+     *
+     * @return whether the trace is active as boolean
+     */
+    public boolean isActive() {
+        return listener != null;
+    }
+
+}
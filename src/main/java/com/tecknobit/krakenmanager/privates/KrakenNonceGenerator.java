@@ -0,0 +1,47 @@
+package com.tecknobit.krakenmanager.privates;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code KrakenNonceGenerator} class is useful to generate the nonce values for the private requests <br>
+ * The values are strictly increasing in the whole process when they are generated, also when many threads sign their
+ * requests in the same millisecond. The requests are not serialized after their signature, so the concurrent
+ * requests of the same api key can reach Kraken in a different order and the ones with a lower nonce fail with the
+ * {@code "EAPI:Invalid nonce"} error: to send concurrent private requests set the nonce window of the api key on
+ * Kraken's platform, es. to some seconds, or send them from a single thread
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote see the official documentation at: <a href="https://docs.kraken.com/rest/#section/Authentication/Nonce-and-2FA">
+ * Nonce and 2FA</a>
+ */
+public class KrakenNonceGenerator {
+
+    /**
+     * {@code lastNonce} is the last nonce value generated
+     */
+    private static final AtomicLong lastNonce = new AtomicLong();
+
+    /**
+     * Constructor to init a {@link KrakenNonceGenerator} <br>
+     * No-any params required
+     *
+     * @apiNote this class has only static methods
+     */
+    private KrakenNonceGenerator() {
+    }
+
+    /**
+     * Method to get the next nonce value <br>
+     * No-any params required
+     *
+     * @return next nonce value, the current time in milliseconds or the last value generated plus one if it is greater,
+     * as long
+     * @implNote the value is greater than the ones already generated, but it does not wait for their requests to be
+     * sent, so it is valid for Kraken only if it arrives after them or the nonce window of the api key allows it
+     */
+    public static long nextNonce() {
+        long now = System.currentTimeMillis();
+        return lastNonce.accumulateAndGet(now, (last, current) -> Math.max(last + 1, current));
+    }
+
+}
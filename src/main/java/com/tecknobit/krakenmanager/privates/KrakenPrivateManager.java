@@ -1,16 +1,26 @@
 package com.tecknobit.krakenmanager.privates;
 
+import com.tecknobit.apimanager.annotations.Returner;
+import com.tecknobit.krakenmanager.KrakenClientContext;
+import com.tecknobit.krakenmanager.KrakenError;
 import com.tecknobit.krakenmanager.KrakenManager;
-import org.json.JSONObject;
+import com.tecknobit.krakenmanager.KrakenResult;
+import com.tecknobit.krakenmanager.metrics.KrakenRequestTrace;
+import com.tecknobit.krakenmanager.privates.KrakenRateGovernor.VerificationTier;
+import com.tecknobit.krakenmanager.privates.KrakenRequestTemplate.Field;
+import com.tecknobit.krakenmanager.privates.KrakenRequestTemplate.Request;
+import com.tecknobit.krakenmanager.transport.KrakenJsonReader.StreamDecoder;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
 import java.io.IOException;
-import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
-import static com.tecknobit.apimanager.apis.APIRequest.*;
-import static com.tecknobit.apimanager.apis.APIRequest.RequestMethod.POST;
-import static com.tecknobit.apimanager.formatters.JsonHelper.getJSONObject;
+import static com.tecknobit.krakenmanager.metrics.KrakenRequestListener.Stage.BODY_ENCODED;
+import static com.tecknobit.krakenmanager.metrics.KrakenRequestListener.Stage.SIGNED;
+import static com.tecknobit.krakenmanager.privates.KrakenNonceGenerator.nextNonce;
+import static com.tecknobit.krakenmanager.privates.KrakenRateGovernor.RATE_LIMIT_EXCEEDED_ERROR;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 /**
  * The {@code KrakenPrivateManager} class is useful to manage all private KrakenManager's endpoints
@@ -53,48 +63,50 @@ public class KrakenPrivateManager extends KrakenManager {
     protected final String apiSign;
 
     /**
-     * {@code headers} is the instance that contains headers for private api requests
+     * {@code signer} is the instance used to sign the private requests, null if the api sign is not valid
      */
-    private final Headers headers;
+    protected final KrakenSigner signer;
+
+    /**
+     * {@code governor} is the instance that models the API call counter of the api key, shared by all the managers
+     * of the same api key
+     */
+    protected final KrakenRateGovernor governor;
 
     /** Constructor to init a {@link KrakenPrivateManager}
      * @param defaultErrorMessage: custom error to show when is not a request error
      * @param requestTimeout: custom timeout for request
      * @param apiKey: api key of Kraken's platform
      * @param apiSign: api sign of Kraken's platform
+     * @throws IllegalArgumentException when the api sign is not a valid {@code "Base64"} value
      */
     public KrakenPrivateManager(String defaultErrorMessage, int requestTimeout, String apiKey, String apiSign) {
-        super(defaultErrorMessage, requestTimeout);
-        this.apiKey = apiKey;
-        this.apiSign = apiSign;
-        headers = new Headers();
-        storeProperties(defaultErrorMessage, requestTimeout, apiKey, apiSign);
+        this(new KrakenClientContext.Builder()
+                .setDefaultErrorMessage(defaultErrorMessage)
+                .setRequestTimeout(requestTimeout)
+                .setCredentials(apiKey, apiSign)
+                .build());
+        storeContext(context);
     }
 
     /** Constructor to init a {@link KrakenPrivateManager}
      * @param defaultErrorMessage : custom error to show when is not a request error
      * @param apiKey: api key of Kraken's platform
      * @param apiSign: api sign of Kraken's platform
+     * @throws IllegalArgumentException when the api sign is not a valid {@code "Base64"} value
      */
     public KrakenPrivateManager(String defaultErrorMessage, String apiKey, String apiSign) {
-        super(defaultErrorMessage);
-        this.apiKey = apiKey;
-        this.apiSign = apiSign;
-        headers = new Headers();
-        storeProperties(defaultErrorMessage, -1, apiKey, apiSign);
+        this(defaultErrorMessage, -1, apiKey, apiSign);
     }
 
     /** Constructor to init a {@link KrakenPrivateManager}
      * @param requestTimeout : custom timeout for request
      * @param apiKey: api key of Kraken's platform
      * @param apiSign: api sign of Kraken's platform
+     * @throws IllegalArgumentException when the api sign is not a valid {@code "Base64"} value
      */
     public KrakenPrivateManager(int requestTimeout, String apiKey, String apiSign) {
-        super(requestTimeout);
-        this.apiKey = apiKey;
-        this.apiSign = apiSign;
-        headers = new Headers();
-        storeProperties(null, requestTimeout, apiKey, apiSign);
+        this(null, requestTimeout, apiKey, apiSign);
     }
 
     /**
@@ -102,13 +114,14 @@ public class KrakenPrivateManager extends KrakenManager {
      *
      * @param apiKey:  api key of Kraken's platform
      * @param apiSign: api sign of Kraken's platform
+     * @throws IllegalArgumentException when the api sign is not a valid {@code "Base64"} value
+     * @apiNote the settings are the same of the last manager instantiated with a parameterized constructor
      */
     public KrakenPrivateManager(String apiKey, String apiSign) {
-        super();
-        this.apiKey = apiKey;
-        this.apiSign = apiSign;
-        headers = new Headers();
-        storeProperties(null, -1, apiKey, apiSign);
+        this(new KrakenClientContext.Builder(getLastContext())
+                .setCredentials(apiKey, apiSign)
+                .build());
+        storeContext(context);
     }
 
     /**
@@ -126,40 +139,48 @@ public class KrakenPrivateManager extends KrakenManager {
      *        KrakenPrivateManager secondManager = new KrakenPrivateManager(); //same credentials used
      *     }
      * </pre>
+     * to use the managers of different accounts at the same time use the {@link #KrakenPrivateManager(KrakenClientContext)}
+     * constructor instead
      */
     public KrakenPrivateManager() {
-        super();
-        apiKey = properties.getProperty("apiKey");
-        apiSign = properties.getProperty("apiSign");
-        if (apiKey == null || apiSign == null)
-            throw new IllegalArgumentException("You need to call a parameterized constructor first");
-        headers = new Headers();
-        setHeaders();
+        this(getLastContext());
     }
 
     /**
-     * Method to store some properties
+     * Constructor to init a {@link KrakenPrivateManager}
      *
-     * @param defaultErrorMessage: custom error to show when is not a request error
-     * @param requestTimeout:      custom timeout for request
-     * @param apiKey:              api key of Kraken's platform
-     * @param apiSign:             api sign of Kraken's platform
+     * @param context: configuration of the manager, shared with the other managers created with it
+     * @throws IllegalArgumentException when the credentials of the context have not been set
+     * @apiNote this constructor does not change the credentials used by the no-any params constructors, so the
+     * managers of different accounts can be created at the same time
      */
-    protected void storeProperties(String defaultErrorMessage, int requestTimeout, String apiKey, String apiSign) {
-        storeProperties(defaultErrorMessage, requestTimeout);
-        properties.setProperty("apiKey", apiKey);
-        properties.setProperty("apiSign", apiSign);
-        setHeaders();
+    public KrakenPrivateManager(KrakenClientContext context) {
+        super(context);
+        if (!context.hasCredentials())
+            throw new IllegalArgumentException("You need to call a parameterized constructor first or to set the "
+                    + "credentials of the context");
+        apiKey = context.getApiKey();
+        apiSign = context.getApiSign();
+        signer = context.getSigner();
+        governor = context.getGovernor();
     }
 
     /**
-     * Method to set base headers for request<br>
-     * No-any params required
+     * Method to assemble the headers of a private request<br>
+     *
+     * @param signature: signature of the request
+     * @return headers of the request as {@link LinkedHashMap} of {@link String}
+     * @implNote a new instance is created for each request, so the threads that share the same manager do not
+     * overwrite the signature of each other
      */
-    private void setHeaders() {
-        headers.addHeader(API_KEY_HEADER, apiKey);
-        headers.addHeader(CONTENT_TYPE_HEADER, "application/x-www-form-urlencoded; charset=utf-8'");
-        headers.addHeader(USER_AGENT_HEADER, "Mozilla/5.0 Firefox/26.0");
+    private LinkedHashMap<String, String> assembleHeaders(String signature) {
+        LinkedHashMap<String, String> headers = new LinkedHashMap<>();
+        headers.put(API_KEY_HEADER, apiKey);
+        headers.put(CONTENT_TYPE_HEADER, "application/x-www-form-urlencoded; charset=utf-8");
+        headers.put(USER_AGENT_HEADER, "Mozilla/5.0 Firefox/26.0");
+        if (signature != null)
+            headers.put(API_SIGN_HEADER, signature);
+        return headers;
     }
 
     /** Method to send a POST request<br>
@@ -168,34 +189,271 @@ public class KrakenPrivateManager extends KrakenManager {
      * @return response as {@link String}
      */
     public String sendPostRequest(String endpoint, Params bodyParams) throws Exception {
+        return fetchPostPayload(endpoint, bodyParams).getBody();
+    }
+
+    /** Method to send a POST request asynchronously<br>
+     * @param endpoint: endpoint of API request
+     * @param bodyParams: body params of the HTTP api request
+     * @return response as {@link CompletableFuture} of {@link String}, completed exceptionally with an
+     * {@link IOException} when the request has been go wrong
+     * @implNote the request is sent by the shared {@link #transport} with its own headers, so the calling thread is
+     * not blocked while the request is in flight
+     */
+    public CompletableFuture<String> sendPostRequestAsync(String endpoint, Params bodyParams) {
+        return fetchPostPayloadAsync(endpoint, bodyParams).thenApply(KrakenPayload::getBody);
+    }
+
+    /** Method to send a POST request and fetch its payload<br>
+     * @param endpoint: endpoint of API request
+     * @param bodyParams: body params of the HTTP api request
+     * @return payload of the response as {@link KrakenPayload}
+     * @implNote the body of the response is parsed just once, so the {@link Returner} methods have not to parse it again
+     */
+    protected KrakenPayload fetchPostPayload(String endpoint, Params bodyParams) throws IOException {
+        checkStatus(endpoint, bodyParams);
+        governor.acquire(endpoint);
+        KrakenRequestTrace trace = KrakenRequestTrace.start(endpoint);
+        long nonce = nextNonce();
+        String body = encodeBodyParams(bodyParams, nonce);
+        trace.mark(BODY_ENCODED);
+        Map<String, String> headers = assembleHeaders(getSignature(endpoint, nonce, body));
+        trace.mark(SIGNED);
+        try {
+            return assemblePayload(transport.sendPostRequest(baseEndpoint + "/private/" + endpoint, headers, body,
+                    requestTimeout, trace), trace);
+        } catch (IOException e) {
+            alignGovernor(errorResponse.get());
+            throw e;
+        }
+    }
+
+    /** Method to send a POST request and decode its response while it is read<br>
+     * @param endpoint: endpoint of API request
+     * @param bodyParams: body params of the HTTP api request
+     * @param decoder: decoder of the {@code "result"} value of the response
+     * @return {@code "result"} value decoded as {@link T}
+     * @implNote the response is decoded directly from its stream, so the whole {@code "JSON"} tree is never built
+     */
+    protected <T> T fetchPostStream(String endpoint, Params bodyParams, StreamDecoder<T> decoder) throws IOException {
+        checkStatus(endpoint, bodyParams);
+        governor.acquire(endpoint);
+        KrakenRequestTrace trace = KrakenRequestTrace.start(endpoint);
+        long nonce = nextNonce();
+        String body = encodeBodyParams(bodyParams, nonce);
+        trace.mark(BODY_ENCODED);
+        Map<String, String> headers = assembleHeaders(getSignature(endpoint, nonce, body));
+        trace.mark(SIGNED);
+        try {
+            return decodeStream(transport.sendPostRequestStream(baseEndpoint + "/private/" + endpoint, headers, body,
+                    requestTimeout, trace), decoder, trace);
+        } catch (IOException e) {
+            alignGovernor(errorResponse.get());
+            throw e;
+        }
+    }
+
+    /** Method to send a POST request and decode its response while it is read, without throwing exceptions<br>
+     * @param endpoint: endpoint of API request
+     * @param bodyParams: body params of the HTTP api request
+     * @param decoder: decoder of the {@code "result"} value of the response
+     * @return {@code "result"} value decoded, or the errors of the request, as {@link KrakenResult}
+     * @implNote the errors of Kraken, of the system status and of the transport are returned in the result, so no
+     * exceptions are allocated by the library when the request has been go wrong
+     */
+    protected <T> KrakenResult<T> fetchPostResult(String endpoint, Params bodyParams, StreamDecoder<T> decoder) {
+        KrakenResult<T> statusResult = checkStatusResult(endpoint, bodyParams);
+        if (statusResult != null)
+            return statusResult;
+        try {
+            governor.acquire(endpoint);
+            KrakenRequestTrace trace = KrakenRequestTrace.start(endpoint);
+            long nonce = nextNonce();
+            String body = encodeBodyParams(bodyParams, nonce);
+            trace.mark(BODY_ENCODED);
+            Map<String, String> headers = assembleHeaders(getSignature(endpoint, nonce, body));
+            trace.mark(SIGNED);
+            KrakenResult<T> result = decodeResult(transport.sendPostRequestStream(baseEndpoint + "/private/" +
+                    endpoint, headers, body, requestTimeout, trace), decoder, trace);
+            if (result.hasError(KrakenError.RATE_LIMIT_EXCEEDED))
+                governor.onRateLimitExceeded();
+            return result;
+        } catch (IOException e) {
+            statusResponse.set(-1);
+            return KrakenResult.failure(-1, KrakenError.TRANSPORT_FAILED, e.getMessage());
+        }
+    }
+
+    /**
+     * Method to create a template of a private request, useful to send many times the same shaped request
+     *
+     * @param endpoint: endpoint of the requests es. AddOrder
+     * @param params:   constant params of the requests, null if the requests have not constant params
+     * @param fields:   fields of the requests that change between a request and the other one
+     * @return template as {@link KrakenRequestTemplate}
+     * @throws IllegalArgumentException when a field is also a constant param or is the nonce
+     * @implNote the constant params are copied and encoded once, so the changes of the params after this call do
+     * not change the template
+     */
+    public KrakenRequestTemplate createRequestTemplate(String endpoint, Params params, Field... fields) {
+        Params constants = new Params();
+        if (params != null)
+            for (String key : params.getParamsKeys())
+                constants.addParam(key, params.getParam(key));
+        for (Field field : fields)
+            if (field.getKey().equals("nonce") || constants.containsParam(field.getKey()))
+                throw new IllegalArgumentException("The field " + field.getKey() + " cannot be a field of a template");
+        return new KrakenRequestTemplate(endpoint, constants, apiRequest.encodeBodyParams(constants), fields);
+    }
+
+    /** Method to send a request filled from a template and decode its response while it is read<br>
+     * @param request: request filled from a template
+     * @param decoder: decoder of the {@code "result"} value of the response
+     * @return {@code "result"} value decoded as {@link T}
+     * @throws IOException when the request has been go wrong, its error is stored as the error of the other requests
+     */
+    protected <T> T fetchTemplateStream(Request request, StreamDecoder<T> decoder) throws IOException {
+        KrakenResult<T> result = fetchTemplateResult(request, decoder);
+        if (result.isSuccessful())
+            return result.getValue();
+        errorResponse.set(result.getErrorResponse());
+        throw new IOException();
+    }
+
+    /** Method to send a request filled from a template and decode its response while it is read, without throwing
+     * exceptions<br>
+     * @param request: request filled from a template
+     * @param decoder: decoder of the {@code "result"} value of the response
+     * @return {@code "result"} value decoded, or the errors of the request, as {@link KrakenResult}
+     * @implNote the constant params of the template are already encoded, so only the fields and the nonce are
+     * encoded in the buffer of the request and signed without copying it; the constant params are encoded again
+     * only when the {@link #statusBreaker} changes them, es. adding the post-only flag
+     */
+    protected <T> KrakenResult<T> fetchTemplateResult(Request request, StreamDecoder<T> decoder) {
+        KrakenRequestTemplate template = request.getTemplate();
+        String endpoint = template.getEndpoint();
+        String encodedParams = template.getEncodedParams();
+        if (statusBreaker != null) {
+            Params params = template.copyParams();
+            KrakenResult<T> statusResult = checkStatusResult(endpoint, params);
+            if (statusResult != null)
+                return statusResult;
+            if (!template.hasParams(params))
+                encodedParams = "&" + apiRequest.encodeBodyParams(params);
+        }
+        try {
+            governor.acquire(endpoint);
+            KrakenRequestTrace trace = KrakenRequestTrace.start(endpoint);
+            long nonce = nextNonce();
+            CharSequence body = request.encode(nonce, encodedParams);
+            trace.mark(BODY_ENCODED);
+            Map<String, String> headers = assembleHeaders(getSignature(endpoint, nonce, body));
+            trace.mark(SIGNED);
+            KrakenResult<T> result = decodeResult(transport.sendPostRequestStream(baseEndpoint + "/private/" +
+                    endpoint, headers, body.toString(), requestTimeout, trace), decoder, trace);
+            if (result.hasError(KrakenError.RATE_LIMIT_EXCEEDED))
+                governor.onRateLimitExceeded();
+            return result;
+        } catch (IOException e) {
+            statusResponse.set(-1);
+            return KrakenResult.failure(-1, KrakenError.TRANSPORT_FAILED, e.getMessage());
+        }
+    }
+
+    /** Method to send a POST request asynchronously and fetch its payload<br>
+     * @param endpoint: endpoint of API request
+     * @param bodyParams: body params of the HTTP api request
+     * @return payload of the response as {@link CompletableFuture} of {@link KrakenPayload}, completed exceptionally
+     * with an {@link IOException} when the request has been go wrong
+     * @implNote when the request has to wait for its budget in the {@link #governor} it is sent later without
+     * blocking the calling thread
+     */
+    protected CompletableFuture<KrakenPayload> fetchPostPayloadAsync(String endpoint, Params bodyParams) {
+        String statusError = checkStatusError(endpoint, bodyParams);
+        if (statusError != null)
+            return CompletableFuture.failedFuture(new IOException(statusError));
+        long delay = governor.reserve(KrakenRateGovernor.getCost(endpoint));
+        if (delay == 0)
+            return sendPostPayloadAsync(endpoint, bodyParams);
+        return CompletableFuture.runAsync(() -> {
+        }, CompletableFuture.delayedExecutor(delay, NANOSECONDS))
+                .thenCompose(ignored -> sendPostPayloadAsync(endpoint, bodyParams));
+    }
+
+    /** Method to send a POST request asynchronously, its budget is already reserved in the {@link #governor}<br>
+     * @param endpoint: endpoint of API request
+     * @param bodyParams: body params of the HTTP api request
+     * @return payload of the response as {@link CompletableFuture} of {@link KrakenPayload}, completed exceptionally
+     * with an {@link IOException} when the request has been go wrong
+     */
+    private CompletableFuture<KrakenPayload> sendPostPayloadAsync(String endpoint, Params bodyParams) {
+        KrakenRequestTrace trace = KrakenRequestTrace.start(endpoint);
+        long nonce = nextNonce();
+        String body = encodeBodyParams(bodyParams, nonce);
+        trace.mark(BODY_ENCODED);
+        Map<String, String> headers = assembleHeaders(getSignature(endpoint, nonce, body));
+        trace.mark(SIGNED);
+        return transport.sendPostRequestAsync(baseEndpoint + "/private/" + endpoint, headers, body, requestTimeout,
+                        trace)
+                .thenApply(response -> assembleAsyncPayload(response, trace))
+                .whenComplete((payload, throwable) -> {
+                    if (throwable != null && throwable.getCause() != null)
+                        alignGovernor(throwable.getCause().getMessage());
+                });
+    }
+
+    /** Method to align the {@link #governor} when Kraken refused a request because of the call counter<br>
+     * @param error: error of the response
+     */
+    private void alignGovernor(String error) {
+        if (error != null && error.contains(RATE_LIMIT_EXCEEDED_ERROR))
+            governor.onRateLimitExceeded();
+    }
+
+    /** Method to encode the body params of a request adding its nonce<br>
+     * @param bodyParams: body params of the HTTP api request, null if the request has not params
+     * @param nonce: nonce of the request
+     * @return body params encoded as {@link String}
+     */
+    private String encodeBodyParams(Params bodyParams, long nonce) {
         if (bodyParams == null)
             bodyParams = new Params();
-        bodyParams.addParam("nonce", System.currentTimeMillis());
-        headers.addHeader(API_SIGN_HEADER, getSignature(endpoint, bodyParams));
-        apiRequest.sendPayloadedAPIRequest(BASE_ENDPOINT + "/private/" + endpoint, POST, headers, bodyParams);
-        JSONObject response = apiRequest.getJSONResponse();
-        if (getJSONObject(response, "result") == null) {
-            errorResponse = response.getJSONArray("error").toString();
-            throw new IOException();
-        }
-        return response.toString();
+        bodyParams.addParam("nonce", nonce);
+        return apiRequest.encodeBodyParams(bodyParams);
     }
 
     /** Method to get signature for request<br>
      * @param path: endpoint of the request es. Balance
-     * @param data: payload of the request
+     * @param nonce: nonce of the request
+     * @param encodedBody: payload of the request already encoded
      * @return signature value as {@link String} es. 4/dpxb3iT4tp/ZCVEwSnEsLxx0bqyhLpdfOpc6fn7OR8+UClSV5n9E6aSS8MPtnRfp32bAb0nmbRn6H8ndwLUQ==
      */
-    private String getSignature(String path, Params data) {
-        try {
-            Mac mac = Mac.getInstance(HMAC_SHA512_ALGORITHM);
-            mac.init(new SecretKeySpec(Base64.getDecoder().decode(apiSign.getBytes()), HMAC_SHA512_ALGORITHM));
-            mac.update(("/0/private/" + path).getBytes());
-            return new String(Base64.getEncoder().encode(mac.doFinal(digest(data.getParam("nonce")
-                    + apiRequest.encodeBodyParams(data), SHA256_ALGORITHM))));
-        } catch (Exception e) {
+    private String getSignature(String path, long nonce, CharSequence encodedBody) {
+        if (signer == null)
             return null;
-        }
+        return signer.sign(path, nonce, encodedBody);
+    }
+
+    /**
+     * Method to set the verification tier of the account, it is used by the {@link #governor} to know the maximum
+     * value and the decay rate of the API call counter
+     *
+     * @param tier: verification tier of the account
+     * @apiNote the tier is shared by all the managers of the same api key, the default one is
+     * {@link VerificationTier#STARTER}
+     */
+    public void setVerificationTier(VerificationTier tier) {
+        governor.setTier(tier);
+    }
+
+    /**
+     * Method to get {@link #governor} instance <br>
+     * No-any params required
+     *
+     * @return {@link #governor} instance as {@link KrakenRateGovernor}
+     */
+    public KrakenRateGovernor getGovernor() {
+        return governor;
     }
 
     /**
@@ -0,0 +1,266 @@
+package com.tecknobit.krakenmanager.privates;
+
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * The {@code KrakenRateGovernor} class is useful to model the API call counter that Kraken keeps for each api key <br>
+ * Each private request increases the counter by the cost of its endpoint and the counter decays over time with the
+ * rate of the verification tier of the account. When a request does not fit in the counter it is delayed until
+ * enough budget is available, so the requests are never refused with the {@code "EAPI:Rate limit exceeded"} error.
+ * The requests are served in the same order they asked the budget
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote see the official documentation at: <a href="https://docs.kraken.com/rest/#section/Rate-Limits/REST-API-Rate-Limits">
+ * REST API Rate Limits</a>
+ */
+public class KrakenRateGovernor {
+
+    /**
+     * {@code VerificationTier} list of available verification tiers
+     */
+    public enum VerificationTier {
+
+        /**
+         * {@code STARTER} the starter tier, counter of 15 decreased by 0.33 per second
+         */
+        STARTER(15, 0.33),
+
+        /**
+         * {@code INTERMEDIATE} the intermediate tier, counter of 20 decreased by 0.5 per second
+         */
+        INTERMEDIATE(20, 0.5),
+
+        /**
+         * {@code PRO} the pro tier, counter of 20 decreased by 1 per second
+         */
+        PRO(20, 1);
+
+        /**
+         * {@code maxCounter} the maximum value of the counter
+         */
+        private final int maxCounter;
+
+        /**
+         * {@code decayRate} the decrease of the counter per second
+         */
+        private final double decayRate;
+
+        /**
+         * Constructor to init a {@link VerificationTier}
+         *
+         * @param maxCounter: the maximum value of the counter
+         * @param decayRate:  the decrease of the counter per second
+         */
+        VerificationTier(int maxCounter, double decayRate) {
+            this.maxCounter = maxCounter;
+            this.decayRate = decayRate;
+        }
+
+        /**
+         * Method to get {@link #maxCounter} instance <br>
+         * No-any params required
+         *
+         * @return {@link #maxCounter} instance as int
+         */
+        public int getMaxCounter() {
+            return maxCounter;
+        }
+
+        /**
+         * Method to get {@link #decayRate} instance <br>
+         * No-any params required
+         *
+         * @return {@link #decayRate} instance as double
+         */
+        public double getDecayRate() {
+            return decayRate;
+        }
+
+    }
+
+    /**
+     * {@code RATE_LIMIT_EXCEEDED_ERROR} the error sent by Kraken when a request has been refused by the call counter
+     */
+    public static final String RATE_LIMIT_EXCEEDED_ERROR = "EAPI:Rate limit exceeded";
+
+    /**
+     * {@code DEFAULT_COST} the cost of the endpoints not listed in the {@link #ENDPOINT_COSTS}
+     */
+    public static final int DEFAULT_COST = 1;
+
+    /**
+     * {@code ENDPOINT_COSTS} the costs of the endpoints different from the {@link #DEFAULT_COST}, the ledger and the
+     * trade history calls cost 2 and the trading calls are counted by the matching engine limiter instead
+     */
+    private static final Map<String, Integer> ENDPOINT_COSTS = Map.ofEntries(
+            Map.entry("Ledgers", 2),
+            Map.entry("QueryLedgers", 2),
+            Map.entry("TradesHistory", 2),
+            Map.entry("AddOrder", 0),
+            Map.entry("AddOrderBatch", 0),
+            Map.entry("EditOrder", 0),
+            Map.entry("CancelOrder", 0),
+            Map.entry("CancelAll", 0),
+            Map.entry("CancelAllOrdersAfter", 0),
+            Map.entry("CancelOrderBatch", 0)
+    );
+
+    /**
+     * {@code governors} is the instance that memorizes the governor of each api key
+     */
+    private static final ConcurrentHashMap<String, KrakenRateGovernor> governors = new ConcurrentHashMap<>();
+
+    /**
+     * {@code tier} is the verification tier of the account
+     */
+    private VerificationTier tier;
+
+    /**
+     * {@code counter} is the value of the counter, a value greater than the maximum counter means that some requests
+     * are waiting for their budget
+     */
+    private double counter;
+
+    /**
+     * {@code lastUpdate} is the time, in nanoseconds, when the {@link #counter} has been updated the last time
+     */
+    private long lastUpdate;
+
+    /**
+     * Constructor to init a {@link KrakenRateGovernor}
+     *
+     * @param tier: verification tier of the account
+     */
+    public KrakenRateGovernor(VerificationTier tier) {
+        this.tier = tier;
+        lastUpdate = System.nanoTime();
+    }
+
+    /**
+     * Method to get the governor shared by all the managers of the same api key, a new governor is created with the
+     * {@link VerificationTier#STARTER} tier if it does not exist yet
+     *
+     * @param apiKey: api key of Kraken's platform
+     * @return governor as {@link KrakenRateGovernor}
+     */
+    public static KrakenRateGovernor getSharedGovernor(String apiKey) {
+        return governors.computeIfAbsent(String.valueOf(apiKey),
+                key -> new KrakenRateGovernor(VerificationTier.STARTER));
+    }
+
+    /**
+     * Method to get the cost of an endpoint
+     *
+     * @param endpoint: endpoint of the request es. Ledgers
+     * @return cost of the endpoint as int
+     */
+    public static int getCost(String endpoint) {
+        return ENDPOINT_COSTS.getOrDefault(endpoint, DEFAULT_COST);
+    }
+
+    /**
+     * Method to acquire the budget of a request, waiting until it is available
+     *
+     * @param endpoint: endpoint of the request es. Ledgers
+     * @throws InterruptedIOException when the calling thread has been interrupted while it was waiting
+     */
+    public void acquire(String endpoint) throws InterruptedIOException {
+        long delay = reserve(getCost(endpoint));
+        if (delay > 0) {
+            try {
+                NANOSECONDS.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException(e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Method to reserve the budget of a request without waiting for it
+     *
+     * @param cost: cost of the request
+     * @return time to wait, in nanoseconds, before the request can be sent
+     * @implNote the budget is reserved also when the request has to wait, so the following requests wait for it
+     */
+    public synchronized long reserve(int cost) {
+        decay();
+        counter += cost;
+        double excess = counter - tier.maxCounter;
+        if (excess <= 0)
+            return 0;
+        return (long) Math.ceil(excess / tier.decayRate * SECONDS.toNanos(1));
+    }
+
+    /**
+     * Method to acquire the budget of a request only if it is available right now
+     *
+     * @param endpoint: endpoint of the request es. Ledgers
+     * @return whether the budget has been acquired as boolean
+     */
+    public synchronized boolean tryAcquire(String endpoint) {
+        int cost = getCost(endpoint);
+        decay();
+        if (counter + cost > tier.maxCounter)
+            return false;
+        counter += cost;
+        return true;
+    }
+
+    /**
+     * Method to align the counter when Kraken refused a request with the {@code "EAPI:Rate limit exceeded"} error, for
+     * example because the same api key is used by another process <br>
+     * No-any params required
+     */
+    public synchronized void onRateLimitExceeded() {
+        decay();
+        counter = Math.max(counter, tier.maxCounter);
+    }
+
+    /**
+     * Method to get the current value of the counter <br>
+     * No-any params required
+     *
+     * @return current value of the counter as double, the requests waiting for their budget are included
+     */
+    public synchronized double getCounter() {
+        decay();
+        return counter;
+    }
+
+    /**
+     * Method to get {@link #tier} instance <br>
+     * No-any params required
+     *
+     * @return {@link #tier} instance as {@link VerificationTier}
+     */
+    public synchronized VerificationTier getTier() {
+        return tier;
+    }
+
+    /**
+     * Method to set {@link #tier} instance
+     *
+     * @param tier: verification tier of the account
+     */
+    public synchronized void setTier(VerificationTier tier) {
+        decay();
+        this.tier = tier;
+    }
+
+    /**
+     * Method to decrease the counter by the time elapsed from the {@link #lastUpdate} <br>
+     * No-any params required
+     */
+    private void decay() {
+        long now = System.nanoTime();
+        counter = Math.max(0, counter - (now - lastUpdate) * tier.decayRate / SECONDS.toNanos(1));
+        lastUpdate = now;
+    }
+
+}
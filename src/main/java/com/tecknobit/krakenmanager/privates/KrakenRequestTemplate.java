@@ -0,0 +1,484 @@
+package com.tecknobit.krakenmanager.privates;
+
+import com.tecknobit.krakenmanager.KrakenManager.Params;
+
+import java.net.URLEncoder;
+import java.util.Objects;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The {@code KrakenRequestTemplate} class is useful to send many times the same shaped private request, where only
+ * some params change between a request and the other one <br>
+ * The constant params of the request are encoded once when the template is created, so for each request are encoded
+ * only the values of its fields and its nonce, in a buffer reused by the same thread:
+ * <pre>
+ *     {@code
+ *        KrakenRequestTemplate template = manager.createLimitOrderTemplate(Side.buy, "XBTUSD", params);
+ *        OrderAdded order = manager.addOrder(template.request()
+ *                .set("price", 27500.5)
+ *                .set("volume", 0.25));
+ *     }
+ * </pre>
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote a template can be shared by different threads, each thread fills its own {@link Request}
+ */
+public final class KrakenRequestTemplate {
+
+    /**
+     * {@code MAX_FIELDS} is the max number of the fields of a template
+     */
+    public static final int MAX_FIELDS = 32;
+
+    /**
+     * {@code DECIMALS_SCALE} is the scale used to encode the values of the decimal fields with at most 8 decimals,
+     * the trailing zeros are removed
+     */
+    private static final long DECIMALS_SCALE = 100_000_000L;
+
+    /**
+     * {@code MAX_DECIMAL_VALUE} is the max absolute value of a decimal field that can be scaled without overflows
+     */
+    private static final double MAX_DECIMAL_VALUE = (double) Long.MAX_VALUE / DECIMALS_SCALE;
+
+    /**
+     * {@code BODY_CAPACITY} is the initial capacity of the buffer where the body of the requests is encoded
+     */
+    private static final int BODY_CAPACITY = 256;
+
+    /**
+     * {@code endpoint} is the endpoint of the requests es. AddOrder
+     */
+    private final String endpoint;
+
+    /**
+     * {@code params} are the constant params of the requests
+     */
+    private final Params params;
+
+    /**
+     * {@code encodedParams} are the constant params of the requests already encoded
+     */
+    private final String encodedParams;
+
+    /**
+     * {@code fields} are the fields of the requests that change between a request and the other one
+     */
+    private final Field[] fields;
+
+    /**
+     * {@code encodedKeys} are the keys of the {@link #fields} already encoded es. {@code "&price="}
+     */
+    private final String[] encodedKeys;
+
+    /**
+     * {@code assignedMask} is the mask of the {@link Request#assigned} fields when all the fields have been set
+     */
+    private final long assignedMask;
+
+    /**
+     * {@code requests} are the requests filled by each thread
+     */
+    private final ThreadLocal<Request> requests = ThreadLocal.withInitial(Request::new);
+
+    /**
+     * Constructor to init a {@link KrakenRequestTemplate}
+     *
+     * @param endpoint:      endpoint of the requests es. AddOrder
+     * @param params:        constant params of the requests
+     * @param encodedParams: constant params of the requests already encoded
+     * @param fields:        fields of the requests that change between a request and the other one
+     * @throws IllegalArgumentException when the fields are more than {@link #MAX_FIELDS} or are duplicated
+     */
+    KrakenRequestTemplate(String endpoint, Params params, String encodedParams, Field... fields) {
+        if (fields.length > MAX_FIELDS)
+            throw new IllegalArgumentException("A template can have at most " + MAX_FIELDS + " fields");
+        this.endpoint = endpoint;
+        this.params = params;
+        this.encodedParams = encodedParams == null || encodedParams.isEmpty() ? "" : "&" + encodedParams;
+        this.fields = fields.clone();
+        encodedKeys = new String[fields.length];
+        for (int j = 0; j < fields.length; j++) {
+            for (int i = 0; i < j; i++)
+                if (fields[i].key.equals(fields[j].key))
+                    throw new IllegalArgumentException("The field " + fields[j].key + " is duplicated");
+            encodedKeys[j] = "&" + URLEncoder.encode(fields[j].key, UTF_8) + "=";
+        }
+        assignedMask = (1L << fields.length) - 1;
+    }
+
+    /**
+     * Method to get the request of the template filled by the current thread <br>
+     * No-any params required
+     *
+     * @return request as {@link Request}
+     * @apiNote the same instance is returned to the same thread, so its values have to be set before each request
+     * they change
+     */
+    public Request request() {
+        return requests.get();
+    }
+
+    /**
+     * Method to get {@link #endpoint} instance <br>
+     * No-any params required
+     *
+     * @return {@link #endpoint} instance as {@link String}
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Method to get a constant param of the requests
+     *
+     * @param key: key of the param
+     * @return value of the param as {@link T}, null if it is not a constant param
+     */
+    public <T> T getParam(String key) {
+        return params.getParam(key);
+    }
+
+    /**
+     * Method to get a copy of the constant params of the requests <br>
+     * No-any params required
+     *
+     * @return constant params as {@link Params}
+     */
+    public Params copyParams() {
+        Params copy = new Params();
+        for (String key : params.getParamsKeys())
+            copy.addParam(key, params.getParam(key));
+        return copy;
+    }
+
+    /**
+     * Method to get whether params are the same constant params of the requests
+     *
+     * @param params: params to check
+     * @return whether the params are the same constant params as boolean
+     */
+    boolean hasParams(Params params) {
+        if (params.getParamsKeys().size() != this.params.getParamsKeys().size())
+            return false;
+        for (String key : params.getParamsKeys())
+            if (!Objects.equals(params.getParam(key), this.params.getParam(key)))
+                return false;
+        return true;
+    }
+
+    /**
+     * Method to get {@link #encodedParams} instance <br>
+     * No-any params required
+     *
+     * @return {@link #encodedParams} instance as {@link String}
+     */
+    String getEncodedParams() {
+        return encodedParams;
+    }
+
+    /**
+     * Method to get the fields of the template <br>
+     * No-any params required
+     *
+     * @return fields as array of {@link Field}
+     */
+    public Field[] getFields() {
+        return fields.clone();
+    }
+
+    /**
+     * Method to get the index of a field of the template
+     *
+     * @param key: key of the field
+     * @return index of the field as int
+     * @throws IllegalArgumentException when the template has not the field
+     */
+    public int indexOf(String key) {
+        for (int j = 0; j < fields.length; j++)
+            if (fields[j].key.equals(key))
+                return j;
+        throw new IllegalArgumentException("The template has not the field " + key);
+    }
+
+    /**
+     * Returns a string representation of the object <br>
+     * No-any params required
+     *
+     * @return a string representation of the object as {@link String}
+     */
+    @Override
+    public String toString() {
+        StringBuilder keys = new StringBuilder();
+        for (Field field : fields)
+            keys.append(keys.length() == 0 ? "" : ", ").append(field.key);
+        return "KrakenRequestTemplate{endpoint=" + endpoint + ", fields=[" + keys + "]}";
+    }
+
+    /**
+     * Method to append a decimal value to the body of a request, without scientific notation and trailing zeros
+     *
+     * @param body:  body where append the value
+     * @param value: value to append
+     * @throws IllegalArgumentException when the value is not finite or is too large to be encoded
+     */
+    private static void appendDecimal(StringBuilder body, double value) {
+        if (!Double.isFinite(value) || Math.abs(value) >= MAX_DECIMAL_VALUE)
+            throw new IllegalArgumentException("The value " + value + " cannot be encoded");
+        long scaled = Math.round(Math.abs(value) * DECIMALS_SCALE);
+        if (value < 0 && scaled != 0)
+            body.append('-');
+        body.append(scaled / DECIMALS_SCALE);
+        long fraction = scaled % DECIMALS_SCALE;
+        if (fraction == 0)
+            return;
+        body.append('.');
+        for (long limit = DECIMALS_SCALE / 10; fraction < limit; limit /= 10)
+            body.append('0');
+        while (fraction % 10 == 0)
+            fraction /= 10;
+        body.append(fraction);
+    }
+
+    /**
+     * Method to append a text value to the body of a request encoding it as form value
+     *
+     * @param body:  body where append the value
+     * @param value: value to append
+     * @implNote the values with not ASCII characters are encoded with {@link URLEncoder}, the other ones without
+     * allocations
+     */
+    private static void appendText(StringBuilder body, CharSequence value) {
+        int length = value.length();
+        for (int j = 0; j < length; j++) {
+            if (value.charAt(j) >= 0x80) {
+                body.append(URLEncoder.encode(value.toString(), UTF_8));
+                return;
+            }
+        }
+        for (int j = 0; j < length; j++) {
+            char c = value.charAt(j);
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '-' || c == '_'
+                    || c == '.' || c == '*')
+                body.append(c);
+            else if (c == ' ')
+                body.append('+');
+            else
+                body.append('%').append(Character.toUpperCase(Character.forDigit(c >> 4, 16)))
+                        .append(Character.toUpperCase(Character.forDigit(c & 0xF, 16)));
+        }
+    }
+
+    /**
+     * The {@code Field} class is useful to declare a field of a {@link KrakenRequestTemplate}
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     */
+    public static final class Field {
+
+        /**
+         * {@code key} is the key of the field es. price
+         */
+        private final String key;
+
+        /**
+         * {@code decimal} whether the values of the field are decimal values
+         */
+        private final boolean decimal;
+
+        /**
+         * Constructor to init a {@link Field}
+         *
+         * @param key:     key of the field es. price
+         * @param decimal: whether the values of the field are decimal values
+         */
+        private Field(String key, boolean decimal) {
+            this.key = Objects.requireNonNull(key);
+            this.decimal = decimal;
+        }
+
+        /**
+         * Method to create a decimal field, es. the price or the volume of an order
+         *
+         * @param key: key of the field
+         * @return field as {@link Field}
+         * @implNote the values are encoded with at most 8 decimals, without scientific notation
+         */
+        public static Field decimal(String key) {
+            return new Field(key, true);
+        }
+
+        /**
+         * Method to create a text field, es. the user reference of an order
+         *
+         * @param key: key of the field
+         * @return field as {@link Field}
+         */
+        public static Field text(String key) {
+            return new Field(key, false);
+        }
+
+        /**
+         * Method to get {@link #key} instance <br>
+         * No-any params required
+         *
+         * @return {@link #key} instance as {@link String}
+         */
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * Method to get {@link #decimal} instance <br>
+         * No-any params required
+         *
+         * @return {@link #decimal} instance as boolean
+         */
+        public boolean isDecimal() {
+            return decimal;
+        }
+
+    }
+
+    /**
+     * The {@code Request} class is useful to fill the fields of a {@link KrakenRequestTemplate} before sending it <br>
+     * Each thread has its own request for each template, so the values and the buffer of the body are reused by the
+     * requests of the same thread
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     */
+    public final class Request {
+
+        /**
+         * {@code decimals} are the values of the decimal fields
+         */
+        private final double[] decimals = new double[fields.length];
+
+        /**
+         * {@code texts} are the values of the text fields
+         */
+        private final CharSequence[] texts = new CharSequence[fields.length];
+
+        /**
+         * {@code body} is the buffer where the body of the requests is encoded
+         */
+        private final StringBuilder body = new StringBuilder(BODY_CAPACITY);
+
+        /**
+         * {@code assigned} is the mask of the fields that have been set
+         */
+        private long assigned;
+
+        /**
+         * Constructor to init a {@link Request} <br>
+         * No-any params required
+         */
+        private Request() {
+        }
+
+        /**
+         * Method to set the value of a decimal field
+         *
+         * @param key:   key of the field
+         * @param value: value of the field
+         * @return the request as {@link Request}
+         * @throws IllegalArgumentException when the template has not the field or the field is not decimal
+         */
+        public Request set(String key, double value) {
+            return set(indexOf(key), value);
+        }
+
+        /**
+         * Method to set the value of a decimal field
+         *
+         * @param index: index of the field, es. retrieved with {@link #indexOf(String)}
+         * @param value: value of the field
+         * @return the request as {@link Request}
+         * @throws IllegalArgumentException when the field is not decimal
+         */
+        public Request set(int index, double value) {
+            if (!fields[index].decimal)
+                throw new IllegalArgumentException("The field " + fields[index].key + " is not decimal");
+            decimals[index] = value;
+            assigned |= 1L << index;
+            return this;
+        }
+
+        /**
+         * Method to set the value of a text field
+         *
+         * @param key:   key of the field
+         * @param value: value of the field
+         * @return the request as {@link Request}
+         * @throws IllegalArgumentException when the template has not the field or the field is not a text field
+         */
+        public Request set(String key, CharSequence value) {
+            return set(indexOf(key), value);
+        }
+
+        /**
+         * Method to set the value of a text field
+         *
+         * @param index: index of the field, es. retrieved with {@link #indexOf(String)}
+         * @param value: value of the field
+         * @return the request as {@link Request}
+         * @throws IllegalArgumentException when the field is not a text field
+         */
+        public Request set(int index, CharSequence value) {
+            if (fields[index].decimal)
+                throw new IllegalArgumentException("The field " + fields[index].key + " is decimal");
+            texts[index] = Objects.requireNonNull(value);
+            assigned |= 1L << index;
+            return this;
+        }
+
+        /**
+         * Method to get the template of the request <br>
+         * No-any params required
+         *
+         * @return template as {@link KrakenRequestTemplate}
+         */
+        public KrakenRequestTemplate getTemplate() {
+            return KrakenRequestTemplate.this;
+        }
+
+        /**
+         * Method to encode the body of the request in the buffer of the request
+         *
+         * @param nonce: nonce of the request
+         * @return body of the request as {@link CharSequence}, valid until the next request of the same thread
+         * @throws IllegalStateException when not all the fields have been set
+         * @apiNote the managers encode the body when the request is sent, this method is useful to inspect it
+         */
+        public CharSequence encode(long nonce) {
+            return encode(nonce, encodedParams);
+        }
+
+        /**
+         * Method to encode the body of the request in the buffer of the request
+         *
+         * @param nonce:         nonce of the request
+         * @param encodedParams: constant params already encoded, the ones of the template or the ones changed by
+         *                       the system status
+         * @return body of the request as {@link CharSequence}, valid until the next request of the same thread
+         * @throws IllegalStateException when not all the fields have been set
+         */
+        CharSequence encode(long nonce, String encodedParams) {
+            if (assigned != assignedMask)
+                throw new IllegalStateException("All the fields of the template have to be set");
+            body.setLength(0);
+            body.append("nonce=").append(nonce).append(encodedParams);
+            for (int j = 0; j < fields.length; j++) {
+                body.append(encodedKeys[j]);
+                if (fields[j].decimal)
+                    appendDecimal(body, decimals[j]);
+                else
+                    appendText(body, texts[j]);
+            }
+            return body;
+        }
+
+    }
+
+}
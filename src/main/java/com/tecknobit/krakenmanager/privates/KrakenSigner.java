@@ -0,0 +1,217 @@
+package com.tecknobit.krakenmanager.privates;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.DigestException;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.tecknobit.apimanager.apis.APIRequest.HMAC_SHA512_ALGORITHM;
+import static com.tecknobit.apimanager.apis.APIRequest.SHA256_ALGORITHM;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+/**
+ * The {@code KrakenSigner} class is useful to compute the {@code "API-Sign"} value of the private requests <br>
+ * The secret is decoded just once and each thread works with its own {@link Mac}, cloned from an initialized
+ * prototype, and its own buffers, so signing a request allocates just the final signature
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote see the official documentation at: <a href="https://docs.kraken.com/rest/#section/Authentication/Headers-and-Signature">
+ * Headers and Signature</a>
+ */
+public class KrakenSigner {
+
+    /**
+     * {@code PRIVATE_PATH_PREFIX} is the prefix of the path signed for the private requests
+     */
+    public static final String PRIVATE_PATH_PREFIX = "/0/private/";
+
+    /**
+     * {@code SHA256_LENGTH} is the length of a {@code "SHA-256"} digest
+     */
+    private static final int SHA256_LENGTH = 32;
+
+    /**
+     * {@code HMAC_SHA512_LENGTH} is the length of a {@code "HMAC-SHA512"} digest
+     */
+    private static final int HMAC_SHA512_LENGTH = 64;
+
+    /**
+     * {@code secretKey} is the decoded api sign used as key of the {@code "HMAC-SHA512"}
+     */
+    private final SecretKeySpec secretKey;
+
+    /**
+     * {@code prototypeMac} is the initialized {@link Mac} from which the {@link Mac} of each thread is cloned
+     */
+    private final Mac prototypeMac;
+
+    /**
+     * {@code paths} is the instance that memorizes the bytes of the signed path of each endpoint
+     */
+    private final ConcurrentHashMap<String, byte[]> paths;
+
+    /**
+     * {@code contexts} is the instance that memorizes the {@link SigningContext} of each thread
+     */
+    private final ThreadLocal<SigningContext> contexts;
+
+    /**
+     * Constructor to init a {@link KrakenSigner}
+     *
+     * @param apiSign: api sign of Kraken's platform
+     * @throws IllegalArgumentException when the api sign is not a valid {@code "Base64"} value
+     */
+    public KrakenSigner(String apiSign) {
+        secretKey = new SecretKeySpec(Base64.getDecoder().decode(apiSign), HMAC_SHA512_ALGORITHM);
+        try {
+            prototypeMac = Mac.getInstance(HMAC_SHA512_ALGORITHM);
+            prototypeMac.init(secretKey);
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalArgumentException(e);
+        }
+        paths = new ConcurrentHashMap<>();
+        contexts = ThreadLocal.withInitial(SigningContext::new);
+    }
+
+    /**
+     * Method to sign a private request
+     *
+     * @param endpoint:    endpoint of the request es. Balance
+     * @param nonce:       nonce of the request
+     * @param encodedBody: body payload of the request already encoded, nonce included
+     * @return signature value as {@link String} es. 4/dpxb3iT4tp/ZCVEwSnEsLxx0bqyhLpdfOpc6fn7OR8+UClSV5n9E6aSS8MPtnRfp32bAb0nmbRn6H8ndwLUQ==
+     */
+    public String sign(String endpoint, long nonce, CharSequence encodedBody) {
+        SigningContext context = contexts.get();
+        try {
+            MessageDigest sha256 = context.sha256;
+            sha256.update(context.encodeNonce(nonce), 0, context.nonceLength);
+            sha256.update(context.encodeBody(encodedBody), 0, encodedBody.length());
+            sha256.digest(context.bodyDigest, 0, SHA256_LENGTH);
+            Mac mac = context.mac;
+            mac.update(paths.computeIfAbsent(endpoint, path -> (PRIVATE_PATH_PREFIX + path).getBytes(US_ASCII)));
+            mac.update(context.bodyDigest, 0, SHA256_LENGTH);
+            mac.doFinal(context.signature, 0);
+        } catch (DigestException | ShortBufferException e) {
+            throw new IllegalStateException(e);
+        }
+        return new String(Base64.getEncoder().encode(context.signature), US_ASCII);
+    }
+
+    /**
+     * The {@code SigningContext} class is useful to memorize the digests and the buffers used by a single thread
+     */
+    private final class SigningContext {
+
+        /**
+         * {@code mac} is the {@link Mac} of the thread
+         */
+        private final Mac mac;
+
+        /**
+         * {@code sha256} is the {@code "SHA-256"} digest of the thread
+         */
+        private final MessageDigest sha256;
+
+        /**
+         * {@code nonce} is the buffer where the digits of the nonce are written
+         */
+        private final byte[] nonce;
+
+        /**
+         * {@code nonceLength} is the number of the digits of the last nonce encoded
+         */
+        private int nonceLength;
+
+        /**
+         * {@code body} is the buffer where the body payload is written, it grows when a greater payload is encoded
+         */
+        private byte[] body;
+
+        /**
+         * {@code bodyDigest} is the buffer where the {@code "SHA-256"} digest of nonce and body is written
+         */
+        private final byte[] bodyDigest;
+
+        /**
+         * {@code signature} is the buffer where the {@code "HMAC-SHA512"} signature is written
+         */
+        private final byte[] signature;
+
+        /**
+         * Constructor to init a {@link SigningContext} <br>
+         * No-any params required
+         */
+        private SigningContext() {
+            mac = cloneMac();
+            try {
+                sha256 = MessageDigest.getInstance(SHA256_ALGORITHM);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+            nonce = new byte[20];
+            body = new byte[256];
+            bodyDigest = new byte[SHA256_LENGTH];
+            signature = new byte[HMAC_SHA512_LENGTH];
+        }
+
+        /**
+         * Method to clone the {@link #prototypeMac} for this thread <br>
+         * No-any params required
+         *
+         * @return initialized {@link Mac} for this thread
+         */
+        private Mac cloneMac() {
+            try {
+                return (Mac) prototypeMac.clone();
+            } catch (CloneNotSupportedException e) {
+                try {
+                    Mac mac = Mac.getInstance(prototypeMac.getAlgorithm(), prototypeMac.getProvider());
+                    mac.init(secretKey);
+                    return mac;
+                } catch (NoSuchAlgorithmException | InvalidKeyException ex) {
+                    throw new IllegalStateException(ex);
+                }
+            }
+        }
+
+        /**
+         * Method to write the decimal digits of the nonce in the {@link #nonce} buffer
+         *
+         * @param value: nonce to encode
+         * @return {@link #nonce} buffer
+         */
+        private byte[] encodeNonce(long value) {
+            int length = 0;
+            do {
+                nonce[nonce.length - ++length] = (byte) ('0' + value % 10);
+                value /= 10;
+            } while (value > 0);
+            System.arraycopy(nonce, nonce.length - length, nonce, 0, length);
+            nonceLength = length;
+            return nonce;
+        }
+
+        /**
+         * Method to write the encoded body payload in the {@link #body} buffer
+         *
+         * @param encodedBody: body payload to write, it is already url encoded so contains just {@code "ASCII"} chars
+         * @return {@link #body} buffer
+         */
+        private byte[] encodeBody(CharSequence encodedBody) {
+            int length = encodedBody.length();
+            if (body.length < length)
+                body = new byte[Math.max(length, body.length << 1)];
+            for (int j = 0; j < length; j++)
+                body[j] = (byte) encodedBody.charAt(j);
+            return body;
+        }
+
+    }
+
+}
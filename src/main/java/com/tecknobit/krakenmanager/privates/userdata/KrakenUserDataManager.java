@@ -4,7 +4,11 @@ import com.tecknobit.apimanager.annotations.RequestPath;
 import com.tecknobit.apimanager.annotations.Returner;
 import com.tecknobit.apimanager.annotations.WrappedRequest;
 import com.tecknobit.apimanager.annotations.Wrapper;
+import com.tecknobit.krakenmanager.KrakenClientContext;
 import com.tecknobit.krakenmanager.privates.KrakenPrivateManager;
+import com.tecknobit.krakenmanager.privates.KrakenRequestTemplate;
+import com.tecknobit.krakenmanager.privates.KrakenRequestTemplate.Field;
+import com.tecknobit.krakenmanager.privates.KrakenRequestTemplate.Request;
 import com.tecknobit.krakenmanager.privates.userdata.records.Ledger;
 import com.tecknobit.krakenmanager.privates.userdata.records.Ledger.LedgerType;
 import com.tecknobit.krakenmanager.privates.userdata.records.OpenPosition;
@@ -23,6 +27,7 @@ import com.tecknobit.krakenmanager.privates.userdata.records.trades.QueryTrade;
 import com.tecknobit.krakenmanager.privates.userdata.records.trades.Trade.TradeType;
 import com.tecknobit.krakenmanager.privates.userdata.records.trades.TradeVolume;
 import com.tecknobit.krakenmanager.publics.market.records.AssetPair;
+import com.tecknobit.krakenmanager.transport.KrakenJsonReader;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
@@ -30,6 +35,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.FileWriter;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.zip.ZipEntry;
@@ -189,6 +195,16 @@ public class KrakenUserDataManager extends KrakenPrivateManager {
         super();
     }
 
+    /**
+     * Constructor to init a {@link KrakenUserDataManager}
+     *
+     * @param context: configuration of the manager, shared with the other managers created with it
+     * @throws IllegalArgumentException when the credentials of the context have not been set
+     */
+    public KrakenUserDataManager(KrakenClientContext context) {
+        super(context);
+    }
+
     /** Request to get account balance<br>
      * No-any params required
      * @throws Exception when request has been go wrong -> you can use these methods to get more details about error:
@@ -236,14 +252,14 @@ public class KrakenUserDataManager extends KrakenPrivateManager {
     @Returner
     @RequestPath(method = POST, path = "https://api.kraken.com/0/private/Balance")
     public <T> T getAccountBalance(ReturnFormat format) throws Exception {
-        String accountBalanceResponse = sendPostRequest(GET_ACCOUNT_BALANCE_ENDPOINT, null);
+        KrakenPayload accountBalanceResponse = fetchPostPayload(GET_ACCOUNT_BALANCE_ENDPOINT, null);
         switch (format) {
             case JSON:
-                return (T) new JSONObject(accountBalanceResponse);
+                return (T) accountBalanceResponse.getJSONPayload();
             case LIBRARY_OBJECT:
-                return (T) new AccountBalance(new JSONObject(accountBalanceResponse));
+                return (T) new AccountBalance(accountBalanceResponse.getJSONPayload());
             default:
-                return (T) accountBalanceResponse;
+                return (T) accountBalanceResponse.getBody();
         }
     }
 
@@ -298,7 +314,7 @@ public class KrakenUserDataManager extends KrakenPrivateManager {
     @Returner
     @RequestPath(method = POST, path = "https://api.kraken.com/0/private/BalanceEx")
     public <T> T getExtendedBalance(ReturnFormat format) throws Exception {
-        JSONObject extendedBalanceResponse = new JSONObject(sendPostRequest(GET_EXTENDED_BALANCE_ENDPOINT, null));
+        JSONObject extendedBalanceResponse = fetchPostPayload(GET_EXTENDED_BALANCE_ENDPOINT, null).getJSONPayload();
         return switch (format) {
             case JSON -> (T) extendedBalanceResponse;
             case LIBRARY_OBJECT -> (T) new ExtendedBalance(extendedBalanceResponse);
@@ -350,7 +366,7 @@ public class KrakenUserDataManager extends KrakenPrivateManager {
      */
     @RequestPath(method = POST, path = "https://api.kraken.com/0/private/TradeBalance")
     public <T> T getTradeBalance(ReturnFormat format) throws Exception {
-        return returnTradeBalance(sendPostRequest(GET_TRADE_BALANCE_ENDPOINT, null), format);
+        return returnTradeBalance(fetchPostPayload(GET_TRADE_BALANCE_ENDPOINT, null), format);
     }
 
     /** Request to get trade balance
@@ -400,7 +416,7 @@ public class KrakenUserDataManager extends KrakenPrivateManager {
     public <T> T getTradeBalance(String asset, ReturnFormat format) throws Exception {
         Params params = new Params();
         params.addParam("asset", asset);
-        return returnTradeBalance(sendPostRequest(GET_TRADE_BALANCE_ENDPOINT, params), format);
+        return returnTradeBalance(fetchPostPayload(GET_TRADE_BALANCE_ENDPOINT, params), format);
     }
 
     /**
@@ -411,14 +427,14 @@ public class KrakenUserDataManager extends KrakenPrivateManager {
      * @return trade balance as {"format"} defines
      */
     @Returner
-    private <T> T returnTradeBalance(String tradeBalanceResponse, ReturnFormat format) {
+    private <T> T returnTradeBalance(KrakenPayload tradeBalanceResponse, ReturnFormat format) {
         switch (format) {
             case JSON:
-                return (T) new JSONObject(tradeBalanceResponse);
+                return (T) tradeBalanceResponse.getJSONPayload();
             case LIBRARY_OBJECT:
-                return (T) new TradeBalance(new JSONObject(tradeBalanceResponse));
+                return (T) new TradeBalance(tradeBalanceResponse.getJSONPayload());
             default:
-                return (T) tradeBalanceResponse;
+                return (T) tradeBalanceResponse.getBody();
         }
     }
 
@@ -474,7 +490,7 @@ public class KrakenUserDataManager extends KrakenPrivateManager {
         Params params = new Params();
         if (insertTrades)
             params.addParam("trades", true);
-        return returnOrders(sendPostRequest(GET_OPEN_ORDERS_ENDPOINT, params), format);
+        return returnOrders(fetchPostPayload(GET_OPEN_ORDERS_ENDPOINT, params), format);
     }
 
     /** Request to get open orders list
@@ -529,7 +545,7 @@ public class KrakenUserDataManager extends KrakenPrivateManager {
         if (insertTrades)
             params.addParam("trades", true);
         params.addParam("userref", userRef);
-        return returnOrders(sendPostRequest(GET_OPEN_ORDERS_ENDPOINT, params), format);
+        return returnOrders(fetchPostPayload(GET_OPEN_ORDERS_ENDPOINT, params), format);
     }
 
     /**
@@ -584,7 +600,7 @@ public class KrakenUserDataManager extends KrakenPrivateManager {
         Params params = new Params();
         if (insertTrades)
             params.addParam("trades", true);
-        return returnClosedOrders(sendPostRequest(GET_CLOSED_ORDERS_ENDPOINT, params), format);
+        return returnClosedOrders(fetchPostPayload(GET_CLOSED_ORDERS_ENDPOINT, params), format);
     }
 
     /**
@@ -680,7 +696,7 @@ public class KrakenUserDataManager extends KrakenPrivateManager {
      */
     @RequestPath(method = POST, path = "https://api.kraken.com/0/private/ClosedOrders")
     public <T> T getClosedOrdersList(Params params, ReturnFormat format) throws Exception {
-        return returnClosedOrders(sendPostRequest(GET_CLOSED_ORDERS_ENDPOINT, params), format);
+        return returnClosedOrders(fetchPostPayload(GET_CLOSED_ORDERS_ENDPOINT, params), format);
     }
 
     /**
@@ -691,19 +707,19 @@ public class KrakenUserDataManager extends KrakenPrivateManager {
      * @return closed orders list as {"format"} defines
      */
     @Returner
-    private <T> T returnClosedOrders(String closedOrdersResponse, ReturnFormat format) {
+    private <T> T returnClosedOrders(KrakenPayload closedOrdersResponse, ReturnFormat format) {
         switch (format) {
             case JSON:
-                return (T) new JSONObject(closedOrdersResponse);
+                return (T) closedOrdersResponse.getJSONPayload();
             case LIBRARY_OBJECT:
                 ArrayList<ClosedOrder> closedOrders = new ArrayList<>();
-                JSONObject jOrders = new JSONObject(closedOrdersResponse).getJSONObject("result")
+                JSONObject jOrders = closedOrdersResponse.getJSONPayload().getJSONObject("result")
                         .getJSONObject("closed");
                 for (String closedOrder : jOrders.keySet())
                     closedOrders.add(new ClosedOrder(jOrders.getJSONObject(closedOrder)));
                 return (T) closedOrders;
             default:
-                return (T) closedOrdersResponse;
+                return (T) closedOrdersResponse.getBody();
         }
     }
 
@@ -818,7 +834,7 @@ public class KrakenUserDataManager extends KrakenPrivateManager {
         if (insertTrades)
             params.addParam("trades", true);
         params.addParam("txid", apiRequest.assembleParamsList(",", txId));
-        return returnOrders(sendPostRequest(QUERY_ORDERS_ENDPOINT, params), format);
+        return returnOrders(fetchPostPayload(QUERY_ORDERS_ENDPOINT, params), format);
     }
 
     /** Request to get query orders info
@@ -931,7 +947,7 @@ public class KrakenUserDataManager extends KrakenPrivateManager {
             params.addParam("trades", true);
         params.addParam("txid", apiRequest.assembleParamsList(",", txId));
         params.addParam("userref", userRef);
-        return returnOrders(sendPostRequest(QUERY_ORDERS_ENDPOINT, params), format);
+        return returnOrders(fetchPostPayload(QUERY_ORDERS_ENDPOINT, params), format);
     }
 
     /**
@@ -942,20 +958,20 @@ public class KrakenUserDataManager extends KrakenPrivateManager {
      * @return orders list as {"format"} defines
      */
     @Returner
-    private <T> T returnOrders(String ordersResponse, ReturnFormat format) {
+    private <T> T returnOrders(KrakenPayload ordersResponse, ReturnFormat format) {
         switch (format) {
             case JSON:
-                return (T) new JSONObject(ordersResponse);
+                return (T) ordersResponse.getJSONPayload();
             case LIBRARY_OBJECT:
                 ArrayList<Order> openOrders = new ArrayList<>();
-                JSONObject jOrders = new JSONObject(ordersResponse).getJSONObject("result");
+                JSONObject jOrders = ordersResponse.getJSONPayload().getJSONObject("result");
                 if (jOrders.has("open"))
                     jOrders = jOrders.getJSONObject("open");
                 for (String order : jOrders.keySet())
                     openOrders.add(new Order(jOrders.getJSONObject(order)));
                 return (T) openOrders;
             default:
-                return (T) ordersResponse;
+                return (T) ordersResponse.getBody();
         }
     }
 
@@ -1013,7 +1029,7 @@ public class KrakenUserDataManager extends KrakenPrivateManager {
         Params params = new Params();
         if (insertTrades)
             params.addParam("trades", true);
-        return returnHistoryTrades(sendPostRequest(GET_TRADES_HISTORY_ENDPOINT, params), format);
+        return returnHistoryTrades(GET_TRADES_HISTORY_ENDPOINT, params, format);
     }
 
     /**
@@ -1109,7 +1125,88 @@ public class KrakenUserDataManager extends KrakenPrivateManager {
      */
     @RequestPath(method = POST, path = "https://api.kraken.com/0/private/TradesHistory")
     public <T> T getTradesHistory(Params params, ReturnFormat format) throws Exception {
-        return returnHistoryTrades(sendPostRequest(GET_TRADES_HISTORY_ENDPOINT, params), format);
+        return returnHistoryTrades(GET_TRADES_HISTORY_ENDPOINT, params, format);
+    }
+
+    /**
+     * Method to request and assemble a history trades list
+     *
+     * @param endpoint: endpoint of the request
+     * @param params:   params of the request
+     * @param format:   return type formatter -> {@link ReturnFormat}
+     * @return history trades list as {"format"} defines
+     * @implNote the {@link ReturnFormat#LIBRARY_OBJECT} format is decoded directly from the stream of the response
+     */
+    @Returner
+    private <T> T returnHistoryTrades(String endpoint, Params params, ReturnFormat format) throws IOException {
+        if (format == LIBRARY_OBJECT)
+            return (T) fetchPostStream(endpoint, params, this::decodeHistoryTrades);
+        return returnHistoryTrades(fetchPostPayload(endpoint, params), format);
+    }
+
+    /**
+     * Method to create a template of the trades history requests, useful to page or poll the trades history changing
+     * only some of its params
+     *
+     * @param params: constant params of the requests, null if there are not, the keys accepted are the same of
+     *                {@link #getTradesHistory(Params, ReturnFormat)}
+     * @param fields: params that change between a request and the other one, es. {@code Field.decimal("ofs")}
+     * @return template as {@link KrakenRequestTemplate}
+     */
+    public KrakenRequestTemplate createTradesHistoryTemplate(Params params, Field... fields) {
+        return createRequestTemplate(GET_TRADES_HISTORY_ENDPOINT, params, fields);
+    }
+
+    /**
+     * Request to get trades history filled from a template
+     *
+     * @param request: request filled from a template created with
+     *                 {@link #createTradesHistoryTemplate(Params, Field...)}
+     * @return history trades list as {@link ArrayList} of {@link HistoryTrade}
+     * @throws IOException when request has been go wrong -> you can use these methods to get more details about error:
+     *                     <ul>
+     *                         <li>
+     *                             {@link #getErrorResponse()}
+     *                         </li>
+     *                         <li>
+     *                             {@link #getJSONErrorResponse()}
+     *                         </li>
+     *                         <li>
+     *                             {@link #printErrorResponse()}
+     *                         </li>
+     *                     </ul> using a {@code "try and catch statement"} during runtime, see how to do in {@code "README"} file
+     * @apiNote see the official documentation at: <a href="https://docs.kraken.com/rest/#tag/User-Data/operation/getTradeHistory">
+     * Get Trades History</a>
+     * @implNote only the fields and the nonce of the request are encoded and the response is decoded directly from
+     * its stream
+     */
+    @RequestPath(method = POST, path = "https://api.kraken.com/0/private/TradesHistory")
+    public ArrayList<HistoryTrade> getTradesHistory(Request request) throws IOException {
+        checkTemplate(request, GET_TRADES_HISTORY_ENDPOINT);
+        return fetchTemplateStream(request, this::decodeHistoryTrades);
+    }
+
+    /**
+     * Method to decode a history trades list reading it from the stream of the response
+     *
+     * @param reader: reader positioned on the {@code "result"} value of the response
+     * @return history trades list as {@link ArrayList} of {@link HistoryTrade}
+     * @throws IOException when the response is not valid
+     */
+    private ArrayList<HistoryTrade> decodeHistoryTrades(KrakenJsonReader reader) throws IOException {
+        ArrayList<HistoryTrade> trades = new ArrayList<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("trades")) {
+                reader.beginObject();
+                while (reader.hasNext())
+                    trades.add(HistoryTrade.decode(reader.nextName(), reader));
+                reader.endObject();
+            } else
+                reader.skipValue();
+        }
+        reader.endObject();
+        return trades;
     }
 
     /**
@@ -1120,19 +1217,19 @@ public class KrakenUserDataManager extends KrakenPrivateManager {
      * @return history trades list as {"format"} defines
      */
     @Returner
-    private <T> T returnHistoryTrades(String tradesListResponse, ReturnFormat format) {
+    private <T> T returnHistoryTrades(KrakenPayload tradesListResponse, ReturnFormat format) {
         switch (format) {
             case JSON:
-                return (T) new JSONObject(tradesListResponse);
+                return (T) tradesListResponse.getJSONPayload();
             case LIBRARY_OBJECT:
                 ArrayList<HistoryTrade> trades = new ArrayList<>();
-                JSONObject jTrades = new JSONObject(tradesListResponse).getJSONObject("result")
+                JSONObject jTrades = tradesListResponse.getJSONPayload().getJSONObject("result")
                         .getJSONObject("trades");
                 for (String trade : jTrades.keySet())
                     trades.add(new HistoryTrade(jTrades.getJSONObject(trade).put("tradeSymbol", trade)));
                 return (T) trades;
             default:
-                return (T) tradesListResponse;
+                return (T) tradesListResponse.getBody();
         }
     }
 
@@ -1186,7 +1283,7 @@ public class KrakenUserDataManager extends KrakenPrivateManager {
         Params params = new Params();
         if (insertTrades)
             params.addParam("trades", true);
-        return returnQueryTrades(sendPostRequest(QUERY_TRADES_ENDPOINT, null), format);
+        return returnQueryTrades(fetchPostPayload(QUERY_TRADES_ENDPOINT, null), format);
     }
 
     /** Request to get query trades info
@@ -1292,7 +1389,7 @@ public class KrakenUserDataManager extends KrakenPrivateManager {
         if (insertTrades)
             params.addParam("trades", true);
         params.addParam("txid", Arrays.stream(txId).toList());
-        return returnQueryTrades(sendPostRequest(QUERY_TRADES_ENDPOINT, params), format);
+        return returnQueryTrades(fetchPostPayload(QUERY_TRADES_ENDPOINT, params), format);
     }
 
     /**
@@ -1303,18 +1400,18 @@ public class KrakenUserDataManager extends KrakenPrivateManager {
      * @return query trades list as {"format"} defines
      */
     @Returner
-    private <T> T returnQueryTrades(String tradesListResponse, ReturnFormat format) {
+    private <T> T returnQueryTrades(KrakenPayload tradesListResponse, ReturnFormat format) {
         switch (format) {
             case JSON:
-                return (T) new JSONObject(tradesListResponse);
+                return (T) tradesListResponse.getJSONPayload();
             case LIBRARY_OBJECT:
                 ArrayList<QueryTrade> trades = new ArrayList<>();
-                JSONObject jTrades = new JSONObject(tradesListResponse).getJSONObject("result");
+                JSONObject jTrades = tradesListResponse.getJSONPayload().getJSONObject("result");
                 for (String trade : jTrades.keySet())
                     trades.add(new QueryTrade(jTrades.getJSONObject(trade).put("tradeSymbol", trade)));
                 return (T) trades;
             default:
-                return (T) tradesListResponse;
+                return (T) tradesListResponse.getBody();
         }
     }
 
@@ -1370,7 +1467,7 @@ public class KrakenUserDataManager extends KrakenPrivateManager {
         Params params = new Params();
         if (doCalcs)
             params.addParam("docalcs", true);
-        return returnOpenPositions(sendPostRequest(GET_OPEN_POSITIONS_ENDPOINT, params), format);
+        return returnOpenPositions(fetchPostPayload(GET_OPEN_POSITIONS_ENDPOINT, params), format);
     }
 
     /** Request to get open positions
@@ -1476,7 +1573,7 @@ public class KrakenUserDataManager extends KrakenPrivateManager {
         if (doCalcs)
             params.addParam("docalcs", true);
         params.addParam("txid", Arrays.stream(txId).toList());
-        return returnOpenPositions(sendPostRequest(GET_OPEN_POSITIONS_ENDPOINT, params), format);
+        return returnOpenPositions(fetchPostPayload(GET_OPEN_POSITIONS_ENDPOINT, params), format);
     }
 
     /**
@@ -1487,18 +1584,18 @@ public class KrakenUserDataManager extends KrakenPrivateManager {
      * @return open positions list as {"format"} defines
      */
     @Returner
-    private <T> T returnOpenPositions(String openPositionsResponse, ReturnFormat format) {
+    private <T> T returnOpenPositions(KrakenPayload openPositionsResponse, ReturnFormat format) {
         switch (format) {
             case JSON:
-                return (T) new JSONObject(openPositionsResponse);
+                return (T) openPositionsResponse.getJSONPayload();
             case LIBRARY_OBJECT:
                 ArrayList<OpenPosition> openPositions = new ArrayList<>();
-                JSONObject jPositions = new JSONObject(openPositionsResponse).getJSONObject("result");
+                JSONObject jPositions = openPositionsResponse.getJSONPayload().getJSONObject("result");
                 for (String positionId : jPositions.keySet())
                     openPositions.add(new OpenPosition(jPositions.getJSONObject(positionId).put("positionId", positionId)));
                 return (T) openPositions;
             default:
-                return (T) openPositionsResponse;
+                return (T) openPositionsResponse.getBody();
         }
     }
 
@@ -1556,7 +1653,7 @@ public class KrakenUserDataManager extends KrakenPrivateManager {
         Params params = new Params();
         if (insertTrades)
             params.addParam("trades", true);
-        return returnLedgers(sendPostRequest(GET_LEDGERS_ENDPOINT, params), format);
+        return returnLedgers(GET_LEDGERS_ENDPOINT, params, format);
     }
 
     /**
@@ -1604,7 +1701,7 @@ public class KrakenUserDataManager extends KrakenPrivateManager {
     @Wrapper
     @RequestPath(method = POST, path = "https://api.kraken.com/0/private/QueryLedgers")
     public ArrayList<Ledger> getLedgersInfo(Params params) throws Exception {
-        return returnLedgers(sendPostRequest(GET_LEDGERS_ENDPOINT, params), LIBRARY_OBJECT);
+        return returnLedgers(GET_LEDGERS_ENDPOINT, params, LIBRARY_OBJECT);
     }
 
     /**
@@ -1652,7 +1749,7 @@ public class KrakenUserDataManager extends KrakenPrivateManager {
      */
     @RequestPath(method = POST, path = "https://api.kraken.com/0/private/QueryLedgers")
     public <T> T getLedgersInfo(Params params, ReturnFormat format) throws Exception {
-        return returnLedgers(sendPostRequest(GET_LEDGERS_ENDPOINT, params), format);
+        return returnLedgers(GET_LEDGERS_ENDPOINT, params, format);
     }
 
     /**
@@ -1766,7 +1863,7 @@ public class KrakenUserDataManager extends KrakenPrivateManager {
         if (insertTrades)
             params.addParam("trades", true);
         params.addParam("id", apiRequest.assembleParamsList(",", ids));
-        return returnLedgers(sendPostRequest(QUERY_LEDGERS_ENDPOINT, params), format);
+        return returnLedgers(QUERY_LEDGERS_ENDPOINT, params, format);
     }
 
     /** Request to get query ledgers
@@ -1960,7 +2057,104 @@ public class KrakenUserDataManager extends KrakenPrivateManager {
         if (insertTrades)
             params.addParam("trades", true);
         params.addParam("id", apiRequest.assembleParamsList(",", ids));
-        return returnLedgers(sendPostRequest(QUERY_LEDGERS_ENDPOINT, params), format);
+        return returnLedgers(QUERY_LEDGERS_ENDPOINT, params, format);
+    }
+
+    /**
+     * Method to request and assemble a ledgers list
+     *
+     * @param endpoint: endpoint of the request
+     * @param params:   params of the request
+     * @param format:   return type formatter -> {@link ReturnFormat}
+     * @return ledgers list as {"format"} defines
+     * @implNote the {@link ReturnFormat#LIBRARY_OBJECT} format is decoded directly from the stream of the response
+     */
+    @Returner
+    private <T> T returnLedgers(String endpoint, Params params, ReturnFormat format) throws IOException {
+        if (format == LIBRARY_OBJECT)
+            return (T) fetchPostStream(endpoint, params, this::decodeLedgers);
+        return returnLedgers(fetchPostPayload(endpoint, params), format);
+    }
+
+    /**
+     * Method to create a template of the ledgers requests, useful to page or poll the ledgers changing only some of
+     * their params
+     *
+     * @param params: constant params of the requests, null if there are not, the keys accepted are the same of
+     *                {@link #getLedgersInfo(Params, ReturnFormat)}
+     * @param fields: params that change between a request and the other one, es. {@code Field.decimal("ofs")}
+     * @return template as {@link KrakenRequestTemplate}
+     */
+    public KrakenRequestTemplate createLedgersTemplate(Params params, Field... fields) {
+        return createRequestTemplate(GET_LEDGERS_ENDPOINT, params, fields);
+    }
+
+    /**
+     * Request to get ledgers filled from a template
+     *
+     * @param request: request filled from a template created with {@link #createLedgersTemplate(Params, Field...)}
+     * @return ledgers list as {@link ArrayList} of {@link Ledger}
+     * @throws IOException when request has been go wrong -> you can use these methods to get more details about error:
+     *                     <ul>
+     *                         <li>
+     *                             {@link #getErrorResponse()}
+     *                         </li>
+     *                         <li>
+     *                             {@link #getJSONErrorResponse()}
+     *                         </li>
+     *                         <li>
+     *                             {@link #printErrorResponse()}
+     *                         </li>
+     *                     </ul> using a {@code "try and catch statement"} during runtime, see how to do in {@code "README"} file
+     * @apiNote see the official documentation at: <a href="https://docs.kraken.com/rest/#tag/User-Data/operation/getLedgers">
+     * Get Ledgers Info</a>
+     * @implNote only the fields and the nonce of the request are encoded and the response is decoded directly from
+     * its stream
+     */
+    @RequestPath(method = POST, path = "https://api.kraken.com/0/private/Ledgers")
+    public ArrayList<Ledger> getLedgers(Request request) throws IOException {
+        checkTemplate(request, GET_LEDGERS_ENDPOINT);
+        return fetchTemplateStream(request, this::decodeLedgers);
+    }
+
+    /**
+     * Method to check the endpoint of a request filled from a template
+     *
+     * @param request:  request filled from a template
+     * @param endpoint: endpoint expected
+     * @throws IllegalArgumentException when the template is not a template of the endpoint expected
+     */
+    private void checkTemplate(Request request, String endpoint) {
+        if (!request.getTemplate().getEndpoint().equals(endpoint))
+            throw new IllegalArgumentException("The template is not a template of the " + endpoint + " requests");
+    }
+
+    /**
+     * Method to decode a ledgers list reading it from the stream of the response
+     *
+     * @param reader: reader positioned on the {@code "result"} value of the response
+     * @return ledgers list as {@link ArrayList} of {@link Ledger}
+     * @throws IOException when the response is not valid
+     * @implNote the ledgers can be listed in the {@code "ledger"} object, as the {@code "Ledgers"} endpoint does, or
+     * directly in the {@code "result"} value, as the {@code "QueryLedgers"} endpoint does
+     */
+    private ArrayList<Ledger> decodeLedgers(KrakenJsonReader reader) throws IOException {
+        ArrayList<Ledger> ledgers = new ArrayList<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (name.equals("ledger")) {
+                reader.beginObject();
+                while (reader.hasNext())
+                    ledgers.add(Ledger.decode(reader.nextName(), reader));
+                reader.endObject();
+            } else if (name.equals("count"))
+                reader.skipValue();
+            else
+                ledgers.add(Ledger.decode(name, reader));
+        }
+        reader.endObject();
+        return ledgers;
     }
 
     /**
@@ -1971,18 +2165,18 @@ public class KrakenUserDataManager extends KrakenPrivateManager {
      * @return ledgers list as {"format"} defines
      */
     @Returner
-    private <T> T returnLedgers(String openPositionsResponse, ReturnFormat format) {
+    private <T> T returnLedgers(KrakenPayload openPositionsResponse, ReturnFormat format) {
         switch (format) {
             case JSON:
-                return (T) new JSONObject(openPositionsResponse);
+                return (T) openPositionsResponse.getJSONPayload();
             case LIBRARY_OBJECT:
                 ArrayList<Ledger> ledgers = new ArrayList<>();
-                JSONObject jLedgers = new JSONObject(openPositionsResponse).getJSONObject("result");
+                JSONObject jLedgers = openPositionsResponse.getJSONPayload().getJSONObject("result");
                 for (String ledgerId : jLedgers.keySet())
                     ledgers.add(new Ledger(jLedgers.getJSONObject(ledgerId).put("ledgerId", ledgerId)));
                 return (T) ledgers;
             default:
-                return (T) openPositionsResponse;
+                return (T) openPositionsResponse.getBody();
         }
     }
 
@@ -2092,7 +2286,7 @@ public class KrakenUserDataManager extends KrakenPrivateManager {
         Params params = new Params();
         if(insertFeeInfo)
             params.addParam("fee-info", true);
-        return returnTradeVolume(sendPostRequest(GET_TRADE_VOLUME_ENDPOINT + "?pair=" + pair, params), format);
+        return returnTradeVolume(fetchPostPayload(GET_TRADE_VOLUME_ENDPOINT + "?pair=" + pair, params), format);
     }
 
     /** Request to get trade volume
@@ -2325,7 +2519,7 @@ public class KrakenUserDataManager extends KrakenPrivateManager {
         if (insertFeeInfo)
             params.addParam("fee-info", true);
         params.addParam("pair", apiRequest.assembleParamsList(",", pairs));
-        return returnTradeVolume(sendPostRequest(GET_TRADE_VOLUME_ENDPOINT + "?pair=" + pair, params), format);
+        return returnTradeVolume(fetchPostPayload(GET_TRADE_VOLUME_ENDPOINT + "?pair=" + pair, params), format);
     }
 
     /**
@@ -2336,14 +2530,14 @@ public class KrakenUserDataManager extends KrakenPrivateManager {
      * @return trade volume as {"format"} defines
      */
     @Returner
-    private <T> T returnTradeVolume(String tradeVolumeResponse, ReturnFormat format) {
+    private <T> T returnTradeVolume(KrakenPayload tradeVolumeResponse, ReturnFormat format) {
         switch (format) {
             case JSON:
-                return (T) new JSONObject(tradeVolumeResponse);
+                return (T) tradeVolumeResponse.getJSONPayload();
             case LIBRARY_OBJECT:
-                return (T) new TradeVolume(new JSONObject(tradeVolumeResponse));
+                return (T) new TradeVolume(tradeVolumeResponse.getJSONPayload());
             default:
-                return (T) tradeVolumeResponse;
+                return (T) tradeVolumeResponse.getBody();
         }
     }
 
@@ -2399,7 +2593,7 @@ public class KrakenUserDataManager extends KrakenPrivateManager {
         Params params = new Params();
         params.addParam("report", report);
         params.addParam("description", description);
-        return returnExportAdded(sendPostRequest(ADD_EXPORT_ENDPOINT, params), format);
+        return returnExportAdded(fetchPostPayload(ADD_EXPORT_ENDPOINT, params), format);
     }
 
     /** Request to add an export
@@ -2499,7 +2693,7 @@ public class KrakenUserDataManager extends KrakenPrivateManager {
     public <T> T addExport(ReportType report, String description, Params params, ReturnFormat format) throws Exception {
         params.addParam("report", report);
         params.addParam("description", description);
-        return returnExportAdded(sendPostRequest(ADD_EXPORT_ENDPOINT, params), format);
+        return returnExportAdded(fetchPostPayload(ADD_EXPORT_ENDPOINT, params), format);
     }
 
     /**
@@ -2512,14 +2706,14 @@ public class KrakenUserDataManager extends KrakenPrivateManager {
      * as {@link String}
      */
     @Returner
-    private <T> T returnExportAdded(String exportAddedResponse, ReturnFormat format) {
+    private <T> T returnExportAdded(KrakenPayload exportAddedResponse, ReturnFormat format) {
         switch (format) {
             case JSON:
-                return (T) new JSONObject(exportAddedResponse);
+                return (T) exportAddedResponse.getJSONPayload();
             case LIBRARY_OBJECT:
-                return (T) new JSONObject(exportAddedResponse).getJSONObject("result").getString("id");
+                return (T) exportAddedResponse.getJSONPayload().getJSONObject("result").getString("id");
             default:
-                return (T) exportAddedResponse;
+                return (T) exportAddedResponse.getBody();
         }
     }
 
@@ -2573,7 +2767,7 @@ public class KrakenUserDataManager extends KrakenPrivateManager {
     public <T> T getExportStatus(ReportType report, ReturnFormat format) throws Exception {
         Params params = new Params();
         params.addParam("report", report);
-        JSONObject reportResponse = new JSONObject(sendPostRequest(GET_EXPORT_STATUS_ENDPOINT, params));
+        JSONObject reportResponse = fetchPostPayload(GET_EXPORT_STATUS_ENDPOINT, params).getJSONPayload();
         switch (format) {
             case JSON:
                 return (T) reportResponse;
@@ -2698,7 +2892,7 @@ public class KrakenUserDataManager extends KrakenPrivateManager {
         Params params = new Params();
         params.addParam("id", id);
         params.addParam("type", type);
-        JSONObject deletion = new JSONObject(sendPostRequest(DELETE_EXPORT_ENDPOINT, params));
+        JSONObject deletion = fetchPostPayload(DELETE_EXPORT_ENDPOINT, params).getJSONPayload();
         switch (format) {
             case JSON:
                 return (T) deletion;
@@ -1,8 +1,11 @@
 package com.tecknobit.krakenmanager.privates.userdata.records;
 
 import com.tecknobit.krakenmanager.KrakenManager;
+import com.tecknobit.krakenmanager.transport.KrakenJsonReader;
 import org.json.JSONObject;
 
+import java.io.IOException;
+
 import static com.tecknobit.apimanager.trading.TradingTools.roundValue;
 
 /**
@@ -100,7 +103,7 @@ public class Ledger extends KrakenManager.KrakenResponse {
         ledgerId = result.getString("ledgerId");
         refId = result.getString("refid");
         time = result.getLong("time", 0);
-        type = LedgerType.valueOf(result.getString("type", LedgerType.all.name()));
+        type = LedgerType.fromValue(result.getString("type"));
         subType = result.getString("subtype");
         aClass = result.getString("aclass");
         asset = result.getString("asset");
@@ -109,6 +112,43 @@ public class Ledger extends KrakenManager.KrakenResponse {
         balance = result.getDouble("balance", 0);
     }
 
+    /**
+     * Method to decode a {@link Ledger} object reading it from the stream of the response
+     *
+     * @param ledgerId: identifier of the ledger
+     * @param reader:   reader positioned on the ledger data
+     * @return ledger as {@link Ledger}
+     * @throws IOException when the response is not valid
+     */
+    public static Ledger decode(String ledgerId, KrakenJsonReader reader) throws IOException {
+        String refId = null;
+        long time = 0;
+        LedgerType type = LedgerType.all;
+        String subType = null;
+        String aClass = null;
+        String asset = null;
+        double amount = 0;
+        double fee = 0;
+        double balance = 0;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "refid" -> refId = reader.nextString();
+                case "time" -> time = reader.nextLong();
+                case "type" -> type = LedgerType.fromValue(reader.nextString());
+                case "subtype" -> subType = reader.nextString();
+                case "aclass" -> aClass = reader.nextString();
+                case "asset" -> asset = reader.nextString();
+                case "amount" -> amount = reader.nextDouble();
+                case "fee" -> fee = reader.nextDouble();
+                case "balance" -> balance = reader.nextDouble();
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new Ledger(ledgerId, refId, time, type, subType, aClass, asset, amount, fee, balance);
+    }
+
     /**
      * Method to get {@link #type} instance <br>
      * No-any params required
@@ -207,7 +247,21 @@ public class Ledger extends KrakenManager.KrakenResponse {
         /**
          * {@code "sale"} ledger type
          */
-        sale,
+        sale;
+
+        /**
+         * Method to get a ledger type from its value
+         *
+         * @param value: value of the ledger type es. trade
+         * @return ledger type as {@link LedgerType}, {@link #all} if the value is null or it is not known, es. a new
+         * ledger type added by Kraken
+         */
+        public static LedgerType fromValue(String value) {
+            for (LedgerType type : values())
+                if (type.name().equals(value))
+                    return type;
+            return all;
+        }
 
     }
 
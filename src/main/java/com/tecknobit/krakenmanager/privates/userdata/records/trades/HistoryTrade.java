@@ -1,8 +1,10 @@
 package com.tecknobit.krakenmanager.privates.userdata.records.trades;
 
+import com.tecknobit.krakenmanager.transport.KrakenJsonReader;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
+import java.io.IOException;
 import java.util.ArrayList;
 
 import static com.tecknobit.apimanager.trading.TradingTools.roundValue;
@@ -123,6 +125,71 @@ public class HistoryTrade extends Trade {
             trades.add(jsonTrades.getLong(j));
     }
 
+    /**
+     * Method to decode a {@link HistoryTrade} object reading it from the stream of the response
+     *
+     * @param tradeSymbol: trade identifier value
+     * @param reader:      reader positioned on the history trade data
+     * @return history trade as {@link HistoryTrade}
+     * @throws IOException when the response is not valid
+     */
+    public static HistoryTrade decode(String tradeSymbol, KrakenJsonReader reader) throws IOException {
+        String orderTransactionId = null;
+        String pair = null;
+        long time = 0;
+        String type = null;
+        String orderType = null;
+        double price = 0;
+        double cost = 0;
+        double fee = 0;
+        double vol = 0;
+        double margin = 0;
+        String misc = null;
+        long tradeId = 0;
+        String postStatus = null;
+        double cPrice = 0;
+        double cCost = 0;
+        double cFee = 0;
+        double cVol = 0;
+        double cMargin = 0;
+        double net = 0;
+        ArrayList<Long> trades = new ArrayList<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "ordertxid" -> orderTransactionId = reader.nextString();
+                case "pair" -> pair = reader.nextString();
+                case "time" -> time = reader.nextLong();
+                case "type" -> type = reader.nextString();
+                case "ordertype" -> orderType = reader.nextString();
+                case "price" -> price = reader.nextDouble();
+                case "cost" -> cost = reader.nextDouble();
+                case "fee" -> fee = reader.nextDouble();
+                case "vol" -> vol = reader.nextDouble();
+                case "margin" -> margin = reader.nextDouble();
+                case "misc" -> misc = reader.nextString();
+                case "trade_id" -> tradeId = reader.nextLong();
+                case "posstatus" -> postStatus = reader.nextString();
+                case "cprice" -> cPrice = reader.nextDouble();
+                case "ccost" -> cCost = reader.nextDouble();
+                case "cfee" -> cFee = reader.nextDouble();
+                case "cvol" -> cVol = reader.nextDouble();
+                case "cmargin" -> cMargin = reader.nextDouble();
+                case "net" -> net = reader.nextDouble();
+                case "trades" -> {
+                    reader.beginArray();
+                    while (reader.hasNext())
+                        trades.add(reader.nextLong());
+                    reader.endArray();
+                }
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new HistoryTrade(tradeSymbol, orderTransactionId, pair, time, type, orderType, price, cost, fee, vol,
+                margin, misc, tradeId, postStatus, cPrice, cCost, cFee, cVol, cMargin, net, trades);
+    }
+
     /**
      * Method to get {@link #tradeId} instance <br>
      * No-any params required
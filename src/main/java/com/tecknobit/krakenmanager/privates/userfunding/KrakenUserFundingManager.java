@@ -3,6 +3,7 @@ package com.tecknobit.krakenmanager.privates.userfunding;
 import com.tecknobit.apimanager.annotations.RequestPath;
 import com.tecknobit.apimanager.annotations.Returner;
 import com.tecknobit.apimanager.annotations.Wrapper;
+import com.tecknobit.krakenmanager.KrakenClientContext;
 import com.tecknobit.krakenmanager.privates.KrakenPrivateManager;
 import com.tecknobit.krakenmanager.privates.userfunding.records.DepositAddress;
 import com.tecknobit.krakenmanager.privates.userfunding.records.DepositMethod;
@@ -136,6 +137,16 @@ public class KrakenUserFundingManager extends KrakenPrivateManager {
         super();
     }
 
+    /**
+     * Constructor to init a {@link KrakenUserFundingManager}
+     *
+     * @param context: configuration of the manager, shared with the other managers created with it
+     * @throws IllegalArgumentException when the credentials of the context have not been set
+     */
+    public KrakenUserFundingManager(KrakenClientContext context) {
+        super(context);
+    }
+
     /** Request to retrieve methods available for depositing a particular asset
      * @param asset: asset being deposited
      * @throws Exception when request has been go wrong -> you can use these methods to get more details about error:
@@ -186,7 +197,7 @@ public class KrakenUserFundingManager extends KrakenPrivateManager {
     public <T> T getDepositMethods(String asset, ReturnFormat format) throws Exception {
         Params params = new Params();
         params.addParam("asset", asset);
-        JSONObject jDeposit = new JSONObject(sendPostRequest(DEPOSIT_METHODS_ENDPOINT, params));
+        JSONObject jDeposit = fetchPostPayload(DEPOSIT_METHODS_ENDPOINT, params).getJSONPayload();
         switch (format) {
             case JSON:
                 return (T) jDeposit;
@@ -330,7 +341,7 @@ public class KrakenUserFundingManager extends KrakenPrivateManager {
             params = new Params();
         params.addParam("asset", asset);
         params.addParam("method", method);
-        JSONObject jDepositAddresses = new JSONObject(sendPostRequest(DEPOSIT_ADDRESSES_ENDPOINT, params));
+        JSONObject jDepositAddresses = fetchPostPayload(DEPOSIT_ADDRESSES_ENDPOINT, params).getJSONPayload();
         switch (format) {
             case JSON:
                 return (T) jDepositAddresses;
@@ -392,7 +403,7 @@ public class KrakenUserFundingManager extends KrakenPrivateManager {
      */
     @RequestPath(method = POST, path = "https://api.kraken.com/0/private/DepositStatus")
     public <T> T getRecentDepositsStatus(ReturnFormat format) throws Exception {
-        return returnOperationsList(sendPostRequest(DEPOSIT_STATUS_ENDPOINT, null), format);
+        return returnOperationsList(fetchPostPayload(DEPOSIT_STATUS_ENDPOINT, null), format);
     }
 
     /**
@@ -460,7 +471,7 @@ public class KrakenUserFundingManager extends KrakenPrivateManager {
      */
     @RequestPath(method = POST, path = "https://api.kraken.com/0/private/DepositStatus")
     public <T> T getRecentDepositsStatus(Params params, ReturnFormat format) throws Exception {
-        return returnOperationsList(sendPostRequest(DEPOSIT_STATUS_ENDPOINT, params), format);
+        return returnOperationsList(fetchPostPayload(DEPOSIT_STATUS_ENDPOINT, params), format);
     }
 
     /** Request to retrieve fee information about potential withdrawals for a particular asset, key and amount
@@ -517,14 +528,14 @@ public class KrakenUserFundingManager extends KrakenPrivateManager {
         params.addParam("asset", asset);
         params.addParam("key", key);
         params.addParam("amount", sNotationParse(8, amount));
-        String withdrawalResponse = sendPostRequest(GET_WITHDRAWAL_INFORMATION_ENDPOINT, params);
+        KrakenPayload withdrawalResponse = fetchPostPayload(GET_WITHDRAWAL_INFORMATION_ENDPOINT, params);
         switch (format) {
             case JSON:
-                return (T) new JSONObject(withdrawalResponse);
+                return (T) withdrawalResponse.getJSONPayload();
             case LIBRARY_OBJECT:
-                return (T) new WithdrawInformation(new JSONObject(withdrawalResponse));
+                return (T) new WithdrawInformation(withdrawalResponse.getJSONPayload());
             default:
-                return (T) withdrawalResponse;
+                return (T) withdrawalResponse.getBody();
         }
     }
 
@@ -584,14 +595,14 @@ public class KrakenUserFundingManager extends KrakenPrivateManager {
         params.addParam("asset", asset);
         params.addParam("key", key);
         params.addParam("amount", sNotationParse(8, amount));
-        String withdrawResponse = sendPostRequest(MAKE_WITHDRAW_ENDPOINT, params);
+        KrakenPayload withdrawResponse = fetchPostPayload(MAKE_WITHDRAW_ENDPOINT, params);
         switch (format) {
             case JSON:
-                return (T) new JSONObject(withdrawResponse);
+                return (T) withdrawResponse.getJSONPayload();
             case LIBRARY_OBJECT:
-                return (T) new JSONObject(withdrawResponse).getJSONObject("result").getString("refid");
+                return (T) withdrawResponse.getJSONPayload().getJSONObject("result").getString("refid");
             default:
-                return (T) withdrawResponse;
+                return (T) withdrawResponse.getBody();
         }
     }
 
@@ -642,7 +653,7 @@ public class KrakenUserFundingManager extends KrakenPrivateManager {
      */
     @RequestPath(method = POST, path = "https://api.kraken.com/0/private/WithdrawStatus")
     public <T> T getRecentWithdrawalsStatus(ReturnFormat format) throws Exception {
-        return returnOperationsList(sendPostRequest(WITHDRAW_STATUS_ENDPOINT, null), format);
+        return returnOperationsList(fetchPostPayload(WITHDRAW_STATUS_ENDPOINT, null), format);
     }
 
     /** Request to retrieve information about recently requests withdrawals
@@ -709,7 +720,7 @@ public class KrakenUserFundingManager extends KrakenPrivateManager {
      */
     @RequestPath(method = POST, path = "https://api.kraken.com/0/private/WithdrawStatus")
     public <T> T getRecentWithdrawalsStatus(Params params, ReturnFormat format) throws Exception {
-        return returnOperationsList(sendPostRequest(WITHDRAW_STATUS_ENDPOINT, params), format);
+        return returnOperationsList(fetchPostPayload(WITHDRAW_STATUS_ENDPOINT, params), format);
     }
 
     /**
@@ -720,18 +731,18 @@ public class KrakenUserFundingManager extends KrakenPrivateManager {
      * @return operations status list as {"format"} defines
      */
     @Returner
-    private <T> T returnOperationsList(String statusListResponse, ReturnFormat format) {
+    private <T> T returnOperationsList(KrakenPayload statusListResponse, ReturnFormat format) {
         switch (format) {
             case JSON:
-                return (T) new JSONObject(statusListResponse);
+                return (T) statusListResponse.getJSONPayload();
             case LIBRARY_OBJECT:
                 ArrayList<OperationStatus> statusList = new ArrayList<>();
-                JSONArray status = new JSONObject(statusListResponse).getJSONArray("result");
+                JSONArray status = statusListResponse.getJSONPayload().getJSONArray("result");
                 for (int j = 0; j < status.length(); j++)
                     statusList.add(new OperationStatus(status.getJSONObject(j)));
                 return (T) statusList;
             default:
-                return (T) statusListResponse;
+                return (T) statusListResponse.getBody();
         }
     }
 
@@ -790,14 +801,14 @@ public class KrakenUserFundingManager extends KrakenPrivateManager {
         Params params = new Params();
         params.addParam("asset", asset);
         params.addParam("refid", refId);
-        String cancelResponse = sendPostRequest(CANCEL_WITHDRAW_ENDPOINT, params);
+        KrakenPayload cancelResponse = fetchPostPayload(CANCEL_WITHDRAW_ENDPOINT, params);
         switch (format) {
             case JSON:
-                return (T) new JSONObject(cancelResponse);
+                return (T) cancelResponse.getJSONPayload();
             case LIBRARY_OBJECT:
-                return (T) String.valueOf(new JSONObject(cancelResponse).getBoolean("result"));
+                return (T) String.valueOf(cancelResponse.getJSONPayload().getBoolean("result"));
             default:
-                return (T) cancelResponse;
+                return (T) cancelResponse.getBody();
         }
     }
 
@@ -863,14 +874,14 @@ public class KrakenUserFundingManager extends KrakenPrivateManager {
         params.addParam("from", from);
         params.addParam("to", to);
         params.addParam("amount", sNotationParse(8, amount));
-        String walletTransferResponse = sendPostRequest(WALLET_TRANSFER_ENDPOINT, params);
+        KrakenPayload walletTransferResponse = fetchPostPayload(WALLET_TRANSFER_ENDPOINT, params);
         switch (format) {
             case JSON:
-                return (T) new JSONObject(walletTransferResponse);
+                return (T) walletTransferResponse.getJSONPayload();
             case LIBRARY_OBJECT:
-                return (T) new JSONObject(walletTransferResponse).getJSONObject("result").getString("refid");
+                return (T) walletTransferResponse.getJSONPayload().getJSONObject("result").getString("refid");
             default:
-                return (T) walletTransferResponse;
+                return (T) walletTransferResponse.getBody();
         }
     }
 
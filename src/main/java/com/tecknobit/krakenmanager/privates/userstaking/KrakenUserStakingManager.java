@@ -3,6 +3,7 @@ package com.tecknobit.krakenmanager.privates.userstaking;
 import com.tecknobit.apimanager.annotations.RequestPath;
 import com.tecknobit.apimanager.annotations.Returner;
 import com.tecknobit.apimanager.annotations.Wrapper;
+import com.tecknobit.krakenmanager.KrakenClientContext;
 import com.tecknobit.krakenmanager.privates.KrakenPrivateManager;
 import com.tecknobit.krakenmanager.privates.userstaking.records.StakeableAsset;
 import com.tecknobit.krakenmanager.privates.userstaking.records.StakingTransaction;
@@ -113,6 +114,16 @@ public class KrakenUserStakingManager extends KrakenPrivateManager {
         super();
     }
 
+    /**
+     * Constructor to init a {@link KrakenUserStakingManager}
+     *
+     * @param context: configuration of the manager, shared with the other managers created with it
+     * @throws IllegalArgumentException when the credentials of the context have not been set
+     */
+    public KrakenUserStakingManager(KrakenClientContext context) {
+        super(context);
+    }
+
     /**
      * Request to stake an asset from your spot wallet. This operation requires an API key with Withdraw funds permission
      *
@@ -173,14 +184,14 @@ public class KrakenUserStakingManager extends KrakenPrivateManager {
         params.addParam("asset", asset);
         params.addParam("amount", sNotationParse(8, amount));
         params.addParam("method", method);
-        String stakeResponse = sendPostRequest(STAKE_ENDPOINT, params);
+        KrakenPayload stakeResponse = fetchPostPayload(STAKE_ENDPOINT, params);
         switch (format) {
             case JSON:
-                return (T) new JSONObject(stakeResponse);
+                return (T) stakeResponse.getJSONPayload();
             case LIBRARY_OBJECT:
-                return (T) new JSONObject(stakeResponse).getJSONObject("result").getString("refid");
+                return (T) stakeResponse.getJSONPayload().getJSONObject("result").getString("refid");
             default:
-                return (T) stakeResponse;
+                return (T) stakeResponse.getBody();
         }
     }
 
@@ -239,14 +250,14 @@ public class KrakenUserStakingManager extends KrakenPrivateManager {
         Params params = new Params();
         params.addParam("asset", asset);
         params.addParam("amount", sNotationParse(8, amount));
-        String unstakeResponse = sendPostRequest(UNSTAKE_ENDPOINT, params);
+        KrakenPayload unstakeResponse = fetchPostPayload(UNSTAKE_ENDPOINT, params);
         switch (format) {
             case JSON:
-                return (T) new JSONObject(unstakeResponse);
+                return (T) unstakeResponse.getJSONPayload();
             case LIBRARY_OBJECT:
-                return (T) new JSONObject(unstakeResponse).getJSONObject("result").getString("refid");
+                return (T) unstakeResponse.getJSONPayload().getJSONObject("result").getString("refid");
             default:
-                return (T) unstakeResponse;
+                return (T) unstakeResponse.getBody();
         }
     }
 
@@ -299,18 +310,18 @@ public class KrakenUserStakingManager extends KrakenPrivateManager {
     @Returner
     @RequestPath(method = POST, path = "https://api.kraken.com/0/private/Staking/Assets")
     public <T> T getStakeableAssets(ReturnFormat format) throws Exception {
-        String assetsResponse = sendPostRequest(ASSETS_STAKEABLE_ENDPOINT, null);
+        KrakenPayload assetsResponse = fetchPostPayload(ASSETS_STAKEABLE_ENDPOINT, null);
         switch (format) {
             case JSON:
-                return (T) new JSONObject(assetsResponse);
+                return (T) assetsResponse.getJSONPayload();
             case LIBRARY_OBJECT:
                 ArrayList<StakeableAsset> stakeableAssets = new ArrayList<>();
-                JSONArray jAssets = new JSONObject(assetsResponse).getJSONArray("result");
+                JSONArray jAssets = assetsResponse.getJSONPayload().getJSONArray("result");
                 for (int j = 0; j < jAssets.length(); j++)
                     stakeableAssets.add(new StakeableAsset(jAssets.getJSONObject(j)));
                 return (T) stakeableAssets;
             default:
-                return (T) assetsResponse;
+                return (T) assetsResponse.getBody();
         }
     }
 
@@ -362,7 +373,7 @@ public class KrakenUserStakingManager extends KrakenPrivateManager {
      */
     @RequestPath(method = POST, path = "https://api.kraken.com/0/private/Staking/Pending")
     public <T> T getPendingStakingTransactions(ReturnFormat format) throws Exception {
-        return returnTransactionsList(sendPostRequest(PENDING_STAKING_TRANSACTIONS_ENDPOINT, null), format);
+        return returnTransactionsList(fetchPostPayload(PENDING_STAKING_TRANSACTIONS_ENDPOINT, null), format);
     }
 
     /** Request to return the list of 1000 recent staking transactions from past 90 days <br>
@@ -411,7 +422,7 @@ public class KrakenUserStakingManager extends KrakenPrivateManager {
      */
     @RequestPath(method = POST, path = "https://api.kraken.com/0/private/Staking/Transactions")
     public <T> T getStakingTransactions(ReturnFormat format) throws Exception {
-        return returnTransactionsList(sendPostRequest(STAKING_TRANSACTIONS_ENDPOINT, null), format);
+        return returnTransactionsList(fetchPostPayload(STAKING_TRANSACTIONS_ENDPOINT, null), format);
     }
 
     /**
@@ -422,18 +433,18 @@ public class KrakenUserStakingManager extends KrakenPrivateManager {
      * @return transactions list as {"format"} defines
      */
     @Returner
-    private <T> T returnTransactionsList(String transactionsListResponse, ReturnFormat format) {
+    private <T> T returnTransactionsList(KrakenPayload transactionsListResponse, ReturnFormat format) {
         switch (format) {
             case JSON:
-                return (T) new JSONObject(transactionsListResponse);
+                return (T) transactionsListResponse.getJSONPayload();
             case LIBRARY_OBJECT:
                 ArrayList<StakingTransaction> transactions = new ArrayList<>();
-                JSONArray jTransactions = new JSONObject(transactionsListResponse).getJSONArray("result");
+                JSONArray jTransactions = transactionsListResponse.getJSONPayload().getJSONArray("result");
                 for (int j = 0; j < jTransactions.length(); j++)
                     transactions.add(new StakingTransaction(jTransactions.getJSONObject(j)));
                 return (T) transactions;
             default:
-                return (T) transactionsListResponse;
+                return (T) transactionsListResponse.getBody();
         }
     }
 
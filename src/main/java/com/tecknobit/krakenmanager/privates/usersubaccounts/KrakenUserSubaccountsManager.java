@@ -3,9 +3,9 @@ package com.tecknobit.krakenmanager.privates.usersubaccounts;
 import com.tecknobit.apimanager.annotations.RequestPath;
 import com.tecknobit.apimanager.annotations.Returner;
 import com.tecknobit.apimanager.annotations.Wrapper;
+import com.tecknobit.krakenmanager.KrakenClientContext;
 import com.tecknobit.krakenmanager.privates.KrakenPrivateManager;
 import com.tecknobit.krakenmanager.privates.usersubaccounts.records.AccountTransfer;
-import org.json.JSONObject;
 
 import static com.tecknobit.apimanager.apis.APIRequest.RequestMethod.POST;
 import static com.tecknobit.krakenmanager.KrakenManager.ReturnFormat.LIBRARY_OBJECT;
@@ -93,6 +93,16 @@ public class KrakenUserSubaccountsManager extends KrakenPrivateManager {
         super();
     }
 
+    /**
+     * Constructor to init a {@link KrakenUserSubaccountsManager}
+     *
+     * @param context: configuration of the manager, shared with the other managers created with it
+     * @throws IllegalArgumentException when the credentials of the context have not been set
+     */
+    public KrakenUserSubaccountsManager(KrakenClientContext context) {
+        super(context);
+    }
+
     /**
      * Request to create a trading subaccount
      *
@@ -148,14 +158,14 @@ public class KrakenUserSubaccountsManager extends KrakenPrivateManager {
         Params payload = new Params();
         payload.addParam("username", username);
         payload.addParam("email", email);
-        String createResponse = sendPostRequest(CREATE_SUBACCOUNT_ENDPOINT, payload);
+        KrakenPayload createResponse = fetchPostPayload(CREATE_SUBACCOUNT_ENDPOINT, payload);
         switch (format) {
             case JSON:
-                return (T) new JSONObject(createResponse);
+                return (T) createResponse.getJSONPayload();
             case LIBRARY_OBJECT:
-                return (T) String.valueOf(new JSONObject(createResponse).getBoolean("result"));
+                return (T) String.valueOf(createResponse.getJSONPayload().getBoolean("result"));
             default:
-                return (T) createResponse;
+                return (T) createResponse.getBody();
         }
     }
 
@@ -220,14 +230,14 @@ public class KrakenUserSubaccountsManager extends KrakenPrivateManager {
         payload.addParam("amount", amount);
         payload.addParam("from", from);
         payload.addParam("to", to);
-        String transferResponse = sendPostRequest(ACCOUNT_TRANSFER_ENDPOINT, payload);
+        KrakenPayload transferResponse = fetchPostPayload(ACCOUNT_TRANSFER_ENDPOINT, payload);
         switch (format) {
             case JSON:
-                return (T) new JSONObject(transferResponse);
+                return (T) transferResponse.getJSONPayload();
             case LIBRARY_OBJECT:
-                return (T) new AccountTransfer(new JSONObject(transferResponse));
+                return (T) new AccountTransfer(transferResponse.getJSONPayload());
             default:
-                return (T) transferResponse;
+                return (T) transferResponse.getBody();
         }
     }
 
@@ -0,0 +1,414 @@
+package com.tecknobit.krakenmanager.privates.usertrading;
+
+import com.tecknobit.krakenmanager.privates.KrakenRateGovernor.VerificationTier;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * The {@code KrakenTradingRateLimiter} class is useful to model the trading rate counter that the matching engine of
+ * Kraken keeps for each pair <br>
+ * Each order placed increases the counter of its pair, while the edits and the cancels are penalised with a value
+ * that decreases with the time the order has been resting in the book, so the age of each order is tracked from the
+ * moment it has been added. The counters decay over time with the rate of the verification tier of the account
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote see the official documentation at: <a href="https://docs.kraken.com/rest/#section/Rate-Limits/Matching-Engine-Rate-Limits">
+ * Matching Engine Rate Limits</a>
+ */
+public class KrakenTradingRateLimiter {
+
+    /**
+     * {@code ORDER_RATE_LIMIT_EXCEEDED_ERROR} the error sent by Kraken when a trading request has been refused by the
+     * trading rate counter
+     */
+    public static final String ORDER_RATE_LIMIT_EXCEEDED_ERROR = "EOrder:Rate limit exceeded";
+
+    /**
+     * {@code ADD_ORDER_PENALTY} the fixed penalty of an order placed
+     */
+    public static final int ADD_ORDER_PENALTY = 1;
+
+    /**
+     * {@code EDIT_ORDER_PENALTY} the fixed penalty of an order edited, the penalty given by its age is added
+     */
+    public static final int EDIT_ORDER_PENALTY = 1;
+
+    /**
+     * {@code AGE_THRESHOLDS} the ages, in seconds, that bound the decaying penalties
+     */
+    private static final long[] AGE_THRESHOLDS = {5, 10, 15, 45, 90, 300};
+
+    /**
+     * {@code EDIT_PENALTIES} the decaying penalties of an edit, one for each age bounded by the {@link #AGE_THRESHOLDS}
+     */
+    static final int[] EDIT_PENALTIES = {6, 5, 4, 2, 1, 0, 0};
+
+    /**
+     * {@code CANCEL_PENALTIES} the decaying penalties of a cancel, one for each age bounded by the
+     * {@link #AGE_THRESHOLDS}
+     */
+    static final int[] CANCEL_PENALTIES = {8, 6, 5, 4, 2, 1, 0};
+
+    /**
+     * {@code MAX_PENALIZED_AGE} the age, in nanoseconds, after which an order is not penalised anymore
+     */
+    private static final long MAX_PENALIZED_AGE = SECONDS.toNanos(AGE_THRESHOLDS[AGE_THRESHOLDS.length - 1]);
+
+    /**
+     * {@code PRUNING_THRESHOLD} the number of the orders tracked after which the orders not penalised anymore are
+     * removed
+     */
+    private static final int PRUNING_THRESHOLD = 512;
+
+    /**
+     * {@code limiters} is the instance that memorizes the limiter of each api key
+     */
+    private static final ConcurrentHashMap<String, KrakenTradingRateLimiter> limiters = new ConcurrentHashMap<>();
+
+    /**
+     * {@code counters} is the instance that memorizes the counter of each pair
+     */
+    private final ConcurrentHashMap<String, PairCounter> counters;
+
+    /**
+     * {@code orders} is the instance that memorizes the resting orders, by their transaction identifiers
+     */
+    private final ConcurrentHashMap<String, RestingOrder> orders;
+
+    /**
+     * {@code tier} is the verification tier of the account
+     */
+    private volatile VerificationTier tier;
+
+    /**
+     * Constructor to init a {@link KrakenTradingRateLimiter}
+     *
+     * @param tier: verification tier of the account
+     */
+    public KrakenTradingRateLimiter(VerificationTier tier) {
+        this.tier = tier;
+        counters = new ConcurrentHashMap<>();
+        orders = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Method to get the limiter shared by all the managers of the same api key, a new limiter is created with the
+     * {@link VerificationTier#STARTER} tier if it does not exist yet
+     *
+     * @param apiKey: api key of Kraken's platform
+     * @return limiter as {@link KrakenTradingRateLimiter}
+     */
+    public static KrakenTradingRateLimiter getSharedLimiter(String apiKey) {
+        return limiters.computeIfAbsent(String.valueOf(apiKey),
+                key -> new KrakenTradingRateLimiter(VerificationTier.STARTER));
+    }
+
+    /**
+     * Method to check whether an order can be placed right now
+     *
+     * @param pair: pair of the order
+     * @return whether the order can be placed without exceeding the counter of the pair as boolean
+     */
+    public boolean canAddOrder(String pair) {
+        return fits(pair, ADD_ORDER_PENALTY);
+    }
+
+    /**
+     * Method to check whether a batch of orders can be placed right now
+     *
+     * @param pair:   pair of the orders
+     * @param orders: number of the orders in the batch
+     * @return whether the batch can be placed without exceeding the counter of the pair as boolean
+     */
+    public boolean canAddOrderBatch(String pair, int orders) {
+        return fits(pair, getBatchPenalty(orders));
+    }
+
+    /**
+     * Method to check whether an order can be edited right now
+     *
+     * @param pair:    pair of the order
+     * @param orderId: transaction identifier of the order
+     * @return whether the order can be edited without exceeding the counter of the pair as boolean
+     */
+    public boolean canEditOrder(String pair, String orderId) {
+        return fits(pair, getEditPenalty(orderId));
+    }
+
+    /**
+     * Method to check whether an order can be cancelled right now
+     *
+     * @param orderId: transaction identifier of the order
+     * @return whether the order can be cancelled without exceeding the counter of its pair as boolean, an order not
+     * tracked can be always cancelled because it is not penalised
+     */
+    public boolean canCancelOrder(String orderId) {
+        RestingOrder order = orders.get(orderId);
+        if (order == null)
+            return true;
+        return fits(order.pair, getCancelPenalty(orderId));
+    }
+
+    /**
+     * Method to get the penalty of the edit of an order
+     *
+     * @param orderId: transaction identifier of the order
+     * @return penalty of the edit as int
+     */
+    public int getEditPenalty(String orderId) {
+        return EDIT_ORDER_PENALTY + getDecayingPenalty(orderId, EDIT_PENALTIES);
+    }
+
+    /**
+     * Method to get the penalty of the cancel of an order
+     *
+     * @param orderId: transaction identifier of the order
+     * @return penalty of the cancel as int
+     */
+    public int getCancelPenalty(String orderId) {
+        return getDecayingPenalty(orderId, CANCEL_PENALTIES);
+    }
+
+    /**
+     * Method to get the penalty of a batch of orders
+     *
+     * @param orders: number of the orders in the batch
+     * @return penalty of the batch as int
+     */
+    public int getBatchPenalty(int orders) {
+        return ADD_ORDER_PENALTY + orders / 2;
+    }
+
+    /**
+     * Method to charge the penalty of orders placed and start to track their age
+     *
+     * @param pair:     pair of the orders
+     * @param orderIds: transaction identifiers of the orders placed
+     * @param penalty:  penalty to charge
+     */
+    public void onOrdersAdded(String pair, Collection<String> orderIds, int penalty) {
+        charge(pair, penalty);
+        long now = System.nanoTime();
+        if (orders.size() > PRUNING_THRESHOLD)
+            orders.values().removeIf(order -> now - order.addedAt > MAX_PENALIZED_AGE);
+        for (String orderId : orderIds)
+            orders.put(orderId, new RestingOrder(pair, now));
+    }
+
+    /**
+     * Method to charge the penalty of an order edited, the new order replaces the original one
+     *
+     * @param pair:            pair of the order
+     * @param originalOrderId: transaction identifier of the original order
+     * @param orderId:         transaction identifier of the new order, null if it is not available
+     */
+    public void onOrderEdited(String pair, String originalOrderId, String orderId) {
+        charge(pair, getEditPenalty(originalOrderId));
+        orders.remove(originalOrderId);
+        if (orderId != null)
+            orders.put(orderId, new RestingOrder(pair, System.nanoTime()));
+    }
+
+    /**
+     * Method to charge the penalty of an order cancelled
+     *
+     * @param orderId: transaction identifier of the order
+     */
+    public void onOrderCancelled(String orderId) {
+        RestingOrder order = orders.get(orderId);
+        if (order != null) {
+            charge(order.pair, getCancelPenalty(orderId));
+            orders.remove(orderId);
+        }
+    }
+
+    /**
+     * Method to stop to track all the orders, when they have been cancelled all together <br>
+     * No-any params required
+     */
+    public void onAllOrdersCancelled() {
+        orders.clear();
+    }
+
+    /**
+     * Method to align the counter of a pair when Kraken refused a request with the {@code "EOrder:Rate limit exceeded"}
+     * error, for example because the same api key is used by another process
+     *
+     * @param pair: pair of the request refused
+     */
+    public void onRateLimitExceeded(String pair) {
+        PairCounter counter = getPairCounter(pair);
+        synchronized (counter) {
+            counter.decay();
+            counter.value = Math.max(counter.value, getMaxCounter());
+        }
+    }
+
+    /**
+     * Method to get the current value of the counter of a pair
+     *
+     * @param pair: pair of the counter
+     * @return current value of the counter as double
+     */
+    public double getCounter(String pair) {
+        PairCounter counter = counters.get(pair);
+        if (counter == null)
+            return 0;
+        synchronized (counter) {
+            counter.decay();
+            return counter.value;
+        }
+    }
+
+    /**
+     * Method to get {@link #tier} instance <br>
+     * No-any params required
+     *
+     * @return {@link #tier} instance as {@link VerificationTier}
+     */
+    public VerificationTier getTier() {
+        return tier;
+    }
+
+    /**
+     * Method to set {@link #tier} instance
+     *
+     * @param tier: verification tier of the account
+     */
+    public void setTier(VerificationTier tier) {
+        this.tier = tier;
+    }
+
+    /**
+     * Method to get the maximum value of the counters for the {@link #tier} <br>
+     * No-any params required
+     *
+     * @return maximum value of the counters as int
+     */
+    public int getMaxCounter() {
+        return switch (tier) {
+            case STARTER -> 60;
+            case INTERMEDIATE -> 125;
+            case PRO -> 180;
+        };
+    }
+
+    /**
+     * Method to get the decrease per second of the counters for the {@link #tier} <br>
+     * No-any params required
+     *
+     * @return decrease per second of the counters as double
+     */
+    public double getDecayRate() {
+        return switch (tier) {
+            case STARTER -> 1;
+            case INTERMEDIATE -> 2.34;
+            case PRO -> 3.75;
+        };
+    }
+
+    /**
+     * Method to check whether a penalty fits in the counter of a pair
+     *
+     * @param pair:    pair of the counter
+     * @param penalty: penalty to check
+     * @return whether the penalty fits in the counter as boolean
+     */
+    private boolean fits(String pair, int penalty) {
+        return getCounter(pair) + penalty <= getMaxCounter();
+    }
+
+    /**
+     * Method to charge a penalty in the counter of a pair
+     *
+     * @param pair:    pair of the counter
+     * @param penalty: penalty to charge
+     */
+    private void charge(String pair, int penalty) {
+        if (pair == null || penalty == 0)
+            return;
+        PairCounter counter = getPairCounter(pair);
+        synchronized (counter) {
+            counter.decay();
+            counter.value += penalty;
+        }
+    }
+
+    /**
+     * Method to get the decaying penalty of an order
+     *
+     * @param orderId:   transaction identifier of the order
+     * @param penalties: penalties for each age bounded by the {@link #AGE_THRESHOLDS}
+     * @return decaying penalty as int, 0 if the order is not tracked
+     */
+    private int getDecayingPenalty(String orderId, int[] penalties) {
+        RestingOrder order = orderId != null ? orders.get(orderId) : null;
+        if (order == null)
+            return 0;
+        return getDecayingPenalty(System.nanoTime() - order.addedAt, penalties);
+    }
+
+    /**
+     * Method to get the decaying penalty of an order by its age
+     *
+     * @param age:       age of the order, in nanoseconds
+     * @param penalties: penalties for each age bounded by the {@link #AGE_THRESHOLDS}
+     * @return decaying penalty as int
+     */
+    static int getDecayingPenalty(long age, int[] penalties) {
+        for (int j = 0; j < AGE_THRESHOLDS.length; j++)
+            if (age < SECONDS.toNanos(AGE_THRESHOLDS[j]))
+                return penalties[j];
+        return penalties[penalties.length - 1];
+    }
+
+    /**
+     * Method to get the counter of a pair, it is created if it does not exist yet
+     *
+     * @param pair: pair of the counter
+     * @return counter as {@link PairCounter}
+     */
+    private PairCounter getPairCounter(String pair) {
+        return counters.computeIfAbsent(pair, key -> new PairCounter());
+    }
+
+    /**
+     * The {@code PairCounter} class is useful to memorize the trading rate counter of a pair
+     */
+    private final class PairCounter {
+
+        /**
+         * {@code value} is the value of the counter
+         */
+        private double value;
+
+        /**
+         * {@code lastUpdate} is the time, in nanoseconds, when the {@link #value} has been updated the last time
+         */
+        private long lastUpdate = System.nanoTime();
+
+        /**
+         * Method to decrease the counter by the time elapsed from the {@link #lastUpdate} <br>
+         * No-any params required
+         */
+        private void decay() {
+            long now = System.nanoTime();
+            value = Math.max(0, value - (now - lastUpdate) * getDecayRate() / SECONDS.toNanos(1));
+            lastUpdate = now;
+        }
+
+    }
+
+    /**
+     * The {@code RestingOrder} class is useful to memorize an order resting in the book
+     *
+     * @param pair:    pair of the order
+     * @param addedAt: time, in nanoseconds, when the order has been added
+     */
+    private record RestingOrder(String pair, long addedAt) {
+    }
+
+}
@@ -5,7 +5,14 @@ import com.tecknobit.apimanager.annotations.Returner;
 import com.tecknobit.apimanager.annotations.WrappedRequest;
 import com.tecknobit.apimanager.annotations.Wrapper;
 import com.tecknobit.apimanager.formatters.JsonHelper;
+import com.tecknobit.krakenmanager.KrakenClientContext;
+import com.tecknobit.krakenmanager.KrakenError;
+import com.tecknobit.krakenmanager.KrakenResult;
 import com.tecknobit.krakenmanager.privates.KrakenPrivateManager;
+import com.tecknobit.krakenmanager.privates.KrakenRateGovernor.VerificationTier;
+import com.tecknobit.krakenmanager.privates.KrakenRequestTemplate;
+import com.tecknobit.krakenmanager.privates.KrakenRequestTemplate.Field;
+import com.tecknobit.krakenmanager.privates.KrakenRequestTemplate.Request;
 import com.tecknobit.krakenmanager.privates.userdata.records.orders.Order;
 import com.tecknobit.krakenmanager.privates.usertrading.records.batch.OrderBatch;
 import com.tecknobit.krakenmanager.privates.usertrading.records.batch.OrderBatchList;
@@ -16,6 +23,7 @@ import com.tecknobit.krakenmanager.publics.market.records.AssetPair;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 
@@ -23,6 +31,8 @@ import static com.tecknobit.apimanager.apis.APIRequest.RequestMethod.POST;
 import static com.tecknobit.krakenmanager.KrakenManager.ReturnFormat.LIBRARY_OBJECT;
 import static com.tecknobit.krakenmanager.privates.userdata.records.orders.Order.*;
 import static com.tecknobit.krakenmanager.privates.userdata.records.orders.Order.OrderType.*;
+import static com.tecknobit.krakenmanager.privates.usertrading.KrakenTradingRateLimiter.ADD_ORDER_PENALTY;
+import static com.tecknobit.krakenmanager.privates.usertrading.KrakenTradingRateLimiter.ORDER_RATE_LIMIT_EXCEEDED_ERROR;
 import static com.tecknobit.krakenmanager.privates.usertrading.records.orders.OrderAdded.addBaseOrderParameters;
 import static com.tecknobit.krakenmanager.privates.usertrading.records.orders.OrderEdited.addBaseEditParameters;
 
@@ -70,6 +80,11 @@ public class KrakenUserTradingManager extends KrakenPrivateManager {
      */
     public static final String CANCEL_ORDER_BATCH_ENDPOINT = "CancelOrderBatch";
 
+    /**
+     * {@code tradingLimiter} is the instance used to track the trading rate counters of the matching engine
+     */
+    private final KrakenTradingRateLimiter tradingLimiter = context.getTradingLimiter();
+
     /**
      * Constructor to init a {@link KrakenUserTradingManager}
      *
@@ -132,6 +147,16 @@ public class KrakenUserTradingManager extends KrakenPrivateManager {
         super();
     }
 
+    /**
+     * Constructor to init a {@link KrakenUserTradingManager}
+     *
+     * @param context: configuration of the manager, shared with the other managers created with it
+     * @throws IllegalArgumentException when the credentials of the context have not been set
+     */
+    public KrakenUserTradingManager(KrakenClientContext context) {
+        super(context);
+    }
+
     /**
      * Request to send a market order
      *
@@ -3588,17 +3613,194 @@ public class KrakenUserTradingManager extends KrakenPrivateManager {
     private <T> T addOrder(OrderType orderType, Side type, double volume, String pair, Params params,
                            ReturnFormat format) throws Exception {
         addBaseOrderParameters(orderType, type, volume, pair, params);
-        String addOrderResponse = sendPostRequest(ADD_ORDER_ENDPOINT, params);
+        KrakenPayload addOrderResponse = fetchTradingPayload(ADD_ORDER_ENDPOINT, params, pair);
+        JSONObject result = addOrderResponse.getJSONPayload().getJSONObject("result");
+        ArrayList<String> txIds = getTxIds(JsonHelper.getJSONArray(result, "txid", new JSONArray()));
+        tradingLimiter.onOrdersAdded(pair, txIds, txIds.isEmpty() ? 0 : ADD_ORDER_PENALTY);
         switch (format) {
             case JSON:
-                return (T) new JSONObject(addOrderResponse);
+                return (T) addOrderResponse.getJSONPayload();
             case LIBRARY_OBJECT:
-                return (T) new OrderAdded(new JSONObject(addOrderResponse));
+                return (T) new OrderAdded(addOrderResponse.getJSONPayload());
             default:
-                return (T) addOrderResponse;
+                return (T) addOrderResponse.getBody();
         }
     }
 
+    /**
+     * Request to send a market order without throwing exceptions when it has been go wrong
+     *
+     * @param type:   order direction -> buy or sell
+     * @param volume: order quantity in terms of the base asset
+     * @param pair:   pair value
+     * @param params: extra order details, null if there are not, the keys accepted are the same of
+     *                {@link #addMarketOrder(Side, double, String, Params)}
+     * @return result of the order as {@link KrakenResult} of {@link OrderAdded}
+     * @apiNote see the official documentation at: <a href="https://docs.kraken.com/rest/#tag/User-Trading/operation/addOrder">
+     * Add Order</a>
+     */
+    @RequestPath(method = POST, path = "https://api.kraken.com/0/private/AddOrder")
+    public KrakenResult<OrderAdded> addMarketOrderResult(Side type, double volume, String pair, Params params) {
+        return addOrderResult(market, type, volume, pair, params);
+    }
+
+    /**
+     * Request to send a limit order without throwing exceptions when it has been go wrong
+     *
+     * @param type:   order direction -> buy or sell
+     * @param volume: order quantity in terms of the base asset
+     * @param pair:   pair value
+     * @param price:  limit price for the order
+     * @param params: extra order details, null if there are not, the keys accepted are the same of
+     *                {@link #addLimitOrder(Side, double, String, double, Params)}
+     * @return result of the order as {@link KrakenResult} of {@link OrderAdded}
+     * @apiNote see the official documentation at: <a href="https://docs.kraken.com/rest/#tag/User-Trading/operation/addOrder">
+     * Add Order</a>
+     */
+    @RequestPath(method = POST, path = "https://api.kraken.com/0/private/AddOrder")
+    public KrakenResult<OrderAdded> addLimitOrderResult(Side type, double volume, String pair, double price,
+                                                        Params params) {
+        if (params == null)
+            params = new Params();
+        params.addParam("price", price);
+        return addOrderResult(limit, type, volume, pair, params);
+    }
+
+    /**
+     * Request to send an order without throwing exceptions when it has been go wrong
+     *
+     * @param orderType: order type -> all constants in {@link Order} class
+     * @param type:      order direction -> buy or sell
+     * @param volume:    order quantity in terms of the base asset
+     * @param pair:      pair value
+     * @param params:    extra order details, null if there are not
+     * @return result of the order as {@link KrakenResult} of {@link OrderAdded}
+     * @implNote the response is decoded directly from its stream and the {@link #tradingLimiter} is aligned with the
+     * outcome of the order
+     */
+    private KrakenResult<OrderAdded> addOrderResult(OrderType orderType, Side type, double volume, String pair,
+                                                    Params params) {
+        if (params == null)
+            params = new Params();
+        addBaseOrderParameters(orderType, type, volume, pair, params);
+        KrakenResult<OrderAdded> result = fetchPostResult(ADD_ORDER_ENDPOINT, params, OrderAdded::decode);
+        if (result.isSuccessful()) {
+            ArrayList<String> txIds = result.getValue().getTxIds();
+            tradingLimiter.onOrdersAdded(pair, txIds, txIds.isEmpty() ? 0 : ADD_ORDER_PENALTY);
+        }
+        else if (result.hasError(KrakenError.ORDER_RATE_LIMIT_EXCEEDED))
+            tradingLimiter.onRateLimitExceeded(pair);
+        return result;
+    }
+
+    /**
+     * Method to create a template of the market orders, useful to send many times the same order changing only its
+     * volume
+     *
+     * @param type:   order direction -> buy or sell
+     * @param pair:   pair value
+     * @param params: extra order details, null if there are not, the keys accepted are the same of
+     *                {@link #addMarketOrder(Side, double, String, Params)}
+     * @return template with the {@code "volume"} field as {@link KrakenRequestTemplate}
+     */
+    public KrakenRequestTemplate createMarketOrderTemplate(Side type, String pair, Params params) {
+        return createOrderTemplate(market, type, pair, params, Field.decimal("volume"));
+    }
+
+    /**
+     * Method to create a template of the limit orders, useful to send many times the same order changing only its
+     * price and its volume
+     *
+     * @param type:   order direction -> buy or sell
+     * @param pair:   pair value
+     * @param params: extra order details, null if there are not, the keys accepted are the same of
+     *                {@link #addLimitOrder(Side, double, String, double, Params)}
+     * @return template with the {@code "price"} and {@code "volume"} fields as {@link KrakenRequestTemplate}
+     */
+    public KrakenRequestTemplate createLimitOrderTemplate(Side type, String pair, Params params) {
+        return createOrderTemplate(limit, type, pair, params, Field.decimal("price"), Field.decimal("volume"));
+    }
+
+    /**
+     * Method to create a template of the orders, useful to send many times the same order changing only some of its
+     * params
+     *
+     * @param orderType: order type -> all constants in {@link Order} class
+     * @param type:      order direction -> buy or sell
+     * @param pair:      pair value
+     * @param params:    constant order details, null if there are not
+     * @param fields:    order details that change between an order and the other one, es. the {@code "volume"}
+     * @return template as {@link KrakenRequestTemplate}
+     * @implNote the orders are sent with {@link #addOrder(Request)} or {@link #addOrderResult(Request)}
+     */
+    public KrakenRequestTemplate createOrderTemplate(OrderType orderType, Side type, String pair, Params params,
+                                                     Field... fields) {
+        Params constants = new Params();
+        if (params != null)
+            for (String key : params.getParamsKeys())
+                constants.addParam(key, params.getParam(key));
+        constants.addParam("ordertype", orderType);
+        constants.addParam("type", type);
+        constants.addParam("pair", pair);
+        return createRequestTemplate(ADD_ORDER_ENDPOINT, constants, fields);
+    }
+
+    /**
+     * Request to send an order filled from a template
+     *
+     * @param request: order filled from a template created with {@link #createOrderTemplate}
+     * @return result of the order as {@link OrderAdded} custom object
+     * @throws IOException when request has been go wrong -> you can use these methods to get more details about error:
+     *                     <ul>
+     *                         <li>
+     *                             {@link #getErrorResponse()}
+     *                         </li>
+     *                         <li>
+     *                             {@link #getJSONErrorResponse()}
+     *                         </li>
+     *                         <li>
+     *                             {@link #printErrorResponse()}
+     *                         </li>
+     *                     </ul> using a {@code "try and catch statement"} during runtime, see how to do in {@code "README"} file
+     * @apiNote see the official documentation at: <a href="https://docs.kraken.com/rest/#tag/User-Trading/operation/addOrder">
+     * Add Order</a>
+     */
+    @RequestPath(method = POST, path = "https://api.kraken.com/0/private/AddOrder")
+    public OrderAdded addOrder(Request request) throws IOException {
+        KrakenResult<OrderAdded> result = addOrderResult(request);
+        if (result.isSuccessful())
+            return result.getValue();
+        errorResponse.set(result.getErrorResponse());
+        throw new IOException();
+    }
+
+    /**
+     * Request to send an order filled from a template without throwing exceptions when it has been go wrong
+     *
+     * @param request: order filled from a template created with {@link #createOrderTemplate}
+     * @return result of the order as {@link KrakenResult} of {@link OrderAdded}
+     * @throws IllegalArgumentException when the template is not a template of the orders
+     * @apiNote see the official documentation at: <a href="https://docs.kraken.com/rest/#tag/User-Trading/operation/addOrder">
+     * Add Order</a>
+     * @implNote only the fields and the nonce of the order are encoded, the response is decoded directly from its
+     * stream and the {@link #tradingLimiter} is aligned with the outcome of the order
+     */
+    @RequestPath(method = POST, path = "https://api.kraken.com/0/private/AddOrder")
+    public KrakenResult<OrderAdded> addOrderResult(Request request) {
+        KrakenRequestTemplate template = request.getTemplate();
+        if (!template.getEndpoint().equals(ADD_ORDER_ENDPOINT))
+            throw new IllegalArgumentException("The template is not a template of the orders");
+        String pair = template.getParam("pair");
+        KrakenResult<OrderAdded> result = fetchTemplateResult(request, OrderAdded::decode);
+        if (result.isSuccessful()) {
+            ArrayList<String> txIds = result.getValue().getTxIds();
+            tradingLimiter.onOrdersAdded(pair, txIds, txIds.isEmpty() ? 0 : ADD_ORDER_PENALTY);
+        }
+        else if (result.hasError(KrakenError.ORDER_RATE_LIMIT_EXCEEDED))
+            tradingLimiter.onRateLimitExceeded(pair);
+        return result;
+    }
+
     /**
      * Request to send a batch order
      *
@@ -3672,7 +3874,16 @@ public class KrakenUserTradingManager extends KrakenPrivateManager {
             params = new Params();
         params.addParam("pair", orderBatchList.getPair());
         params.addParam("orders", orderBatchList.getOrders());
-        JSONObject jBathc = new JSONObject(sendPostRequest(ADD_ORDER_BATCH_ENDPOINT, params));
+        String pair = orderBatchList.getPair();
+        JSONObject jBathc = fetchTradingPayload(ADD_ORDER_BATCH_ENDPOINT, params, pair).getJSONPayload();
+        JSONArray addedOrders = JsonHelper.getJSONArray(jBathc.getJSONObject("result"), "orders", new JSONArray());
+        ArrayList<String> txIds = new ArrayList<>();
+        for (int j = 0; j < addedOrders.length(); j++) {
+            String txId = addedOrders.getJSONObject(j).optString("txid", null);
+            if (txId != null)
+                txIds.add(txId);
+        }
+        tradingLimiter.onOrdersAdded(pair, txIds, txIds.isEmpty() ? 0 : tradingLimiter.getBatchPenalty(txIds.size()));
         switch (format) {
             case JSON:
                 return (T) jBathc;
@@ -7018,14 +7229,17 @@ public class KrakenUserTradingManager extends KrakenPrivateManager {
     @Returner
     private <T> T editOrder(T orderId, String pair, double volume, Params params, ReturnFormat format) throws Exception {
         addBaseEditParameters(orderId, pair, volume, params);
-        String editOrderResponse = sendPostRequest(EDIT_ORDER_ENDPOINT, params);
+        KrakenPayload editOrderResponse = fetchTradingPayload(EDIT_ORDER_ENDPOINT, params, pair);
+        JSONObject result = editOrderResponse.getJSONPayload().getJSONObject("result");
+        if (result.has("originaltxid"))
+            tradingLimiter.onOrderEdited(pair, result.getString("originaltxid"), result.optString("txid", null));
         switch (format) {
             case JSON:
-                return (T) new JSONObject(editOrderResponse);
+                return (T) editOrderResponse.getJSONPayload();
             case LIBRARY_OBJECT:
-                return (T) new OrderEdited(new JSONObject(editOrderResponse));
+                return (T) new OrderEdited(editOrderResponse.getJSONPayload());
             default:
-                return (T) editOrderResponse;
+                return (T) editOrderResponse.getBody();
         }
     }
 
@@ -7084,17 +7298,38 @@ public class KrakenUserTradingManager extends KrakenPrivateManager {
             idKey = "userref";
         Params params = new Params();
         params.addParam(idKey, orderId);
-        String cancelResponse = sendPostRequest(CANCEL_ORDER_ENDPOINT, params);
+        KrakenPayload cancelResponse = fetchTradingPayload(CANCEL_ORDER_ENDPOINT, params, null);
+        if (orderId instanceof String)
+            tradingLimiter.onOrderCancelled((String) orderId);
         switch (format) {
             case JSON:
-                return (T) new JSONObject(cancelResponse);
+                return (T) cancelResponse.getJSONPayload();
             case LIBRARY_OBJECT:
-                return (T) new OrderCancelledStatus(new JSONObject(cancelResponse));
+                return (T) new OrderCancelledStatus(cancelResponse.getJSONPayload());
             default:
-                return (T) cancelResponse;
+                return (T) cancelResponse.getBody();
         }
     }
 
+    /**
+     * Request to cancel an order without throwing exceptions when it has been go wrong
+     *
+     * @param orderId: order identifier can be string for {@code "txid"} use or long for {@code "userref"} use
+     * @return result of order cancellation as {@link KrakenResult} of {@link OrderCancelledStatus}
+     * @apiNote see the official documentation at: <a href="https://docs.kraken.com/rest/#tag/User-Trading/operation/cancelOrder">
+     * Cancel Order</a>
+     */
+    @RequestPath(method = POST, path = "https://api.kraken.com/0/private/CancelOrder")
+    public <T> KrakenResult<OrderCancelledStatus> cancelOrderResult(T orderId) {
+        Params params = new Params();
+        params.addParam(orderId instanceof Number ? "userref" : "txid", orderId);
+        KrakenResult<OrderCancelledStatus> result = fetchPostResult(CANCEL_ORDER_ENDPOINT, params,
+                OrderCancelledStatus::decode);
+        if (result.isSuccessful() && orderId instanceof String)
+            tradingLimiter.onOrderCancelled((String) orderId);
+        return result;
+    }
+
     /**
      * Request to cancel all orders <br>
      * No-any params required
@@ -7118,7 +7353,7 @@ public class KrakenUserTradingManager extends KrakenPrivateManager {
     @Wrapper
     @RequestPath(method = POST, path = "https://api.kraken.com/0/private/CancelAll")
     public OrderCancelled cancelAllOrders() throws Exception {
-        return returnOrderCancelled(sendPostRequest(CANCEL_ALL_ORDERS_ENDPOINT, null), LIBRARY_OBJECT);
+        return cancelAllOrders(LIBRARY_OBJECT);
     }
 
     /**
@@ -7143,7 +7378,9 @@ public class KrakenUserTradingManager extends KrakenPrivateManager {
      */
     @RequestPath(method = POST, path = "https://api.kraken.com/0/private/CancelAll")
     public <T> T cancelAllOrders(ReturnFormat format) throws Exception {
-        return returnOrderCancelled(sendPostRequest(CANCEL_ALL_ORDERS_ENDPOINT, null), format);
+        KrakenPayload cancelResponse = fetchTradingPayload(CANCEL_ALL_ORDERS_ENDPOINT, null, null);
+        tradingLimiter.onAllOrdersCancelled();
+        return returnOrderCancelled(cancelResponse, format);
     }
 
     /**
@@ -7195,7 +7432,7 @@ public class KrakenUserTradingManager extends KrakenPrivateManager {
     public <T> T cancelAllOrdersAfter(int timeout, ReturnFormat format) throws Exception {
         Params params = new Params();
         params.addParam("timeout", timeout);
-        return returnOrderCancelled(sendPostRequest(CANCEL_ALL_ORDERS_AFTER_ENDPOINT, params), format);
+        return returnOrderCancelled(fetchPostPayload(CANCEL_ALL_ORDERS_AFTER_ENDPOINT, params), format);
     }
 
     /**
@@ -7261,7 +7498,71 @@ public class KrakenUserTradingManager extends KrakenPrivateManager {
             orderBatchIds = ids;
         }
         params.addParam(key, Arrays.stream(orderBatchIds.toArray(new Object[0])).toList());
-        return returnOrderCancelled(sendPostRequest(CANCEL_ORDER_BATCH_ENDPOINT, params), format);
+        KrakenPayload cancelResponse = fetchTradingPayload(CANCEL_ORDER_BATCH_ENDPOINT, params, null);
+        for (T orderId : orderBatchIds)
+            if (orderId instanceof String)
+                tradingLimiter.onOrderCancelled((String) orderId);
+        return returnOrderCancelled(cancelResponse, format);
+    }
+
+    /**
+     * Method to send a trading request aligning the {@link #tradingLimiter} when the matching engine refused it
+     *
+     * @param endpoint: endpoint of the request es. AddOrder
+     * @param params:   body params of the request, null if the request has not params
+     * @param pair:     pair of the request, null if it is not known
+     * @return payload of the request as {@link KrakenPayload}
+     * @throws IOException when the request has been go wrong
+     */
+    private KrakenPayload fetchTradingPayload(String endpoint, Params params, String pair) throws IOException {
+        try {
+            return fetchPostPayload(endpoint, params);
+        } catch (IOException e) {
+            String error = errorResponse.get();
+            if (pair != null && error != null && error.contains(ORDER_RATE_LIMIT_EXCEEDED_ERROR))
+                tradingLimiter.onRateLimitExceeded(pair);
+            throw e;
+        }
+    }
+
+    /**
+     * Method to get the transaction identifiers of the orders placed
+     *
+     * @param jTxIds: transaction identifiers in {@code "JSON"} format
+     * @return transaction identifiers as {@link ArrayList} of {@link String}, empty when the order has been only
+     * validated
+     */
+    private ArrayList<String> getTxIds(JSONArray jTxIds) {
+        ArrayList<String> txIds = new ArrayList<>();
+        for (int j = 0; j < jTxIds.length(); j++)
+            txIds.add(jTxIds.getString(j));
+        return txIds;
+    }
+
+    /**
+     * Method to set the verification tier of the account, it is used by the {@link #governor} and by the
+     * {@link #tradingLimiter} to know the maximum values and the decay rates of their counters
+     *
+     * @param tier: verification tier of the account
+     * @apiNote the tier is shared by all the managers of the same api key, the default one is
+     * {@link VerificationTier#STARTER}
+     */
+    @Override
+    public void setVerificationTier(VerificationTier tier) {
+        super.setVerificationTier(tier);
+        tradingLimiter.setTier(tier);
+    }
+
+    /**
+     * Method to get {@link #tradingLimiter} instance <br>
+     * No-any params required
+     *
+     * @return {@link #tradingLimiter} instance as {@link KrakenTradingRateLimiter}
+     * @apiNote useful to check whether a trading request fits in the trading rate counter of its pair before sending
+     * it, es. {@code manager.getTradingLimiter().canAddOrder("XBTUSD")}
+     */
+    public KrakenTradingRateLimiter getTradingLimiter() {
+        return tradingLimiter;
     }
 
     /**
@@ -7272,14 +7573,14 @@ public class KrakenUserTradingManager extends KrakenPrivateManager {
      * @return order cancelled response as {"format"} defines
      */
     @Returner
-    private <T> T returnOrderCancelled(String orderCancelledResponse, ReturnFormat format) {
+    private <T> T returnOrderCancelled(KrakenPayload orderCancelledResponse, ReturnFormat format) {
         switch (format) {
             case JSON:
-                return (T) new JSONObject(orderCancelledResponse);
+                return (T) orderCancelledResponse.getJSONPayload();
             case LIBRARY_OBJECT:
-                return (T) new OrderCancelled(new JSONObject(orderCancelledResponse));
+                return (T) new OrderCancelled(orderCancelledResponse.getJSONPayload());
             default:
-                return (T) orderCancelledResponse;
+                return (T) orderCancelledResponse.getBody();
         }
     }
 
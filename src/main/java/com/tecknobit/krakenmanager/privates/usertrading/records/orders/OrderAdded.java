@@ -4,9 +4,11 @@ import com.tecknobit.krakenmanager.KrakenManager;
 import com.tecknobit.krakenmanager.privates.userdata.records.orders.Order;
 import com.tecknobit.krakenmanager.privates.userdata.records.orders.Order.OrderType;
 import com.tecknobit.krakenmanager.privates.userdata.records.orders.Order.Side;
+import com.tecknobit.krakenmanager.transport.KrakenJsonReader;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
+import java.io.IOException;
 import java.util.ArrayList;
 
 import static com.tecknobit.apimanager.apis.APIRequest.Params;
@@ -156,6 +158,45 @@ public class OrderAdded extends KrakenManager.KrakenResponse {
             txIds.add(jsonTxIds.getString(j));
     }
 
+    /**
+     * Method to decode a {@link OrderAdded} object reading it from the stream of the response
+     *
+     * @param reader: reader positioned on the {@code "result"} value of the response
+     * @return order added as {@link OrderAdded}
+     * @throws IOException when the response is not valid
+     */
+    public static OrderAdded decode(KrakenJsonReader reader) throws IOException {
+        ArrayList<String> txIds = new ArrayList<>();
+        String order = null;
+        String close = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "descr" -> {
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        switch (reader.nextName()) {
+                            case "order" -> order = reader.nextString();
+                            case "close" -> close = reader.nextString();
+                            default -> reader.skipValue();
+                        }
+                    }
+                    reader.endObject();
+                }
+                case "txid" -> {
+                    reader.beginArray();
+                    while (reader.hasNext())
+                        txIds.add(reader.nextString());
+                    reader.endArray();
+                }
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new OrderAdded(txIds, new Order.OrderDescription(null, null, OrderType.market, 0, 0, null, order,
+                close));
+    }
+
     /**
      * {@code TimeInForce} list for time in force types
      */
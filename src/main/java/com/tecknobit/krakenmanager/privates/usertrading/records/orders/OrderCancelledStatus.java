@@ -1,7 +1,10 @@
 package com.tecknobit.krakenmanager.privates.usertrading.records.orders;
 
+import com.tecknobit.krakenmanager.transport.KrakenJsonReader;
 import org.json.JSONObject;
 
+import java.io.IOException;
+
 /**
  * The {@code OrderCancelledStatus} class is useful to assemble an order that has been cancelled
  *
@@ -37,6 +40,28 @@ public class OrderCancelledStatus extends OrderCancelled {
         pending = result.getBoolean("pending");
     }
 
+    /**
+     * Method to decode a {@link OrderCancelledStatus} object reading it from the stream of the response
+     *
+     * @param reader: reader positioned on the {@code "result"} value of the response
+     * @return order cancelled status as {@link OrderCancelledStatus}
+     * @throws IOException when the response is not valid
+     */
+    public static OrderCancelledStatus decode(KrakenJsonReader reader) throws IOException {
+        int count = 0;
+        boolean pending = false;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "count" -> count = reader.nextInt();
+                case "pending" -> pending = reader.nextBoolean();
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new OrderCancelledStatus(count, pending);
+    }
+
     /**
      * Method to get {@link #pending} instance <br>
      * No-any params required
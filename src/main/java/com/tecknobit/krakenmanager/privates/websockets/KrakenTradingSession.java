@@ -0,0 +1,861 @@
+package com.tecknobit.krakenmanager.privates.websockets;
+
+import com.tecknobit.krakenmanager.KrakenError;
+import com.tecknobit.krakenmanager.KrakenManager.Params;
+import com.tecknobit.krakenmanager.KrakenResult;
+import com.tecknobit.krakenmanager.privates.userdata.records.orders.Order.OrderDescription;
+import com.tecknobit.krakenmanager.privates.userdata.records.orders.Order.OrderType;
+import com.tecknobit.krakenmanager.privates.userdata.records.orders.Order.Side;
+import com.tecknobit.krakenmanager.privates.usertrading.KrakenTradingRateLimiter;
+import com.tecknobit.krakenmanager.privates.usertrading.records.orders.OrderAdded;
+import com.tecknobit.krakenmanager.privates.usertrading.records.orders.OrderCancelledStatus;
+import com.tecknobit.krakenmanager.privates.usertrading.records.orders.OrderEdited;
+import com.tecknobit.krakenmanager.privates.websockets.records.WebsocketsBalance;
+import com.tecknobit.krakenmanager.privates.websockets.records.WebsocketsExecution;
+import com.tecknobit.krakenmanager.privates.websockets.records.WebsocketsToken;
+import com.tecknobit.krakenmanager.transport.KrakenJsonReader;
+import com.tecknobit.krakenmanager.transport.KrakenWebSocket;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.http.HttpClient;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import static com.tecknobit.krakenmanager.privates.usertrading.KrakenTradingRateLimiter.ADD_ORDER_PENALTY;
+
+/**
+ * The {@code KrakenTradingSession} class is useful to trade and to receive the private feeds of an account from the
+ * private WebSocket API of Kraken, authenticated with the tokens of a {@link KrakenWebsocketsTokenManager} <br>
+ * The orders are sent on the connection without the round trip of a new REST request for each of them, and their
+ * responses are returned as {@link KrakenResult} of the same records of the {@code KrakenUserTradingManager}:
+ * <pre>
+ *     {@code
+ *        KrakenTradingSession session = new KrakenTradingSession(authManager);
+ *        session.connect().join();
+ *        session.subscribeExecutions((execution, snapshot) -> System.out.println(execution.getOrderStatus()));
+ *        KrakenResult<OrderAdded> result = session.addLimitOrder(Side.buy, 1, "BTC/USD", 30000, null).join();
+ *        if (result.isSuccessful())
+ *            System.out.println(result.getValue().getTxIds());
+ *     }
+ * </pre>
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote see the official documentation at: <a href="https://docs.kraken.com/api/docs/websocket-v2/add_order">
+ * WebSocket v2 Trading</a>
+ * @implNote the WebSocket v2 API replaced the {@code "openOrders"} and {@code "ownTrades"} channels with the
+ * {@code "executions"} channel, that sends both the changes of the orders and their trades. The symbols of the
+ * WebSocket API have the {@code "BTC/USD"} format, so the orders are counted by the trading rate limiter of the
+ * configuration with that format, and the results have the status code -1 because the connection has not status codes
+ */
+public class KrakenTradingSession extends KrakenWebSocket {
+
+    /**
+     * {@code PRIVATE_WEBSOCKETS_URL} is constant for the url of the private WebSocket API
+     */
+    public static final String PRIVATE_WEBSOCKETS_URL = "wss://ws-auth.kraken.com/v2";
+
+    /**
+     * {@code Channel} list of the private channels available
+     */
+    public enum Channel {
+
+        /**
+         * {@code executions} channel of the changes of the orders and of their trades
+         */
+        executions,
+
+        /**
+         * {@code balances} channel of the balances of the account and of the transactions that change them
+         */
+        balances
+
+    }
+
+    /**
+     * {@code SessionListener} is the interface useful to receive the values of a private channel
+     *
+     * @param <T> type of the values of the channel
+     */
+    @FunctionalInterface
+    public interface SessionListener<T> {
+
+        /**
+         * Method invoked when a value is received
+         *
+         * @param value:    value received
+         * @param snapshot: whether the value is part of the snapshot sent when the channel is subscribed, es. the
+         *                  open orders, or an update
+         */
+        void onUpdate(T value, boolean snapshot);
+
+    }
+
+    /**
+     * {@code tokenManager} is the manager of the tokens of the session, retained while the session is open
+     */
+    private final KrakenWebsocketsTokenManager tokenManager;
+
+    /**
+     * {@code tradingLimiter} is the trading rate limiter aligned with the orders of the session, null if the
+     * configuration of the manager of the tokens has not it
+     */
+    private final KrakenTradingRateLimiter tradingLimiter;
+
+    /**
+     * {@code listeners} are the listeners of the channels subscribed
+     */
+    private final EnumMap<Channel, SessionListener<?>> listeners = new EnumMap<>(Channel.class);
+
+    /**
+     * {@code token} is the token of the current connection, null if the session is not authenticated
+     */
+    private volatile String token;
+
+    /**
+     * {@code fetchedToken} is the token fetched for the connection that is opening, used once it has been opened
+     */
+    private volatile String fetchedToken;
+
+    /**
+     * {@code retained} whether the session retains the {@link #tokenManager}
+     */
+    private boolean retained;
+
+    /**
+     * Constructor to init a {@link KrakenTradingSession} with the transport of the configuration of the manager and
+     * the token manager shared by its api key
+     *
+     * @param authManager: manager used to fetch the tokens of the session
+     */
+    public KrakenTradingSession(KrakenWebsocketsAuthManager authManager) {
+        this(PRIVATE_WEBSOCKETS_URL, authManager.getContext().getTransport().getHttpClient(), authManager);
+    }
+
+    /**
+     * Constructor to init a {@link KrakenTradingSession} with the token manager shared by the api key of the manager
+     *
+     * @param url:         url of the WebSocket API, es. the one of a local stand-in
+     * @param httpClient:  client used to open the connection
+     * @param authManager: manager used to fetch the tokens of the session
+     */
+    public KrakenTradingSession(String url, HttpClient httpClient, KrakenWebsocketsAuthManager authManager) {
+        this(url, httpClient, KrakenWebsocketsTokenManager.getSharedTokenManager(authManager));
+    }
+
+    /**
+     * Constructor to init a {@link KrakenTradingSession}
+     *
+     * @param url:          url of the WebSocket API, es. the one of a local stand-in
+     * @param httpClient:   client used to open the connection
+     * @param tokenManager: manager of the tokens of the session
+     */
+    public KrakenTradingSession(String url, HttpClient httpClient, KrakenWebsocketsTokenManager tokenManager) {
+        super(url, httpClient);
+        this.tokenManager = Objects.requireNonNull(tokenManager);
+        tradingLimiter = tokenManager.getAuthManager().getContext().getTradingLimiter();
+    }
+
+    /**
+     * Method to open the connection, the {@link #tokenManager} is retained so the token is fetched while the
+     * connection is opening and it is kept valid until the session is closed <br>
+     * No-any params required
+     *
+     * @return future completed when the connection is open, the attempts are repeated with an exponential backoff
+     * until the connection is opened or closed
+     * @throws IllegalStateException when the connection has been closed
+     */
+    @Override
+    public synchronized CompletableFuture<Void> connect() {
+        CompletableFuture<Void> connected = super.connect();
+        if (!retained) {
+            retained = true;
+            tokenManager.retain();
+        }
+        return connected;
+    }
+
+    /**
+     * Method to close the connection, it will not be opened again, and to release the {@link #tokenManager} <br>
+     * No-any params required
+     */
+    @Override
+    public void close() {
+        super.close();
+        synchronized (this) {
+            if (retained) {
+                retained = false;
+                tokenManager.release();
+            }
+        }
+    }
+
+    /**
+     * Method to subscribe to the executions of the orders, the snapshot contains the open orders and the last trades
+     *
+     * @param listener: listener of the executions, it replaces the listener already subscribed
+     * @return future completed with the response of Kraken as {@link Response}, completed immediately with null when
+     * the channel is already subscribed or the session is not authenticated, in that case it is subscribed when the
+     * connection is opened
+     */
+    public CompletableFuture<Response> subscribeExecutions(SessionListener<WebsocketsExecution> listener) {
+        return subscribe(Channel.executions, listener);
+    }
+
+    /**
+     * Method to subscribe to the balances, the snapshot contains the balances of all the assets
+     *
+     * @param listener: listener of the balances, it replaces the listener already subscribed
+     * @return future completed with the response of Kraken as {@link Response}, completed immediately with null when
+     * the channel is already subscribed or the session is not authenticated, in that case it is subscribed when the
+     * connection is opened
+     */
+    public CompletableFuture<Response> subscribeBalances(SessionListener<WebsocketsBalance> listener) {
+        return subscribe(Channel.balances, listener);
+    }
+
+    /**
+     * Method to subscribe to a private channel
+     *
+     * @param channel:  channel to subscribe
+     * @param listener: listener of the channel
+     * @return future completed with the response of Kraken as {@link Response}, completed immediately with null when
+     * the channel is already subscribed or the session is not authenticated
+     */
+    private synchronized CompletableFuture<Response> subscribe(Channel channel, SessionListener<?> listener) {
+        Objects.requireNonNull(listener);
+        String currentToken = token;
+        if (listeners.put(channel, listener) != null || currentToken == null || !isConnected())
+            return CompletableFuture.completedFuture(null);
+        return sendRequest("subscribe", params(channel, currentToken), 1);
+    }
+
+    /**
+     * Method to unsubscribe from a private channel
+     *
+     * @param channel: channel to unsubscribe
+     * @return future completed with the response of Kraken as {@link Response}, completed immediately with null when
+     * the channel is not subscribed or the session is not authenticated
+     */
+    public synchronized CompletableFuture<Response> unsubscribe(Channel channel) {
+        String currentToken = token;
+        if (listeners.remove(channel) == null || currentToken == null || !isConnected())
+            return CompletableFuture.completedFuture(null);
+        return sendRequest("unsubscribe", params(channel, currentToken), 1);
+    }
+
+    /**
+     * Method to get the private channels subscribed <br>
+     * No-any params required
+     *
+     * @return channels subscribed as {@link Set} of {@link Channel}
+     */
+    public synchronized Set<Channel> getSubscribedChannels() {
+        return listeners.isEmpty() ? EnumSet.noneOf(Channel.class) : EnumSet.copyOf(listeners.keySet());
+    }
+
+    /**
+     * Method to get {@link #tokenManager} instance <br>
+     * No-any params required
+     *
+     * @return {@link #tokenManager} instance as {@link KrakenWebsocketsTokenManager}
+     */
+    public KrakenWebsocketsTokenManager getTokenManager() {
+        return tokenManager;
+    }
+
+    /**
+     * Method to assemble the params of a subscription request
+     *
+     * @param channel: channel of the request
+     * @param token:   token of the session
+     * @return params as {@link Map}
+     */
+    private static Map<String, Object> params(Channel channel, String token) {
+        LinkedHashMap<String, Object> params = new LinkedHashMap<>();
+        params.put("channel", channel.name());
+        params.put("token", token);
+        if (channel == Channel.executions) {
+            params.put("snap_orders", true);
+            params.put("snap_trades", true);
+        } else
+            params.put("snapshot", true);
+        return params;
+    }
+
+    /**
+     * Method invoked when the connection has been opened, to fetch the token used to authenticate it, when the token
+     * cannot be fetched the connection is dropped and opened again after the backoff <br>
+     * No-any params required
+     *
+     * @return future completed when the token has been fetched
+     * @implNote the {@link #tokenManager} keeps a valid token while the session is open, so the connection waits a
+     * REST request only when a valid token has not been fetched yet, and that request never blocks the thread that
+     * opened the connection
+     */
+    @Override
+    protected CompletableFuture<Void> prepareOpen() {
+        token = null;
+        return fetchToken().handle((currentToken, throwable) -> {
+            if (throwable != null) {
+                Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                        ? throwable.getCause() : throwable;
+                throw new CompletionException(cause instanceof IOException ? cause
+                        : new IOException("The websockets token has not been fetched", cause));
+            }
+            fetchedToken = currentToken;
+            return null;
+        });
+    }
+
+    /**
+     * Method invoked when the connection has been opened and authenticated, the channels are subscribed again with
+     * the token fetched, when a subscription is refused the token is discarded so a new one is used the next time
+     * <br>
+     * No-any params required
+     */
+    @Override
+    protected void onOpen() {
+        synchronized (this) {
+            String currentToken = fetchedToken;
+            token = currentToken;
+            for (Channel channel : listeners.keySet()) {
+                sendRequest("subscribe", params(channel, currentToken), 1).whenComplete((response, throwable) -> {
+                    if (throwable != null)
+                        notifyError(throwable);
+                    else if (!response.isSuccessful()) {
+                        tokenManager.invalidate(currentToken);
+                        notifyError(new IOException(response.getError()));
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Method to fetch the token used to authenticate a connection <br>
+     * No-any params required
+     *
+     * @return token as {@link CompletableFuture} of {@link String}, completed exceptionally when the token cannot be
+     * fetched
+     */
+    protected CompletableFuture<String> fetchToken() {
+        return tokenManager.getTokenAsync().thenApply(WebsocketsToken::getToken);
+    }
+
+    /**
+     * Method to add an order
+     *
+     * @param orderType: order type -> all constants in {@link OrderType}
+     * @param side:      order direction -> buy or sell
+     * @param volume:    volume of the order
+     * @param symbol:    symbol of the order es. BTC/USD
+     * @param params:    extra order details with the names of the WebSocket API es. limit_price, time_in_force or
+     *                   cl_ord_id, null if there are not
+     * @return future completed with the result of the order as {@link KrakenResult} of {@link OrderAdded}
+     * @apiNote see the official documentation at: <a href="https://docs.kraken.com/api/docs/websocket-v2/add_order">
+     * Add Order</a>
+     */
+    public CompletableFuture<KrakenResult<OrderAdded>> addOrder(OrderType orderType, Side side, double volume,
+                                                                String symbol, Params params) {
+        LinkedHashMap<String, Object> order = assembleOrder(orderType, side, volume, params);
+        order.put("symbol", symbol);
+        return request("add_order", order, result -> new OrderAdded(getOrderIds(Collections.singletonList(result)),
+                describeOrder(symbol, order)), symbol).thenApply(result -> {
+            if (result.isSuccessful() && tradingLimiter != null) {
+                ArrayList<String> txIds = result.getValue().getTxIds();
+                tradingLimiter.onOrdersAdded(symbol, txIds, txIds.isEmpty() ? 0 : ADD_ORDER_PENALTY);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Method to add a limit order
+     *
+     * @param side:   order direction -> buy or sell
+     * @param volume: volume of the order
+     * @param symbol: symbol of the order es. BTC/USD
+     * @param price:  limit price of the order
+     * @param params: extra order details with the names of the WebSocket API, null if there are not
+     * @return future completed with the result of the order as {@link KrakenResult} of {@link OrderAdded}
+     * @apiNote see the official documentation at: <a href="https://docs.kraken.com/api/docs/websocket-v2/add_order">
+     * Add Order</a>
+     */
+    public CompletableFuture<KrakenResult<OrderAdded>> addLimitOrder(Side side, double volume, String symbol,
+                                                                     double price, Params params) {
+        if (params == null)
+            params = new Params();
+        params.addParam("limit_price", price);
+        return addOrder(OrderType.limit, side, volume, symbol, params);
+    }
+
+    /**
+     * Method to add a market order
+     *
+     * @param side:   order direction -> buy or sell
+     * @param volume: volume of the order
+     * @param symbol: symbol of the order es. BTC/USD
+     * @param params: extra order details with the names of the WebSocket API, null if there are not
+     * @return future completed with the result of the order as {@link KrakenResult} of {@link OrderAdded}
+     * @apiNote see the official documentation at: <a href="https://docs.kraken.com/api/docs/websocket-v2/add_order">
+     * Add Order</a>
+     */
+    public CompletableFuture<KrakenResult<OrderAdded>> addMarketOrder(Side side, double volume, String symbol,
+                                                                      Params params) {
+        return addOrder(OrderType.market, side, volume, symbol, params);
+    }
+
+    /**
+     * Method to add a batch of orders of the same symbol
+     *
+     * @param symbol: symbol of the orders es. BTC/USD
+     * @param orders: orders to add, each with the names of the WebSocket API, es. order_type, side, order_qty and
+     *                limit_price
+     * @return future completed with the result of the orders, in the same order of the orders sent, as
+     * {@link KrakenResult} of {@link ArrayList} of {@link OrderAdded}
+     * @apiNote see the official documentation at: <a href="https://docs.kraken.com/api/docs/websocket-v2/batch_add">
+     * Batch Add</a>
+     */
+    public CompletableFuture<KrakenResult<ArrayList<OrderAdded>>> batchAddOrders(String symbol, List<Params> orders) {
+        ArrayList<LinkedHashMap<String, Object>> batch = new ArrayList<>(orders.size());
+        for (Params order : orders)
+            batch.add(toMap(order));
+        LinkedHashMap<String, Object> params = new LinkedHashMap<>();
+        params.put("orders", batch);
+        params.put("symbol", symbol);
+        return request("batch_add", params, result -> {
+            List<?> results = result instanceof List<?> list ? list : List.of(result);
+            ArrayList<OrderAdded> ordersAdded = new ArrayList<>(results.size());
+            for (int j = 0; j < results.size(); j++) {
+                ordersAdded.add(new OrderAdded(getOrderIds(Collections.singletonList(results.get(j))),
+                        describeOrder(symbol, j < batch.size() ? batch.get(j) : Map.of())));
+            }
+            return ordersAdded;
+        }, symbol).thenApply(result -> {
+            if (result.isSuccessful() && tradingLimiter != null) {
+                ArrayList<String> orderIds = new ArrayList<>();
+                for (OrderAdded orderAdded : result.getValue())
+                    orderIds.addAll(orderAdded.getTxIds());
+                tradingLimiter.onOrdersAdded(symbol, orderIds, orderIds.isEmpty() ? 0
+                        : tradingLimiter.getBatchPenalty(orderIds.size()));
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Method to edit an order
+     *
+     * @param orderId: identifier of the order to edit
+     * @param symbol:  symbol of the order es. BTC/USD
+     * @param volume:  new volume of the order, 0 to not change it
+     * @param price:   new limit price of the order, 0 to not change it
+     * @param params:  extra order details with the names of the WebSocket API, null if there are not
+     * @return future completed with the result of the edit as {@link KrakenResult} of {@link OrderEdited}
+     * @apiNote see the official documentation at: <a href="https://docs.kraken.com/api/docs/websocket-v2/edit_order">
+     * Edit Order</a>
+     */
+    public CompletableFuture<KrakenResult<OrderEdited>> editOrder(String orderId, String symbol, double volume,
+                                                                  double price, Params params) {
+        LinkedHashMap<String, Object> order = toMap(params);
+        order.put("order_id", orderId);
+        order.put("symbol", symbol);
+        if (volume > 0)
+            order.put("order_qty", volume);
+        if (price > 0)
+            order.put("limit_price", price);
+        return request("edit_order", order, result -> {
+            Map<?, ?> edited = result instanceof Map<?, ?> map ? map : Map.of();
+            Object newOrderId = edited.get("order_id");
+            Object originalOrderId = edited.get("original_order_id");
+            return new OrderEdited("ok", newOrderId != null ? newOrderId.toString() : null,
+                    originalOrderId != null ? originalOrderId.toString() : orderId, volume, price, 0, 1, null);
+        }, symbol).thenApply(result -> {
+            if (result.isSuccessful() && tradingLimiter != null)
+                tradingLimiter.onOrderEdited(symbol, orderId, result.getValue().getTxId());
+            return result;
+        });
+    }
+
+    /**
+     * Method to cancel an order
+     *
+     * @param orderId: identifier of the order to cancel, or the identifier chosen by the client
+     * @return future completed with the result of the cancellation as {@link KrakenResult} of
+     * {@link OrderCancelledStatus}
+     * @apiNote see the official documentation at: <a href="https://docs.kraken.com/api/docs/websocket-v2/cancel_order">
+     * Cancel Order</a>
+     */
+    public CompletableFuture<KrakenResult<OrderCancelledStatus>> cancelOrder(String orderId) {
+        return cancelOrders(List.of(orderId));
+    }
+
+    /**
+     * Method to cancel orders
+     *
+     * @param orderIds: identifiers of the orders to cancel
+     * @return future completed with the result of the cancellation, refused when any order has not been cancelled, as
+     * {@link KrakenResult} of {@link OrderCancelledStatus}
+     * @apiNote see the official documentation at: <a href="https://docs.kraken.com/api/docs/websocket-v2/cancel_order">
+     * Cancel Order</a>
+     */
+    public CompletableFuture<KrakenResult<OrderCancelledStatus>> cancelOrders(Collection<String> orderIds) {
+        LinkedHashMap<String, Object> params = new LinkedHashMap<>();
+        params.put("order_id", new ArrayList<>(orderIds));
+        return request("cancel_order", params, orderIds.size(),
+                result -> new OrderCancelledStatus(orderIds.size(), false), null)
+                .thenApply(result -> onOrdersCancelled(result, orderIds));
+    }
+
+    /**
+     * Method to cancel a batch of orders with a single request
+     *
+     * @param orderIds: identifiers of the orders to cancel
+     * @return future completed with the result of the cancellation as {@link KrakenResult} of
+     * {@link OrderCancelledStatus}
+     * @apiNote see the official documentation at: <a href="https://docs.kraken.com/api/docs/websocket-v2/batch_cancel">
+     * Batch Cancel</a>
+     */
+    public CompletableFuture<KrakenResult<OrderCancelledStatus>> batchCancelOrders(Collection<String> orderIds) {
+        LinkedHashMap<String, Object> params = new LinkedHashMap<>();
+        params.put("orders", new ArrayList<>(orderIds));
+        return request("batch_cancel", params, result -> new OrderCancelledStatus(getCount(result, orderIds.size()),
+                false), null).thenApply(result -> onOrdersCancelled(result, orderIds));
+    }
+
+    /**
+     * Method to cancel all the open orders <br>
+     * No-any params required
+     *
+     * @return future completed with the result of the cancellation as {@link KrakenResult} of
+     * {@link OrderCancelledStatus}
+     * @apiNote see the official documentation at: <a href="https://docs.kraken.com/api/docs/websocket-v2/cancel_all">
+     * Cancel All Orders</a>
+     */
+    public CompletableFuture<KrakenResult<OrderCancelledStatus>> cancelAllOrders() {
+        return request("cancel_all", new LinkedHashMap<>(), result -> new OrderCancelledStatus(getCount(result, 0),
+                false), null).thenApply(result -> {
+            if (result.isSuccessful() && tradingLimiter != null)
+                tradingLimiter.onAllOrdersCancelled();
+            return result;
+        });
+    }
+
+    /**
+     * Method to align the {@link #tradingLimiter} with the orders cancelled
+     *
+     * @param result:   result of the cancellation
+     * @param orderIds: identifiers of the orders cancelled
+     * @return the same result as {@link KrakenResult} of {@link OrderCancelledStatus}
+     */
+    private KrakenResult<OrderCancelledStatus> onOrdersCancelled(KrakenResult<OrderCancelledStatus> result,
+                                                                 Collection<String> orderIds) {
+        if (result.isSuccessful() && tradingLimiter != null)
+            for (String orderId : orderIds)
+                tradingLimiter.onOrderCancelled(orderId);
+        return result;
+    }
+
+    /**
+     * Method to send a trading request with a single response
+     *
+     * @param method:  method of the request es. add_order
+     * @param params:  params of the request, the token of the session is added to them
+     * @param decoder: decoder of the result of the response
+     * @param symbol:  symbol of the request, null if the request is not of a single symbol
+     * @return future completed with the result of the request as {@link KrakenResult}
+     */
+    private <T> CompletableFuture<KrakenResult<T>> request(String method, Map<String, Object> params,
+                                                           Function<Object, T> decoder, String symbol) {
+        return request(method, params, 1, decoder, symbol);
+    }
+
+    /**
+     * Method to send a trading request
+     *
+     * @param method:            method of the request es. add_order
+     * @param params:            params of the request, the token of the session is added to them
+     * @param expectedResponses: number of the responses sent by Kraken
+     * @param decoder:           decoder of the result of the response
+     * @param symbol:            symbol of the request, null if the request is not of a single symbol
+     * @return future completed with the result of the request as {@link KrakenResult}, with the
+     * {@link KrakenError#TRANSPORT_FAILED} error when the session is not authenticated, the connection has been lost
+     * or the response has not been received in time
+     */
+    private <T> CompletableFuture<KrakenResult<T>> request(String method, Map<String, Object> params,
+                                                           int expectedResponses, Function<Object, T> decoder,
+                                                           String symbol) {
+        String currentToken = token;
+        if (currentToken == null || !isConnected()) {
+            return CompletableFuture.completedFuture(KrakenResult.failure(-1, KrakenError.TRANSPORT_FAILED,
+                    "The session is not authenticated"));
+        }
+        params.put("token", currentToken);
+        return sendRequest(method, params, expectedResponses).handle((response, throwable) -> {
+            if (throwable != null) {
+                Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                        ? throwable.getCause() : throwable;
+                String message = cause instanceof TimeoutException
+                        ? "The response has not been received in " + getResponseTimeout() + " ms" : cause.getMessage();
+                return KrakenResult.failure(-1, KrakenError.TRANSPORT_FAILED, message);
+            }
+            if (!response.isSuccessful()) {
+                String error = response.getError();
+                KrakenResult<T> result = KrakenResult.failure(-1, error != null ? List.of(error) : List.of());
+                if (symbol != null && tradingLimiter != null
+                        && result.hasError(KrakenError.ORDER_RATE_LIMIT_EXCEEDED))
+                    tradingLimiter.onRateLimitExceeded(symbol);
+                return result;
+            }
+            try {
+                return KrakenResult.success(decoder.apply(response.getResult()), -1);
+            } catch (RuntimeException e) {
+                return KrakenResult.failure(-1, KrakenError.INVALID_RESPONSE, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Method to assemble the params of an order
+     *
+     * @param orderType: order type -> all constants in {@link OrderType}
+     * @param side:      order direction -> buy or sell
+     * @param volume:    volume of the order
+     * @param params:    extra order details, null if there are not
+     * @return params as {@link LinkedHashMap}
+     */
+    private static LinkedHashMap<String, Object> assembleOrder(OrderType orderType, Side side, double volume,
+                                                               Params params) {
+        LinkedHashMap<String, Object> order = new LinkedHashMap<>();
+        order.put("order_type", orderType.toString());
+        order.put("side", side.name());
+        order.put("order_qty", volume);
+        order.putAll(toMap(params));
+        return order;
+    }
+
+    /**
+     * Method to copy params in a map
+     *
+     * @param params: params to copy, null if there are not
+     * @return params as {@link LinkedHashMap}
+     */
+    private static LinkedHashMap<String, Object> toMap(Params params) {
+        LinkedHashMap<String, Object> map = new LinkedHashMap<>();
+        if (params != null)
+            for (String key : params.getParamsKeys())
+                map.put(key, params.getParam(key));
+        return map;
+    }
+
+    /**
+     * Method to describe an order as the REST API describes it
+     *
+     * @param symbol: symbol of the order
+     * @param order:  params of the order
+     * @return description of the order as {@link OrderDescription}
+     */
+    private static OrderDescription describeOrder(String symbol, Map<String, Object> order) {
+        Object side = order.get("side");
+        Object orderType = order.get("order_type");
+        Object volume = order.get("order_qty");
+        Object price = order.get("limit_price");
+        OrderType type = null;
+        for (OrderType candidate : OrderType.values())
+            if (candidate.toString().equals(String.valueOf(orderType)))
+                type = candidate;
+        StringBuilder description = new StringBuilder().append(side).append(' ').append(plain(volume)).append(' ')
+                .append(symbol).append(" @ ").append(orderType);
+        if (price != null)
+            description.append(' ').append(plain(price));
+        return new OrderDescription(symbol, side != null ? side.toString() : null, type,
+                price instanceof Number number ? number.doubleValue() : 0, 0, null, description.toString(), null);
+    }
+
+    /**
+     * Method to format a value of an order without the scientific notation
+     *
+     * @param value: value to format
+     * @return value formatted as {@link String}
+     */
+    private static String plain(Object value) {
+        if (value instanceof Double || value instanceof Float)
+            return BigDecimal.valueOf(((Number) value).doubleValue()).stripTrailingZeros().toPlainString();
+        return String.valueOf(value);
+    }
+
+    /**
+     * Method to get the identifiers of the orders of results
+     *
+     * @param results: results of the orders
+     * @return identifiers as {@link ArrayList} of {@link String}
+     */
+    private static ArrayList<String> getOrderIds(List<?> results) {
+        ArrayList<String> orderIds = new ArrayList<>();
+        for (Object result : results) {
+            if (result instanceof Map<?, ?> map && map.get("order_id") != null)
+                orderIds.add(map.get("order_id").toString());
+        }
+        return orderIds;
+    }
+
+    /**
+     * Method to get the number of the orders cancelled from a result
+     *
+     * @param result:       result of the cancellation
+     * @param defaultCount: number returned when the result has not it
+     * @return number of the orders cancelled as int
+     */
+    private static int getCount(Object result, int defaultCount) {
+        if (result instanceof Map<?, ?> map && map.get("count") instanceof Number count)
+            return count.intValue();
+        return defaultCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void onData(String channel, boolean snapshot, KrakenJsonReader reader) throws IOException {
+        switch (channel) {
+            case "executions" -> decodeExecutions(reader, snapshot);
+            case "balances" -> decodeBalances(reader, snapshot);
+            default -> reader.skipValue();
+        }
+    }
+
+    /**
+     * Method to decode the executions of a message delivering them to their listener
+     *
+     * @param reader:   reader positioned on the {@code "data"} value of the message
+     * @param snapshot: whether the message is a snapshot
+     * @throws IOException when the message is not valid
+     */
+    private void decodeExecutions(KrakenJsonReader reader, boolean snapshot) throws IOException {
+        SessionListener<WebsocketsExecution> listener = getListener(Channel.executions);
+        if (listener == null) {
+            reader.skipValue();
+            return;
+        }
+        reader.beginArray();
+        while (reader.hasNext()) {
+            String execType = null, orderId = null, execId = null, orderStatus = null, symbol = null,
+                    orderType = null, feeAsset = null, clOrdId = null;
+            Side side = null;
+            double orderQty = 0, limitPrice = 0, cumQty = 0, avgPrice = 0, lastQty = 0, lastPrice = 0, fee = 0;
+            long orderUserref = 0, timestamp = -1;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "exec_type" -> execType = reader.nextString();
+                    case "order_id" -> orderId = reader.nextString();
+                    case "exec_id" -> execId = reader.nextString();
+                    case "order_status" -> orderStatus = reader.nextString();
+                    case "symbol" -> symbol = reader.nextString();
+                    case "side" -> side = decodeSide(reader.nextString());
+                    case "order_type" -> orderType = reader.nextString();
+                    case "order_qty" -> orderQty = reader.nextDouble();
+                    case "limit_price" -> limitPrice = reader.nextDouble();
+                    case "cum_qty" -> cumQty = reader.nextDouble();
+                    case "avg_price" -> avgPrice = reader.nextDouble();
+                    case "last_qty" -> lastQty = reader.nextDouble();
+                    case "last_price" -> lastPrice = reader.nextDouble();
+                    case "fees" -> {
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            reader.beginObject();
+                            while (reader.hasNext()) {
+                                switch (reader.nextName()) {
+                                    case "asset" -> feeAsset = reader.nextString();
+                                    case "qty" -> fee += reader.nextDouble();
+                                    default -> reader.skipValue();
+                                }
+                            }
+                            reader.endObject();
+                        }
+                        reader.endArray();
+                    }
+                    case "cl_ord_id" -> clOrdId = reader.nextString();
+                    case "order_userref" -> orderUserref = reader.nextLong();
+                    case "timestamp" -> timestamp = parseTimestamp(reader.nextString());
+                    default -> reader.skipValue();
+                }
+            }
+            reader.endObject();
+            WebsocketsExecution execution = new WebsocketsExecution(execType, orderId, execId, orderStatus, symbol,
+                    side, orderType, orderQty, limitPrice, cumQty, avgPrice, lastQty, lastPrice, fee, feeAsset,
+                    clOrdId, orderUserref, timestamp);
+            deliver(() -> listener.onUpdate(execution, snapshot));
+        }
+        reader.endArray();
+    }
+
+    /**
+     * Method to decode the direction of an order
+     *
+     * @param side: direction of the order sent by Kraken
+     * @return direction of the order as {@link Side}, null if it is not known
+     */
+    private static Side decodeSide(String side) {
+        for (Side value : Side.values())
+            if (value.name().equals(side))
+                return value;
+        return null;
+    }
+
+    /**
+     * Method to decode the balances of a message delivering them to their listener
+     *
+     * @param reader:   reader positioned on the {@code "data"} value of the message
+     * @param snapshot: whether the message is a snapshot
+     * @throws IOException when the message is not valid
+     */
+    private void decodeBalances(KrakenJsonReader reader, boolean snapshot) throws IOException {
+        SessionListener<WebsocketsBalance> listener = getListener(Channel.balances);
+        if (listener == null) {
+            reader.skipValue();
+            return;
+        }
+        reader.beginArray();
+        while (reader.hasNext()) {
+            String asset = null, type = null, ledgerId = null, refId = null;
+            double balance = 0, amount = 0, fee = 0;
+            long timestamp = -1;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "asset" -> asset = reader.nextString();
+                    case "balance" -> balance = reader.nextDouble();
+                    case "amount" -> amount = reader.nextDouble();
+                    case "fee" -> fee = reader.nextDouble();
+                    case "type" -> type = reader.nextString();
+                    case "ledger_id" -> ledgerId = reader.nextString();
+                    case "ref_id" -> refId = reader.nextString();
+                    case "timestamp" -> timestamp = parseTimestamp(reader.nextString());
+                    default -> reader.skipValue();
+                }
+            }
+            reader.endObject();
+            WebsocketsBalance value = new WebsocketsBalance(asset, balance, amount, fee, type, ledgerId, refId,
+                    timestamp);
+            deliver(() -> listener.onUpdate(value, snapshot));
+        }
+        reader.endArray();
+    }
+
+    /**
+     * Method to get the listener of a channel
+     *
+     * @param channel: channel of the listener
+     * @return listener as {@link SessionListener}, null if the channel is not subscribed
+     */
+    @SuppressWarnings("unchecked")
+    private synchronized <T> SessionListener<T> getListener(Channel channel) {
+        return (SessionListener<T>) listeners.get(channel);
+    }
+
+}
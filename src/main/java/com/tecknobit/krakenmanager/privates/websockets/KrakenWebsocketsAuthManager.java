@@ -3,9 +3,9 @@ package com.tecknobit.krakenmanager.privates.websockets;
 import com.tecknobit.apimanager.annotations.RequestPath;
 import com.tecknobit.apimanager.annotations.Returner;
 import com.tecknobit.apimanager.annotations.Wrapper;
+import com.tecknobit.krakenmanager.KrakenClientContext;
 import com.tecknobit.krakenmanager.privates.KrakenPrivateManager;
 import com.tecknobit.krakenmanager.privates.websockets.records.WebsocketsToken;
-import org.json.JSONObject;
 
 import static com.tecknobit.apimanager.apis.APIRequest.RequestMethod.POST;
 import static com.tecknobit.krakenmanager.KrakenManager.ReturnFormat.LIBRARY_OBJECT;
@@ -86,6 +86,16 @@ public class KrakenWebsocketsAuthManager extends KrakenPrivateManager {
         super();
     }
 
+    /**
+     * Constructor to init a {@link KrakenWebsocketsAuthManager}
+     *
+     * @param context: configuration of the manager, shared with the other managers created with it
+     * @throws IllegalArgumentException when the credentials of the context have not been set
+     */
+    public KrakenWebsocketsAuthManager(KrakenClientContext context) {
+        super(context);
+    }
+
     /**
      * Request to get websockets auth token <br>
      * No-any params required
@@ -143,14 +153,14 @@ public class KrakenWebsocketsAuthManager extends KrakenPrivateManager {
     @Returner
     @RequestPath(method = POST, path = "https://api.kraken.com/0/private/GetWebSocketsToken")
     public <T> T getWebsocketsToken(ReturnFormat format) throws Exception {
-        String webSocketToken = sendPostRequest(GET_WEBSOCKETS_TOKEN_ENDPOINT, null);
+        KrakenPayload webSocketToken = fetchPostPayload(GET_WEBSOCKETS_TOKEN_ENDPOINT, null);
         switch (format) {
             case JSON:
-                return (T) new JSONObject(webSocketToken);
+                return (T) webSocketToken.getJSONPayload();
             case LIBRARY_OBJECT:
-                return (T) new WebsocketsToken(new JSONObject(webSocketToken));
+                return (T) new WebsocketsToken(webSocketToken.getJSONPayload());
             default:
-                return (T) webSocketToken;
+                return (T) webSocketToken.getBody();
         }
     }
 
@@ -0,0 +1,439 @@
+package com.tecknobit.krakenmanager.privates.websockets;
+
+import com.tecknobit.krakenmanager.privates.websockets.records.WebsocketsToken;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.*;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * The {@code KrakenWebsocketsTokenManager} class is useful to keep a valid websockets token for the private
+ * connections, without fetching a new one each time a connection is opened <br>
+ * The current token is cached and, while the manager is retained by a connection, a new one is fetched in background
+ * before the current one expires, so the connections opened again take the token without waiting a REST request. The
+ * refreshes that fail are retried with an exponential backoff, while the current token is used until it expires:
+ * <pre>
+ *     {@code
+ *        KrakenWebsocketsTokenManager tokenManager = KrakenWebsocketsTokenManager.getSharedTokenManager(authManager);
+ *        tokenManager.retain();
+ *        String token = tokenManager.getToken().getToken();
+ *     }
+ * </pre>
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote see the official documentation at: <a href="https://docs.kraken.com/rest/#tag/Websockets-Authentication/operation/getWebsocketsToken">
+ * Get Websockets Token</a>
+ * @implNote a token has to be used within its expiration to authenticate a connection, but it does not expire once a
+ * connection has subscribed a private channel with it, so the same token is shared by all the connections of the
+ * api key, and its expiration is counted from the sending of the request that fetched it
+ */
+public class KrakenWebsocketsTokenManager implements Closeable {
+
+    /**
+     * {@code DEFAULT_TOKEN_LIFETIME} is the lifetime, in seconds, of the tokens sent without their expiration
+     */
+    public static final int DEFAULT_TOKEN_LIFETIME = 900;
+
+    /**
+     * {@code DEFAULT_REFRESH_AHEAD} is the default time, in milliseconds, before the expiration of the current token
+     * when a new one is fetched
+     */
+    public static final long DEFAULT_REFRESH_AHEAD = 300000;
+
+    /**
+     * {@code DEFAULT_MIN_BACKOFF} is the default delay, in milliseconds, before fetching again a token not fetched
+     */
+    public static final long DEFAULT_MIN_BACKOFF = 1000;
+
+    /**
+     * {@code DEFAULT_MAX_BACKOFF} is the default maximum delay, in milliseconds, before fetching again a token not
+     * fetched
+     */
+    public static final long DEFAULT_MAX_BACKOFF = 60000;
+
+    /**
+     * {@code tokenManagers} are the token managers shared by api key
+     */
+    private static final ConcurrentHashMap<String, KrakenWebsocketsTokenManager> tokenManagers =
+            new ConcurrentHashMap<>();
+
+    /**
+     * {@code scheduler} is the instance used to schedule the refreshes of the tokens of all the token managers, it
+     * never sends the requests
+     */
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "kraken-websockets-token");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * {@code fetcher} is the instance used to send the requests of the tokens, each fetch has its own thread, so a
+     * slow api key does not delay the tokens of the others
+     */
+    private static final ExecutorService fetcher = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "kraken-websockets-token-fetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * {@code authManager} is the manager used to fetch the tokens
+     */
+    private final KrakenWebsocketsAuthManager authManager;
+
+    /**
+     * {@code token} is the current token, null if it has not been fetched yet
+     */
+    private WebsocketsToken token;
+
+    /**
+     * {@code expiresAt} is the monotonic time, in nanoseconds, when the current token expires
+     */
+    private long expiresAt;
+
+    /**
+     * {@code refreshAt} is the monotonic time, in nanoseconds, when a new token has to be fetched
+     */
+    private long refreshAt;
+
+    /**
+     * {@code refreshing} is the fetch of the token in progress, or the last one failed, null if a token has not been
+     * fetched yet
+     */
+    private CompletableFuture<WebsocketsToken> refreshing;
+
+    /**
+     * {@code retryAt} is the monotonic time, in nanoseconds, before that a fetch failed is not sent again
+     */
+    private long retryAt;
+
+    /**
+     * {@code nextRefresh} is the next fetch scheduled, null if it has not been scheduled
+     */
+    private ScheduledFuture<?> nextRefresh;
+
+    /**
+     * {@code retainers} is the number of the connections that retain the manager
+     */
+    private int retainers;
+
+    /**
+     * {@code minBackoff} is the delay, in milliseconds, before fetching again a token not fetched
+     */
+    private long minBackoff = DEFAULT_MIN_BACKOFF;
+
+    /**
+     * {@code maxBackoff} is the maximum delay, in milliseconds, before fetching again a token not fetched
+     */
+    private long maxBackoff = DEFAULT_MAX_BACKOFF;
+
+    /**
+     * {@code backoff} is the delay, in milliseconds, before the next attempt to fetch a token not fetched
+     */
+    private long backoff = DEFAULT_MIN_BACKOFF;
+
+    /**
+     * {@code refreshAhead} is the time, in milliseconds, before the expiration of the current token when a new one is
+     * fetched
+     */
+    private long refreshAhead = DEFAULT_REFRESH_AHEAD;
+
+    /**
+     * {@code lastError} is the error of the last fetch, null if it has been successful
+     */
+    private volatile Throwable lastError;
+
+    /**
+     * {@code closed} whether the manager has been closed
+     */
+    private boolean closed;
+
+    /**
+     * Constructor to init a {@link KrakenWebsocketsTokenManager}
+     *
+     * @param authManager: manager used to fetch the tokens
+     * @apiNote use {@link #getSharedTokenManager(KrakenWebsocketsAuthManager)} to share the tokens with all the
+     * connections of the same api key
+     */
+    public KrakenWebsocketsTokenManager(KrakenWebsocketsAuthManager authManager) {
+        this.authManager = Objects.requireNonNull(authManager);
+    }
+
+    /**
+     * Method to get the token manager shared by all the connections of an api key
+     *
+     * @param authManager: manager used to fetch the tokens, the manager of the first request of the api key is used
+     * @return token manager as {@link KrakenWebsocketsTokenManager}
+     */
+    public static KrakenWebsocketsTokenManager getSharedTokenManager(KrakenWebsocketsAuthManager authManager) {
+        return tokenManagers.compute(String.valueOf(authManager.getContext().getApiKey()),
+                (key, tokenManager) -> tokenManager == null || tokenManager.isClosed()
+                        ? new KrakenWebsocketsTokenManager(authManager) : tokenManager);
+    }
+
+    /**
+     * Method to retain the manager, while it is retained a new token is fetched in background before the current one
+     * expires <br>
+     * No-any params required
+     *
+     * @apiNote each retain has to be followed by a {@link #release()} when the token is not required anymore
+     */
+    public synchronized void retain() {
+        if (closed || retainers++ > 0)
+            return;
+        if (refreshing == null)
+            scheduleRefresh(0);
+        else if (refreshing.isDone()) {
+            long scheduledAt = refreshing.isCompletedExceptionally() ? retryAt : refreshAt;
+            scheduleRefresh(Math.max(scheduledAt - System.nanoTime(), 0) / 1_000_000);
+        }
+    }
+
+    /**
+     * Method to release the manager, the tokens are not fetched in background anymore when it is not retained <br>
+     * No-any params required
+     */
+    public synchronized void release() {
+        if (retainers > 0 && --retainers == 0 && nextRefresh != null) {
+            nextRefresh.cancel(false);
+            nextRefresh = null;
+        }
+    }
+
+    /**
+     * Method to get a valid token, waiting that it is fetched when the manager has not it <br>
+     * No-any params required
+     *
+     * @return token as {@link WebsocketsToken}
+     * @throws IOException when the token cannot be fetched or the manager has been closed
+     */
+    public WebsocketsToken getToken() throws IOException {
+        try {
+            return getTokenAsync().join();
+        } catch (CompletionException | CancellationException e) {
+            if (e.getCause() instanceof IOException error)
+                throw error;
+            throw new IOException("The websockets token has not been fetched", e.getCause());
+        }
+    }
+
+    /**
+     * Method to get a valid token without blocking <br>
+     * No-any params required
+     *
+     * @return future completed with the token as {@link WebsocketsToken}, completed immediately when the current token
+     * is valid, or exceptionally with an {@link IOException} when the token cannot be fetched, the fetches failed are
+     * not sent again before their backoff
+     */
+    public synchronized CompletableFuture<WebsocketsToken> getTokenAsync() {
+        if (closed)
+            return CompletableFuture.failedFuture(new IOException("The token manager has been closed"));
+        long now = System.nanoTime();
+        if (token != null && now - expiresAt < 0)
+            return CompletableFuture.completedFuture(token);
+        if (refreshing != null && (!refreshing.isDone() || (refreshing.isCompletedExceptionally()
+                && now - retryAt < 0)))
+            return refreshing;
+        return refresh();
+    }
+
+    /**
+     * Method to get the current token without fetching it <br>
+     * No-any params required
+     *
+     * @return current token as {@link WebsocketsToken}, null if the manager has not a valid token
+     */
+    public synchronized WebsocketsToken getCurrentToken() {
+        if (token != null && System.nanoTime() - expiresAt < 0)
+            return token;
+        return null;
+    }
+
+    /**
+     * Method to discard a token refused by Kraken, a new one is fetched when it is the current token, unless a fetch
+     * failed is waiting for its backoff
+     *
+     * @param refusedToken: token refused es. the one of a subscription refused
+     */
+    public synchronized void invalidate(String refusedToken) {
+        if (closed || token == null || !token.getToken().equals(refusedToken))
+            return;
+        token = null;
+        if (refreshing.isDone() && !(refreshing.isCompletedExceptionally() && System.nanoTime() - retryAt < 0))
+            refresh();
+    }
+
+    /**
+     * Method to fetch a new token in background <br>
+     * No-any params required
+     *
+     * @return future completed with the token as {@link WebsocketsToken}
+     */
+    private CompletableFuture<WebsocketsToken> refresh() {
+        CompletableFuture<WebsocketsToken> future = new CompletableFuture<>();
+        refreshing = future;
+        fetcher.execute(() -> fetch(future));
+        return future;
+    }
+
+    /**
+     * Method to fetch a token
+     *
+     * @param future: future to complete with the token
+     */
+    private void fetch(CompletableFuture<WebsocketsToken> future) {
+        long fetchedAt = System.nanoTime();
+        try {
+            WebsocketsToken fetched = authManager.getWebsocketsToken();
+            if (fetched == null || fetched.getToken() == null)
+                throw new IOException("The response has not a websockets token");
+            onFetched(future, fetched, fetchedAt);
+        } catch (Exception e) {
+            onFailed(future, e);
+        }
+    }
+
+    /**
+     * Method invoked when a token has been fetched, the next fetch is scheduled before its expiration
+     *
+     * @param future:    future to complete with the token
+     * @param fetched:   token fetched
+     * @param fetchedAt: monotonic time, in nanoseconds, when the request has been sent
+     */
+    private void onFetched(CompletableFuture<WebsocketsToken> future, WebsocketsToken fetched, long fetchedAt) {
+        synchronized (this) {
+            long lifetime = (fetched.getExpires() > 0 ? fetched.getExpires() : DEFAULT_TOKEN_LIFETIME) * 1000L;
+            token = fetched;
+            expiresAt = fetchedAt + lifetime * 1_000_000;
+            refreshAt = fetchedAt + Math.max(lifetime - refreshAhead, lifetime / 2) * 1_000_000;
+            retryAt = 0;
+            backoff = minBackoff;
+            lastError = null;
+            if (retainers > 0 && !closed)
+                scheduleRefresh(Math.max(refreshAt - System.nanoTime(), 0) / 1_000_000);
+        }
+        future.complete(fetched);
+    }
+
+    /**
+     * Method invoked when a token has not been fetched, the fetch is retried after the current backoff
+     *
+     * @param future: future to complete with the error
+     * @param error:  error occurred
+     */
+    private void onFailed(CompletableFuture<WebsocketsToken> future, Exception error) {
+        lastError = error;
+        synchronized (this) {
+            long delay = backoff + ThreadLocalRandom.current().nextLong(backoff / 4 + 1);
+            backoff = Math.min(backoff * 2, maxBackoff);
+            retryAt = System.nanoTime() + delay * 1_000_000;
+            if (retainers > 0 && !closed)
+                scheduleRefresh(delay);
+        }
+        future.completeExceptionally(error instanceof IOException ? error
+                : new IOException("The websockets token has not been fetched", error));
+    }
+
+    /**
+     * Method to schedule the next fetch of a token
+     *
+     * @param delay: delay, in milliseconds, of the fetch
+     */
+    private void scheduleRefresh(long delay) {
+        if (nextRefresh != null)
+            nextRefresh.cancel(false);
+        nextRefresh = scheduler.schedule(() -> {
+            synchronized (this) {
+                if (!closed && retainers > 0 && (refreshing == null || refreshing.isDone()))
+                    refresh();
+            }
+        }, delay, MILLISECONDS);
+    }
+
+    /**
+     * Method to close the manager, the tokens are not fetched anymore <br>
+     * No-any params required
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        token = null;
+        if (nextRefresh != null)
+            nextRefresh.cancel(false);
+        tokenManagers.remove(String.valueOf(authManager.getContext().getApiKey()), this);
+    }
+
+    /**
+     * Method to get whether the manager has been closed <br>
+     * No-any params required
+     *
+     * @return whether the manager has been closed as boolean
+     */
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Method to get {@link #authManager} instance <br>
+     * No-any params required
+     *
+     * @return {@link #authManager} instance as {@link KrakenWebsocketsAuthManager}
+     */
+    public KrakenWebsocketsAuthManager getAuthManager() {
+        return authManager;
+    }
+
+    /**
+     * Method to get {@link #lastError} instance <br>
+     * No-any params required
+     *
+     * @return {@link #lastError} instance as {@link Throwable}
+     */
+    public Throwable getLastError() {
+        return lastError;
+    }
+
+    /**
+     * Method to get {@link #refreshAhead} instance <br>
+     * No-any params required
+     *
+     * @return {@link #refreshAhead} instance as long
+     */
+    public synchronized long getRefreshAhead() {
+        return refreshAhead;
+    }
+
+    /**
+     * Method to set {@link #refreshAhead} instance
+     *
+     * @param refreshAhead: time, in milliseconds, before the expiration of the current token when a new one is
+     *                      fetched, a new token is fetched at least after half of the lifetime of the current one
+     * @throws IllegalArgumentException when the time is negative
+     * @apiNote the new time is used from the next token fetched
+     */
+    public synchronized void setRefreshAhead(long refreshAhead) {
+        if (refreshAhead < 0)
+            throw new IllegalArgumentException("The refresh ahead time cannot be negative");
+        this.refreshAhead = refreshAhead;
+    }
+
+    /**
+     * Method to set the delays before fetching again a token not fetched
+     *
+     * @param minBackoff: delay, in milliseconds, of the first attempt
+     * @param maxBackoff: maximum delay, in milliseconds, the delay is doubled at each attempt
+     * @throws IllegalArgumentException when the delays are not valid
+     */
+    public synchronized void setBackoff(long minBackoff, long maxBackoff) {
+        if (minBackoff <= 0 || maxBackoff < minBackoff)
+            throw new IllegalArgumentException("The backoff delays are not valid");
+        this.minBackoff = minBackoff;
+        this.maxBackoff = maxBackoff;
+        backoff = minBackoff;
+    }
+
+}
@@ -0,0 +1,173 @@
+package com.tecknobit.krakenmanager.privates.websockets.records;
+
+/**
+ * The {@code WebsocketsBalance} class is useful to format a balance sent by the private WebSocket API, the whole
+ * balance of an asset when it is part of the snapshot, or a transaction that changed it
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote see the official documentation at: <a href="https://docs.kraken.com/api/docs/websocket-v2/balances">
+ * Balances</a>
+ */
+public class WebsocketsBalance {
+
+    /**
+     * {@code asset} is instance that memorizes asset of the balance es. BTC
+     */
+    private final String asset;
+
+    /**
+     * {@code balance} is instance that memorizes balance of the asset after the transaction
+     */
+    private final double balance;
+
+    /**
+     * {@code amount} is instance that memorizes amount of the transaction, 0 if the balance is part of the snapshot
+     */
+    private final double amount;
+
+    /**
+     * {@code fee} is instance that memorizes fee of the transaction
+     */
+    private final double fee;
+
+    /**
+     * {@code type} is instance that memorizes type of the transaction es. trade or deposit, null if the balance is
+     * part of the snapshot
+     */
+    private final String type;
+
+    /**
+     * {@code ledgerId} is instance that memorizes identifier of the ledger of the transaction, null if the balance is
+     * part of the snapshot
+     */
+    private final String ledgerId;
+
+    /**
+     * {@code refId} is instance that memorizes identifier of the reference of the transaction es. the trade, null if
+     * the balance is part of the snapshot
+     */
+    private final String refId;
+
+    /**
+     * {@code timestamp} is instance that memorizes time of the transaction in seconds, -1 if the balance is part of
+     * the snapshot
+     */
+    private final long timestamp;
+
+    /**
+     * Constructor to init a {@link WebsocketsBalance} object
+     *
+     * @param asset:     asset of the balance es. BTC
+     * @param balance:   balance of the asset after the transaction
+     * @param amount:    amount of the transaction, 0 if the balance is part of the snapshot
+     * @param fee:       fee of the transaction
+     * @param type:      type of the transaction es. trade or deposit, null if the balance is part of the snapshot
+     * @param ledgerId:  identifier of the ledger of the transaction, null if the balance is part of the snapshot
+     * @param refId:     identifier of the reference of the transaction, null if the balance is part of the snapshot
+     * @param timestamp: time of the transaction in seconds, -1 if the balance is part of the snapshot
+     */
+    public WebsocketsBalance(String asset, double balance, double amount, double fee, String type, String ledgerId,
+                             String refId, long timestamp) {
+        this.asset = asset;
+        this.balance = balance;
+        this.amount = amount;
+        this.fee = fee;
+        this.type = type;
+        this.ledgerId = ledgerId;
+        this.refId = refId;
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * Method to get {@link #asset} instance <br>
+     * No-any params required
+     *
+     * @return {@link #asset} instance as {@link String}
+     */
+    public String getAsset() {
+        return asset;
+    }
+
+    /**
+     * Method to get {@link #balance} instance <br>
+     * No-any params required
+     *
+     * @return {@link #balance} instance as double
+     */
+    public double getBalance() {
+        return balance;
+    }
+
+    /**
+     * Method to get {@link #amount} instance <br>
+     * No-any params required
+     *
+     * @return {@link #amount} instance as double
+     */
+    public double getAmount() {
+        return amount;
+    }
+
+    /**
+     * Method to get {@link #fee} instance <br>
+     * No-any params required
+     *
+     * @return {@link #fee} instance as double
+     */
+    public double getFee() {
+        return fee;
+    }
+
+    /**
+     * Method to get {@link #type} instance <br>
+     * No-any params required
+     *
+     * @return {@link #type} instance as {@link String}
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Method to get {@link #ledgerId} instance <br>
+     * No-any params required
+     *
+     * @return {@link #ledgerId} instance as {@link String}
+     */
+    public String getLedgerId() {
+        return ledgerId;
+    }
+
+    /**
+     * Method to get {@link #refId} instance <br>
+     * No-any params required
+     *
+     * @return {@link #refId} instance as {@link String}
+     */
+    public String getRefId() {
+        return refId;
+    }
+
+    /**
+     * Method to get {@link #timestamp} instance <br>
+     * No-any params required
+     *
+     * @return {@link #timestamp} instance as long
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Returns a string representation of the object <br>
+     * No-any params required
+     *
+     * @return a string representation of the object as {@link String}
+     */
+    @Override
+    public String toString() {
+        return "WebsocketsBalance{asset=" + asset + ", balance=" + balance + ", amount=" + amount + ", fee=" + fee
+                + ", type=" + type + ", ledgerId=" + ledgerId + "}";
+    }
+
+}
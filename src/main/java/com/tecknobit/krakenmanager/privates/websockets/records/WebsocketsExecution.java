@@ -0,0 +1,356 @@
+package com.tecknobit.krakenmanager.privates.websockets.records;
+
+import com.tecknobit.krakenmanager.privates.userdata.records.orders.Order.Side;
+
+/**
+ * The {@code WebsocketsExecution} class is useful to format an execution of the orders sent by the private WebSocket
+ * API, an event of the life of an order es. its creation, a trade or its cancellation
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote see the official documentation at: <a href="https://docs.kraken.com/api/docs/websocket-v2/executions">
+ * Executions</a>
+ */
+public class WebsocketsExecution {
+
+    /**
+     * {@code execType} is instance that memorizes type of the execution es. new, trade, filled or canceled
+     */
+    private final String execType;
+
+    /**
+     * {@code orderId} is instance that memorizes identifier of the order
+     */
+    private final String orderId;
+
+    /**
+     * {@code execId} is instance that memorizes identifier of the trade, null if the execution is not a trade
+     */
+    private final String execId;
+
+    /**
+     * {@code orderStatus} is instance that memorizes status of the order es. new, partially_filled or filled
+     */
+    private final String orderStatus;
+
+    /**
+     * {@code symbol} is instance that memorizes symbol of the order es. BTC/USD, null if it has not been sent
+     */
+    private final String symbol;
+
+    /**
+     * {@code side} is instance that memorizes direction of the order, null if it has not been sent or it is not
+     * known
+     */
+    private final Side side;
+
+    /**
+     * {@code orderType} is instance that memorizes type of the order es. limit, null if it has not been sent
+     */
+    private final String orderType;
+
+    /**
+     * {@code orderQty} is instance that memorizes volume of the order
+     */
+    private final double orderQty;
+
+    /**
+     * {@code limitPrice} is instance that memorizes limit price of the order
+     */
+    private final double limitPrice;
+
+    /**
+     * {@code cumQty} is instance that memorizes volume of the order filled
+     */
+    private final double cumQty;
+
+    /**
+     * {@code avgPrice} is instance that memorizes average price of the volume filled
+     */
+    private final double avgPrice;
+
+    /**
+     * {@code lastQty} is instance that memorizes volume of the trade
+     */
+    private final double lastQty;
+
+    /**
+     * {@code lastPrice} is instance that memorizes price of the trade
+     */
+    private final double lastPrice;
+
+    /**
+     * {@code fee} is instance that memorizes fee paid for the trade
+     */
+    private final double fee;
+
+    /**
+     * {@code feeAsset} is instance that memorizes asset of the {@link #fee}, null if there is not a fee
+     */
+    private final String feeAsset;
+
+    /**
+     * {@code clOrdId} is instance that memorizes identifier of the order chosen by the client, null if it has not
+     * been set
+     */
+    private final String clOrdId;
+
+    /**
+     * {@code orderUserref} is instance that memorizes reference of the order chosen by the client
+     */
+    private final long orderUserref;
+
+    /**
+     * {@code timestamp} is instance that memorizes time of the execution in seconds
+     */
+    private final long timestamp;
+
+    /**
+     * Constructor to init a {@link WebsocketsExecution} object
+     *
+     * @param execType:     type of the execution es. new, trade, filled or canceled
+     * @param orderId:      identifier of the order
+     * @param execId:       identifier of the trade, null if the execution is not a trade
+     * @param orderStatus:  status of the order es. new, partially_filled or filled
+     * @param symbol:       symbol of the order es. BTC/USD, null if it has not been sent
+     * @param side:         direction of the order, null if it has not been sent or it is not known
+     * @param orderType:    type of the order es. limit, null if it has not been sent
+     * @param orderQty:     volume of the order
+     * @param limitPrice:   limit price of the order
+     * @param cumQty:       volume of the order filled
+     * @param avgPrice:     average price of the volume filled
+     * @param lastQty:      volume of the trade
+     * @param lastPrice:    price of the trade
+     * @param fee:          fee paid for the trade
+     * @param feeAsset:     asset of the fee, null if there is not a fee
+     * @param clOrdId:      identifier of the order chosen by the client, null if it has not been set
+     * @param orderUserref: reference of the order chosen by the client
+     * @param timestamp:    time of the execution in seconds
+     */
+    public WebsocketsExecution(String execType, String orderId, String execId, String orderStatus, String symbol,
+                               Side side, String orderType, double orderQty, double limitPrice, double cumQty,
+                               double avgPrice, double lastQty, double lastPrice, double fee, String feeAsset,
+                               String clOrdId, long orderUserref, long timestamp) {
+        this.execType = execType;
+        this.orderId = orderId;
+        this.execId = execId;
+        this.orderStatus = orderStatus;
+        this.symbol = symbol;
+        this.side = side;
+        this.orderType = orderType;
+        this.orderQty = orderQty;
+        this.limitPrice = limitPrice;
+        this.cumQty = cumQty;
+        this.avgPrice = avgPrice;
+        this.lastQty = lastQty;
+        this.lastPrice = lastPrice;
+        this.fee = fee;
+        this.feeAsset = feeAsset;
+        this.clOrdId = clOrdId;
+        this.orderUserref = orderUserref;
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * Method to get {@link #execType} instance <br>
+     * No-any params required
+     *
+     * @return {@link #execType} instance as {@link String}
+     */
+    public String getExecType() {
+        return execType;
+    }
+
+    /**
+     * Method to get {@link #orderId} instance <br>
+     * No-any params required
+     *
+     * @return {@link #orderId} instance as {@link String}
+     */
+    public String getOrderId() {
+        return orderId;
+    }
+
+    /**
+     * Method to get {@link #execId} instance <br>
+     * No-any params required
+     *
+     * @return {@link #execId} instance as {@link String}
+     */
+    public String getExecId() {
+        return execId;
+    }
+
+    /**
+     * Method to get whether the execution is a trade of the order <br>
+     * No-any params required
+     *
+     * @return whether the execution is a trade of the order as boolean
+     */
+    public boolean isTrade() {
+        return execId != null;
+    }
+
+    /**
+     * Method to get {@link #orderStatus} instance <br>
+     * No-any params required
+     *
+     * @return {@link #orderStatus} instance as {@link String}
+     */
+    public String getOrderStatus() {
+        return orderStatus;
+    }
+
+    /**
+     * Method to get {@link #symbol} instance <br>
+     * No-any params required
+     *
+     * @return {@link #symbol} instance as {@link String}
+     */
+    public String getSymbol() {
+        return symbol;
+    }
+
+    /**
+     * Method to get {@link #side} instance <br>
+     * No-any params required
+     *
+     * @return {@link #side} instance as {@link Side}
+     */
+    public Side getSide() {
+        return side;
+    }
+
+    /**
+     * Method to get {@link #orderType} instance <br>
+     * No-any params required
+     *
+     * @return {@link #orderType} instance as {@link String}
+     */
+    public String getOrderType() {
+        return orderType;
+    }
+
+    /**
+     * Method to get {@link #orderQty} instance <br>
+     * No-any params required
+     *
+     * @return {@link #orderQty} instance as double
+     */
+    public double getOrderQty() {
+        return orderQty;
+    }
+
+    /**
+     * Method to get {@link #limitPrice} instance <br>
+     * No-any params required
+     *
+     * @return {@link #limitPrice} instance as double
+     */
+    public double getLimitPrice() {
+        return limitPrice;
+    }
+
+    /**
+     * Method to get {@link #cumQty} instance <br>
+     * No-any params required
+     *
+     * @return {@link #cumQty} instance as double
+     */
+    public double getCumQty() {
+        return cumQty;
+    }
+
+    /**
+     * Method to get {@link #avgPrice} instance <br>
+     * No-any params required
+     *
+     * @return {@link #avgPrice} instance as double
+     */
+    public double getAvgPrice() {
+        return avgPrice;
+    }
+
+    /**
+     * Method to get {@link #lastQty} instance <br>
+     * No-any params required
+     *
+     * @return {@link #lastQty} instance as double
+     */
+    public double getLastQty() {
+        return lastQty;
+    }
+
+    /**
+     * Method to get {@link #lastPrice} instance <br>
+     * No-any params required
+     *
+     * @return {@link #lastPrice} instance as double
+     */
+    public double getLastPrice() {
+        return lastPrice;
+    }
+
+    /**
+     * Method to get {@link #fee} instance <br>
+     * No-any params required
+     *
+     * @return {@link #fee} instance as double
+     */
+    public double getFee() {
+        return fee;
+    }
+
+    /**
+     * Method to get {@link #feeAsset} instance <br>
+     * No-any params required
+     *
+     * @return {@link #feeAsset} instance as {@link String}
+     */
+    public String getFeeAsset() {
+        return feeAsset;
+    }
+
+    /**
+     * Method to get {@link #clOrdId} instance <br>
+     * No-any params required
+     *
+     * @return {@link #clOrdId} instance as {@link String}
+     */
+    public String getClOrdId() {
+        return clOrdId;
+    }
+
+    /**
+     * Method to get {@link #orderUserref} instance <br>
+     * No-any params required
+     *
+     * @return {@link #orderUserref} instance as long
+     */
+    public long getOrderUserref() {
+        return orderUserref;
+    }
+
+    /**
+     * Method to get {@link #timestamp} instance <br>
+     * No-any params required
+     *
+     * @return {@link #timestamp} instance as long
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Returns a string representation of the object <br>
+     * No-any params required
+     *
+     * @return a string representation of the object as {@link String}
+     */
+    @Override
+    public String toString() {
+        return "WebsocketsExecution{execType=" + execType + ", orderId=" + orderId + ", execId=" + execId
+                + ", orderStatus=" + orderStatus + ", symbol=" + symbol + ", side=" + side + ", orderQty=" + orderQty
+                + ", cumQty=" + cumQty + ", lastQty=" + lastQty + ", lastPrice=" + lastPrice + "}";
+    }
+
+}
@@ -1,12 +1,26 @@
 package com.tecknobit.krakenmanager.publics;
 
+import com.tecknobit.apimanager.annotations.Returner;
+import com.tecknobit.krakenmanager.KrakenClientContext;
+import com.tecknobit.krakenmanager.KrakenError;
 import com.tecknobit.krakenmanager.KrakenManager;
-import org.json.JSONObject;
+import com.tecknobit.krakenmanager.KrakenResult;
+import com.tecknobit.krakenmanager.metrics.KrakenRequestTrace;
+import com.tecknobit.krakenmanager.transport.KrakenJsonReader.StreamDecoder;
+import com.tecknobit.krakenmanager.transport.KrakenSingleFlight;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 
-import static com.tecknobit.apimanager.apis.APIRequest.RequestMethod.GET;
-import static com.tecknobit.apimanager.formatters.JsonHelper.getJSONObject;
+import static com.tecknobit.krakenmanager.metrics.KrakenRequestListener.Stage.FAILED;
 
 /**
  * The {@code KrakenPublicManager} class is useful to manage all public KrakenManager's endpoints
@@ -18,6 +32,18 @@ import static com.tecknobit.apimanager.formatters.JsonHelper.getJSONObject;
  */
 public class KrakenPublicManager extends KrakenManager {
 
+    /**
+     * {@code payloadFlights} is the instance used to coalesce the identical requests in flight of all the public
+     * managers, both synchronous and asynchronous
+     */
+    private static final KrakenSingleFlight<PayloadLanding> payloadFlights = new KrakenSingleFlight<>();
+
+    /**
+     * {@code streamFlights} is the instance that memorizes the flights in progress of the requests of all the public
+     * managers that are decoded while they are read, by their urls
+     */
+    private static final ConcurrentHashMap<String, StreamFlight> streamFlights = new ConcurrentHashMap<>();
+
     /** Constructor to init a {@link KrakenPublicManager}
      * @param defaultErrorMessage: custom error to show when is not a request error
      * @param requestTimeout: custom timeout for request
@@ -50,6 +76,15 @@ public class KrakenPublicManager extends KrakenManager {
         super();
     }
 
+    /**
+     * Constructor to init a {@link KrakenPublicManager}
+     *
+     * @param context: configuration of the manager, shared with the other managers created with it
+     */
+    public KrakenPublicManager(KrakenClientContext context) {
+        super(context);
+    }
+
     /**
      * Method to send a GET request<br>
      *
@@ -57,13 +92,462 @@ public class KrakenPublicManager extends KrakenManager {
      * @return response as {@link String}
      */
     public String sendGetRequest(String endpoint) throws IOException {
-        apiRequest.sendAPIRequest(BASE_ENDPOINT + "/public/" + endpoint, GET);
-        JSONObject response = apiRequest.getJSONResponse();
-        if (getJSONObject(response, "result") == null) {
-            errorResponse = response.getJSONArray("error").toString();
+        return fetchGetPayload(endpoint).getBody();
+    }
+
+    /**
+     * Method to send a GET request asynchronously<br>
+     *
+     * @param endpoint: endpoint of API request
+     * @return response as {@link CompletableFuture} of {@link String}, completed exceptionally with an
+     * {@link IOException} when the request has been go wrong
+     * @implNote the request is sent by the shared {@link #transport}, so the calling thread is not blocked while the
+     * request is in flight
+     */
+    public CompletableFuture<String> sendGetRequestAsync(String endpoint) {
+        return fetchGetPayloadAsync(endpoint).thenApply(KrakenPayload::getBody);
+    }
+
+    /**
+     * Method to send a GET request and fetch its payload<br>
+     *
+     * @param endpoint: endpoint of API request
+     * @return payload of the response as {@link KrakenPayload}
+     * @implNote the body of the response is parsed just once, so the {@link Returner} methods have not to parse it
+     * again, and when an identical request is already in flight its response is shared instead of sending a new
+     * request, each caller parses its own payload from the shared body
+     */
+    protected KrakenPayload fetchGetPayload(String endpoint) throws IOException {
+        checkStatus(endpoint, null);
+        String url = baseEndpoint + "/public/" + endpoint;
+        KrakenRequestTrace trace = KrakenRequestTrace.start(endpoint);
+        boolean[] leader = {false};
+        PayloadLanding landing;
+        try {
+            landing = payloadFlights.execute(url, () -> {
+                leader[0] = true;
+                return landPayload(transport.sendGetRequest(url, requestTimeout, trace), trace);
+            }, shared -> shared.follow(this, trace));
+        } catch (IOException e) {
+            if (!leader[0])
+                trace.mark(FAILED);
+            throw e;
+        }
+        statusResponse.set(landing.statusCode);
+        if (landing.payload == null) {
+            errorResponse.set(landing.errors);
             throw new IOException();
         }
-        return response.toString();
+        errorResponse.remove();
+        return landing.payload;
+    }
+
+    /**
+     * Method to send a GET request and decode its response while it is read<br>
+     *
+     * @param endpoint: endpoint of API request
+     * @param decoder:  decoder of the {@code "result"} value of the response
+     * @return {@code "result"} value decoded as {@link T}
+     * @implNote the response is decoded directly from its stream, so the whole {@code "JSON"} tree is never built,
+     * and when an identical request is already in flight its response is shared instead of sending a new request,
+     * each caller decodes its own value from the shared body
+     */
+    protected <T> T fetchGetStream(String endpoint, StreamDecoder<T> decoder) throws IOException {
+        checkStatus(endpoint, null);
+        KrakenResult<T> result = flyStream(endpoint, decoder);
+        statusResponse.set(result.getStatusCode());
+        if (!result.isSuccessful()) {
+            errorResponse.set(result.getErrorResponse());
+            throw new IOException();
+        }
+        errorResponse.remove();
+        return result.getValue();
+    }
+
+    /**
+     * Method to send a GET request and decode its response while it is read, without throwing exceptions<br>
+     *
+     * @param endpoint: endpoint of API request
+     * @param decoder:  decoder of the {@code "result"} value of the response
+     * @return {@code "result"} value decoded, or the errors of the request, as {@link KrakenResult}
+     * @implNote the errors of Kraken, of the system status and of the transport are returned in the result, so no
+     * exceptions are allocated by the library when the request has been go wrong
+     */
+    protected <T> KrakenResult<T> fetchGetResult(String endpoint, StreamDecoder<T> decoder) {
+        KrakenResult<T> statusResult = checkStatusResult(endpoint, null);
+        if (statusResult != null)
+            return statusResult;
+        try {
+            KrakenResult<T> result = flyStream(endpoint, decoder);
+            statusResponse.set(result.getStatusCode());
+            return result;
+        } catch (IOException e) {
+            statusResponse.set(-1);
+            return KrakenResult.failure(-1, KrakenError.TRANSPORT_FAILED, e.getMessage());
+        }
+    }
+
+    /**
+     * Method to send a GET request and decode its response while it is read<br>
+     *
+     * @param endpoint: endpoint of API request
+     * @param decoder:  decoder of the {@code "result"} value of the response
+     * @return {@code "result"} value decoded, or the errors of the response, as {@link KrakenResult}
+     * @throws IOException when the request has not been completed
+     * @implNote the callers of an identical request can join its flight only until its response arrives, then the
+     * body is recorded only if some callers joined it, so each of them decodes its own value with its own decoder.
+     * When nobody joined the flight the body is decoded directly from its stream, without buffering it, and the
+     * callers that arrive while it is read send their own request
+     */
+    private <T> KrakenResult<T> flyStream(String endpoint, StreamDecoder<T> decoder) throws IOException {
+        String url = baseEndpoint + "/public/" + endpoint;
+        KrakenRequestTrace trace = KrakenRequestTrace.start(endpoint);
+        StreamFlight flight = new StreamFlight();
+        StreamFlight current = streamFlights.putIfAbsent(url, flight);
+        if (current != null) {
+            if (current.board())
+                return followStream(current, decoder, trace);
+            return decodeResult(transport.sendGetRequestStream(url, requestTimeout, trace), decoder, trace);
+        }
+        try {
+            HttpResponse<InputStream> response = transport.sendGetRequestStream(url, requestTimeout, trace);
+            boolean joined = flight.depart();
+            streamFlights.remove(url, flight);
+            if (!joined)
+                return decodeResult(response, decoder, trace);
+            RecordingInputStream body = new RecordingInputStream(response.body());
+            KrakenResult<T> result = decodeResult(response, body, decoder, trace);
+            flight.landing.complete(new StreamLanding(response.statusCode(), body.recorded, body.size));
+            return result;
+        } catch (Throwable throwable) {
+            flight.depart();
+            streamFlights.remove(url, flight);
+            flight.landing.completeExceptionally(throwable);
+            throw throwable;
+        }
+    }
+
+    /**
+     * Method to wait for the flight of an identical request and decode its body with the decoder of the caller
+     *
+     * @param flight:  flight joined by the caller
+     * @param decoder: decoder of the {@code "result"} value of the response
+     * @param trace:   trace of the request of the caller
+     * @return {@code "result"} value decoded, or the errors of the response, as {@link KrakenResult}
+     * @throws IOException when the request has not been completed or the calling thread has been interrupted while
+     *                     it was waiting for the flight
+     */
+    private <T> KrakenResult<T> followStream(StreamFlight flight, StreamDecoder<T> decoder,
+                                             KrakenRequestTrace trace) throws IOException {
+        StreamLanding landing;
+        try {
+            landing = flight.landing.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            trace.mark(FAILED);
+            throw new InterruptedIOException(e.getMessage());
+        } catch (ExecutionException e) {
+            trace.mark(FAILED);
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException)
+                throw new IOException(cause.getMessage(), cause);
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            throw new IOException(cause);
+        }
+        return decodeSharedResult(landing.statusCode, landing.body, landing.length, decoder, trace);
+    }
+
+    /**
+     * Method to send a GET request asynchronously and fetch its payload<br>
+     *
+     * @param endpoint: endpoint of API request
+     * @return payload of the response as {@link CompletableFuture} of {@link KrakenPayload}, completed exceptionally
+     * with an {@link IOException} when the request has been go wrong
+     * @implNote when an identical request is already in flight its response is shared instead of sending a new
+     * request, each caller parses its own payload from the shared body
+     */
+    protected CompletableFuture<KrakenPayload> fetchGetPayloadAsync(String endpoint) {
+        String statusError = checkStatusError(endpoint, null);
+        if (statusError != null)
+            return CompletableFuture.failedFuture(new IOException(statusError));
+        String url = baseEndpoint + "/public/" + endpoint;
+        KrakenRequestTrace trace = KrakenRequestTrace.start(endpoint);
+        boolean[] leader = {false};
+        return payloadFlights.executeAsync(url, () -> {
+            leader[0] = true;
+            return transport.sendGetRequestAsync(url, requestTimeout, trace)
+                    .thenApply(response -> landPayload(response, trace));
+        }, shared -> shared.follow(this, trace)).handle((landing, throwable) -> {
+            if (throwable != null) {
+                if (!leader[0])
+                    trace.mark(FAILED);
+                throw throwable instanceof CompletionException ? (CompletionException) throwable
+                        : new CompletionException(throwable);
+            }
+            if (landing.payload == null)
+                throw new CompletionException(new IOException(landing.errors));
+            return landing.payload;
+        });
+    }
+
+    /**
+     * Method to parse the payload of a response received by the leader of a flight, recording it in the metrics
+     *
+     * @param response: response obtained by the {@link #transport}
+     * @param trace:    trace of the request
+     * @return landing of the flight as {@link PayloadLanding}
+     */
+    private PayloadLanding landPayload(HttpResponse<String> response, KrakenRequestTrace trace) {
+        try {
+            return new PayloadLanding(response.statusCode(), response.body(), parsePayload(response, trace), null);
+        } catch (IOException e) {
+            return new PayloadLanding(response.statusCode(), response.body(), null, e.getMessage());
+        }
+    }
+
+    /**
+     * The {@code PayloadLanding} class is useful to share the response of a flight with the callers that joined it
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     */
+    private static final class PayloadLanding {
+
+        /**
+         * {@code statusCode} is instance that memorizes status code of the response
+         */
+        private final int statusCode;
+
+        /**
+         * {@code body} is instance that memorizes body of the response
+         */
+        private final String body;
+
+        /**
+         * {@code payload} is instance that memorizes payload parsed by the caller, null if the request has been go
+         * wrong
+         */
+        private final KrakenPayload payload;
+
+        /**
+         * {@code errors} is instance that memorizes errors of the response, null if the request has been successful
+         */
+        private final String errors;
+
+        /**
+         * Constructor to init a {@link PayloadLanding} object
+         *
+         * @param statusCode: status code of the response
+         * @param body:       body of the response
+         * @param payload:    payload parsed by the caller, null if the request has been go wrong
+         * @param errors:     errors of the response, null if the request has been successful
+         */
+        private PayloadLanding(int statusCode, String body, KrakenPayload payload, String errors) {
+            this.statusCode = statusCode;
+            this.body = body;
+            this.payload = payload;
+            this.errors = errors;
+        }
+
+        /**
+         * Method to derive the landing of a caller that joined the flight, parsing its own payload from the shared
+         * body
+         *
+         * @param manager: manager of the caller
+         * @param trace:   trace of the request of the caller
+         * @return landing of the caller as {@link PayloadLanding}
+         */
+        private PayloadLanding follow(KrakenPublicManager manager, KrakenRequestTrace trace) {
+            try {
+                return new PayloadLanding(statusCode, body, manager.parseSharedPayload(body, trace), null);
+            } catch (IOException e) {
+                return new PayloadLanding(statusCode, body, null, e.getMessage());
+            }
+        }
+
+    }
+
+    /**
+     * The {@code StreamFlight} class is useful to coalesce the identical requests decoded while they are read, the
+     * callers can join a flight only until the response of its leader arrives
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     */
+    private static final class StreamFlight {
+
+        /**
+         * {@code landing} is instance that memorizes body of the response shared with the callers that joined the
+         * flight
+         */
+        private final CompletableFuture<StreamLanding> landing = new CompletableFuture<>();
+
+        /**
+         * {@code boarding} is instance that memorizes whether the callers can still join the flight
+         */
+        private boolean boarding = true;
+
+        /**
+         * {@code followers} is instance that memorizes number of the callers that joined the flight
+         */
+        private int followers;
+
+        /**
+         * Method to join the flight <br>
+         * No-any params required
+         *
+         * @return whether the caller joined the flight as boolean, false when the leader is already reading the body
+         */
+        private synchronized boolean board() {
+            if (!boarding)
+                return false;
+            followers++;
+            return true;
+        }
+
+        /**
+         * Method to close the boarding of the flight, when its response arrives <br>
+         * No-any params required
+         *
+         * @return whether some callers joined the flight as boolean, so its body has to be recorded for them
+         */
+        private synchronized boolean depart() {
+            boarding = false;
+            return followers > 0;
+        }
+
+    }
+
+    /**
+     * The {@code StreamLanding} class is useful to share the body of a streamed response with the callers that
+     * joined its flight
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     */
+    private static final class StreamLanding {
+
+        /**
+         * {@code statusCode} is instance that memorizes status code of the response
+         */
+        private final int statusCode;
+
+        /**
+         * {@code body} is instance that memorizes buffer with the body of the response read by the leader of the
+         * flight
+         */
+        private final byte[] body;
+
+        /**
+         * {@code length} is instance that memorizes number of the bytes of the body in the {@link #body} buffer
+         */
+        private final int length;
+
+        /**
+         * Constructor to init a {@link StreamLanding} object
+         *
+         * @param statusCode: status code of the response
+         * @param body:       buffer with the body of the response read by the leader of the flight
+         * @param length:     number of the bytes of the body in the buffer
+         */
+        private StreamLanding(int statusCode, byte[] body, int length) {
+            this.statusCode = statusCode;
+            this.body = body;
+            this.length = length;
+        }
+
+    }
+
+    /**
+     * The {@code RecordingInputStream} class is useful to record the bytes of a body while it is decoded, so they
+     * can be decoded again by the callers that joined its flight, it is used only when some callers joined it
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     */
+    private static final class RecordingInputStream extends FilterInputStream {
+
+        /**
+         * {@code recorded} is instance that memorizes bytes read from the body
+         */
+        private byte[] recorded = new byte[8192];
+
+        /**
+         * {@code size} is instance that memorizes number of the bytes read from the body
+         */
+        private int size;
+
+        /**
+         * Constructor to init a {@link RecordingInputStream} object
+         *
+         * @param body: stream of the body to record
+         */
+        private RecordingInputStream(InputStream body) {
+            super(body);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = in.read();
+            if (read != -1) {
+                ensureCapacity(1);
+                recorded[size++] = (byte) read;
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = in.read(b, off, len);
+            if (read > 0) {
+                ensureCapacity(read);
+                System.arraycopy(b, off, recorded, size, read);
+                size += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = 0;
+            byte[] buffer = new byte[(int) Math.min(n, 8192)];
+            while (skipped < n) {
+                int read = read(buffer, 0, (int) Math.min(n - skipped, buffer.length));
+                if (read == -1)
+                    break;
+                skipped += read;
+            }
+            return skipped;
+        }
+
+        /**
+         * Method to close the body, the bytes not read yet are recorded before, so the callers that joined the
+         * flight can decode the whole body also when the decoder of the leader stopped earlier <br>
+         * No-any params required
+         */
+        @Override
+        public void close() throws IOException {
+            try {
+                byte[] buffer = new byte[8192];
+                while (read(buffer, 0, buffer.length) != -1) {
+                }
+            } finally {
+                super.close();
+            }
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        /**
+         * Method to grow {@link #recorded} when it cannot contain other bytes
+         *
+         * @param length: number of the bytes to add
+         */
+        private void ensureCapacity(int length) {
+            if (size + length > recorded.length)
+                recorded = Arrays.copyOf(recorded, Math.max(recorded.length << 1, size + length));
+        }
+
     }
 
 }
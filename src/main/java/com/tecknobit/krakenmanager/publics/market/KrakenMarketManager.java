@@ -4,16 +4,26 @@ import com.tecknobit.apimanager.annotations.RequestPath;
 import com.tecknobit.apimanager.annotations.Returner;
 import com.tecknobit.apimanager.annotations.WrappedRequest;
 import com.tecknobit.apimanager.annotations.Wrapper;
+import com.tecknobit.krakenmanager.KrakenClientContext;
+import com.tecknobit.krakenmanager.KrakenResult;
 import com.tecknobit.krakenmanager.publics.KrakenPublicManager;
+import com.tecknobit.krakenmanager.publics.market.KrakenReferenceCache.Reference;
 import com.tecknobit.krakenmanager.publics.market.records.*;
 import com.tecknobit.krakenmanager.publics.market.records.lists.OHLCData;
 import com.tecknobit.krakenmanager.publics.market.records.lists.Spreads;
 import com.tecknobit.krakenmanager.publics.market.records.lists.Trades;
+import com.tecknobit.krakenmanager.transport.KrakenFanOut;
+import com.tecknobit.krakenmanager.transport.KrakenFanOut.Fetcher;
+import com.tecknobit.krakenmanager.transport.KrakenFanOut.Results;
+import org.json.JSONArray;
 import org.json.JSONObject;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import static com.tecknobit.apimanager.apis.APIRequest.RequestMethod.GET;
 import static com.tecknobit.apimanager.trading.TradingTools.computeTPTOPIndex;
@@ -75,9 +85,14 @@ public class KrakenMarketManager extends KrakenPublicManager {
     public static final String GET_RECENT_SPREADS_ENDPOINT = "Spread";
 
     /**
-     * {@code symbols} is instance that memorizes symbols list set
+     * {@code referenceCache} is instance that memorizes the reference data of the market
      */
-    private Set<String> symbols;
+    private final KrakenReferenceCache referenceCache = context.getReferenceCache();
+
+    /**
+     * {@code fanOut} is instance used to send the requests of many pairs at the same time
+     */
+    private final KrakenFanOut fanOut = context.getFanOut();
 
     /**
      * Constructor to init a {@link KrakenMarketManager}
@@ -111,6 +126,15 @@ public class KrakenMarketManager extends KrakenPublicManager {
         super();
     }
 
+    /**
+     * Constructor to init a {@link KrakenMarketManager}
+     *
+     * @param context: configuration of the manager, shared with the other managers created with it
+     */
+    public KrakenMarketManager(KrakenClientContext context) {
+        super(context);
+    }
+
     /**
      * Request to get server time<br>
      * No-any params required
@@ -199,14 +223,16 @@ public class KrakenMarketManager extends KrakenPublicManager {
     @Returner
     @RequestPath(method = GET, path = "https://api.kraken.com/0/public/Time")
     public <T> T getServerTime(ReturnFormat format) throws IOException {
-        String serverTimeResponse = sendGetRequest(GET_SERVER_TIME_ENDPOINT);
+        Reference reference = getCachedReference(GET_SERVER_TIME_ENDPOINT);
+        KrakenPayload serverTimeResponse = reference != null ? reference.getPayload()
+                : fetchGetPayload(GET_SERVER_TIME_ENDPOINT);
         switch (format) {
             case JSON:
-                return (T) new JSONObject(serverTimeResponse);
+                return (T) getJSONPayload(serverTimeResponse, reference);
             case LIBRARY_OBJECT:
-                return (T) new ServerTime(new JSONObject(serverTimeResponse));
+                return (T) new ServerTime(serverTimeResponse.getJSONPayload());
             default:
-                return (T) serverTimeResponse;
+                return (T) serverTimeResponse.getBody();
         }
     }
 
@@ -298,14 +324,16 @@ public class KrakenMarketManager extends KrakenPublicManager {
     @Returner
     @RequestPath(method = GET, path = "https://api.kraken.com/0/public/SystemStatus")
     public <T> T getSystemStatus(ReturnFormat format) throws IOException {
-        String serverTimeResponse = sendGetRequest(GET_SYSTEM_STATUS_ENDPOINT);
+        Reference reference = getCachedReference(GET_SYSTEM_STATUS_ENDPOINT);
+        KrakenPayload serverTimeResponse = reference != null ? reference.getPayload()
+                : fetchGetPayload(GET_SYSTEM_STATUS_ENDPOINT);
         switch (format) {
             case JSON:
-                return (T) new JSONObject(serverTimeResponse);
+                return (T) getJSONPayload(serverTimeResponse, reference);
             case LIBRARY_OBJECT:
-                return (T) new SystemStatus(new JSONObject(serverTimeResponse));
+                return (T) new SystemStatus(serverTimeResponse.getJSONPayload());
             default:
-                return (T) serverTimeResponse;
+                return (T) serverTimeResponse.getBody();
         }
     }
 
@@ -637,18 +665,21 @@ public class KrakenMarketManager extends KrakenPublicManager {
      */
     @Returner
     private <T> T returnAssetsList(String endpoint, ReturnFormat format) throws IOException {
-        String assetsListResponse = sendGetRequest(endpoint);
+        Reference reference = null;
+        if (endpoint.equals(GET_ASSETS_ENDPOINT))
+            reference = getCachedReference(GET_ASSETS_ENDPOINT);
+        KrakenPayload assetsListResponse = reference != null ? reference.getPayload() : fetchGetPayload(endpoint);
         switch (format) {
             case JSON:
-                return (T) new JSONObject(assetsListResponse);
+                return (T) getJSONPayload(assetsListResponse, reference);
             case LIBRARY_OBJECT:
                 ArrayList<Asset> assets = new ArrayList<>();
-                JSONObject jAssets = new JSONObject(assetsListResponse).getJSONObject("result");
+                JSONObject jAssets = assetsListResponse.getJSONPayload().getJSONObject("result");
                 for (String asset : jAssets.keySet())
                     assets.add(new Asset(jAssets.getJSONObject(asset)));
                 return (T) assets;
             default:
-                return (T) assetsListResponse;
+                return (T) assetsListResponse.getBody();
         }
     }
 
@@ -694,10 +725,14 @@ public class KrakenMarketManager extends KrakenPublicManager {
      *                             {@link #printErrorResponse()}
      *                         </li>
      *                     </ul> using a {@code "try and catch statement"} during runtime, see how to do in {@code "README"} file
+     * @implNote the asset is read from the {@link #referenceCache} when it is cached, otherwise it is requested
      */
     @WrappedRequest
     public <T> T getSingleAsset(String symbol, ReturnFormat format) throws IOException {
-        return returnAsset(getAssetsList(new String[]{symbol}, STRING), format);
+        Reference reference = getCachedReference(GET_ASSETS_ENDPOINT);
+        if (reference != null && reference.getItemKey(symbol) != null)
+            return returnAsset(assembleCachedItem(reference, symbol), format);
+        return returnAsset(fetchGetPayload(GET_ASSETS_ENDPOINT + "?asset=" + symbol), format);
     }
 
     /**
@@ -747,7 +782,8 @@ public class KrakenMarketManager extends KrakenPublicManager {
      */
     @WrappedRequest
     public <T> T getSingleAsset(String symbol, String aClass, ReturnFormat format) throws IOException {
-        return returnAsset(getAssetsList(new String[]{symbol}, aClass, STRING), format);
+        return returnAsset(fetchGetPayload(GET_ASSETS_ENDPOINT + "?asset=" + symbol + "&aclass=" + aClass),
+                format);
     }
 
     /**
@@ -758,14 +794,14 @@ public class KrakenMarketManager extends KrakenPublicManager {
      * @return asset as {"format"} defines
      */
     @Returner
-    private <T> T returnAsset(String assetResponse, ReturnFormat format) {
+    private <T> T returnAsset(KrakenPayload assetResponse, ReturnFormat format) {
         switch (format) {
             case JSON:
-                return (T) new JSONObject(assetResponse);
+                return (T) assetResponse.getJSONPayload();
             case LIBRARY_OBJECT:
-                return (T) new Asset(new JSONObject(assetResponse));
+                return (T) new Asset(getFirstItem(assetResponse));
             default:
-                return (T) assetResponse;
+                return (T) assetResponse.getBody();
         }
     }
 
@@ -1097,18 +1133,22 @@ public class KrakenMarketManager extends KrakenPublicManager {
      */
     @Returner
     private <T> T returnAssetPairsList(String endpoint, ReturnFormat format) throws IOException {
-        String assetsPairsListResponse = sendGetRequest(endpoint);
+        Reference reference = null;
+        if (endpoint.equals(GET_ASSET_PAIRS_ENDPOINT))
+            reference = getCachedReference(GET_ASSET_PAIRS_ENDPOINT);
+        KrakenPayload assetsPairsListResponse = reference != null ? reference.getPayload()
+                : fetchGetPayload(endpoint);
         switch (format) {
             case JSON:
-                return (T) new JSONObject(assetsPairsListResponse);
+                return (T) getJSONPayload(assetsPairsListResponse, reference);
             case LIBRARY_OBJECT:
                 ArrayList<AssetPair> assetsPairs = new ArrayList<>();
-                JSONObject jAssetsPairs = new JSONObject(assetsPairsListResponse).getJSONObject("result");
+                JSONObject jAssetsPairs = assetsPairsListResponse.getJSONPayload().getJSONObject("result");
                 for (String assetPairs : jAssetsPairs.keySet())
                     assetsPairs.add(new AssetPair(jAssetsPairs.getJSONObject(assetPairs)));
                 return (T) assetsPairs;
             default:
-                return (T) assetsPairsListResponse;
+                return (T) assetsPairsListResponse.getBody();
         }
     }
 
@@ -1154,10 +1194,14 @@ public class KrakenMarketManager extends KrakenPublicManager {
      *                             {@link #printErrorResponse()}
      *                         </li>
      *                     </ul> using a {@code "try and catch statement"} during runtime, see how to do in {@code "README"} file
+     * @implNote the assets pair is read from the {@link #referenceCache} when it is cached, otherwise it is requested
      */
     @WrappedRequest
     public <T> T getAssetPair(String pair, ReturnFormat format) throws IOException {
-        return returnAssetPair(getAssetPairsList(new String[]{pair}, STRING), format);
+        Reference reference = getCachedReference(GET_ASSET_PAIRS_ENDPOINT);
+        if (reference != null && reference.getItemKey(pair) != null)
+            return returnAssetPair(assembleCachedItem(reference, pair), format);
+        return returnAssetPair(fetchGetPayload(GET_ASSET_PAIRS_ENDPOINT + "?pair=" + pair), format);
     }
 
     /**
@@ -1207,7 +1251,8 @@ public class KrakenMarketManager extends KrakenPublicManager {
      */
     @WrappedRequest
     public <T> T getAssetPair(String pair, String info, ReturnFormat format) throws IOException {
-        return returnAssetPair(getAssetPairsList(new String[]{pair}, info, STRING), format);
+        return returnAssetPair(fetchGetPayload(GET_ASSET_PAIRS_ENDPOINT + "?pair=" + pair + "&info=" + info),
+                format);
     }
 
     /**
@@ -1218,15 +1263,140 @@ public class KrakenMarketManager extends KrakenPublicManager {
      * @return asset pair as {"format"} defines
      */
     @Returner
-    private <T> T returnAssetPair(String assetPairResponse, ReturnFormat format) {
+    private <T> T returnAssetPair(KrakenPayload assetPairResponse, ReturnFormat format) {
         switch (format) {
             case JSON:
-                return (T) new JSONObject(assetPairResponse);
+                return (T) assetPairResponse.getJSONPayload();
             case LIBRARY_OBJECT:
-                return (T) new AssetPair(new JSONObject(assetPairResponse));
+                return (T) new AssetPair(getFirstItem(assetPairResponse));
             default:
-                return (T) assetPairResponse;
+                return (T) assetPairResponse.getBody();
+        }
+    }
+
+    /**
+     * Method to get the first item of the {@code "result"} value of a payload
+     *
+     * @param payload: payload from fetch the item
+     * @return first item as {@link JSONObject}
+     */
+    private JSONObject getFirstItem(KrakenPayload payload) {
+        JSONObject result = payload.getJSONPayload().getJSONObject("result");
+        return result.getJSONObject(result.keys().next());
+    }
+
+    /**
+     * Method to assemble the payload of an item cached, as it was requested alone
+     *
+     * @param reference: entry of the {@link #referenceCache} where the item is cached
+     * @param symbol:    key or alternative name of the item es. XBTEUR
+     * @return payload of the item as {@link KrakenPayload}
+     */
+    private KrakenPayload assembleCachedItem(Reference reference, String symbol) throws IOException {
+        return new KrakenPayload(new JSONObject()
+                .put("error", new JSONArray())
+                .put("result", new JSONObject().put(reference.getItemKey(symbol), reference.getItem(symbol)))
+                .toString());
+    }
+
+    /**
+     * Method to get the entry of the {@link #referenceCache} of an endpoint, the status code and the errors are
+     * memorized for the calling thread as the entry was requested
+     *
+     * @param endpoint: endpoint of the entry es. AssetPairs
+     * @return entry of the endpoint as {@link Reference}, null if the cache is disabled for the endpoint
+     */
+    private Reference getCachedReference(String endpoint) throws IOException {
+        Reference reference = referenceCache.getReference(endpoint, () -> fetchGetPayload(endpoint),
+                () -> fetchGetPayloadAsync(endpoint));
+        if (reference != null) {
+            statusResponse.set(200);
+            errorResponse.remove();
+        }
+        return reference;
+    }
+
+    /**
+     * Method to get the {@code "JSON"} payload of a response
+     *
+     * @param payload:   payload of the response
+     * @param reference: entry of the {@link #referenceCache} of the payload, null if the payload is not cached
+     * @return {@code "JSON"} payload as {@link JSONObject}, a copy when the payload is cached, so the entry shared by
+     * all the readers cannot be modified
+     */
+    private JSONObject getJSONPayload(KrakenPayload payload, Reference reference) {
+        if (reference != null)
+            return new JSONObject(payload.getBody());
+        return payload.getJSONPayload();
+    }
+
+    /**
+     * Method to get the symbols of the assets pairs, both their keys and their alternative names es. XXBTZEUR, XBTEUR
+     * or XBT/EUR <br>
+     * No-any params required
+     *
+     * @return symbols as {@link Set} of {@link String}
+     * @throws IOException when the request has been go wrong
+     * @implNote the symbols are read from the {@link #referenceCache}, so they are requested only when they are not
+     * cached
+     */
+    public Set<String> getSymbols() throws IOException {
+        Reference reference = getCachedReference(GET_ASSET_PAIRS_ENDPOINT);
+        if (reference == null)
+            reference = new Reference(fetchGetPayload(GET_ASSET_PAIRS_ENDPOINT));
+        return reference.getSymbols();
+    }
+
+    /**
+     * Method to get {@link #referenceCache} instance <br>
+     * No-any params required
+     *
+     * @return {@link #referenceCache} instance as {@link KrakenReferenceCache}
+     * @apiNote the cache is shared by all the {@link KrakenMarketManager}, so its times to live and its invalidations
+     * apply to all of them
+     */
+    public KrakenReferenceCache getReferenceCache() {
+        return referenceCache;
+    }
+
+    /**
+     * Method to send the same request for many pairs with the {@link #fanOut}
+     *
+     * @param pairs:   pairs of the requests
+     * @param fetcher: fetcher used to send the request of a pair
+     * @return values of the requests succeeded as {@link Map} of {@link String} and {@link T}, keyed by pair
+     * @throws IOException when all the requests have been go wrong, the errors of the pairs are memorized for the
+     *                     calling thread
+     */
+    private <T> Map<String, T> fetchAll(Collection<String> pairs, Fetcher<T> fetcher) throws IOException {
+        Results<T> results = fanOut.execute(pairs, pair -> {
+            try {
+                return fetcher.fetch(pair);
+            } catch (IOException e) {
+                throw new IOException(getErrorResponse());
+            }
+        });
+        Map<String, String> errors = results.getErrors();
+        if (errors.isEmpty())
+            errorResponse.remove();
+        else {
+            errorResponse.set(new JSONObject(errors).toString());
+            if (results.getValues().isEmpty())
+                throw new IOException();
         }
+        return results.getValues();
+    }
+
+    /**
+     * Method to get {@link #fanOut} instance <br>
+     * No-any params required
+     *
+     * @return {@link #fanOut} instance as {@link KrakenFanOut}
+     * @apiNote the fan-out is shared by the managers of the same {@link KrakenClientContext}, so its concurrency and
+     * its rate apply to all of them
+     */
+    public KrakenFanOut getFanOut() {
+        return fanOut;
     }
 
     /**
@@ -1276,17 +1446,196 @@ public class KrakenMarketManager extends KrakenPublicManager {
      * @apiNote see the official documentation at: <a href="https://docs.kraken.com/rest/#tag/Market-Data/operation/getTickerInformation">
      * Get Ticker Information</a>
      */
-    @Returner
     @RequestPath(method = GET, path = "https://api.kraken.com/0/public/Ticker?pair={pair}")
     public <T> T getTickerInformation(String pair, ReturnFormat format) throws IOException {
-        String tickerResponse = sendGetRequest(GET_TICKER_ENDPOINT + "?pair=" + pair);
+        return returnTickerInformation(fetchGetPayload(GET_TICKER_ENDPOINT + "?pair=" + pair), format);
+    }
+
+    /**
+     * Request to get ticker information asynchronously<br>
+     *
+     * @param pair: pair from fetch details es. BTCEUR
+     * @return ticker information as {@link CompletableFuture} of {@link TickerInformation} custom object, completed
+     * exceptionally with an {@link IOException} when the request has been go wrong
+     * @apiNote see the official documentation at: <a href="https://docs.kraken.com/rest/#tag/Market-Data/operation/getTickerInformation">
+     * Get Ticker Information</a>
+     */
+    @Wrapper
+    @RequestPath(method = GET, path = "https://api.kraken.com/0/public/Ticker?pair={pair}")
+    public CompletableFuture<TickerInformation> getTickerInformationAsync(String pair) {
+        return getTickerInformationAsync(pair, LIBRARY_OBJECT);
+    }
+
+    /**
+     * Request to get ticker information asynchronously<br>
+     *
+     * @param pair:   pair from fetch details es. BTCEUR
+     * @param format: return type formatter -> {@link ReturnFormat}
+     * @return ticker information as {@link CompletableFuture} of {"format"} defines, completed exceptionally with an
+     * {@link IOException} when the request has been go wrong
+     * @apiNote see the official documentation at: <a href="https://docs.kraken.com/rest/#tag/Market-Data/operation/getTickerInformation">
+     * Get Ticker Information</a>
+     */
+    @RequestPath(method = GET, path = "https://api.kraken.com/0/public/Ticker?pair={pair}")
+    public <T> CompletableFuture<T> getTickerInformationAsync(String pair, ReturnFormat format) {
+        return fetchGetPayloadAsync(GET_TICKER_ENDPOINT + "?pair=" + pair)
+                .thenApply(tickerResponse -> returnTickerInformation(tickerResponse, format));
+    }
+
+    /**
+     * Method to assemble a ticker information object
+     *
+     * @param tickerResponse: ticker information to format
+     * @param format:         return type formatter -> {@link ReturnFormat}
+     * @return ticker information as {"format"} defines
+     */
+    @Returner
+    private <T> T returnTickerInformation(KrakenPayload tickerResponse, ReturnFormat format) {
+        switch (format) {
+            case JSON:
+                return (T) tickerResponse.getJSONPayload();
+            case LIBRARY_OBJECT:
+                return (T) new TickerInformation(tickerResponse.getJSONPayload());
+            default:
+                return (T) tickerResponse.getBody();
+        }
+    }
+
+    /**
+     * Request to get the tickers of all the pairs with a single request<br>
+     * No-any params required
+     *
+     * @return tickers as {@link TickerSnapshot} custom object
+     * @throws IOException when request has been go wrong -> you can use these methods to get more details about error:
+     *                     <ul>
+     *                         <li>
+     *                             {@link #getErrorResponse()}
+     *                         </li>
+     *                         <li>
+     *                             {@link #getJSONErrorResponse()}
+     *                         </li>
+     *                         <li>
+     *                             {@link #printErrorResponse()}
+     *                         </li>
+     *                     </ul> using a {@code "try and catch statement"} during runtime, see how to do in {@code "README"} file
+     * @apiNote see the official documentation at: <a href="https://docs.kraken.com/rest/#tag/Market-Data/operation/getTickerInformation">
+     * Get Ticker Information</a>
+     */
+    @Wrapper
+    @RequestPath(method = GET, path = "https://api.kraken.com/0/public/Ticker")
+    public TickerSnapshot getTickerSnapshot() throws IOException {
+        return getTickerSnapshot(LIBRARY_OBJECT);
+    }
+
+    /**
+     * Request to get the tickers of all the pairs with a single request
+     *
+     * @param format: return type formatter -> {@link ReturnFormat}
+     * @return tickers as {"format"} defines
+     * @throws IOException when request has been go wrong -> you can use these methods to get more details about error:
+     *                     <ul>
+     *                         <li>
+     *                             {@link #getErrorResponse()}
+     *                         </li>
+     *                         <li>
+     *                             {@link #getJSONErrorResponse()}
+     *                         </li>
+     *                         <li>
+     *                             {@link #printErrorResponse()}
+     *                         </li>
+     *                     </ul> using a {@code "try and catch statement"} during runtime, see how to do in {@code "README"} file
+     * @apiNote see the official documentation at: <a href="https://docs.kraken.com/rest/#tag/Market-Data/operation/getTickerInformation">
+     * Get Ticker Information</a>
+     */
+    @RequestPath(method = GET, path = "https://api.kraken.com/0/public/Ticker")
+    public <T> T getTickerSnapshot(ReturnFormat format) throws IOException {
+        return returnTickerSnapshot(GET_TICKER_ENDPOINT, format);
+    }
+
+    /**
+     * Request to get the tickers of all the pairs with a single request without throwing exceptions when it has been
+     * go wrong <br>
+     * No-any params required
+     *
+     * @return tickers as {@link KrakenResult} of {@link TickerSnapshot}
+     * @apiNote see the official documentation at: <a href="https://docs.kraken.com/rest/#tag/Market-Data/operation/getTickerInformation">
+     * Get Ticker Information</a>
+     */
+    @RequestPath(method = GET, path = "https://api.kraken.com/0/public/Ticker")
+    public KrakenResult<TickerSnapshot> getTickerSnapshotResult() {
+        return fetchGetResult(GET_TICKER_ENDPOINT, TickerSnapshot::decode);
+    }
+
+    /**
+     * Request to get the tickers of many pairs with a single request
+     *
+     * @param pairs: pairs from fetch details es. BTCEUR
+     * @return tickers as {@link TickerSnapshot} custom object
+     * @throws IOException when request has been go wrong -> you can use these methods to get more details about error:
+     *                     <ul>
+     *                         <li>
+     *                             {@link #getErrorResponse()}
+     *                         </li>
+     *                         <li>
+     *                             {@link #getJSONErrorResponse()}
+     *                         </li>
+     *                         <li>
+     *                             {@link #printErrorResponse()}
+     *                         </li>
+     *                     </ul> using a {@code "try and catch statement"} during runtime, see how to do in {@code "README"} file
+     * @apiNote see the official documentation at: <a href="https://docs.kraken.com/rest/#tag/Market-Data/operation/getTickerInformation">
+     * Get Ticker Information</a>
+     */
+    @Wrapper
+    @RequestPath(method = GET, path = "https://api.kraken.com/0/public/Ticker?pair={pair}")
+    public TickerSnapshot getTickerSnapshot(Collection<String> pairs) throws IOException {
+        return getTickerSnapshot(pairs, LIBRARY_OBJECT);
+    }
+
+    /**
+     * Request to get the tickers of many pairs with a single request
+     *
+     * @param pairs:  pairs from fetch details es. BTCEUR
+     * @param format: return type formatter -> {@link ReturnFormat}
+     * @return tickers as {"format"} defines
+     * @throws IOException when request has been go wrong -> you can use these methods to get more details about error:
+     *                     <ul>
+     *                         <li>
+     *                             {@link #getErrorResponse()}
+     *                         </li>
+     *                         <li>
+     *                             {@link #getJSONErrorResponse()}
+     *                         </li>
+     *                         <li>
+     *                             {@link #printErrorResponse()}
+     *                         </li>
+     *                     </ul> using a {@code "try and catch statement"} during runtime, see how to do in {@code "README"} file
+     * @apiNote see the official documentation at: <a href="https://docs.kraken.com/rest/#tag/Market-Data/operation/getTickerInformation">
+     * Get Ticker Information</a>
+     */
+    @RequestPath(method = GET, path = "https://api.kraken.com/0/public/Ticker?pair={pair}")
+    public <T> T getTickerSnapshot(Collection<String> pairs, ReturnFormat format) throws IOException {
+        return returnTickerSnapshot(GET_TICKER_ENDPOINT + "?pair=" + apiRequest.assembleParamsList(",", pairs), format);
+    }
+
+    /**
+     * Method to request and assemble a ticker snapshot object
+     *
+     * @param endpoint: endpoint of the request
+     * @param format:   return type formatter -> {@link ReturnFormat}
+     * @return ticker snapshot as {"format"} defines
+     * @implNote the {@link ReturnFormat#LIBRARY_OBJECT} format is decoded directly from the stream of the response
+     * into the columns of the snapshot, without building a {@link TickerInformation} for each pair
+     */
+    @Returner
+    private <T> T returnTickerSnapshot(String endpoint, ReturnFormat format) throws IOException {
         switch (format) {
             case JSON:
-                return (T) new JSONObject(tickerResponse);
+                return (T) fetchGetPayload(endpoint).getJSONPayload();
             case LIBRARY_OBJECT:
-                return (T) new TickerInformation(new JSONObject(tickerResponse));
+                return (T) fetchGetStream(endpoint, TickerSnapshot::decode);
             default:
-                return (T) tickerResponse;
+                return (T) fetchGetPayload(endpoint).getBody();
         }
     }
 
@@ -1341,7 +1690,7 @@ public class KrakenMarketManager extends KrakenPublicManager {
     @WrappedRequest
     @RequestPath(method = GET, path = "https://api.kraken.com/0/public/OHLC?pair={pair}")
     public <T> T getOHLCData(AssetPair pair, ReturnFormat format) throws IOException {
-        return returnOHLCData(sendGetRequest(GET_OHLC_ENDPOINT + "?pair=" + pair.getAltName()), format);
+        return returnOHLCData(GET_OHLC_ENDPOINT + "?pair=" + pair.getAltName(), format);
     }
 
     /**
@@ -1393,7 +1742,7 @@ public class KrakenMarketManager extends KrakenPublicManager {
      */
     @RequestPath(method = GET, path = "https://api.kraken.com/0/public/OHLC?pair={pair}")
     public <T> T getOHLCData(String pair, ReturnFormat format) throws IOException {
-        return returnOHLCData(sendGetRequest(GET_OHLC_ENDPOINT + "?pair=" + pair), format);
+        return returnOHLCData(GET_OHLC_ENDPOINT + "?pair=" + pair, format);
     }
 
     /**
@@ -1450,8 +1799,8 @@ public class KrakenMarketManager extends KrakenPublicManager {
     @WrappedRequest
     @RequestPath(method = GET, path = "https://api.kraken.com/0/public/OHLC?pair={pair}&interval={interval}")
     public <T> T getOHLCData(AssetPair pair, int interval, ReturnFormat format) throws IOException {
-        return returnOHLCData(sendGetRequest(GET_OHLC_ENDPOINT + "?pair=" + pair.getAltName() + "&interval=" +
-                interval), format);
+        return returnOHLCData(GET_OHLC_ENDPOINT + "?pair=" + pair.getAltName() + "&interval=" +
+                interval, format);
     }
 
     /**
@@ -1505,7 +1854,7 @@ public class KrakenMarketManager extends KrakenPublicManager {
      */
     @RequestPath(method = GET, path = "https://api.kraken.com/0/public/OHLC?pair={pair}&interval={interval}")
     public <T> T getOHLCData(String pair, int interval, ReturnFormat format) throws IOException {
-        return returnOHLCData(sendGetRequest(GET_OHLC_ENDPOINT + "?pair=" + pair + "&interval=" + interval),
+        return returnOHLCData(GET_OHLC_ENDPOINT + "?pair=" + pair + "&interval=" + interval,
                 format);
     }
 
@@ -1562,7 +1911,7 @@ public class KrakenMarketManager extends KrakenPublicManager {
     @WrappedRequest
     @RequestPath(method = GET, path = "https://api.kraken.com/0/public/OHLC?pair={pair}&since={since}")
     public <T> T getOHLCData(AssetPair pair, long since, ReturnFormat format) throws IOException {
-        return returnOHLCData(sendGetRequest(GET_OHLC_ENDPOINT + "?pair=" + pair.getAltName() + "&since=" + since),
+        return returnOHLCData(GET_OHLC_ENDPOINT + "?pair=" + pair.getAltName() + "&since=" + since,
                 format);
     }
 
@@ -1617,7 +1966,7 @@ public class KrakenMarketManager extends KrakenPublicManager {
      */
     @RequestPath(method = GET, path = "https://api.kraken.com/0/public/OHLC?pair={pair}&since={since}")
     public <T> T getOHLCData(String pair, long since, ReturnFormat format) throws IOException {
-        return returnOHLCData(sendGetRequest(GET_OHLC_ENDPOINT + "?pair=" + pair + "&since=" + since), format);
+        return returnOHLCData(GET_OHLC_ENDPOINT + "?pair=" + pair + "&since=" + since, format);
     }
 
     /**
@@ -1675,8 +2024,8 @@ public class KrakenMarketManager extends KrakenPublicManager {
     @WrappedRequest
     @RequestPath(method = GET, path = "https://api.kraken.com/0/public/OHLC?pair={pair}&interval={interval}&since={since}")
     public <T> T getOHLCData(AssetPair pair, int interval, long since, ReturnFormat format) throws IOException {
-        return returnOHLCData(sendGetRequest(GET_OHLC_ENDPOINT + "?pair=" + pair.getAltName() + "&interval=" +
-                interval + "&since=" + since), format);
+        return returnOHLCData(GET_OHLC_ENDPOINT + "?pair=" + pair.getAltName() + "&interval=" +
+                interval + "&since=" + since, format);
     }
 
     /**
@@ -1732,8 +2081,151 @@ public class KrakenMarketManager extends KrakenPublicManager {
      */
     @RequestPath(method = GET, path = "https://api.kraken.com/0/public/OHLC?pair={pair}&interval={interval}&since={since}")
     public <T> T getOHLCData(String pair, int interval, long since, ReturnFormat format) throws IOException {
-        return returnOHLCData(sendGetRequest(GET_OHLC_ENDPOINT + "?pair=" + pair + "&interval=" + interval +
-                "&since=" + since), format);
+        return returnOHLCData(GET_OHLC_ENDPOINT + "?pair=" + pair + "&interval=" + interval +
+                "&since=" + since, format);
+    }
+
+    /**
+     * Request to get OHLC data information asynchronously<br>
+     *
+     * @param pair: pair from fetch details es. BTCEUR
+     * @return OHLC data information as {@link CompletableFuture} of {@link OHLCData} custom object, completed
+     * exceptionally with an {@link IOException} when the request has been go wrong
+     * @apiNote see the official documentation at: <a href="https://docs.kraken.com/rest/#tag/Market-Data/operation/getOHLCData">
+     * Get OHLC Data</a>
+     */
+    @Wrapper
+    @RequestPath(method = GET, path = "https://api.kraken.com/0/public/OHLC?pair={pair}")
+    public CompletableFuture<OHLCData> getOHLCDataAsync(String pair) {
+        return getOHLCDataAsync(pair, LIBRARY_OBJECT);
+    }
+
+    /**
+     * Request to get OHLC data information asynchronously<br>
+     *
+     * @param pair:   pair from fetch details es. BTCEUR
+     * @param format: return type formatter -> {@link ReturnFormat}
+     * @return OHLC data information as {@link CompletableFuture} of {"format"} defines, completed exceptionally with
+     * an {@link IOException} when the request has been go wrong
+     * @apiNote see the official documentation at: <a href="https://docs.kraken.com/rest/#tag/Market-Data/operation/getOHLCData">
+     * Get OHLC Data</a>
+     */
+    @RequestPath(method = GET, path = "https://api.kraken.com/0/public/OHLC?pair={pair}")
+    public <T> CompletableFuture<T> getOHLCDataAsync(String pair, ReturnFormat format) {
+        return fetchGetPayloadAsync(GET_OHLC_ENDPOINT + "?pair=" + pair)
+                .thenApply(OHLCDataResponse -> returnOHLCData(OHLCDataResponse, format));
+    }
+
+    /**
+     * Request to get OHLC data information asynchronously<br>
+     *
+     * @param pair:     pair from fetch details es. BTCEUR
+     * @param interval: time frame interval in minutes
+     * @return OHLC data information as {@link CompletableFuture} of {@link OHLCData} custom object, completed
+     * exceptionally with an {@link IOException} when the request has been go wrong
+     * @apiNote see the official documentation at: <a href="https://docs.kraken.com/rest/#tag/Market-Data/operation/getOHLCData">
+     * Get OHLC Data</a>
+     */
+    @Wrapper
+    @RequestPath(method = GET, path = "https://api.kraken.com/0/public/OHLC?pair={pair}&interval={interval}")
+    public CompletableFuture<OHLCData> getOHLCDataAsync(String pair, int interval) {
+        return getOHLCDataAsync(pair, interval, LIBRARY_OBJECT);
+    }
+
+    /**
+     * Request to get OHLC data information asynchronously<br>
+     *
+     * @param pair:     pair from fetch details es. BTCEUR
+     * @param interval: time frame interval in minutes
+     * @param format:   return type formatter -> {@link ReturnFormat}
+     * @return OHLC data information as {@link CompletableFuture} of {"format"} defines, completed exceptionally with
+     * an {@link IOException} when the request has been go wrong
+     * @apiNote see the official documentation at: <a href="https://docs.kraken.com/rest/#tag/Market-Data/operation/getOHLCData">
+     * Get OHLC Data</a>
+     */
+    @RequestPath(method = GET, path = "https://api.kraken.com/0/public/OHLC?pair={pair}&interval={interval}")
+    public <T> CompletableFuture<T> getOHLCDataAsync(String pair, int interval, ReturnFormat format) {
+        return fetchGetPayloadAsync(GET_OHLC_ENDPOINT + "?pair=" + pair + "&interval=" + interval)
+                .thenApply(OHLCDataResponse -> returnOHLCData(OHLCDataResponse, format));
+    }
+
+    /**
+     * Request to get OHLC data information of many pairs<br>
+     *
+     * @param pairs:    pairs from fetch details es. BTCEUR
+     * @param interval: time frame interval in minutes
+     * @return OHLC data information as {@link Map} of {@link String} and {@link OHLCData} custom object, keyed by pair
+     * @throws IOException when all the requests have been go wrong -> you can use these methods to get more details
+     *                     about error:
+     *                     <ul>
+     *                         <li>
+     *                             {@link #getErrorResponse()}
+     *                         </li>
+     *                         <li>
+     *                             {@link #getJSONErrorResponse()}
+     *                         </li>
+     *                         <li>
+     *                             {@link #printErrorResponse()}
+     *                         </li>
+     *                     </ul> using a {@code "try and catch statement"} during runtime, see how to do in {@code "README"} file
+     * @implNote the requests are sent by the {@link #fanOut}, when some of them have been go wrong the pairs are not
+     * in the map and their errors are available with the {@link #getErrorResponse()} method, formatted as
+     * {@code "JSON"} object with the pairs as keys
+     * @apiNote see the official documentation at: <a href="https://docs.kraken.com/rest/#tag/Market-Data/operation/getOHLCData">
+     * Get OHLC Data</a>
+     */
+    @Wrapper
+    @RequestPath(method = GET, path = "https://api.kraken.com/0/public/OHLC?pair={pair}&interval={interval}")
+    public Map<String, OHLCData> getOHLCData(Collection<String> pairs, int interval) throws IOException {
+        return getOHLCData(pairs, interval, LIBRARY_OBJECT);
+    }
+
+    /**
+     * Request to get OHLC data information of many pairs<br>
+     *
+     * @param pairs:    pairs from fetch details es. BTCEUR
+     * @param interval: time frame interval in minutes
+     * @param format:   return type formatter -> {@link ReturnFormat}
+     * @return OHLC data information as {@link Map} of {@link String} and {"format"} defines, keyed by pair
+     * @throws IOException when all the requests have been go wrong -> you can use these methods to get more details
+     *                     about error:
+     *                     <ul>
+     *                         <li>
+     *                             {@link #getErrorResponse()}
+     *                         </li>
+     *                         <li>
+     *                             {@link #getJSONErrorResponse()}
+     *                         </li>
+     *                         <li>
+     *                             {@link #printErrorResponse()}
+     *                         </li>
+     *                     </ul> using a {@code "try and catch statement"} during runtime, see how to do in {@code "README"} file
+     * @implNote the requests are sent by the {@link #fanOut}, when some of them have been go wrong the pairs are not
+     * in the map and their errors are available with the {@link #getErrorResponse()} method, formatted as
+     * {@code "JSON"} object with the pairs as keys
+     * @apiNote see the official documentation at: <a href="https://docs.kraken.com/rest/#tag/Market-Data/operation/getOHLCData">
+     * Get OHLC Data</a>
+     */
+    @RequestPath(method = GET, path = "https://api.kraken.com/0/public/OHLC?pair={pair}&interval={interval}")
+    public <T> Map<String, T> getOHLCData(Collection<String> pairs, int interval,
+                                          ReturnFormat format) throws IOException {
+        return fetchAll(pairs, pair -> returnOHLCData(GET_OHLC_ENDPOINT + "?pair=" + pair + "&interval=" + interval,
+                format));
+    }
+
+    /**
+     * Method to request and assemble an OHLC data object
+     *
+     * @param endpoint: endpoint of the request
+     * @param format:   return type formatter -> {@link ReturnFormat}
+     * @return OHLC data as {"format"} defines
+     * @implNote the {@link ReturnFormat#LIBRARY_OBJECT} format is decoded directly from the stream of the response
+     */
+    @Returner
+    private <T> T returnOHLCData(String endpoint, ReturnFormat format) throws IOException {
+        if (format == LIBRARY_OBJECT)
+            return (T) fetchGetStream(endpoint, OHLCData::decode);
+        return returnOHLCData(fetchGetPayload(endpoint), format);
     }
 
     /**
@@ -1744,14 +2236,14 @@ public class KrakenMarketManager extends KrakenPublicManager {
      * @return OHLC data as {"format"} defines
      */
     @Returner
-    private <T> T returnOHLCData(String OHLCDataResponse, ReturnFormat format) {
+    private <T> T returnOHLCData(KrakenPayload OHLCDataResponse, ReturnFormat format) {
         switch (format) {
             case JSON:
-                return (T) new JSONObject(OHLCDataResponse);
+                return (T) OHLCDataResponse.getJSONPayload();
             case LIBRARY_OBJECT:
-                return (T) new OHLCData(new JSONObject(OHLCDataResponse));
+                return (T) new OHLCData(OHLCDataResponse.getJSONPayload());
             default:
-                return (T) OHLCDataResponse;
+                return (T) OHLCDataResponse.getBody();
         }
     }
 
@@ -1805,7 +2297,7 @@ public class KrakenMarketManager extends KrakenPublicManager {
     @WrappedRequest
     @RequestPath(method = GET, path = "https://api.kraken.com/0/public/Depth?pair={pair}")
     public <T> T getOrderBook(AssetPair pair, ReturnFormat format) throws IOException {
-        return returnBook(sendGetRequest(GET_ORDER_BOOK_ENDPOINT + "?pair=" + pair.getAltName()), format);
+        return returnBook(GET_ORDER_BOOK_ENDPOINT + "?pair=" + pair.getAltName(), format);
     }
 
     /**
@@ -1856,7 +2348,7 @@ public class KrakenMarketManager extends KrakenPublicManager {
      */
     @RequestPath(method = GET, path = "https://api.kraken.com/0/public/Depth?pair={pair}")
     public <T> T getOrderBook(String pair, ReturnFormat format) throws IOException {
-        return returnBook(sendGetRequest(GET_ORDER_BOOK_ENDPOINT + "?pair=" + pair), format);
+        return returnBook(GET_ORDER_BOOK_ENDPOINT + "?pair=" + pair, format);
     }
 
     /**
@@ -1911,8 +2403,8 @@ public class KrakenMarketManager extends KrakenPublicManager {
     @WrappedRequest
     @RequestPath(method = GET, path = "https://api.kraken.com/0/public/Depth?pair={pair}&count={count}")
     public <T> T getOrderBook(AssetPair pair, int count, ReturnFormat format) throws IOException {
-        return returnBook(sendGetRequest(GET_ORDER_BOOK_ENDPOINT + "?pair=" + pair.getAltName() + "&count=" +
-                count), format);
+        return returnBook(GET_ORDER_BOOK_ENDPOINT + "?pair=" + pair.getAltName() + "&count=" +
+                count, format);
     }
 
     /**
@@ -1965,7 +2457,164 @@ public class KrakenMarketManager extends KrakenPublicManager {
      */
     @RequestPath(method = GET, path = "https://api.kraken.com/0/public/Depth?pair={pair}&count={count}")
     public <T> T getOrderBook(String pair, int count, ReturnFormat format) throws IOException {
-        return returnBook(sendGetRequest(GET_ORDER_BOOK_ENDPOINT + "?pair=" + pair + "&count=" + count), format);
+        return returnBook(GET_ORDER_BOOK_ENDPOINT + "?pair=" + pair + "&count=" + count, format);
+    }
+
+    /**
+     * Request to get order book details without throwing exceptions when it has been go wrong<br>
+     *
+     * @param pair:  pair from fetch details es. BTCEUR
+     * @param count: maximum number of asks/bids [1..500]
+     * @return order book details as {@link KrakenResult} of {@link Book}
+     * @apiNote see the official documentation at: <a href="https://docs.kraken.com/rest/#tag/Market-Data/operation/getOrderBook">
+     * Get Order Book</a>
+     */
+    @RequestPath(method = GET, path = "https://api.kraken.com/0/public/Depth?pair={pair}&count={count}")
+    public KrakenResult<Book> getOrderBookResult(String pair, int count) {
+        return fetchGetResult(GET_ORDER_BOOK_ENDPOINT + "?pair=" + pair + "&count=" + count, Book::decode);
+    }
+
+    /**
+     * Request to get order book details asynchronously<br>
+     *
+     * @param pair: pair from fetch details es. BTCEUR
+     * @return order book details as {@link CompletableFuture} of {@link Book} custom object, completed exceptionally
+     * with an {@link IOException} when the request has been go wrong
+     * @apiNote see the official documentation at: <a href="https://docs.kraken.com/rest/#tag/Market-Data/operation/getOrderBook">
+     * Get Order Book</a>
+     */
+    @Wrapper
+    @RequestPath(method = GET, path = "https://api.kraken.com/0/public/Depth?pair={pair}")
+    public CompletableFuture<Book> getOrderBookAsync(String pair) {
+        return getOrderBookAsync(pair, LIBRARY_OBJECT);
+    }
+
+    /**
+     * Request to get order book details asynchronously<br>
+     *
+     * @param pair:   pair from fetch details es. BTCEUR
+     * @param format: return type formatter -> {@link ReturnFormat}
+     * @return order book details as {@link CompletableFuture} of {"format"} defines, completed exceptionally with an
+     * {@link IOException} when the request has been go wrong
+     * @apiNote see the official documentation at: <a href="https://docs.kraken.com/rest/#tag/Market-Data/operation/getOrderBook">
+     * Get Order Book</a>
+     */
+    @RequestPath(method = GET, path = "https://api.kraken.com/0/public/Depth?pair={pair}")
+    public <T> CompletableFuture<T> getOrderBookAsync(String pair, ReturnFormat format) {
+        return fetchGetPayloadAsync(GET_ORDER_BOOK_ENDPOINT + "?pair=" + pair)
+                .thenApply(bookResponse -> returnBook(bookResponse, format));
+    }
+
+    /**
+     * Request to get order book details asynchronously<br>
+     *
+     * @param pair:  pair from fetch details es. BTCEUR
+     * @param count: maximum number of asks and bids
+     * @return order book details as {@link CompletableFuture} of {@link Book} custom object, completed exceptionally
+     * with an {@link IOException} when the request has been go wrong
+     * @apiNote see the official documentation at: <a href="https://docs.kraken.com/rest/#tag/Market-Data/operation/getOrderBook">
+     * Get Order Book</a>
+     */
+    @Wrapper
+    @RequestPath(method = GET, path = "https://api.kraken.com/0/public/Depth?pair={pair}&count={count}")
+    public CompletableFuture<Book> getOrderBookAsync(String pair, int count) {
+        return getOrderBookAsync(pair, count, LIBRARY_OBJECT);
+    }
+
+    /**
+     * Request to get order book details asynchronously<br>
+     *
+     * @param pair:   pair from fetch details es. BTCEUR
+     * @param count:  maximum number of asks and bids
+     * @param format: return type formatter -> {@link ReturnFormat}
+     * @return order book details as {@link CompletableFuture} of {"format"} defines, completed exceptionally with an
+     * {@link IOException} when the request has been go wrong
+     * @apiNote see the official documentation at: <a href="https://docs.kraken.com/rest/#tag/Market-Data/operation/getOrderBook">
+     * Get Order Book</a>
+     */
+    @RequestPath(method = GET, path = "https://api.kraken.com/0/public/Depth?pair={pair}&count={count}")
+    public <T> CompletableFuture<T> getOrderBookAsync(String pair, int count, ReturnFormat format) {
+        return fetchGetPayloadAsync(GET_ORDER_BOOK_ENDPOINT + "?pair=" + pair + "&count=" + count)
+                .thenApply(bookResponse -> returnBook(bookResponse, format));
+    }
+
+    /**
+     * Request to get order book details of many pairs<br>
+     *
+     * @param pairs: pairs from fetch details es. BTCEUR
+     * @param count: maximum number of asks and bids
+     * @return books as {@link Map} of {@link String} and {@link Book} custom object, keyed by pair
+     * @throws IOException when all the requests have been go wrong -> you can use these methods to get more details
+     *                     about error:
+     *                     <ul>
+     *                         <li>
+     *                             {@link #getErrorResponse()}
+     *                         </li>
+     *                         <li>
+     *                             {@link #getJSONErrorResponse()}
+     *                         </li>
+     *                         <li>
+     *                             {@link #printErrorResponse()}
+     *                         </li>
+     *                     </ul> using a {@code "try and catch statement"} during runtime, see how to do in {@code "README"} file
+     * @implNote the requests are sent by the {@link #fanOut}, when some of them have been go wrong the pairs are not
+     * in the map and their errors are available with the {@link #getErrorResponse()} method, formatted as
+     * {@code "JSON"} object with the pairs as keys
+     * @apiNote see the official documentation at: <a href="https://docs.kraken.com/rest/#tag/Market-Data/operation/getOrderBook">
+     * Get Order Book</a>
+     */
+    @Wrapper
+    @RequestPath(method = GET, path = "https://api.kraken.com/0/public/Depth?pair={pair}&count={count}")
+    public Map<String, Book> getOrderBooks(Collection<String> pairs, int count) throws IOException {
+        return getOrderBooks(pairs, count, LIBRARY_OBJECT);
+    }
+
+    /**
+     * Request to get order book details of many pairs<br>
+     *
+     * @param pairs:  pairs from fetch details es. BTCEUR
+     * @param count:  maximum number of asks and bids
+     * @param format: return type formatter -> {@link ReturnFormat}
+     * @return books as {@link Map} of {@link String} and {"format"} defines, keyed by pair
+     * @throws IOException when all the requests have been go wrong -> you can use these methods to get more details
+     *                     about error:
+     *                     <ul>
+     *                         <li>
+     *                             {@link #getErrorResponse()}
+     *                         </li>
+     *                         <li>
+     *                             {@link #getJSONErrorResponse()}
+     *                         </li>
+     *                         <li>
+     *                             {@link #printErrorResponse()}
+     *                         </li>
+     *                     </ul> using a {@code "try and catch statement"} during runtime, see how to do in {@code "README"} file
+     * @implNote the requests are sent by the {@link #fanOut}, when some of them have been go wrong the pairs are not
+     * in the map and their errors are available with the {@link #getErrorResponse()} method, formatted as
+     * {@code "JSON"} object with the pairs as keys
+     * @apiNote see the official documentation at: <a href="https://docs.kraken.com/rest/#tag/Market-Data/operation/getOrderBook">
+     * Get Order Book</a>
+     */
+    @RequestPath(method = GET, path = "https://api.kraken.com/0/public/Depth?pair={pair}&count={count}")
+    public <T> Map<String, T> getOrderBooks(Collection<String> pairs, int count,
+                                            ReturnFormat format) throws IOException {
+        return fetchAll(pairs, pair -> returnBook(GET_ORDER_BOOK_ENDPOINT + "?pair=" + pair + "&count=" + count,
+                format));
+    }
+
+    /**
+     * Method to request and assemble a book object
+     *
+     * @param endpoint: endpoint of the request
+     * @param format:   return type formatter -> {@link ReturnFormat}
+     * @return book as {"format"} defines
+     * @implNote the {@link ReturnFormat#LIBRARY_OBJECT} format is decoded directly from the stream of the response
+     */
+    @Returner
+    private <T> T returnBook(String endpoint, ReturnFormat format) throws IOException {
+        if (format == LIBRARY_OBJECT)
+            return (T) fetchGetStream(endpoint, Book::decode);
+        return returnBook(fetchGetPayload(endpoint), format);
     }
 
     /**
@@ -1976,14 +2625,14 @@ public class KrakenMarketManager extends KrakenPublicManager {
      * @return book as {"format"} defines
      */
     @Returner
-    private <T> T returnBook(String bookResponse, ReturnFormat format) {
+    private <T> T returnBook(KrakenPayload bookResponse, ReturnFormat format) {
         switch (format) {
             case JSON:
-                return (T) new JSONObject(bookResponse);
+                return (T) bookResponse.getJSONPayload();
             case LIBRARY_OBJECT:
-                return (T) new Book(new JSONObject(bookResponse));
+                return (T) new Book(bookResponse.getJSONPayload());
             default:
-                return (T) bookResponse;
+                return (T) bookResponse.getBody();
         }
     }
 
@@ -2235,11 +2884,13 @@ public class KrakenMarketManager extends KrakenPublicManager {
         if (params == null)
             params = new Params();
         params.addParam("pair", pair);
-        String recentTradesResponse = sendGetRequest(GET_RECENT_TRADES_ENDPOINT + params.createQueryString());
+        String endpoint = GET_RECENT_TRADES_ENDPOINT + params.createQueryString();
+        if (format == LIBRARY_OBJECT)
+            return (T) fetchGetStream(endpoint, Trades::decode);
+        KrakenPayload recentTradesResponse = fetchGetPayload(endpoint);
         return switch (format) {
-            case JSON -> (T) new JSONObject(recentTradesResponse);
-            case LIBRARY_OBJECT -> (T) new Trades(new JSONObject(recentTradesResponse));
-            default -> (T) recentTradesResponse;
+            case JSON -> (T) recentTradesResponse.getJSONPayload();
+            default -> (T) recentTradesResponse.getBody();
         };
     }
 
@@ -2294,7 +2945,7 @@ public class KrakenMarketManager extends KrakenPublicManager {
     @WrappedRequest
     @RequestPath(method = GET, path = "https://api.kraken.com/0/public/Spread?pair={pair}")
     public <T> T getRecentSpreads(AssetPair pair, ReturnFormat format) throws IOException {
-        return returnRecentSpreads(sendGetRequest(GET_RECENT_SPREADS_ENDPOINT + "?pair=" + pair.getAltName()),
+        return returnRecentSpreads(GET_RECENT_SPREADS_ENDPOINT + "?pair=" + pair.getAltName(),
                 format);
     }
 
@@ -2347,7 +2998,7 @@ public class KrakenMarketManager extends KrakenPublicManager {
      */
     @RequestPath(method = GET, path = "https://api.kraken.com/0/public/Spread?pair={pair}")
     public <T> T getRecentSpreads(String pair, ReturnFormat format) throws IOException {
-        return returnRecentSpreads(sendGetRequest(GET_RECENT_SPREADS_ENDPOINT + "?pair=" + pair), format);
+        return returnRecentSpreads(GET_RECENT_SPREADS_ENDPOINT + "?pair=" + pair, format);
     }
 
     /**
@@ -2403,8 +3054,8 @@ public class KrakenMarketManager extends KrakenPublicManager {
     @WrappedRequest
     @RequestPath(method = GET, path = "https://api.kraken.com/0/public/Spread?pair={pair}&since={since}")
     public <T> T getRecentSpreads(AssetPair pair, long since, ReturnFormat format) throws IOException {
-        return returnRecentSpreads(sendGetRequest(GET_RECENT_SPREADS_ENDPOINT + "?pair=" + pair.getAltName()
-                + "&since=" + since), format);
+        return returnRecentSpreads(GET_RECENT_SPREADS_ENDPOINT + "?pair=" + pair.getAltName()
+                + "&since=" + since, format);
     }
 
     /**
@@ -2458,8 +3109,23 @@ public class KrakenMarketManager extends KrakenPublicManager {
      */
     @RequestPath(method = GET, path = "https://api.kraken.com/0/public/Spread?pair={pair}&since={since}")
     public <T> T getRecentSpreads(String pair, long since, ReturnFormat format) throws IOException {
-        return returnRecentSpreads(sendGetRequest(GET_RECENT_SPREADS_ENDPOINT + "?pair=" + pair + "&since="
-                + since), format);
+        return returnRecentSpreads(GET_RECENT_SPREADS_ENDPOINT + "?pair=" + pair + "&since="
+                + since, format);
+    }
+
+    /**
+     * Method to request and assemble a recent spreads object
+     *
+     * @param endpoint: endpoint of the request
+     * @param format:   return type formatter -> {@link ReturnFormat}
+     * @return recent spreads as {"format"} defines
+     * @implNote the {@link ReturnFormat#LIBRARY_OBJECT} format is decoded directly from the stream of the response
+     */
+    @Returner
+    private <T> T returnRecentSpreads(String endpoint, ReturnFormat format) throws IOException {
+        if (format == LIBRARY_OBJECT)
+            return (T) fetchGetStream(endpoint, Spreads::decode);
+        return returnRecentSpreads(fetchGetPayload(endpoint), format);
     }
 
     /**
@@ -2470,14 +3136,14 @@ public class KrakenMarketManager extends KrakenPublicManager {
      * @return spreads as {"format"} defines
      */
     @Returner
-    private <T> T returnRecentSpreads(String recentSpreadsResponse, ReturnFormat format) {
+    private <T> T returnRecentSpreads(KrakenPayload recentSpreadsResponse, ReturnFormat format) {
         switch (format) {
             case JSON:
-                return (T) new JSONObject(recentSpreadsResponse);
+                return (T) recentSpreadsResponse.getJSONPayload();
             case LIBRARY_OBJECT:
-                return (T) new Spreads(new JSONObject(recentSpreadsResponse));
+                return (T) new Spreads(recentSpreadsResponse.getJSONPayload());
             default:
-                return (T) recentSpreadsResponse;
+                return (T) recentSpreadsResponse.getBody();
         }
     }
 
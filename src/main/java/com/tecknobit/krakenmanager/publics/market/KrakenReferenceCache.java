@@ -0,0 +1,273 @@
+package com.tecknobit.krakenmanager.publics.market;
+
+import com.tecknobit.krakenmanager.KrakenManager.KrakenPayload;
+import com.tecknobit.krakenmanager.transport.KrakenSingleFlight.Flight;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static com.tecknobit.krakenmanager.publics.market.KrakenMarketManager.*;
+import static java.util.concurrent.TimeUnit.*;
+
+/**
+ * The {@code KrakenReferenceCache} class is useful to keep in memory the reference data of the market, that rarely
+ * changes, as the assets and the assets pairs lists and the system status <br>
+ * Each endpoint has its own time to live, when an entry is read after the {@link #REFRESH_AHEAD_FACTOR} of its time to
+ * live it is refreshed in background, so the entries frequently read never expire, while an expired entry is loaded
+ * again by the reader. The cache is shared by all the {@link KrakenMarketManager}
+ *
+ * @implNote the refresh is triggered by the reads, so the entries that are not read are never requested again in
+ * background and do not cost any request
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ */
+public class KrakenReferenceCache {
+
+    /**
+     * {@code DEFAULT_ASSETS_TTL} is the default time to live, in milliseconds, of the assets list
+     */
+    public static final long DEFAULT_ASSETS_TTL = HOURS.toMillis(1);
+
+    /**
+     * {@code DEFAULT_ASSET_PAIRS_TTL} is the default time to live, in milliseconds, of the assets pairs list
+     */
+    public static final long DEFAULT_ASSET_PAIRS_TTL = HOURS.toMillis(1);
+
+    /**
+     * {@code DEFAULT_SERVER_TIME_TTL} is the default time to live, in milliseconds, of the server time, 0 so it is
+     * not cached, because a cached server time is stale up to its time to live
+     */
+    public static final long DEFAULT_SERVER_TIME_TTL = 0;
+
+    /**
+     * {@code DEFAULT_SYSTEM_STATUS_TTL} is the default time to live, in milliseconds, of the system status
+     */
+    public static final long DEFAULT_SYSTEM_STATUS_TTL = SECONDS.toMillis(10);
+
+    /**
+     * {@code REFRESH_AHEAD_FACTOR} is the fraction of the time to live after which an entry read is refreshed in
+     * background
+     */
+    public static final double REFRESH_AHEAD_FACTOR = 0.8;
+
+    /**
+     * {@code sharedCache} is the instance shared by all the {@link KrakenMarketManager}
+     */
+    private static final KrakenReferenceCache sharedCache = new KrakenReferenceCache();
+
+    /**
+     * {@code ttls} is the instance that memorizes the time to live, in nanoseconds, of each endpoint
+     */
+    private final ConcurrentHashMap<String, Long> ttls;
+
+    /**
+     * {@code references} is the instance that memorizes the entries cached by their endpoints
+     */
+    private final ConcurrentHashMap<String, Reference> references;
+
+    /**
+     * {@code refreshing} is the instance that memorizes the endpoints that are refreshing in background
+     */
+    private final Set<String> refreshing;
+
+    /**
+     * Constructor to init a {@link KrakenReferenceCache} with the default times to live <br>
+     * No-any params required
+     */
+    public KrakenReferenceCache() {
+        ttls = new ConcurrentHashMap<>();
+        references = new ConcurrentHashMap<>();
+        refreshing = ConcurrentHashMap.newKeySet();
+        setTtl(GET_ASSETS_ENDPOINT, DEFAULT_ASSETS_TTL);
+        setTtl(GET_ASSET_PAIRS_ENDPOINT, DEFAULT_ASSET_PAIRS_TTL);
+        setTtl(GET_SERVER_TIME_ENDPOINT, DEFAULT_SERVER_TIME_TTL);
+        setTtl(GET_SYSTEM_STATUS_ENDPOINT, DEFAULT_SYSTEM_STATUS_TTL);
+    }
+
+    /**
+     * Method to get the cache shared by all the {@link KrakenMarketManager} <br>
+     * No-any params required
+     *
+     * @return shared cache as {@link KrakenReferenceCache}
+     */
+    public static KrakenReferenceCache getSharedCache() {
+        return sharedCache;
+    }
+
+    /**
+     * Method to get the entry of an endpoint, loading it when it is not cached or it has been expired
+     *
+     * @param endpoint:    endpoint of the entry es. AssetPairs
+     * @param loader:      loader used to fetch the entry when it is not cached or it has been expired
+     * @param asyncLoader: loader used to refresh the entry in background before it expires
+     * @return entry of the endpoint as {@link Reference}, null if the cache is disabled for the endpoint
+     * @throws IOException when the request has been go wrong
+     */
+    public Reference getReference(String endpoint, Flight<KrakenPayload> loader,
+                                  Supplier<CompletableFuture<KrakenPayload>> asyncLoader) throws IOException {
+        long ttl = ttls.getOrDefault(endpoint, 0L);
+        if (ttl <= 0)
+            return null;
+        Reference reference = references.get(endpoint);
+        long age = reference != null ? System.nanoTime() - reference.loadedAt : Long.MAX_VALUE;
+        if (age >= ttl) {
+            reference = new Reference(loader.fly());
+            references.put(endpoint, reference);
+        } else if (age >= ttl * REFRESH_AHEAD_FACTOR && refreshing.add(endpoint)) {
+            try {
+                asyncLoader.get().whenComplete((payload, throwable) -> {
+                    if (payload != null)
+                        references.put(endpoint, new Reference(payload));
+                    refreshing.remove(endpoint);
+                });
+            } catch (RuntimeException e) {
+                refreshing.remove(endpoint);
+            }
+        }
+        return reference;
+    }
+
+    /**
+     * Method to set the time to live of an endpoint
+     *
+     * @param endpoint: endpoint to set es. AssetPairs
+     * @param ttl:      time to live in milliseconds, 0 to disable the cache for the endpoint
+     */
+    public void setTtl(String endpoint, long ttl) {
+        ttls.put(endpoint, MILLISECONDS.toNanos(Math.max(0, ttl)));
+        if (ttl <= 0)
+            references.remove(endpoint);
+    }
+
+    /**
+     * Method to get the time to live of an endpoint
+     *
+     * @param endpoint: endpoint to get es. AssetPairs
+     * @return time to live in milliseconds as long, 0 if the cache is disabled for the endpoint
+     */
+    public long getTtl(String endpoint) {
+        return NANOSECONDS.toMillis(ttls.getOrDefault(endpoint, 0L));
+    }
+
+    /**
+     * Method to invalidate the entry of an endpoint, so it is loaded again by the next reader
+     *
+     * @param endpoint: endpoint to invalidate es. AssetPairs
+     */
+    public void invalidate(String endpoint) {
+        references.remove(endpoint);
+    }
+
+    /**
+     * Method to invalidate all the entries, so they are loaded again by the next readers <br>
+     * No-any params required
+     */
+    public void invalidateAll() {
+        references.clear();
+    }
+
+    /**
+     * The {@code Reference} class is useful to memorize an entry of the cache <br>
+     * The items of the {@code "result"} value are indexed by their keys and by their alternative names, so they can be
+     * found with any of the symbols used by Kraken
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     */
+    public static class Reference {
+
+        /**
+         * {@code payload} is the payload of the entry
+         */
+        private final KrakenPayload payload;
+
+        /**
+         * {@code loadedAt} is the time, in nanoseconds, when the entry has been loaded
+         */
+        private final long loadedAt;
+
+        /**
+         * {@code itemKeys} is the instance that memorizes the key of each item by its symbols
+         */
+        private final Map<String, String> itemKeys;
+
+        /**
+         * Constructor to init a {@link Reference}
+         *
+         * @param payload: payload of the entry
+         */
+        public Reference(KrakenPayload payload) {
+            this.payload = payload;
+            loadedAt = System.nanoTime();
+            HashMap<String, String> itemKeys = new HashMap<>();
+            JSONObject result = payload.getJSONPayload().optJSONObject("result");
+            if (result != null) {
+                for (String key : result.keySet()) {
+                    JSONObject item = result.optJSONObject(key);
+                    if (item != null) {
+                        itemKeys.put(key, key);
+                        for (String name : new String[]{"altname", "wsname"}) {
+                            String symbol = item.optString(name, null);
+                            if (symbol != null)
+                                itemKeys.putIfAbsent(symbol, key);
+                        }
+                    }
+                }
+            }
+            this.itemKeys = Collections.unmodifiableMap(itemKeys);
+        }
+
+        /**
+         * Method to get {@link #payload} instance <br>
+         * No-any params required
+         *
+         * @return {@link #payload} instance as {@link KrakenPayload}
+         * @implNote the payload is shared by all the readers, so it must not be modified
+         */
+        public KrakenPayload getPayload() {
+            return payload;
+        }
+
+        /**
+         * Method to get the key of an item
+         *
+         * @param symbol: key or alternative name of the item es. XBTEUR
+         * @return key of the item as {@link String}, null if the item is not cached
+         */
+        public String getItemKey(String symbol) {
+            return itemKeys.get(symbol);
+        }
+
+        /**
+         * Method to get an item of the {@code "result"} value
+         *
+         * @param symbol: key or alternative name of the item es. XBTEUR
+         * @return item as {@link JSONObject}, null if the item is not cached
+         * @implNote the item is shared by all the readers, so it must not be modified
+         */
+        public JSONObject getItem(String symbol) {
+            String key = itemKeys.get(symbol);
+            if (key == null)
+                return null;
+            return payload.getJSONPayload().getJSONObject("result").getJSONObject(key);
+        }
+
+        /**
+         * Method to get the symbols of the items, both their keys and their alternative names <br>
+         * No-any params required
+         *
+         * @return symbols as {@link Set} of {@link String}
+         */
+        public Set<String> getSymbols() {
+            return itemKeys.keySet();
+        }
+
+    }
+
+}
@@ -2,9 +2,11 @@ package com.tecknobit.krakenmanager.publics.market.records;
 
 import com.tecknobit.apimanager.annotations.Returner;
 import com.tecknobit.krakenmanager.KrakenManager;
+import com.tecknobit.krakenmanager.transport.KrakenJsonReader;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
+import java.io.IOException;
 import java.util.ArrayList;
 
 import static com.tecknobit.apimanager.trading.TradingTools.roundValue;
@@ -75,6 +77,52 @@ public class Book extends KrakenManager.KrakenResponse {
         return bookElements;
     }
 
+    /**
+     * Method to decode a {@link Book} object reading it from the stream of the response
+     *
+     * @param reader: reader positioned on the {@code "result"} value of the response
+     * @return book as {@link Book}
+     * @throws IOException when the response is not valid
+     */
+    public static Book decode(KrakenJsonReader reader) throws IOException {
+        String symbol = null;
+        ArrayList<BookElement> asks = new ArrayList<>();
+        ArrayList<BookElement> bids = new ArrayList<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            symbol = reader.nextName();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "asks" -> decodeBookElementsList(reader, asks);
+                    case "bids" -> decodeBookElementsList(reader, bids);
+                    default -> reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+        reader.endObject();
+        return new Book(symbol, asks, bids);
+    }
+
+    /**
+     * Method to decode a book elements list reading it from the stream of the response
+     *
+     * @param reader:       reader positioned on the list
+     * @param bookElements: list where add the book elements decoded
+     * @throws IOException when the response is not valid
+     */
+    private static void decodeBookElementsList(KrakenJsonReader reader,
+                                               ArrayList<BookElement> bookElements) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            reader.beginArray();
+            bookElements.add(new BookElement(reader.nextDouble(), reader.nextDouble(), reader.nextLong()));
+            reader.skipRemaining();
+        }
+        reader.endArray();
+    }
+
     /**
      * Method to get {@link #symbol} instance <br>
      * No-any params required
@@ -0,0 +1,411 @@
+package com.tecknobit.krakenmanager.publics.market.records;
+
+import com.tecknobit.krakenmanager.transport.KrakenJsonReader;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * The {@code TickerSnapshot} class is useful to format the tickers of many pairs in a columnar way <br>
+ * Each pair has an id, from 0 to {@link #size()} excluded, that is the index of its values in the primitive arrays of
+ * the snapshot, so the tickers of all the pairs are memorized in a few arrays instead of a {@link TickerInformation}
+ * object for each pair. The volume, the volume weighted average price, the low and the high are the values of the last
+ * 24 hours, the values that are not sent by Kraken are {@link Double#NaN}
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote see the official documentation at: <a href="https://docs.kraken.com/rest/#tag/Market-Data/operation/getTickerInformation">
+ * Get Ticker Information</a>
+ */
+public class TickerSnapshot {
+
+    /**
+     * {@code INITIAL_CAPACITY} is the initial number of the pairs of the arrays while the snapshot is decoded
+     */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * {@code pairs} is instance that memorizes the pairs by their ids
+     */
+    private final String[] pairs;
+
+    /**
+     * {@code pairIds} is instance that memorizes the ids of the pairs
+     */
+    private final HashMap<String, Integer> pairIds;
+
+    /**
+     * {@code ask} is instance that memorizes the best ask price of each pair
+     */
+    private final double[] ask;
+
+    /**
+     * {@code bid} is instance that memorizes the best bid price of each pair
+     */
+    private final double[] bid;
+
+    /**
+     * {@code last} is instance that memorizes the price of the last trade of each pair
+     */
+    private final double[] last;
+
+    /**
+     * {@code volume} is instance that memorizes the volume of the last 24 hours of each pair
+     */
+    private final double[] volume;
+
+    /**
+     * {@code vwap} is instance that memorizes the volume weighted average price of the last 24 hours of each pair
+     */
+    private final double[] vwap;
+
+    /**
+     * {@code low} is instance that memorizes the lowest price of the last 24 hours of each pair
+     */
+    private final double[] low;
+
+    /**
+     * {@code high} is instance that memorizes the highest price of the last 24 hours of each pair
+     */
+    private final double[] high;
+
+    /**
+     * {@code open} is instance that memorizes the opening price of today of each pair
+     */
+    private final double[] open;
+
+    /**
+     * Constructor to init a {@link TickerSnapshot} object
+     *
+     * @param size:   number of the pairs
+     * @param pairs:  pairs by their ids, only the first {@code "size"} values are used
+     * @param ask:    best ask price of each pair
+     * @param bid:    best bid price of each pair
+     * @param last:   price of the last trade of each pair
+     * @param volume: volume of the last 24 hours of each pair
+     * @param vwap:   volume weighted average price of the last 24 hours of each pair
+     * @param low:    lowest price of the last 24 hours of each pair
+     * @param high:   highest price of the last 24 hours of each pair
+     * @param open:   opening price of today of each pair
+     */
+    public TickerSnapshot(int size, String[] pairs, double[] ask, double[] bid, double[] last, double[] volume,
+                          double[] vwap, double[] low, double[] high, double[] open) {
+        this.pairs = Arrays.copyOf(pairs, size);
+        this.ask = Arrays.copyOf(ask, size);
+        this.bid = Arrays.copyOf(bid, size);
+        this.last = Arrays.copyOf(last, size);
+        this.volume = Arrays.copyOf(volume, size);
+        this.vwap = Arrays.copyOf(vwap, size);
+        this.low = Arrays.copyOf(low, size);
+        this.high = Arrays.copyOf(high, size);
+        this.open = Arrays.copyOf(open, size);
+        pairIds = new HashMap<>(size * 2);
+        for (int id = 0; id < size; id++)
+            pairIds.put(this.pairs[id], id);
+    }
+
+    /**
+     * Method to decode a {@link TickerSnapshot} object reading it from the stream of the response
+     *
+     * @param reader: reader positioned on the {@code "result"} value of the response
+     * @return ticker snapshot as {@link TickerSnapshot}
+     * @throws IOException when the response is not valid
+     */
+    public static TickerSnapshot decode(KrakenJsonReader reader) throws IOException {
+        int size = 0;
+        String[] pairs = new String[INITIAL_CAPACITY];
+        double[][] columns = new double[8][INITIAL_CAPACITY];
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (size == pairs.length) {
+                pairs = Arrays.copyOf(pairs, size * 2);
+                for (int j = 0; j < columns.length; j++)
+                    columns[j] = Arrays.copyOf(columns[j], size * 2);
+            }
+            pairs[size] = reader.nextName();
+            for (double[] column : columns)
+                column[size] = Double.NaN;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "a" -> columns[0][size] = decodeValue(reader, 0);
+                    case "b" -> columns[1][size] = decodeValue(reader, 0);
+                    case "c" -> columns[2][size] = decodeValue(reader, 0);
+                    case "v" -> columns[3][size] = decodeValue(reader, 1);
+                    case "p" -> columns[4][size] = decodeValue(reader, 1);
+                    case "l" -> columns[5][size] = decodeValue(reader, 1);
+                    case "h" -> columns[6][size] = decodeValue(reader, 1);
+                    case "o" -> columns[7][size] = reader.nextDouble();
+                    default -> reader.skipValue();
+                }
+            }
+            reader.endObject();
+            size++;
+        }
+        reader.endObject();
+        return new TickerSnapshot(size, pairs, columns[0], columns[1], columns[2], columns[3], columns[4],
+                columns[5], columns[6], columns[7]);
+    }
+
+    /**
+     * Method to decode a value of an array of the ticker, skipping the other values
+     *
+     * @param reader: reader positioned on the array
+     * @param index:  index of the value to decode
+     * @return value decoded as double, {@link Double#NaN} if the array has not the index
+     * @throws IOException when the response is not valid
+     */
+    private static double decodeValue(KrakenJsonReader reader, int index) throws IOException {
+        double value = Double.NaN;
+        reader.beginArray();
+        for (int j = 0; j <= index && reader.hasNext(); j++) {
+            if (j == index)
+                value = reader.nextDouble();
+            else
+                reader.skipValue();
+        }
+        reader.skipRemaining();
+        return value;
+    }
+
+    /**
+     * Method to get the number of the pairs of the snapshot <br>
+     * No-any params required
+     *
+     * @return number of the pairs as int
+     */
+    public int size() {
+        return pairs.length;
+    }
+
+    /**
+     * Method to get the id of a pair
+     *
+     * @param pair: pair as sent by Kraken es. XXBTZEUR
+     * @return id of the pair as int, -1 if the pair is not in the snapshot
+     */
+    public int getPairId(String pair) {
+        Integer id = pairIds.get(pair);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Method to get a pair
+     *
+     * @param id: id of the pair
+     * @return pair as {@link String}
+     */
+    public String getPair(int id) {
+        return pairs[id];
+    }
+
+    /**
+     * Method to get the best ask price of a pair
+     *
+     * @param id: id of the pair
+     * @return best ask price as double
+     */
+    public double getAsk(int id) {
+        return ask[id];
+    }
+
+    /**
+     * Method to get the best bid price of a pair
+     *
+     * @param id: id of the pair
+     * @return best bid price as double
+     */
+    public double getBid(int id) {
+        return bid[id];
+    }
+
+    /**
+     * Method to get the price of the last trade of a pair
+     *
+     * @param id: id of the pair
+     * @return price of the last trade as double
+     */
+    public double getLast(int id) {
+        return last[id];
+    }
+
+    /**
+     * Method to get the volume of the last 24 hours of a pair
+     *
+     * @param id: id of the pair
+     * @return volume of the last 24 hours as double
+     */
+    public double getVolume(int id) {
+        return volume[id];
+    }
+
+    /**
+     * Method to get the volume weighted average price of the last 24 hours of a pair
+     *
+     * @param id: id of the pair
+     * @return volume weighted average price of the last 24 hours as double
+     */
+    public double getVwap(int id) {
+        return vwap[id];
+    }
+
+    /**
+     * Method to get the lowest price of the last 24 hours of a pair
+     *
+     * @param id: id of the pair
+     * @return lowest price of the last 24 hours as double
+     */
+    public double getLow(int id) {
+        return low[id];
+    }
+
+    /**
+     * Method to get the highest price of the last 24 hours of a pair
+     *
+     * @param id: id of the pair
+     * @return highest price of the last 24 hours as double
+     */
+    public double getHigh(int id) {
+        return high[id];
+    }
+
+    /**
+     * Method to get the opening price of today of a pair
+     *
+     * @param id: id of the pair
+     * @return opening price of today as double
+     */
+    public double getOpen(int id) {
+        return open[id];
+    }
+
+    /**
+     * Method to get the columns of the snapshot <br>
+     * No-any params required
+     *
+     * @return columns of the snapshot as {@link Columns}
+     * @apiNote the arrays of the columns are the ones of the snapshot, so they have not to be modified
+     */
+    public Columns getColumns() {
+        return new Columns();
+    }
+
+    /**
+     * Returns a string representation of the object <br>
+     * No-any params required
+     *
+     * @return a string representation of the object as {@link String}
+     */
+    @Override
+    public String toString() {
+        return "TickerSnapshot{size=" + pairs.length + "}";
+    }
+
+    /**
+     * The {@code Columns} class is useful to read directly the primitive arrays of a {@link TickerSnapshot}, es. to
+     * screen all the pairs with a loop
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     */
+    public class Columns {
+
+        /**
+         * Constructor to init a {@link Columns} object <br>
+         * No-any params required
+         */
+        private Columns() {
+        }
+
+        /**
+         * Method to get the pairs by their ids <br>
+         * No-any params required
+         *
+         * @return pairs as array of {@link String}
+         */
+        public String[] getPairs() {
+            return pairs;
+        }
+
+        /**
+         * Method to get the best ask prices by the ids of the pairs <br>
+         * No-any params required
+         *
+         * @return best ask prices as array of double
+         */
+        public double[] getAsk() {
+            return ask;
+        }
+
+        /**
+         * Method to get the best bid prices by the ids of the pairs <br>
+         * No-any params required
+         *
+         * @return best bid prices as array of double
+         */
+        public double[] getBid() {
+            return bid;
+        }
+
+        /**
+         * Method to get the prices of the last trades by the ids of the pairs <br>
+         * No-any params required
+         *
+         * @return prices of the last trades as array of double
+         */
+        public double[] getLast() {
+            return last;
+        }
+
+        /**
+         * Method to get the volumes of the last 24 hours by the ids of the pairs <br>
+         * No-any params required
+         *
+         * @return volumes of the last 24 hours as array of double
+         */
+        public double[] getVolume() {
+            return volume;
+        }
+
+        /**
+         * Method to get the volume weighted average prices of the last 24 hours by the ids of the pairs <br>
+         * No-any params required
+         *
+         * @return volume weighted average prices of the last 24 hours as array of double
+         */
+        public double[] getVwap() {
+            return vwap;
+        }
+
+        /**
+         * Method to get the lowest prices of the last 24 hours by the ids of the pairs <br>
+         * No-any params required
+         *
+         * @return lowest prices of the last 24 hours as array of double
+         */
+        public double[] getLow() {
+            return low;
+        }
+
+        /**
+         * Method to get the highest prices of the last 24 hours by the ids of the pairs <br>
+         * No-any params required
+         *
+         * @return highest prices of the last 24 hours as array of double
+         */
+        public double[] getHigh() {
+            return high;
+        }
+
+        /**
+         * Method to get the opening prices of today by the ids of the pairs <br>
+         * No-any params required
+         *
+         * @return opening prices of today as array of double
+         */
+        public double[] getOpen() {
+            return open;
+        }
+
+    }
+
+}
@@ -1,8 +1,10 @@
 package com.tecknobit.krakenmanager.publics.market.records.lists;
 
+import com.tecknobit.krakenmanager.transport.KrakenJsonReader;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
+import java.io.IOException;
 import java.util.ArrayList;
 
 import static com.tecknobit.apimanager.trading.TradingTools.roundValue;
@@ -90,6 +92,34 @@ public class OHLCData extends MarketList {
             ticksData.add(new TickData(dataList.getJSONArray(j)));
     }
 
+    /**
+     * Method to decode an {@link OHLCData} object reading it from the stream of the response
+     *
+     * @param reader: reader positioned on the {@code "result"} value of the response
+     * @return OHLC data as {@link OHLCData}
+     * @throws IOException when the response is not valid
+     */
+    public static OHLCData decode(KrakenJsonReader reader) throws IOException {
+        long last = -1;
+        String symbol = null;
+        ArrayList<TickData> ticksData = new ArrayList<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (name.equals("last"))
+                last = reader.nextLong();
+            else {
+                symbol = name;
+                reader.beginArray();
+                while (reader.hasNext())
+                    ticksData.add(TickData.decode(reader));
+                reader.endArray();
+            }
+        }
+        reader.endObject();
+        return new OHLCData(last, symbol, ticksData);
+    }
+
     /**
      * Method to get {@link #ticksData} instance <br>
      * No-any params required
@@ -193,6 +223,22 @@ public class OHLCData extends MarketList {
             }
         }
 
+        /**
+         * Method to decode a {@link TickData} object reading it from the stream of the response
+         *
+         * @param reader: reader positioned on the tick data
+         * @return tick data as {@link TickData}
+         * @throws IOException when the response is not valid
+         */
+        public static TickData decode(KrakenJsonReader reader) throws IOException {
+            reader.beginArray();
+            TickData tickData = new TickData(reader.nextLong(), reader.nextDouble(), reader.nextDouble(),
+                    reader.nextDouble(), reader.nextDouble(), reader.nextDouble(), reader.nextDouble(),
+                    reader.nextInt());
+            reader.skipRemaining();
+            return tickData;
+        }
+
         /**
          * Method to get {@link #time} instance <br>
          * No-any params required
@@ -1,8 +1,10 @@
 package com.tecknobit.krakenmanager.publics.market.records.lists;
 
+import com.tecknobit.krakenmanager.transport.KrakenJsonReader;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
+import java.io.IOException;
 import java.util.ArrayList;
 
 import static com.tecknobit.apimanager.trading.TradingTools.roundValue;
@@ -54,6 +56,34 @@ public class Spreads extends MarketList {
             recentSpreads.add(new Spread(jsonSpreads.getJSONArray(j)));
     }
 
+    /**
+     * Method to decode a {@link Spreads} object reading it from the stream of the response
+     *
+     * @param reader: reader positioned on the {@code "result"} value of the response
+     * @return spreads as {@link Spreads}
+     * @throws IOException when the response is not valid
+     */
+    public static Spreads decode(KrakenJsonReader reader) throws IOException {
+        long last = -1;
+        String symbol = null;
+        ArrayList<Spread> recentSpreads = new ArrayList<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (name.equals("last"))
+                last = reader.nextLong();
+            else {
+                symbol = name;
+                reader.beginArray();
+                while (reader.hasNext())
+                    recentSpreads.add(Spread.decode(reader));
+                reader.endArray();
+            }
+        }
+        reader.endObject();
+        return new Spreads(last, symbol, recentSpreads);
+    }
+
     /**
      * Method to get {@link #recentSpreads} instance <br>
      * No-any params required
@@ -100,9 +130,9 @@ public class Spreads extends MarketList {
          */
         public Spread(JSONArray jsonSpread) {
             if (jsonSpread != null) {
-                timestamp = jsonSpread.getLong(2);
-                doubleOne = jsonSpread.getDouble(0);
-                doubleTwo = jsonSpread.getDouble(1);
+                timestamp = jsonSpread.getLong(0);
+                doubleOne = jsonSpread.getDouble(1);
+                doubleTwo = jsonSpread.getDouble(2);
             } else {
                 timestamp = -1;
                 doubleOne = -1;
@@ -110,6 +140,20 @@ public class Spreads extends MarketList {
             }
         }
 
+        /**
+         * Method to decode a {@link Spread} object reading it from the stream of the response
+         *
+         * @param reader: reader positioned on the spread data
+         * @return spread as {@link Spread}
+         * @throws IOException when the response is not valid
+         */
+        public static Spread decode(KrakenJsonReader reader) throws IOException {
+            reader.beginArray();
+            Spread spread = new Spread(reader.nextLong(), reader.nextDouble(), reader.nextDouble());
+            reader.skipRemaining();
+            return spread;
+        }
+
         /**
          * Method to get {@link #timestamp} instance <br>
          * No-any params required
@@ -1,8 +1,10 @@
 package com.tecknobit.krakenmanager.publics.market.records.lists;
 
+import com.tecknobit.krakenmanager.transport.KrakenJsonReader;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
+import java.io.IOException;
 import java.util.ArrayList;
 
 import static com.tecknobit.apimanager.trading.TradingTools.roundValue;
@@ -53,7 +55,35 @@ public class Trades extends MarketList {
         recentTrades = new ArrayList<>();
         JSONArray jsonTrades = result.getJSONArray(symbol, new JSONArray());
         for (int j = 0; j < jsonTrades.length(); j++)
-            recentTrades.add(new RecentTrade(jsonTrades.getJSONArray(0)));
+            recentTrades.add(new RecentTrade(jsonTrades.getJSONArray(j)));
+    }
+
+    /**
+     * Method to decode a {@link Trades} object reading it from the stream of the response
+     *
+     * @param reader: reader positioned on the {@code "result"} value of the response
+     * @return trades as {@link Trades}
+     * @throws IOException when the response is not valid
+     */
+    public static Trades decode(KrakenJsonReader reader) throws IOException {
+        long last = -1;
+        String symbol = null;
+        ArrayList<RecentTrade> recentTrades = new ArrayList<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (name.equals("last"))
+                last = reader.nextLong();
+            else {
+                symbol = name;
+                reader.beginArray();
+                while (reader.hasNext())
+                    recentTrades.add(RecentTrade.decode(reader));
+                reader.endArray();
+            }
+        }
+        reader.endObject();
+        return new Trades(last, symbol, recentTrades);
     }
 
     /**
@@ -139,6 +169,21 @@ public class Trades extends MarketList {
             }
         }
 
+        /**
+         * Method to decode a {@link RecentTrade} object reading it from the stream of the response
+         *
+         * @param reader: reader positioned on the recent trade data
+         * @return recent trade as {@link RecentTrade}
+         * @throws IOException when the response is not valid
+         */
+        public static RecentTrade decode(KrakenJsonReader reader) throws IOException {
+            reader.beginArray();
+            RecentTrade recentTrade = new RecentTrade(reader.nextDouble(), reader.nextDouble(), reader.nextLong(),
+                    reader.nextString(), reader.nextString(), reader.nextString());
+            reader.skipRemaining();
+            return recentTrade;
+        }
+
         /**
          * Method to get {@link #price} instance <br>
          * No-any params required
@@ -0,0 +1,650 @@
+package com.tecknobit.krakenmanager.publics.websockets;
+
+import com.tecknobit.krakenmanager.KrakenClientContext;
+import com.tecknobit.krakenmanager.publics.market.records.Book;
+import com.tecknobit.krakenmanager.publics.market.records.Book.BookElement;
+import com.tecknobit.krakenmanager.publics.market.records.TickerInformation;
+import com.tecknobit.krakenmanager.publics.market.records.TickerInformation.MarketAction;
+import com.tecknobit.krakenmanager.publics.market.records.TickerInformation.MarketParam;
+import com.tecknobit.krakenmanager.publics.market.records.TickerInformation.Trade;
+import com.tecknobit.krakenmanager.publics.market.records.lists.OHLCData.TickData;
+import com.tecknobit.krakenmanager.publics.market.records.lists.Spreads.Spread;
+import com.tecknobit.krakenmanager.publics.market.records.lists.Trades.RecentTrade;
+import com.tecknobit.krakenmanager.transport.KrakenJsonReader;
+import com.tecknobit.krakenmanager.transport.KrakenTransport;
+import com.tecknobit.krakenmanager.transport.KrakenWebSocket;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code KrakenMarketStream} class is useful to receive the market data of Kraken from its public WebSocket API,
+ * without polling the REST endpoints <br>
+ * The subscriptions of all the symbols are multiplexed on a single connection, restored each time the connection is
+ * opened again, and their messages are decoded in the same records of the {@code KrakenMarketManager}:
+ * <pre>
+ *     {@code
+ *        KrakenMarketStream stream = new KrakenMarketStream();
+ *        stream.connect();
+ *        stream.subscribeTicker(List.of("BTC/USD", "ETH/USD"), (symbol, ticker, snapshot) ->
+ *                System.out.println(symbol + " " + ticker.getAsk().getPrice()));
+ *        stream.subscribeBook(List.of("BTC/USD"), 10, (symbol, book, snapshot) -> updateBook(book, snapshot));
+ *     }
+ * </pre>
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote see the official documentation at: <a href="https://docs.kraken.com/api/docs/websocket-v2/ticker">
+ * WebSocket v2 Market Data</a>
+ * @implNote the WebSocket v2 API has not a spread channel, so the spreads are decoded from the {@code "ticker"}
+ * channel subscribed with the {@code "bbo"} trigger, that sends an update at each change of the best bid and offer.
+ * The same subscription is used when also the ticker of the symbol is requested
+ */
+public class KrakenMarketStream extends KrakenWebSocket {
+
+    /**
+     * {@code PUBLIC_WEBSOCKETS_URL} is constant for the url of the public WebSocket API
+     */
+    public static final String PUBLIC_WEBSOCKETS_URL = "wss://ws.kraken.com/v2";
+
+    /**
+     * {@code Channel} list of the channels available
+     */
+    public enum Channel {
+
+        /**
+         * {@code ticker} channel of the ticker information of the symbols
+         */
+        ticker,
+
+        /**
+         * {@code spread} channel of the best bid and offer of the symbols
+         */
+        spread,
+
+        /**
+         * {@code book} channel of the books of the symbols
+         */
+        book,
+
+        /**
+         * {@code trade} channel of the trades of the symbols
+         */
+        trade,
+
+        /**
+         * {@code ohlc} channel of the candles of the symbols
+         */
+        ohlc
+
+    }
+
+    /**
+     * {@code MarketListener} is the interface useful to receive the values of a channel
+     *
+     * @param <T> type of the values of the channel
+     */
+    @FunctionalInterface
+    public interface MarketListener<T> {
+
+        /**
+         * Method invoked when a value of a symbol is received
+         *
+         * @param symbol:   symbol of the value es. BTC/USD
+         * @param value:    value received
+         * @param snapshot: whether the value is part of the snapshot sent when the channel is subscribed, es. the
+         *                  whole book, or an update
+         */
+        void onUpdate(String symbol, T value, boolean snapshot);
+
+    }
+
+    /**
+     * {@code subscriptions} are the subscriptions of the stream by channel and symbol
+     */
+    private final ConcurrentHashMap<String, Subscription> subscriptions = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor to init a {@link KrakenMarketStream} with the transport shared by all the managers <br>
+     * No-any params required
+     */
+    public KrakenMarketStream() {
+        this(PUBLIC_WEBSOCKETS_URL, KrakenTransport.getSharedTransport().getHttpClient());
+    }
+
+    /**
+     * Constructor to init a {@link KrakenMarketStream}
+     *
+     * @param context: configuration whose transport is used to open the connection
+     */
+    public KrakenMarketStream(KrakenClientContext context) {
+        this(PUBLIC_WEBSOCKETS_URL, context.getTransport().getHttpClient());
+    }
+
+    /**
+     * Constructor to init a {@link KrakenMarketStream}
+     *
+     * @param url:        url of the WebSocket API, es. the one of a local stand-in
+     * @param httpClient: client used to open the connection
+     */
+    public KrakenMarketStream(String url, HttpClient httpClient) {
+        super(url, httpClient);
+    }
+
+    /**
+     * Method to subscribe to the ticker information of symbols
+     *
+     * @param symbols:  symbols to subscribe es. BTC/USD
+     * @param listener: listener of the ticker information
+     * @return future completed with the response of Kraken as {@link Response}, completed immediately with null when
+     * the symbols are already subscribed or the connection is not open, in that case they are subscribed when the
+     * connection is opened
+     * @implNote the WebSocket API sends the last price, the best bid and offer and the values of the last 24 hours,
+     * so the today values, the volume of the last trade and the number of the trades are 0
+     */
+    public CompletableFuture<Response> subscribeTicker(Collection<String> symbols,
+                                                       MarketListener<TickerInformation> listener) {
+        return subscribe(Channel.ticker, symbols, 0, listener);
+    }
+
+    /**
+     * Method to subscribe to the spreads of symbols
+     *
+     * @param symbols:  symbols to subscribe es. BTC/USD
+     * @param listener: listener of the spreads
+     * @return future completed with the response of Kraken as {@link Response}, completed immediately with null when
+     * the symbols are already subscribed or the connection is not open, in that case they are subscribed when the
+     * connection is opened
+     */
+    public CompletableFuture<Response> subscribeSpreads(Collection<String> symbols, MarketListener<Spread> listener) {
+        return subscribe(Channel.spread, symbols, 0, listener);
+    }
+
+    /**
+     * Method to subscribe to the books of symbols
+     *
+     * @param symbols:  symbols to subscribe es. BTC/USD
+     * @param depth:    depth of the books -> 10, 25, 100, 500 or 1000
+     * @param listener: listener of the books, the first book of a symbol is the snapshot of the whole book, the
+     *                  next ones contain only the levels changed, where a volume of 0 means that the level has been
+     *                  removed
+     * @return future completed with the response of Kraken as {@link Response}, completed immediately with null when
+     * the symbols are already subscribed or the connection is not open, in that case they are subscribed when the
+     * connection is opened
+     */
+    public CompletableFuture<Response> subscribeBook(Collection<String> symbols, int depth,
+                                                     MarketListener<Book> listener) {
+        return subscribe(Channel.book, symbols, depth, listener);
+    }
+
+    /**
+     * Method to subscribe to the trades of symbols
+     *
+     * @param symbols:  symbols to subscribe es. BTC/USD
+     * @param listener: listener of the trades, invoked for each trade
+     * @return future completed with the response of Kraken as {@link Response}, completed immediately with null when
+     * the symbols are already subscribed or the connection is not open, in that case they are subscribed when the
+     * connection is opened
+     */
+    public CompletableFuture<Response> subscribeTrades(Collection<String> symbols,
+                                                       MarketListener<RecentTrade> listener) {
+        return subscribe(Channel.trade, symbols, 0, listener);
+    }
+
+    /**
+     * Method to subscribe to the candles of symbols
+     *
+     * @param symbols:  symbols to subscribe es. BTC/USD
+     * @param interval: interval of the candles in minutes -> 1, 5, 15, 30, 60, 240, 1440, 10080 or 21600
+     * @param listener: listener of the candles, invoked for each candle
+     * @return future completed with the response of Kraken as {@link Response}, completed immediately with null when
+     * the symbols are already subscribed or the connection is not open, in that case they are subscribed when the
+     * connection is opened
+     */
+    public CompletableFuture<Response> subscribeOHLC(Collection<String> symbols, int interval,
+                                                     MarketListener<TickData> listener) {
+        return subscribe(Channel.ohlc, symbols, interval, listener);
+    }
+
+    /**
+     * Method to subscribe to a channel of symbols
+     *
+     * @param channel:  channel to subscribe
+     * @param symbols:  symbols to subscribe es. BTC/USD
+     * @param option:   depth of the {@link Channel#book} or interval of the {@link Channel#ohlc}, 0 for the other
+     *                  channels
+     * @param listener: listener of the channel, it replaces the listener of a symbol already subscribed
+     * @return future completed with the response of Kraken, or with the first subscription refused, as
+     * {@link Response}, completed immediately when the symbols are already subscribed or the connection is not open,
+     * in that case the subscriptions are sent when the connection is opened
+     */
+    private synchronized CompletableFuture<Response> subscribe(Channel channel, Collection<String> symbols, int option,
+                                                               MarketListener<?> listener) {
+        Objects.requireNonNull(listener);
+        ArrayList<String> subscribed = new ArrayList<>();
+        HashMap<Integer, ArrayList<String>> replaced = new HashMap<>();
+        for (String symbol : symbols) {
+            Subscription previous = subscriptions.put(key(channel, symbol, option),
+                    new Subscription(channel, symbol, option, listener));
+            if (previous == null) {
+                if (channel == Channel.spread && subscriptions.containsKey(key(Channel.ticker, symbol, 0)))
+                    replaced.computeIfAbsent(0, ignored -> new ArrayList<>()).add(symbol);
+                if (channel != Channel.ticker || !subscriptions.containsKey(key(Channel.spread, symbol, 0)))
+                    subscribed.add(symbol);
+            } else if (previous.option != option) {
+                replaced.computeIfAbsent(previous.option, ignored -> new ArrayList<>()).add(symbol);
+                subscribed.add(symbol);
+            }
+        }
+        if (!isConnected() || subscribed.isEmpty())
+            return CompletableFuture.completedFuture(null);
+        Channel replacedChannel = channel == Channel.spread ? Channel.ticker : channel;
+        replaced.forEach((replacedOption, replacedSymbols) -> sendRequest("unsubscribe",
+                params(replacedChannel, replacedOption, replacedSymbols), replacedSymbols.size()));
+        return sendRequest("subscribe", params(channel, option, subscribed), subscribed.size());
+    }
+
+    /**
+     * Method to unsubscribe from a channel of symbols
+     *
+     * @param channel: channel to unsubscribe
+     * @param symbols: symbols to unsubscribe es. BTC/USD, all the candles of the symbols are unsubscribed from the
+     *                 {@link Channel#ohlc}
+     * @return future completed with the response of Kraken as {@link Response}, completed immediately when the
+     * symbols are not subscribed or the connection is not open
+     */
+    public synchronized CompletableFuture<Response> unsubscribe(Channel channel, Collection<String> symbols) {
+        HashMap<Integer, ArrayList<String>> unsubscribed = new HashMap<>();
+        ArrayList<String> restored = new ArrayList<>();
+        for (String symbol : symbols) {
+            Iterator<Subscription> iterator = subscriptions.values().iterator();
+            while (iterator.hasNext()) {
+                Subscription subscription = iterator.next();
+                if (subscription.channel != channel || !subscription.symbol.equals(symbol))
+                    continue;
+                iterator.remove();
+                if (channel == Channel.spread && subscriptions.containsKey(key(Channel.ticker, symbol, 0)))
+                    restored.add(symbol);
+                if (channel != Channel.ticker || !subscriptions.containsKey(key(Channel.spread, symbol, 0)))
+                    unsubscribed.computeIfAbsent(subscription.option, ignored -> new ArrayList<>()).add(symbol);
+            }
+        }
+        if (!isConnected() || unsubscribed.isEmpty())
+            return CompletableFuture.completedFuture(null);
+        CompletableFuture<Response> response = CompletableFuture.completedFuture(null);
+        for (Map.Entry<Integer, ArrayList<String>> entry : unsubscribed.entrySet())
+            response = sendRequest("unsubscribe", params(channel, entry.getKey(), entry.getValue()),
+                    entry.getValue().size());
+        if (!restored.isEmpty())
+            sendRequest("subscribe", params(Channel.ticker, 0, restored), restored.size());
+        return response;
+    }
+
+    /**
+     * Method to get the symbols subscribed to a channel
+     *
+     * @param channel: channel of the subscriptions
+     * @return symbols subscribed as {@link Set} of {@link String}
+     */
+    public Set<String> getSubscribedSymbols(Channel channel) {
+        TreeSet<String> symbols = new TreeSet<>();
+        for (Subscription subscription : subscriptions.values())
+            if (subscription.channel == channel)
+                symbols.add(subscription.symbol);
+        return symbols;
+    }
+
+    /**
+     * Method invoked when the connection has been opened, the subscriptions are sent grouping the symbols with the
+     * same channel and options in the same request <br>
+     * No-any params required
+     */
+    @Override
+    protected synchronized void onOpen() {
+        LinkedHashMap<String, ArrayList<Subscription>> groups = new LinkedHashMap<>();
+        for (Subscription subscription : subscriptions.values()) {
+            if (subscription.channel == Channel.ticker
+                    && subscriptions.containsKey(key(Channel.spread, subscription.symbol, 0)))
+                continue;
+            groups.computeIfAbsent(subscription.channel + "|" + subscription.option, ignored -> new ArrayList<>())
+                    .add(subscription);
+        }
+        for (ArrayList<Subscription> group : groups.values()) {
+            ArrayList<String> symbols = new ArrayList<>();
+            for (Subscription subscription : group)
+                symbols.add(subscription.symbol);
+            Subscription first = group.get(0);
+            sendRequest("subscribe", params(first.channel, first.option, symbols), symbols.size())
+                    .whenComplete((response, throwable) -> {
+                        if (throwable != null)
+                            notifyError(throwable);
+                        else if (!response.isSuccessful())
+                            notifyError(new IOException(response.getError()));
+                    });
+        }
+    }
+
+    /**
+     * Method to assemble the params of a subscription request
+     *
+     * @param channel: channel of the request
+     * @param option:  depth of the {@link Channel#book} or interval of the {@link Channel#ohlc}
+     * @param symbols: symbols of the request
+     * @return params as {@link Map}
+     */
+    private static Map<String, Object> params(Channel channel, int option, List<String> symbols) {
+        LinkedHashMap<String, Object> params = new LinkedHashMap<>();
+        switch (channel) {
+            case ticker, spread -> {
+                params.put("channel", Channel.ticker.name());
+                params.put("event_trigger", channel == Channel.spread ? "bbo" : "trades");
+            }
+            case book -> {
+                params.put("channel", channel.name());
+                params.put("depth", option);
+            }
+            case ohlc -> {
+                params.put("channel", channel.name());
+                params.put("interval", option);
+            }
+            default -> params.put("channel", channel.name());
+        }
+        params.put("symbol", symbols);
+        return params;
+    }
+
+    /**
+     * Method to get the key of a subscription
+     *
+     * @param channel: channel of the subscription
+     * @param symbol:  symbol of the subscription
+     * @param option:  interval of the {@link Channel#ohlc}, ignored for the other channels
+     * @return key as {@link String}
+     */
+    private static String key(Channel channel, String symbol, int option) {
+        if (channel == Channel.ohlc)
+            return channel + "|" + symbol + "|" + option;
+        return channel + "|" + symbol;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void onData(String channel, boolean snapshot, KrakenJsonReader reader) throws IOException {
+        switch (channel) {
+            case "ticker" -> decodeTickers(reader, snapshot);
+            case "book" -> decodeBooks(reader, snapshot);
+            case "trade" -> decodeTrades(reader, snapshot);
+            case "ohlc" -> decodeTicks(reader, snapshot);
+            default -> reader.skipValue();
+        }
+    }
+
+    /**
+     * Method to decode the tickers of a message delivering them to the listeners of the tickers and of the spreads
+     *
+     * @param reader:   reader positioned on the {@code "data"} value of the message
+     * @param snapshot: whether the message is a snapshot
+     * @throws IOException when the message is not valid
+     */
+    private void decodeTickers(KrakenJsonReader reader, boolean snapshot) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            String symbol = null;
+            double bid = 0, bidQty = 0, ask = 0, askQty = 0, last = 0, volume = 0, vwap = 0, low = 0, high = 0;
+            double change = 0;
+            long timestamp = -1;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "symbol" -> symbol = reader.nextString();
+                    case "bid" -> bid = reader.nextDouble();
+                    case "bid_qty" -> bidQty = reader.nextDouble();
+                    case "ask" -> ask = reader.nextDouble();
+                    case "ask_qty" -> askQty = reader.nextDouble();
+                    case "last" -> last = reader.nextDouble();
+                    case "volume" -> volume = reader.nextDouble();
+                    case "vwap" -> vwap = reader.nextDouble();
+                    case "low" -> low = reader.nextDouble();
+                    case "high" -> high = reader.nextDouble();
+                    case "change" -> change = reader.nextDouble();
+                    case "timestamp" -> timestamp = parseTimestamp(reader.nextString());
+                    default -> reader.skipValue();
+                }
+            }
+            reader.endObject();
+            Subscription tickerSubscription = subscriptions.get(key(Channel.ticker, symbol, 0));
+            if (tickerSubscription != null) {
+                deliver(tickerSubscription, symbol, new TickerInformation(symbol,
+                        new MarketAction(ask, askQty, askQty), new MarketAction(bid, bidQty, bidQty),
+                        new Trade(last, 0), new MarketParam(0, volume), new MarketParam(0, vwap), new MarketParam(0, 0),
+                        new MarketParam(0, low), new MarketParam(0, high), last - change), snapshot);
+            }
+            Subscription spreadSubscription = subscriptions.get(key(Channel.spread, symbol, 0));
+            if (spreadSubscription != null) {
+                if (timestamp == -1)
+                    timestamp = System.currentTimeMillis() / 1000;
+                deliver(spreadSubscription, symbol, new Spread(timestamp, bid, ask), snapshot);
+            }
+        }
+        reader.endArray();
+    }
+
+    /**
+     * Method to decode the books of a message delivering them to their listeners
+     *
+     * @param reader:   reader positioned on the {@code "data"} value of the message
+     * @param snapshot: whether the message is a snapshot
+     * @throws IOException when the message is not valid
+     */
+    private void decodeBooks(KrakenJsonReader reader, boolean snapshot) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            String symbol = null;
+            double[] asks = new double[0], bids = new double[0];
+            long timestamp = -1;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "symbol" -> symbol = reader.nextString();
+                    case "asks" -> asks = decodeLevels(reader);
+                    case "bids" -> bids = decodeLevels(reader);
+                    case "timestamp" -> timestamp = parseTimestamp(reader.nextString());
+                    default -> reader.skipValue();
+                }
+            }
+            reader.endObject();
+            Subscription subscription = subscriptions.get(key(Channel.book, symbol, 0));
+            if (subscription != null) {
+                if (timestamp == -1)
+                    timestamp = System.currentTimeMillis() / 1000;
+                deliver(subscription, symbol, new Book(symbol, assembleBookElements(asks, timestamp),
+                        assembleBookElements(bids, timestamp)), snapshot);
+            }
+        }
+        reader.endArray();
+    }
+
+    /**
+     * Method to decode the levels of a book
+     *
+     * @param reader: reader positioned on the levels
+     * @return levels as array of double, with the price and the volume of each level
+     * @throws IOException when the message is not valid
+     */
+    private static double[] decodeLevels(KrakenJsonReader reader) throws IOException {
+        double[] levels = new double[16];
+        int size = 0;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (size + 2 > levels.length)
+                levels = Arrays.copyOf(levels, levels.length * 2);
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "price" -> levels[size] = reader.nextDouble();
+                    case "qty" -> levels[size + 1] = reader.nextDouble();
+                    default -> reader.skipValue();
+                }
+            }
+            reader.endObject();
+            size += 2;
+        }
+        reader.endArray();
+        return Arrays.copyOf(levels, size);
+    }
+
+    /**
+     * Method to assemble the elements of a book
+     *
+     * @param levels:    levels of the book, with the price and the volume of each level
+     * @param timestamp: timestamp of the book in seconds
+     * @return elements as {@link ArrayList} of {@link BookElement}
+     */
+    private static ArrayList<BookElement> assembleBookElements(double[] levels, long timestamp) {
+        ArrayList<BookElement> bookElements = new ArrayList<>(levels.length / 2);
+        for (int j = 0; j < levels.length; j += 2)
+            bookElements.add(new BookElement(levels[j], levels[j + 1], timestamp));
+        return bookElements;
+    }
+
+    /**
+     * Method to decode the trades of a message delivering them to their listeners
+     *
+     * @param reader:   reader positioned on the {@code "data"} value of the message
+     * @param snapshot: whether the message is a snapshot
+     * @throws IOException when the message is not valid
+     * @implNote the side and the order type of the trades are formatted as the REST API sends them, es. {@code "b"}
+     * and {@code "l"}
+     */
+    private void decodeTrades(KrakenJsonReader reader, boolean snapshot) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            String symbol = null, side = "", type = "";
+            double price = 0, volume = 0;
+            long timestamp = -1;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "symbol" -> symbol = reader.nextString();
+                    case "side" -> side = reader.nextString();
+                    case "price" -> price = reader.nextDouble();
+                    case "qty" -> volume = reader.nextDouble();
+                    case "ord_type" -> type = reader.nextString();
+                    case "timestamp" -> timestamp = parseTimestamp(reader.nextString());
+                    default -> reader.skipValue();
+                }
+            }
+            reader.endObject();
+            Subscription subscription = subscriptions.get(key(Channel.trade, symbol, 0));
+            if (subscription != null) {
+                deliver(subscription, symbol, new RecentTrade(price, volume, timestamp,
+                        side.isEmpty() ? side : side.substring(0, 1), type.isEmpty() ? type : type.substring(0, 1),
+                        ""), snapshot);
+            }
+        }
+        reader.endArray();
+    }
+
+    /**
+     * Method to decode the candles of a message delivering them to their listeners
+     *
+     * @param reader:   reader positioned on the {@code "data"} value of the message
+     * @param snapshot: whether the message is a snapshot
+     * @throws IOException when the message is not valid
+     */
+    private void decodeTicks(KrakenJsonReader reader, boolean snapshot) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            String symbol = null;
+            double open = 0, high = 0, low = 0, close = 0, vwap = 0, volume = 0;
+            int trades = 0, interval = 0;
+            long time = -1;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "symbol" -> symbol = reader.nextString();
+                    case "open" -> open = reader.nextDouble();
+                    case "high" -> high = reader.nextDouble();
+                    case "low" -> low = reader.nextDouble();
+                    case "close" -> close = reader.nextDouble();
+                    case "vwap" -> vwap = reader.nextDouble();
+                    case "volume" -> volume = reader.nextDouble();
+                    case "trades" -> trades = reader.nextInt();
+                    case "interval" -> interval = reader.nextInt();
+                    case "interval_begin" -> time = parseTimestamp(reader.nextString());
+                    default -> reader.skipValue();
+                }
+            }
+            reader.endObject();
+            Subscription subscription = subscriptions.get(key(Channel.ohlc, symbol, interval));
+            if (subscription != null) {
+                deliver(subscription, symbol, new TickData(time, open, high, low, close, vwap, volume, trades),
+                        snapshot);
+            }
+        }
+        reader.endArray();
+    }
+
+    /**
+     * Method to deliver a value to the listener of a subscription
+     *
+     * @param subscription: subscription of the value
+     * @param symbol:       symbol of the value
+     * @param value:        value to deliver
+     * @param snapshot:     whether the value is part of a snapshot
+     */
+    @SuppressWarnings("unchecked")
+    private <T> void deliver(Subscription subscription, String symbol, T value, boolean snapshot) {
+        MarketListener<T> listener = (MarketListener<T>) subscription.listener;
+        deliver(() -> listener.onUpdate(symbol, value, snapshot));
+    }
+
+    /**
+     * The {@code Subscription} class is useful to memorize a subscription of the stream
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     */
+    private static final class Subscription {
+
+        /**
+         * {@code channel} is the channel of the subscription
+         */
+        private final Channel channel;
+
+        /**
+         * {@code symbol} is the symbol of the subscription es. BTC/USD
+         */
+        private final String symbol;
+
+        /**
+         * {@code option} is the depth of the {@link Channel#book} or the interval of the {@link Channel#ohlc}
+         */
+        private final int option;
+
+        /**
+         * {@code listener} is the listener of the subscription
+         */
+        private final MarketListener<?> listener;
+
+        /**
+         * Constructor to init a {@link Subscription}
+         *
+         * @param channel:  channel of the subscription
+         * @param symbol:   symbol of the subscription es. BTC/USD
+         * @param option:   depth of the {@link Channel#book} or interval of the {@link Channel#ohlc}
+         * @param listener: listener of the subscription
+         */
+        private Subscription(Channel channel, String symbol, int option, MarketListener<?> listener) {
+            this.channel = channel;
+            this.symbol = symbol;
+            this.option = option;
+            this.listener = listener;
+        }
+
+    }
+
+}
@@ -0,0 +1,475 @@
+package com.tecknobit.krakenmanager.transport;
+
+import com.tecknobit.krakenmanager.metrics.KrakenHistogram;
+import com.tecknobit.krakenmanager.metrics.KrakenRequestTrace;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.http.HttpResponse;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+
+import static com.tecknobit.krakenmanager.KrakenManager.BASE_ENDPOINT;
+import static com.tecknobit.krakenmanager.publics.market.KrakenMarketManager.GET_SERVER_TIME_ENDPOINT;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * The {@code KrakenClockSync} class is useful to estimate the clock of the Kraken's servers and the round trip time
+ * of the requests, sampling the {@code "Time"} endpoint in background as {@code "NTP"} does <br>
+ * Each sample bounds the offset of the server clock: the server time, that has a resolution of one second, has been
+ * read between the sending of the request and the receiving of its response, so the bounds of the recent samples are
+ * intersected and the server time is estimated from the middle of the intersection. The first samples are sent in a
+ * burst, each one shifted by a fraction of second, so the bounds are narrowed to some tens of milliseconds in few
+ * seconds:
+ * <pre>
+ *     {@code
+ *        KrakenClockSync clockSync = new KrakenClockSync();
+ *        clockSync.start();
+ *        long serverTime = clockSync.currentServerTimeMillis();
+ *     }
+ * </pre>
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote see the official documentation at:
+ * <a href="https://docs.kraken.com/rest/#tag/Market-Data/operation/getServerTime">Get Server Time</a>
+ * @implNote the server time is estimated on the monotonic clock of the process, so it does not drift when the local
+ * clock is changed, the offset from the local clock is computed only when it is requested
+ */
+public class KrakenClockSync implements Closeable {
+
+    /**
+     * {@code DEFAULT_POLLING_INTERVAL} is the default interval, in milliseconds, between two samples after the burst
+     */
+    public static final long DEFAULT_POLLING_INTERVAL = 60000;
+
+    /**
+     * {@code DEFAULT_SMOOTHING} is the default weight of a new sample in the moving averages
+     */
+    public static final double DEFAULT_SMOOTHING = 0.125;
+
+    /**
+     * {@code BURST_SIZE} is the number of the samples sent when the synchronization is started
+     */
+    public static final int BURST_SIZE = 8;
+
+    /**
+     * {@code WINDOW_SIZE} is the number of the recent samples whose bounds are intersected
+     */
+    private static final int WINDOW_SIZE = 16;
+
+    /**
+     * {@code RESOLUTION} is the resolution, in milliseconds, of the server time
+     */
+    private static final long RESOLUTION = 1000;
+
+    /**
+     * {@code MAX_DRIFT} is the maximum drift rate between the server clock and the monotonic clock, the bounds of a
+     * sample are widened by it as the sample gets older
+     */
+    private static final double MAX_DRIFT = 1e-4;
+
+    /**
+     * {@code BURST_INTERVAL} is the interval, in milliseconds, between two samples of the burst, shifted by a fraction
+     * of the {@link #RESOLUTION} so the samples read the server time at different phases of its second
+     */
+    private static final long BURST_INTERVAL = RESOLUTION + RESOLUTION / BURST_SIZE;
+
+    /**
+     * {@code scheduler} is the instance used to sample the server time of all the synchronizations
+     */
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "kraken-clock-sync");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * {@code timeEndpoint} is the endpoint sampled to get the server time
+     */
+    private final String timeEndpoint;
+
+    /**
+     * {@code transport} is the instance used to sample the server time
+     */
+    private final KrakenTransport transport;
+
+    /**
+     * {@code rtt} is the distribution of the round trip times sampled, in microseconds
+     */
+    private final KrakenHistogram rtt;
+
+    /**
+     * {@code lowerBounds} are the lower bounds of the recent samples, as server time minus monotonic time in
+     * milliseconds
+     */
+    private final double[] lowerBounds;
+
+    /**
+     * {@code upperBounds} are the upper bounds of the recent samples, as server time minus monotonic time in
+     * milliseconds
+     */
+    private final double[] upperBounds;
+
+    /**
+     * {@code sampledAt} are the monotonic times of the recent samples, in milliseconds
+     */
+    private final double[] sampledAt;
+
+    /**
+     * {@code samples} is the number of the samples taken
+     */
+    private long samples;
+
+    /**
+     * {@code serverBase} is the estimated server time minus the monotonic time, in milliseconds
+     */
+    private volatile double serverBase;
+
+    /**
+     * {@code uncertainty} is the half width of the bounds of the {@link #serverBase}, in milliseconds, -1 if the server
+     * time has not been sampled yet
+     */
+    private volatile double uncertainty;
+
+    /**
+     * {@code offsetAverage} is the moving average of the offsets of the samples from the local clock, in milliseconds
+     */
+    private volatile double offsetAverage;
+
+    /**
+     * {@code rttAverage} is the moving average of the round trip times sampled, in milliseconds
+     */
+    private volatile double rttAverage;
+
+    /**
+     * {@code pollingInterval} is the interval, in milliseconds, between two samples after the burst
+     */
+    private volatile long pollingInterval;
+
+    /**
+     * {@code smoothing} is the weight of a new sample in the moving averages
+     */
+    private volatile double smoothing;
+
+    /**
+     * {@code nextSample} is the next sample scheduled, null if the synchronization has not been started
+     */
+    private ScheduledFuture<?> nextSample;
+
+    /**
+     * {@code closed} whether the synchronization has been closed
+     */
+    private boolean closed;
+
+    /**
+     * Constructor to init a {@link KrakenClockSync} that samples the server time with the shared transport <br>
+     * No-any params required
+     */
+    public KrakenClockSync() {
+        this(BASE_ENDPOINT, KrakenTransport.getSharedTransport());
+    }
+
+    /**
+     * Constructor to init a {@link KrakenClockSync}
+     *
+     * @param baseEndpoint: base endpoint of the requests es. https://api.kraken.com/0
+     * @param transport:    transport used to sample the server time
+     */
+    public KrakenClockSync(String baseEndpoint, KrakenTransport transport) {
+        timeEndpoint = baseEndpoint + "/public/" + GET_SERVER_TIME_ENDPOINT;
+        this.transport = transport;
+        rtt = new KrakenHistogram();
+        lowerBounds = new double[WINDOW_SIZE];
+        upperBounds = new double[WINDOW_SIZE];
+        sampledAt = new double[WINDOW_SIZE];
+        uncertainty = -1;
+        pollingInterval = DEFAULT_POLLING_INTERVAL;
+        smoothing = DEFAULT_SMOOTHING;
+    }
+
+    /**
+     * Method to start the sampling of the server time with a burst of {@link #BURST_SIZE} samples, if it has not
+     * been started yet <br>
+     * No-any params required
+     */
+    public synchronized void start() {
+        if (nextSample == null && !closed)
+            scheduleSample(0, BURST_SIZE);
+    }
+
+    /**
+     * Method to stop the sampling of the server time, the last estimate is then used <br>
+     * No-any params required
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (nextSample != null)
+            nextSample.cancel(false);
+    }
+
+    /**
+     * Method to sample the server time immediately <br>
+     * No-any params required
+     *
+     * @throws IOException when the request has been go wrong or the response is not valid
+     */
+    public void sync() throws IOException {
+        long sentAt = System.nanoTime();
+        HttpResponse<String> response = transport.sendGetRequest(timeEndpoint, -1,
+                KrakenRequestTrace.start(GET_SERVER_TIME_ENDPOINT));
+        long receivedAt = System.nanoTime();
+        long localTime = System.currentTimeMillis();
+        long unixTime = decodeUnixTime(response.body());
+        if (unixTime < 0)
+            throw new IOException("The response has not the server time");
+        addSample(unixTime * RESOLUTION, sentAt, receivedAt, localTime);
+    }
+
+    /**
+     * Method to add a sample of the server time
+     *
+     * @param serverTime: server time read, truncated to the {@link #RESOLUTION}, in milliseconds
+     * @param sentAt:     monotonic time when the request has been sent, in nanoseconds
+     * @param receivedAt: monotonic time when the response has been received, in nanoseconds
+     * @param localTime:  local time when the response has been received, in milliseconds
+     */
+    private synchronized void addSample(long serverTime, long sentAt, long receivedAt, long localTime) {
+        double roundTrip = (receivedAt - sentAt) / 1e6;
+        double now = receivedAt / 1e6;
+        rtt.record((receivedAt - sentAt) / 1000);
+        double lowerBound = serverTime - now;
+        double upperBound = serverTime + RESOLUTION - sentAt / 1e6;
+        int slot = (int) (samples % WINDOW_SIZE);
+        lowerBounds[slot] = lowerBound;
+        upperBounds[slot] = upperBound;
+        sampledAt[slot] = now;
+        samples++;
+        double lower = lowerBound;
+        double upper = upperBound;
+        int window = (int) Math.min(samples, WINDOW_SIZE);
+        for (int j = 0; j < window; j++) {
+            double drift = (now - sampledAt[j]) * MAX_DRIFT;
+            lower = Math.max(lower, lowerBounds[j] - drift);
+            upper = Math.min(upper, upperBounds[j] + drift);
+        }
+        if (lower > upper) {
+            // the server clock has been stepped, so the older bounds are discarded
+            lowerBounds[0] = lowerBound;
+            upperBounds[0] = upperBound;
+            sampledAt[0] = now;
+            samples = 1;
+            lower = lowerBound;
+            upper = upperBound;
+        }
+        serverBase = (lower + upper) / 2;
+        double offset = (lowerBound + upperBound) / 2 + now - localTime;
+        if (uncertainty < 0) {
+            offsetAverage = offset;
+            rttAverage = roundTrip;
+        } else {
+            offsetAverage += smoothing * (offset - offsetAverage);
+            rttAverage += smoothing * (roundTrip - rttAverage);
+        }
+        uncertainty = (upper - lower) / 2;
+    }
+
+    /**
+     * Method to decode the server time from the response of the {@code "Time"} endpoint
+     *
+     * @param response: response to decode
+     * @return server time in seconds as long, -1 if the response has not the server time
+     * @throws IOException when the response is not valid
+     */
+    private static long decodeUnixTime(String response) throws IOException {
+        long unixTime = -1;
+        try (KrakenJsonReader reader = new KrakenJsonReader(new StringReader(response))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName().equals("result")) {
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        if (reader.nextName().equals("unixtime"))
+                            unixTime = reader.nextLong();
+                        else
+                            reader.skipValue();
+                    }
+                    reader.endObject();
+                } else
+                    reader.skipValue();
+            }
+        }
+        return unixTime;
+    }
+
+    /**
+     * Method to take a scheduled sample, the failed samples are retried with the next one <br>
+     * No-any params required
+     *
+     * @param burstSamples: number of the samples of the burst still to take, this one included
+     */
+    private void sample(int burstSamples) {
+        try {
+            sync();
+        } catch (IOException ignored) {
+        }
+        synchronized (this) {
+            if (burstSamples > 1)
+                scheduleSample(BURST_INTERVAL, burstSamples - 1);
+            else
+                scheduleSample(pollingInterval + (samples % BURST_SIZE) * RESOLUTION / BURST_SIZE, 0);
+        }
+    }
+
+    /**
+     * Method to schedule the next sample of the server time
+     *
+     * @param delay:        delay of the sample in milliseconds
+     * @param burstSamples: number of the samples of the burst still to take
+     */
+    private void scheduleSample(long delay, int burstSamples) {
+        if (!closed)
+            nextSample = scheduler.schedule(() -> sample(burstSamples), delay, MILLISECONDS);
+    }
+
+    /**
+     * Method to get whether the server time has been sampled at least once <br>
+     * No-any params required
+     *
+     * @return whether the server time has been sampled as boolean
+     */
+    public boolean isSynchronized() {
+        return uncertainty >= 0;
+    }
+
+    /**
+     * Method to get the estimated server time <br>
+     * No-any params required
+     *
+     * @return server time in milliseconds as long, the local time if the server time has not been sampled yet
+     * @implNote reading the server time costs a read of the monotonic clock, no requests are sent
+     */
+    public long currentServerTimeMillis() {
+        if (uncertainty < 0)
+            return System.currentTimeMillis();
+        return Math.round(serverBase + System.nanoTime() / 1e6);
+    }
+
+    /**
+     * Method to get the estimated server time <br>
+     * No-any params required
+     *
+     * @return server time in seconds as long, the local time if the server time has not been sampled yet
+     */
+    public long currentServerTime() {
+        return currentServerTimeMillis() / RESOLUTION;
+    }
+
+    /**
+     * Method to get the time left to a server time, es. the trigger time of the {@code "CancelAllOrdersAfter"}
+     * request
+     *
+     * @param serverTime: server time in milliseconds
+     * @return time left in milliseconds as long, negative if the server time has been passed
+     */
+    public long getMillisUntil(long serverTime) {
+        return serverTime - currentServerTimeMillis();
+    }
+
+    /**
+     * Method to get the offset of the server clock from the local clock <br>
+     * No-any params required
+     *
+     * @return offset in milliseconds, positive when the server clock is ahead, as long
+     */
+    public long getOffset() {
+        return currentServerTimeMillis() - System.currentTimeMillis();
+    }
+
+    /**
+     * Method to get {@link #offsetAverage} instance <br>
+     * No-any params required
+     *
+     * @return {@link #offsetAverage} instance as double
+     */
+    public double getOffsetAverage() {
+        return offsetAverage;
+    }
+
+    /**
+     * Method to get {@link #uncertainty} instance <br>
+     * No-any params required
+     *
+     * @return {@link #uncertainty} instance as double
+     */
+    public double getUncertainty() {
+        return uncertainty;
+    }
+
+    /**
+     * Method to get {@link #rttAverage} instance <br>
+     * No-any params required
+     *
+     * @return {@link #rttAverage} instance as double
+     */
+    public double getRttAverage() {
+        return rttAverage;
+    }
+
+    /**
+     * Method to get the distribution of the round trip times sampled <br>
+     * No-any params required
+     *
+     * @return distribution of the round trip times, in microseconds, as {@link KrakenHistogram.Snapshot}
+     */
+    public KrakenHistogram.Snapshot getRttSnapshot() {
+        return rtt.snapshot();
+    }
+
+    /**
+     * Method to get {@link #pollingInterval} instance <br>
+     * No-any params required
+     *
+     * @return {@link #pollingInterval} instance as long
+     */
+    public long getPollingInterval() {
+        return pollingInterval;
+    }
+
+    /**
+     * Method to set {@link #pollingInterval} instance
+     *
+     * @param pollingInterval: interval, in milliseconds, between two samples after the burst
+     * @throws IllegalArgumentException when the interval is lower than 1
+     */
+    public void setPollingInterval(long pollingInterval) {
+        if (pollingInterval < 1)
+            throw new IllegalArgumentException("The polling interval must be at least 1 millisecond");
+        this.pollingInterval = pollingInterval;
+    }
+
+    /**
+     * Method to get {@link #smoothing} instance <br>
+     * No-any params required
+     *
+     * @return {@link #smoothing} instance as double
+     */
+    public double getSmoothing() {
+        return smoothing;
+    }
+
+    /**
+     * Method to set {@link #smoothing} instance
+     *
+     * @param smoothing: weight of a new sample in the moving averages, from 0 excluded to 1
+     * @throws IllegalArgumentException when the weight is not in the range
+     */
+    public void setSmoothing(double smoothing) {
+        if (smoothing <= 0 || smoothing > 1)
+            throw new IllegalArgumentException("The smoothing must be greater than 0 and not greater than 1");
+        this.smoothing = smoothing;
+    }
+
+}
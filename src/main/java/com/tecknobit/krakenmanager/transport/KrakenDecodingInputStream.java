@@ -0,0 +1,213 @@
+package com.tecknobit.krakenmanager.transport;
+
+import com.tecknobit.krakenmanager.metrics.KrakenEndpointMetrics;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * The {@code KrakenDecodingInputStream} class is useful to decompress a compressed body while it is read <br>
+ * The decompressing stream is created at the first read, so this stream can be created by the {@code "HTTP"} client
+ * without blocking it to read the header of the body, and both the compressed and the decompressed bytes read are
+ * recorded in the {@link KrakenEndpointMetrics} when the stream is closed
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ */
+public class KrakenDecodingInputStream extends InputStream {
+
+    /**
+     * {@code GZIP_ENCODING} is the {@code "Content-Encoding"} value of the gzip bodies
+     */
+    public static final String GZIP_ENCODING = "gzip";
+
+    /**
+     * {@code DEFLATE_ENCODING} is the {@code "Content-Encoding"} value of the deflate bodies
+     */
+    public static final String DEFLATE_ENCODING = "deflate";
+
+    /**
+     * {@code compressed} is the stream of the compressed body, that counts the bytes read
+     */
+    private final CountingInputStream compressed;
+
+    /**
+     * {@code encoding} is the encoding of the body
+     */
+    private final String encoding;
+
+    /**
+     * {@code endpointMetrics} is the instance where the bytes read are recorded
+     */
+    private final KrakenEndpointMetrics endpointMetrics;
+
+    /**
+     * {@code decompressed} is the stream of the decompressed body, null if it has not been created yet
+     */
+    private InputStream decompressed;
+
+    /**
+     * {@code decompressedBytes} is the number of the decompressed bytes read
+     */
+    private long decompressedBytes;
+
+    /**
+     * {@code closed} whether the stream has been closed
+     */
+    private boolean closed;
+
+    /**
+     * Constructor to init a {@link KrakenDecodingInputStream}
+     *
+     * @param compressed:      stream of the compressed body
+     * @param encoding:        encoding of the body, {@link #GZIP_ENCODING} or {@link #DEFLATE_ENCODING}
+     * @param endpointMetrics: metrics where the bytes read are recorded
+     */
+    public KrakenDecodingInputStream(InputStream compressed, String encoding, KrakenEndpointMetrics endpointMetrics) {
+        this.compressed = new CountingInputStream(compressed);
+        this.encoding = encoding;
+        this.endpointMetrics = endpointMetrics;
+    }
+
+    /**
+     * Method to get the supported encoding of a {@code "Content-Encoding"} value
+     *
+     * @param contentEncoding: value of the {@code "Content-Encoding"} header, null if it has not been sent
+     * @return encoding as {@link String}, null if the body is not compressed or its encoding is not supported
+     */
+    public static String getEncoding(String contentEncoding) {
+        if (contentEncoding == null)
+            return null;
+        String encoding = contentEncoding.trim().toLowerCase();
+        if (encoding.equals(GZIP_ENCODING) || encoding.equals("x-gzip"))
+            return GZIP_ENCODING;
+        if (encoding.equals(DEFLATE_ENCODING))
+            return DEFLATE_ENCODING;
+        return null;
+    }
+
+    /**
+     * Method to read a decompressed byte <br>
+     * No-any params required
+     *
+     * @return byte read as int, -1 at the end of the body
+     * @throws IOException when the body is not valid
+     */
+    @Override
+    public int read() throws IOException {
+        int read = getDecompressed().read();
+        if (read != -1)
+            decompressedBytes++;
+        return read;
+    }
+
+    /**
+     * Method to read the decompressed bytes
+     *
+     * @param buffer: buffer where read the bytes
+     * @param offset: offset of the buffer where start to write
+     * @param length: maximum number of the bytes to read
+     * @return number of the bytes read as int, -1 at the end of the body
+     * @throws IOException when the body is not valid
+     */
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int read = getDecompressed().read(buffer, offset, length);
+        if (read > 0)
+            decompressedBytes += read;
+        return read;
+    }
+
+    /**
+     * Method to close the stream and record the bytes read <br>
+     * No-any params required
+     *
+     * @throws IOException when the stream cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed)
+            return;
+        closed = true;
+        endpointMetrics.recordCompressedPayload(compressed.count, decompressedBytes);
+        if (decompressed != null)
+            decompressed.close();
+        else
+            compressed.close();
+    }
+
+    /**
+     * Method to get the stream of the decompressed body, creating it at the first read <br>
+     * No-any params required
+     *
+     * @return stream of the decompressed body as {@link InputStream}
+     * @throws IOException when the header of the body is not valid
+     */
+    private InputStream getDecompressed() throws IOException {
+        if (decompressed == null) {
+            if (encoding.equals(GZIP_ENCODING))
+                decompressed = new GZIPInputStream(compressed, 8192);
+            else
+                decompressed = new InflaterInputStream(compressed);
+        }
+        return decompressed;
+    }
+
+    /**
+     * The {@code CountingInputStream} class is useful to count the bytes read from a stream
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     */
+    private static class CountingInputStream extends FilterInputStream {
+
+        /**
+         * {@code count} is the number of the bytes read
+         */
+        private long count;
+
+        /**
+         * Constructor to init a {@link CountingInputStream}
+         *
+         * @param in: stream to count
+         */
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        /**
+         * Method to read a byte <br>
+         * No-any params required
+         *
+         * @return byte read as int, -1 at the end of the stream
+         * @throws IOException when the stream cannot be read
+         */
+        @Override
+        public int read() throws IOException {
+            int read = super.read();
+            if (read != -1)
+                count++;
+            return read;
+        }
+
+        /**
+         * Method to read the bytes
+         *
+         * @param buffer: buffer where read the bytes
+         * @param offset: offset of the buffer where start to write
+         * @param length: maximum number of the bytes to read
+         * @return number of the bytes read as int, -1 at the end of the stream
+         * @throws IOException when the stream cannot be read
+         */
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0)
+                count += read;
+            return read;
+        }
+
+    }
+
+}
@@ -0,0 +1,311 @@
+package com.tecknobit.krakenmanager.transport;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * The {@code KrakenFanOut} class is useful to send the same blocking request for many keys, es. for all the tradable
+ * pairs, at the same time <br>
+ * Each request runs on a virtual thread when the runtime supports them, otherwise on a shared pool of daemon threads,
+ * the number of the requests in flight for each call is bounded by the {@link #maxConcurrency} and all the requests are
+ * paced by a token bucket shared by all the calls, so the public rate limit of Kraken is respected
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote see the official documentation at: <a href="https://docs.kraken.com/rest/#section/Rate-Limits">
+ * Rate-Limits</a>
+ */
+public class KrakenFanOut {
+
+    /**
+     * {@code Fetcher} is the interface useful to send the request of a key
+     *
+     * @param <V> type of the value of the request
+     */
+    @FunctionalInterface
+    public interface Fetcher<V> {
+
+        /**
+         * Method to send the request of a key
+         *
+         * @param key: key of the request es. XBTUSD
+         * @return value of the request as {@link V}
+         * @throws IOException when the request has been go wrong, its message is the error of the key
+         */
+        V fetch(String key) throws IOException;
+
+    }
+
+    /**
+     * {@code DEFAULT_MAX_CONCURRENCY} is the default maximum number of the requests in flight for each call
+     */
+    public static final int DEFAULT_MAX_CONCURRENCY = 8;
+
+    /**
+     * {@code DEFAULT_REQUESTS_PER_SECOND} is the default rate of the requests, the rate of the public endpoints
+     */
+    public static final double DEFAULT_REQUESTS_PER_SECOND = 1;
+
+    /**
+     * {@code DEFAULT_BURST} is the default number of the requests that can be sent at once before they are paced
+     */
+    public static final int DEFAULT_BURST = 15;
+
+    /**
+     * {@code executor} is the instance used to run the requests of all the fan-outs
+     */
+    private static final ExecutorService executor = createExecutor();
+
+    /**
+     * {@code sharedFanOut} is the instance shared by all the managers
+     */
+    private static final KrakenFanOut sharedFanOut = new KrakenFanOut(DEFAULT_MAX_CONCURRENCY,
+            DEFAULT_REQUESTS_PER_SECOND, DEFAULT_BURST);
+
+    /**
+     * {@code maxConcurrency} is the maximum number of the requests in flight for each call
+     */
+    private volatile int maxConcurrency;
+
+    /**
+     * {@code requestsPerSecond} is the rate of the requests, 0 or lower if the requests are not paced
+     */
+    private double requestsPerSecond;
+
+    /**
+     * {@code burst} is the number of the requests that can be sent at once before they are paced
+     */
+    private int burst;
+
+    /**
+     * {@code tokens} is the number of the requests that can be sent right now, a negative value means that some
+     * requests are waiting for their turn
+     */
+    private double tokens;
+
+    /**
+     * {@code lastUpdate} is the time, in nanoseconds, when the {@link #tokens} have been updated the last time
+     */
+    private long lastUpdate;
+
+    /**
+     * Constructor to init a {@link KrakenFanOut}
+     *
+     * @param maxConcurrency:    maximum number of the requests in flight for each call
+     * @param requestsPerSecond: rate of the requests, 0 or lower to not pace the requests
+     * @param burst:             number of the requests that can be sent at once before they are paced
+     * @throws IllegalArgumentException when the maximum concurrency or the burst are lower than 1
+     */
+    public KrakenFanOut(int maxConcurrency, double requestsPerSecond, int burst) {
+        setMaxConcurrency(maxConcurrency);
+        setRate(requestsPerSecond, burst);
+    }
+
+    /**
+     * Method to get the fan-out shared by all the managers <br>
+     * No-any params required
+     *
+     * @return shared fan-out as {@link KrakenFanOut}
+     */
+    public static KrakenFanOut getSharedFanOut() {
+        return sharedFanOut;
+    }
+
+    /**
+     * Method to create the executor of the requests <br>
+     * No-any params required
+     *
+     * @return executor as {@link ExecutorService}
+     * @implNote the virtual threads executor is looked up by reflection, so the library still runs on the runtimes
+     * without the virtual threads, where a cached pool of daemon threads is used instead
+     */
+    private static ExecutorService createExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "kraken-fan-out");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Method to send the request of each key and wait for all of them
+     *
+     * @param keys:    keys of the requests es. the pairs, the duplicates are requested once
+     * @param fetcher: fetcher used to send the request of a key
+     * @return results of the requests as {@link Results} of {@link V}
+     * @throws InterruptedIOException when the calling thread has been interrupted, the requests in flight are
+     *                                cancelled
+     */
+    public <V> Results<V> execute(Collection<String> keys, Fetcher<V> fetcher) throws InterruptedIOException {
+        Semaphore permits = new Semaphore(maxConcurrency);
+        LinkedHashMap<String, Future<V>> futures = new LinkedHashMap<>();
+        try {
+            for (String key : new LinkedHashSet<>(keys)) {
+                permits.acquire();
+                long delay = reserve();
+                if (delay > 0)
+                    NANOSECONDS.sleep(delay);
+                futures.put(key, executor.submit(() -> {
+                    try {
+                        return fetcher.fetch(key);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+            LinkedHashMap<String, V> values = new LinkedHashMap<>();
+            LinkedHashMap<String, String> errors = new LinkedHashMap<>();
+            for (Map.Entry<String, Future<V>> future : futures.entrySet()) {
+                try {
+                    values.put(future.getKey(), future.getValue().get());
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    errors.put(future.getKey(), cause.getMessage() != null ? cause.getMessage()
+                            : cause.getClass().getSimpleName());
+                }
+            }
+            return new Results<>(values, errors);
+        } catch (InterruptedException e) {
+            for (Future<V> future : futures.values())
+                future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        }
+    }
+
+    /**
+     * Method to reserve the turn of a request <br>
+     * No-any params required
+     *
+     * @return time to wait, in nanoseconds, before the request can be sent
+     */
+    private synchronized long reserve() {
+        if (requestsPerSecond <= 0)
+            return 0;
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - lastUpdate) * requestsPerSecond / SECONDS.toNanos(1));
+        lastUpdate = now;
+        tokens -= 1;
+        if (tokens >= 0)
+            return 0;
+        return (long) Math.ceil(-tokens / requestsPerSecond * SECONDS.toNanos(1));
+    }
+
+    /**
+     * Method to get {@link #maxConcurrency} instance <br>
+     * No-any params required
+     *
+     * @return {@link #maxConcurrency} instance as int
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Method to set {@link #maxConcurrency} instance
+     *
+     * @param maxConcurrency: maximum number of the requests in flight for each call
+     * @throws IllegalArgumentException when the maximum concurrency is lower than 1
+     */
+    public void setMaxConcurrency(int maxConcurrency) {
+        if (maxConcurrency < 1)
+            throw new IllegalArgumentException("The maximum concurrency must be at least 1");
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Method to get {@link #requestsPerSecond} instance <br>
+     * No-any params required
+     *
+     * @return {@link #requestsPerSecond} instance as double
+     */
+    public synchronized double getRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+
+    /**
+     * Method to get {@link #burst} instance <br>
+     * No-any params required
+     *
+     * @return {@link #burst} instance as int
+     */
+    public synchronized int getBurst() {
+        return burst;
+    }
+
+    /**
+     * Method to set the rate of the requests
+     *
+     * @param requestsPerSecond: rate of the requests, 0 or lower to not pace the requests
+     * @param burst:             number of the requests that can be sent at once before they are paced
+     * @throws IllegalArgumentException when the burst is lower than 1
+     */
+    public synchronized void setRate(double requestsPerSecond, int burst) {
+        if (burst < 1)
+            throw new IllegalArgumentException("The burst must be at least 1");
+        this.requestsPerSecond = requestsPerSecond;
+        this.burst = burst;
+        tokens = burst;
+        lastUpdate = System.nanoTime();
+    }
+
+    /**
+     * The {@code Results} class is useful to format the results of a fan-out
+     *
+     * @param <V> type of the values of the requests
+     * @author N7ghtm4r3 - Tecknobit
+     */
+    public static class Results<V> {
+
+        /**
+         * {@code values} is the instance that memorizes the values of the requests succeeded by their keys
+         */
+        private final Map<String, V> values;
+
+        /**
+         * {@code errors} is the instance that memorizes the errors of the requests failed by their keys
+         */
+        private final Map<String, String> errors;
+
+        /**
+         * Constructor to init a {@link Results}
+         *
+         * @param values: values of the requests succeeded by their keys
+         * @param errors: errors of the requests failed by their keys
+         */
+        public Results(Map<String, V> values, Map<String, String> errors) {
+            this.values = Collections.unmodifiableMap(values);
+            this.errors = Collections.unmodifiableMap(errors);
+        }
+
+        /**
+         * Method to get {@link #values} instance <br>
+         * No-any params required
+         *
+         * @return {@link #values} instance as {@link Map} of {@link String} and {@link V}
+         */
+        public Map<String, V> getValues() {
+            return values;
+        }
+
+        /**
+         * Method to get {@link #errors} instance <br>
+         * No-any params required
+         *
+         * @return {@link #errors} instance as {@link Map} of {@link String}
+         */
+        public Map<String, String> getErrors() {
+            return errors;
+        }
+
+    }
+
+}
@@ -0,0 +1,812 @@
+package com.tecknobit.krakenmanager.transport;
+
+import java.io.*;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The {@code KrakenJsonReader} class is useful to read a {@code "JSON"} response token by token, directly from the
+ * stream of the response <br>
+ * The numbers are decoded in primitive values without building any intermediate tree, also when Kraken sends them as
+ * strings like {@code "30306.10000"}, so the large responses can be decoded without keeping a copy of them in memory
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ */
+public class KrakenJsonReader implements Closeable {
+
+    /**
+     * {@code Token} list of available tokens
+     */
+    public enum Token {
+
+        /**
+         * {@code BEGIN_OBJECT} the opening of an object
+         */
+        BEGIN_OBJECT,
+
+        /**
+         * {@code END_OBJECT} the closing of an object
+         */
+        END_OBJECT,
+
+        /**
+         * {@code BEGIN_ARRAY} the opening of an array
+         */
+        BEGIN_ARRAY,
+
+        /**
+         * {@code END_ARRAY} the closing of an array
+         */
+        END_ARRAY,
+
+        /**
+         * {@code NAME} the name of a property of an object
+         */
+        NAME,
+
+        /**
+         * {@code STRING} a string value
+         */
+        STRING,
+
+        /**
+         * {@code NUMBER} a number value
+         */
+        NUMBER,
+
+        /**
+         * {@code BOOLEAN} a boolean value
+         */
+        BOOLEAN,
+
+        /**
+         * {@code NULL} a null value
+         */
+        NULL,
+
+        /**
+         * {@code END_DOCUMENT} the end of the response
+         */
+        END_DOCUMENT
+
+    }
+
+    /**
+     * The {@code StreamDecoder} interface is useful to decode a value reading it from a {@link KrakenJsonReader}
+     *
+     * @param <T> type of the decoded value
+     */
+    @FunctionalInterface
+    public interface StreamDecoder<T> {
+
+        /**
+         * Method to decode a value
+         *
+         * @param reader: reader positioned on the value to decode
+         * @return value decoded as {@link T}
+         * @throws IOException when the value is not valid
+         */
+        T decode(KrakenJsonReader reader) throws IOException;
+
+    }
+
+    /**
+     * {@code EMPTY_DOCUMENT} scope of a document not read yet
+     */
+    private static final int EMPTY_DOCUMENT = 0;
+
+    /**
+     * {@code NONEMPTY_DOCUMENT} scope of a document with its value already read
+     */
+    private static final int NONEMPTY_DOCUMENT = 1;
+
+    /**
+     * {@code EMPTY_ARRAY} scope of an array without elements read yet
+     */
+    private static final int EMPTY_ARRAY = 2;
+
+    /**
+     * {@code NONEMPTY_ARRAY} scope of an array with at least an element read
+     */
+    private static final int NONEMPTY_ARRAY = 3;
+
+    /**
+     * {@code EMPTY_OBJECT} scope of an object without properties read yet
+     */
+    private static final int EMPTY_OBJECT = 4;
+
+    /**
+     * {@code DANGLING_NAME} scope of an object with a name read and its value not read yet
+     */
+    private static final int DANGLING_NAME = 5;
+
+    /**
+     * {@code NONEMPTY_OBJECT} scope of an object with at least a property read
+     */
+    private static final int NONEMPTY_OBJECT = 6;
+
+    /**
+     * {@code POWERS_OF_TEN} the powers of ten exactly representable as double
+     */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * {@code MAX_EXACT_MANTISSA} the greatest mantissa exactly representable as double
+     */
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    /**
+     * {@code in} is the source of the chars to read
+     */
+    private final Reader in;
+
+    /**
+     * {@code buffer} is the buffer of the chars read from {@link #in}
+     */
+    private final char[] buffer;
+
+    /**
+     * {@code pos} is the position of the next char to read from the {@link #buffer}
+     */
+    private int pos;
+
+    /**
+     * {@code limit} is the number of valid chars in the {@link #buffer}
+     */
+    private int limit;
+
+    /**
+     * {@code scratch} is the buffer where the chars of the strings and the numbers are copied
+     */
+    private char[] scratch;
+
+    /**
+     * {@code stack} is the stack of the scopes currently open
+     */
+    private int[] stack;
+
+    /**
+     * {@code stackSize} is the number of the scopes currently open
+     */
+    private int stackSize;
+
+    /**
+     * {@code peeked} is the next token already peeked, null if it has not been peeked yet
+     */
+    private Token peeked;
+
+    /**
+     * {@code charsRead} is the number of the chars read from {@link #in}
+     */
+    private long charsRead;
+
+    /**
+     * Constructor to init a {@link KrakenJsonReader}
+     *
+     * @param in: stream of the response encoded as {@code "UTF-8"}
+     */
+    public KrakenJsonReader(InputStream in) {
+        this(new InputStreamReader(in, UTF_8));
+    }
+
+    /**
+     * Constructor to init a {@link KrakenJsonReader}
+     *
+     * @param in: source of the chars to read
+     */
+    public KrakenJsonReader(Reader in) {
+        this.in = in;
+        buffer = new char[8192];
+        scratch = new char[64];
+        stack = new int[32];
+        stack[stackSize++] = EMPTY_DOCUMENT;
+    }
+
+    /**
+     * Method to get the type of the next token without consuming it <br>
+     * No-any params required
+     *
+     * @return type of the next token as {@link Token}
+     * @throws IOException when the response is not a valid {@code "JSON"}
+     */
+    public Token peek() throws IOException {
+        if (peeked != null)
+            return peeked;
+        int scope = stack[stackSize - 1];
+        int c;
+        switch (scope) {
+            case EMPTY_ARRAY, NONEMPTY_ARRAY -> {
+                stack[stackSize - 1] = NONEMPTY_ARRAY;
+                c = nextNonWhitespace();
+                if (c == ']')
+                    return peeked = Token.END_ARRAY;
+                if (scope == NONEMPTY_ARRAY) {
+                    if (c != ',')
+                        throw syntaxError("Expected ',' or ']'");
+                } else
+                    pos--;
+            }
+            case EMPTY_OBJECT, NONEMPTY_OBJECT -> {
+                stack[stackSize - 1] = DANGLING_NAME;
+                c = nextNonWhitespace();
+                if (c == '}')
+                    return peeked = Token.END_OBJECT;
+                if (scope == NONEMPTY_OBJECT) {
+                    if (c != ',')
+                        throw syntaxError("Expected ',' or '}'");
+                    c = nextNonWhitespace();
+                }
+                if (c != '"')
+                    throw syntaxError("Expected a name");
+                return peeked = Token.NAME;
+            }
+            case DANGLING_NAME -> {
+                stack[stackSize - 1] = NONEMPTY_OBJECT;
+                if (nextNonWhitespace() != ':')
+                    throw syntaxError("Expected ':'");
+            }
+            case EMPTY_DOCUMENT -> stack[stackSize - 1] = NONEMPTY_DOCUMENT;
+            default -> {
+                if (nextNonWhitespace() == -1)
+                    return peeked = Token.END_DOCUMENT;
+                throw syntaxError("Expected the end of the document");
+            }
+        }
+        c = nextNonWhitespace();
+        switch (c) {
+            case '{':
+                return peeked = Token.BEGIN_OBJECT;
+            case '[':
+                return peeked = Token.BEGIN_ARRAY;
+            case '"':
+                return peeked = Token.STRING;
+            case 't':
+            case 'f':
+                pos--;
+                return peeked = Token.BOOLEAN;
+            case 'n':
+                pos--;
+                return peeked = Token.NULL;
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    pos--;
+                    return peeked = Token.NUMBER;
+                }
+                throw syntaxError("Unexpected character");
+        }
+    }
+
+    /**
+     * Method to consume the opening of an object <br>
+     * No-any params required
+     *
+     * @throws IOException when the next token is not {@link Token#BEGIN_OBJECT}
+     */
+    public void beginObject() throws IOException {
+        expect(Token.BEGIN_OBJECT);
+        push(EMPTY_OBJECT);
+    }
+
+    /**
+     * Method to consume the closing of an object <br>
+     * No-any params required
+     *
+     * @throws IOException when the next token is not {@link Token#END_OBJECT}
+     */
+    public void endObject() throws IOException {
+        expect(Token.END_OBJECT);
+        stackSize--;
+    }
+
+    /**
+     * Method to consume the opening of an array <br>
+     * No-any params required
+     *
+     * @throws IOException when the next token is not {@link Token#BEGIN_ARRAY}
+     */
+    public void beginArray() throws IOException {
+        expect(Token.BEGIN_ARRAY);
+        push(EMPTY_ARRAY);
+    }
+
+    /**
+     * Method to consume the closing of an array <br>
+     * No-any params required
+     *
+     * @throws IOException when the next token is not {@link Token#END_ARRAY}
+     */
+    public void endArray() throws IOException {
+        expect(Token.END_ARRAY);
+        stackSize--;
+    }
+
+    /**
+     * Method to check whether the current object or array has another element <br>
+     * No-any params required
+     *
+     * @return whether the current object or array has another element as boolean
+     * @throws IOException when the response is not a valid {@code "JSON"}
+     */
+    public boolean hasNext() throws IOException {
+        Token token = peek();
+        return token != Token.END_OBJECT && token != Token.END_ARRAY && token != Token.END_DOCUMENT;
+    }
+
+    /**
+     * Method to consume the name of the next property <br>
+     * No-any params required
+     *
+     * @return name of the property as {@link String}
+     * @throws IOException when the next token is not {@link Token#NAME}
+     */
+    public String nextName() throws IOException {
+        expect(Token.NAME);
+        return new String(scratch, 0, readString());
+    }
+
+    /**
+     * Method to consume a string value, a number value is returned with its textual representation <br>
+     * No-any params required
+     *
+     * @return value as {@link String}, null if the value is null
+     * @throws IOException when the next token is not a string or a number
+     */
+    public String nextString() throws IOException {
+        Token token = peek();
+        peeked = null;
+        return switch (token) {
+            case STRING -> new String(scratch, 0, readString());
+            case NUMBER -> new String(scratch, 0, readNumber(false));
+            case NULL -> {
+                readLiteral("null");
+                yield null;
+            }
+            default -> throw syntaxError("Expected a string but was " + token);
+        };
+    }
+
+    /**
+     * Method to consume a number value, also when it is sent as string <br>
+     * No-any params required
+     *
+     * @return value as double
+     * @throws IOException when the next token is not a number
+     */
+    public double nextDouble() throws IOException {
+        return parseDouble(readNumberToken());
+    }
+
+    /**
+     * Method to consume a number value, also when it is sent as string, the decimal part is truncated <br>
+     * No-any params required
+     *
+     * @return value as long
+     * @throws IOException when the next token is not a number
+     */
+    public long nextLong() throws IOException {
+        int length = readNumberToken();
+        int i = scratch[0] == '-' ? 1 : 0;
+        if (i == length || length - i > 18)
+            return slowParseLong(length);
+        long value = 0;
+        for (; i < length; i++) {
+            char c = scratch[i];
+            if (c < '0' || c > '9')
+                return slowParseLong(length);
+            value = value * 10 + (c - '0');
+        }
+        return scratch[0] == '-' ? -value : value;
+    }
+
+    /**
+     * Method to consume a number value, also when it is sent as string, the decimal part is truncated <br>
+     * No-any params required
+     *
+     * @return value as int
+     * @throws IOException when the next token is not a number or is out of the int range
+     */
+    public int nextInt() throws IOException {
+        long value = nextLong();
+        if (value != (int) value)
+            throw syntaxError("Expected an int but was " + value);
+        return (int) value;
+    }
+
+    /**
+     * Method to consume a boolean value <br>
+     * No-any params required
+     *
+     * @return value as boolean
+     * @throws IOException when the next token is not a boolean
+     */
+    public boolean nextBoolean() throws IOException {
+        expect(Token.BOOLEAN);
+        if (buffer[pos] == 't') {
+            readLiteral("true");
+            return true;
+        }
+        readLiteral("false");
+        return false;
+    }
+
+    /**
+     * Method to consume a null value <br>
+     * No-any params required
+     *
+     * @throws IOException when the next token is not null
+     */
+    public void nextNull() throws IOException {
+        expect(Token.NULL);
+        readLiteral("null");
+    }
+
+    /**
+     * Method to skip the next value, with all its nested values <br>
+     * No-any params required
+     *
+     * @throws IOException when the response is not a valid {@code "JSON"}
+     */
+    public void skipValue() throws IOException {
+        int depth = 0;
+        do {
+            Token token = peek();
+            switch (token) {
+                case BEGIN_OBJECT -> {
+                    beginObject();
+                    depth++;
+                }
+                case BEGIN_ARRAY -> {
+                    beginArray();
+                    depth++;
+                }
+                case END_OBJECT -> {
+                    endObject();
+                    depth--;
+                }
+                case END_ARRAY -> {
+                    endArray();
+                    depth--;
+                }
+                case NAME, STRING -> {
+                    peeked = null;
+                    skipString();
+                }
+                case NUMBER -> {
+                    peeked = null;
+                    readNumber(false);
+                }
+                case BOOLEAN -> nextBoolean();
+                case NULL -> nextNull();
+                default -> throw syntaxError("Unexpected end of the document");
+            }
+        } while (depth > 0);
+    }
+
+    /**
+     * Method to skip the remaining elements of the current object or array and consume its closing <br>
+     * No-any params required
+     *
+     * @throws IOException when the response is not a valid {@code "JSON"}
+     */
+    public void skipRemaining() throws IOException {
+        while (hasNext()) {
+            if (peek() == Token.NAME)
+                nextName();
+            skipValue();
+        }
+        if (peek() == Token.END_ARRAY)
+            endArray();
+        else
+            endObject();
+    }
+
+    /**
+     * Method to get {@link #charsRead} instance <br>
+     * No-any params required
+     *
+     * @return {@link #charsRead} instance as long
+     */
+    public long getCharsRead() {
+        return charsRead;
+    }
+
+    /**
+     * Method to close the reader and the source of the chars <br>
+     * No-any params required
+     *
+     * @throws IOException when the source cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        peeked = null;
+        stackSize = 0;
+        in.close();
+    }
+
+    /**
+     * Method to consume the next token checking its type
+     *
+     * @param expected: type of the expected token
+     * @throws IOException when the next token has not the expected type
+     */
+    private void expect(Token expected) throws IOException {
+        Token token = peek();
+        if (token != expected)
+            throw syntaxError("Expected " + expected + " but was " + token);
+        peeked = null;
+    }
+
+    /**
+     * Method to open a new scope
+     *
+     * @param scope: scope to open
+     */
+    private void push(int scope) {
+        if (stackSize == stack.length) {
+            int[] newStack = new int[stackSize << 1];
+            System.arraycopy(stack, 0, newStack, 0, stackSize);
+            stack = newStack;
+        }
+        stack[stackSize++] = scope;
+    }
+
+    /**
+     * Method to consume a number token, sent as number or as string, copying its chars in the {@link #scratch} <br>
+     * No-any params required
+     *
+     * @return number of the chars of the number
+     * @throws IOException when the next token is not a number
+     */
+    private int readNumberToken() throws IOException {
+        Token token = peek();
+        peeked = null;
+        if (token == Token.NUMBER)
+            return readNumber(false);
+        if (token == Token.STRING)
+            return readNumber(true);
+        throw syntaxError("Expected a number but was " + token);
+    }
+
+    /**
+     * Method to copy the chars of a number in the {@link #scratch}
+     *
+     * @param quoted: whether the number is sent as string, so its closing quote has to be consumed
+     * @return number of the chars of the number
+     * @throws IOException when the number is not valid
+     */
+    private int readNumber(boolean quoted) throws IOException {
+        int length = 0;
+        while (true) {
+            if (pos == limit && !fillBuffer())
+                break;
+            char c = buffer[pos];
+            if ((c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E') {
+                if (length == scratch.length)
+                    growScratch();
+                scratch[length++] = c;
+                pos++;
+            } else
+                break;
+        }
+        if (quoted && (pos == limit && !fillBuffer() || buffer[pos++] != '"'))
+            throw syntaxError("Expected a number");
+        if (length == 0)
+            throw syntaxError("Expected a number");
+        return length;
+    }
+
+    /**
+     * Method to parse the number copied in the {@link #scratch} <br>
+     * The plain decimal numbers with at most fifteen significant digits, like the prices and the volumes sent by
+     * Kraken, are parsed without allocations and with the same exact result of {@link Double#parseDouble(String)}
+     *
+     * @param length: number of the chars of the number
+     * @return number as double
+     * @throws IOException when the number is not valid
+     */
+    private double parseDouble(int length) throws IOException {
+        boolean negative = scratch[0] == '-';
+        int i = negative ? 1 : 0;
+        if (i == length)
+            return slowParseDouble(length);
+        long mantissa = 0;
+        int decimals = -1;
+        boolean digits = false;
+        for (; i < length; i++) {
+            char c = scratch[i];
+            if (c >= '0' && c <= '9') {
+                mantissa = mantissa * 10 + (c - '0');
+                if (mantissa > MAX_EXACT_MANTISSA)
+                    return slowParseDouble(length);
+                if (decimals >= 0)
+                    decimals++;
+                digits = true;
+            } else if (c == '.' && decimals < 0)
+                decimals = 0;
+            else
+                return slowParseDouble(length);
+        }
+        if (!digits || decimals >= POWERS_OF_TEN.length)
+            return slowParseDouble(length);
+        double value = decimals > 0 ? mantissa / POWERS_OF_TEN[decimals] : mantissa;
+        return negative ? -value : value;
+    }
+
+    /**
+     * Method to parse the number copied in the {@link #scratch} with {@link Double#parseDouble(String)}
+     *
+     * @param length: number of the chars of the number
+     * @return number as double
+     * @throws IOException when the number is not valid
+     */
+    private double slowParseDouble(int length) throws IOException {
+        try {
+            return Double.parseDouble(new String(scratch, 0, length));
+        } catch (NumberFormatException e) {
+            throw syntaxError("Invalid number");
+        }
+    }
+
+    /**
+     * Method to parse the number copied in the {@link #scratch} with {@link Long#parseLong(String)}, the decimal part
+     * is truncated
+     *
+     * @param length: number of the chars of the number
+     * @return number as long
+     * @throws IOException when the number is not valid
+     */
+    private long slowParseLong(int length) throws IOException {
+        String number = new String(scratch, 0, length);
+        try {
+            return Long.parseLong(number);
+        } catch (NumberFormatException e) {
+            return (long) slowParseDouble(length);
+        }
+    }
+
+    /**
+     * Method to copy the chars of a string in the {@link #scratch}, the opening quote is already consumed <br>
+     * No-any params required
+     *
+     * @return number of the chars of the string
+     * @throws IOException when the string is not valid
+     */
+    private int readString() throws IOException {
+        int length = 0;
+        while (true) {
+            if (pos == limit && !fillBuffer())
+                throw syntaxError("Unterminated string");
+            char c = buffer[pos++];
+            if (c == '"')
+                return length;
+            if (c == '\\')
+                c = readEscape();
+            if (length == scratch.length)
+                growScratch();
+            scratch[length++] = c;
+        }
+    }
+
+    /**
+     * Method to skip the chars of a string, the opening quote is already consumed <br>
+     * No-any params required
+     *
+     * @throws IOException when the string is not valid
+     */
+    private void skipString() throws IOException {
+        while (true) {
+            if (pos == limit && !fillBuffer())
+                throw syntaxError("Unterminated string");
+            char c = buffer[pos++];
+            if (c == '"')
+                return;
+            if (c == '\\')
+                readEscape();
+        }
+    }
+
+    /**
+     * Method to read an escaped char, the backslash is already consumed <br>
+     * No-any params required
+     *
+     * @return escaped char
+     * @throws IOException when the escape sequence is not valid
+     */
+    private char readEscape() throws IOException {
+        if (pos == limit && !fillBuffer())
+            throw syntaxError("Unterminated escape sequence");
+        char c = buffer[pos++];
+        return switch (c) {
+            case 'b' -> '\b';
+            case 'f' -> '\f';
+            case 'n' -> '\n';
+            case 'r' -> '\r';
+            case 't' -> '\t';
+            case 'u' -> {
+                int value = 0;
+                for (int j = 0; j < 4; j++) {
+                    if (pos == limit && !fillBuffer())
+                        throw syntaxError("Unterminated escape sequence");
+                    int digit = Character.digit(buffer[pos++], 16);
+                    if (digit == -1)
+                        throw syntaxError("Invalid escape sequence");
+                    value = (value << 4) | digit;
+                }
+                yield (char) value;
+            }
+            default -> c;
+        };
+    }
+
+    /**
+     * Method to consume a literal value
+     *
+     * @param literal: literal value to consume
+     * @throws IOException when the next chars are not the literal value
+     */
+    private void readLiteral(String literal) throws IOException {
+        for (int j = 0; j < literal.length(); j++) {
+            if ((pos == limit && !fillBuffer()) || buffer[pos++] != literal.charAt(j))
+                throw syntaxError("Expected " + literal);
+        }
+    }
+
+    /**
+     * Method to get the next char that is not a whitespace <br>
+     * No-any params required
+     *
+     * @return next char that is not a whitespace, -1 if the end of the document has been reached
+     * @throws IOException when the source cannot be read
+     */
+    private int nextNonWhitespace() throws IOException {
+        while (pos < limit || fillBuffer()) {
+            char c = buffer[pos++];
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t')
+                return c;
+        }
+        return -1;
+    }
+
+    /**
+     * Method to fill the {@link #buffer} with the next chars of the source <br>
+     * No-any params required
+     *
+     * @return whether some chars have been read as boolean
+     * @throws IOException when the source cannot be read
+     */
+    private boolean fillBuffer() throws IOException {
+        pos = 0;
+        limit = 0;
+        int read;
+        while ((read = in.read(buffer, 0, buffer.length)) == 0) ;
+        if (read == -1)
+            return false;
+        limit = read;
+        charsRead += read;
+        return true;
+    }
+
+    /**
+     * Method to double the size of the {@link #scratch} <br>
+     * No-any params required
+     */
+    private void growScratch() {
+        char[] newScratch = new char[scratch.length << 1];
+        System.arraycopy(scratch, 0, newScratch, 0, scratch.length);
+        scratch = newScratch;
+    }
+
+    /**
+     * Method to create the exception thrown when the response is not a valid {@code "JSON"}
+     *
+     * @param message: message of the exception
+     * @return exception as {@link IOException}
+     */
+    private IOException syntaxError(String message) {
+        return new IOException(message + " in the response");
+    }
+
+}
@@ -0,0 +1,166 @@
+package com.tecknobit.krakenmanager.transport;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * The {@code KrakenSingleFlight} class is useful to coalesce the identical requests that are in flight at the same
+ * time <br>
+ * The first caller of a key sends the request, while the callers that arrive before its response share the same
+ * flight and receive the same value, or the same failure, without sending any other request. The key is forgotten as
+ * soon as its flight lands, so a later caller always sends a new request <br>
+ * When the value of a flight is mutable the callers can give a follow function, so each caller that joined the flight
+ * receives its own value derived from the shared one, es. decoded again from the same body
+ *
+ * @param <V> type of the value shared by the flights
+ * @author N7ghtm4r3 - Tecknobit
+ */
+public class KrakenSingleFlight<V> {
+
+    /**
+     * {@code Flight} is the interface useful to send the request of a flight
+     *
+     * @param <V> type of the value of the flight
+     */
+    @FunctionalInterface
+    public interface Flight<V> {
+
+        /**
+         * Method to send the request of the flight <br>
+         * No-any params required
+         *
+         * @return value of the flight as {@link V}
+         * @throws IOException when the request has been go wrong
+         */
+        V fly() throws IOException;
+
+    }
+
+    /**
+     * {@code flights} is the instance that memorizes the flights in progress by their keys
+     */
+    private final ConcurrentHashMap<String, CompletableFuture<V>> flights = new ConcurrentHashMap<>();
+
+    /**
+     * Method to execute a flight, joining the one in progress with the same key if it exists
+     *
+     * @param key:    key of the flight, es. the url of the request
+     * @param flight: flight to send when there is not a flight in progress with the same key
+     * @return value of the flight as {@link V}
+     * @throws IOException when the request has been go wrong or the calling thread has been interrupted while it was
+     *                     waiting for the flight
+     */
+    public V execute(String key, Flight<V> flight) throws IOException {
+        return execute(key, flight, UnaryOperator.identity());
+    }
+
+    /**
+     * Method to execute a flight, joining the one in progress with the same key if it exists
+     *
+     * @param key:    key of the flight, es. the url of the request
+     * @param flight: flight to send when there is not a flight in progress with the same key
+     * @param follow: function to derive the value of the caller from the shared one when the caller joined the flight
+     *                in progress, it is executed by the caller
+     * @return value of the flight as {@link V}
+     * @throws IOException when the request has been go wrong or the calling thread has been interrupted while it was
+     *                     waiting for the flight
+     */
+    public V execute(String key, Flight<V> flight, UnaryOperator<V> follow) throws IOException {
+        CompletableFuture<V> leader = new CompletableFuture<>();
+        CompletableFuture<V> current = flights.putIfAbsent(key, leader);
+        if (current != null)
+            return follow.apply(await(current));
+        V value;
+        try {
+            value = flight.fly();
+        } catch (Throwable throwable) {
+            flights.remove(key, leader);
+            leader.completeExceptionally(throwable);
+            throw throwable;
+        }
+        flights.remove(key, leader);
+        leader.complete(value);
+        return value;
+    }
+
+    /**
+     * Method to execute a flight asynchronously, joining the one in progress with the same key if it exists
+     *
+     * @param key:    key of the flight, es. the url of the request
+     * @param flight: flight to send when there is not a flight in progress with the same key
+     * @return value of the flight as {@link CompletableFuture} of {@link V}
+     */
+    public CompletableFuture<V> executeAsync(String key, Supplier<CompletableFuture<V>> flight) {
+        return executeAsync(key, flight, UnaryOperator.identity());
+    }
+
+    /**
+     * Method to execute a flight asynchronously, joining the one in progress with the same key if it exists
+     *
+     * @param key:    key of the flight, es. the url of the request
+     * @param flight: flight to send when there is not a flight in progress with the same key
+     * @param follow: function to derive the value of the caller from the shared one when the caller joined the flight
+     *                in progress, it is executed when the flight lands
+     * @return value of the flight as {@link CompletableFuture} of {@link V}
+     */
+    public CompletableFuture<V> executeAsync(String key, Supplier<CompletableFuture<V>> flight,
+                                             UnaryOperator<V> follow) {
+        CompletableFuture<V> leader = new CompletableFuture<>();
+        CompletableFuture<V> current = flights.putIfAbsent(key, leader);
+        if (current != null)
+            return current.thenApply(follow);
+        try {
+            flight.get().whenComplete((value, throwable) -> {
+                flights.remove(key, leader);
+                if (throwable != null)
+                    leader.completeExceptionally(throwable);
+                else
+                    leader.complete(value);
+            });
+        } catch (RuntimeException | Error e) {
+            flights.remove(key, leader);
+            leader.completeExceptionally(e);
+        }
+        return leader.copy();
+    }
+
+    /**
+     * Method to get the number of the flights in progress <br>
+     * No-any params required
+     *
+     * @return number of the flights in progress as int
+     */
+    public int getFlightsInProgress() {
+        return flights.size();
+    }
+
+    /**
+     * Method to wait for a flight in progress
+     *
+     * @param flight: flight to wait for
+     * @return value of the flight as {@link V}
+     * @throws IOException when the request has been go wrong or the calling thread has been interrupted while it was
+     *                     waiting for the flight
+     */
+    private V await(CompletableFuture<V> flight) throws IOException {
+        try {
+            return flight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            if (cause instanceof Error)
+                throw (Error) cause;
+            throw new IOException(cause.getMessage(), cause);
+        }
+    }
+
+}
@@ -0,0 +1,625 @@
+package com.tecknobit.krakenmanager.transport;
+
+import com.tecknobit.krakenmanager.KrakenManager.Params;
+import com.tecknobit.krakenmanager.metrics.KrakenRequestTrace;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.http.HttpResponse;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+
+import static com.tecknobit.krakenmanager.KrakenManager.BASE_ENDPOINT;
+import static com.tecknobit.krakenmanager.privates.userdata.records.orders.Order.OFlag.post;
+import static com.tecknobit.krakenmanager.privates.userdata.records.orders.Order.OrderType.limit;
+import static com.tecknobit.krakenmanager.privates.usertrading.KrakenUserTradingManager.*;
+import static com.tecknobit.krakenmanager.publics.market.KrakenMarketManager.GET_SERVER_TIME_ENDPOINT;
+import static com.tecknobit.krakenmanager.publics.market.KrakenMarketManager.GET_SYSTEM_STATUS_ENDPOINT;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * The {@code KrakenStatusBreaker} class is useful to stop locally the requests that Kraken would refuse because of its
+ * system status, without waiting for a full round trip <br>
+ * The system status is polled in background and the requests are checked against it before they are sent:
+ * <ul>
+ *     <li>
+ *         {@link Status#MAINTENANCE} -> the circuit is opened and all the requests fail fast
+ *     </li>
+ *     <li>
+ *         {@link Status#CANCEL_ONLY} -> the new and the edited orders fail fast, the cancels and the other requests are
+ *         sent
+ *     </li>
+ *     <li>
+ *         {@link Status#POST_ONLY} -> the limit orders get the {@code "post"} flag, or fail fast when the
+ *         {@link #postOnlyPolicy} is {@link PostOnlyPolicy#REJECT}, the other orders fail fast
+ *     </li>
+ *     <li>
+ *         {@link Status#LIMIT_ONLY} -> the orders that are not limit orders fail fast
+ *     </li>
+ * </ul>
+ * The circuit is opened also when many consecutive responses are {@code "5xx"} or {@code "EService"} errors. While the
+ * circuit is open the system status is probed with an exponential backoff, the circuit is half-open during a probe
+ * and is closed again as soon as a probe finds Kraken available
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote see the official documentation at:
+ * <a href="https://docs.kraken.com/rest/#tag/Market-Data/operation/getSystemStatus">Get System Status</a>
+ * @implNote the status is polled only after the first request is checked, and until the breaker is closed
+ */
+public class KrakenStatusBreaker implements Closeable {
+
+    /**
+     * {@code Status} list of the system statuses of Kraken
+     */
+    public enum Status {
+
+        /**
+         * {@code ONLINE} Kraken is operating normally
+         */
+        ONLINE("online"),
+
+        /**
+         * {@code MAINTENANCE} Kraken is offline for maintenance
+         */
+        MAINTENANCE("maintenance"),
+
+        /**
+         * {@code CANCEL_ONLY} the orders can be only cancelled
+         */
+        CANCEL_ONLY("cancel_only"),
+
+        /**
+         * {@code POST_ONLY} only the post-only limit orders can be placed
+         */
+        POST_ONLY("post_only"),
+
+        /**
+         * {@code LIMIT_ONLY} only the limit orders can be placed
+         */
+        LIMIT_ONLY("limit_only");
+
+        /**
+         * {@code value} is the value of the status sent by Kraken
+         */
+        private final String value;
+
+        /**
+         * Constructor to init a {@link Status}
+         *
+         * @param value: value of the status sent by Kraken
+         */
+        Status(String value) {
+            this.value = value;
+        }
+
+        /**
+         * Method to get a status from its value
+         *
+         * @param value: value of the status sent by Kraken
+         * @return status as {@link Status}, {@link #ONLINE} if the value is not known
+         */
+        public static Status fromValue(String value) {
+            for (Status status : values())
+                if (status.value.equals(value))
+                    return status;
+            return ONLINE;
+        }
+
+        /**
+         * Returns a string representation of the object <br>
+         * No-any params required
+         *
+         * @return a string representation of the object as {@link String}
+         */
+        @Override
+        public String toString() {
+            return value;
+        }
+
+    }
+
+    /**
+     * {@code State} list of the states of the circuit
+     */
+    public enum State {
+
+        /**
+         * {@code CLOSED} the requests are sent
+         */
+        CLOSED,
+
+        /**
+         * {@code OPEN} the requests fail fast until the next probe
+         */
+        OPEN,
+
+        /**
+         * {@code HALF_OPEN} the system status is being probed, the requests fail fast until the probe succeeds
+         */
+        HALF_OPEN
+
+    }
+
+    /**
+     * {@code PostOnlyPolicy} list of the policies for the orders while the status is {@link Status#POST_ONLY}
+     */
+    public enum PostOnlyPolicy {
+
+        /**
+         * {@code ADD_FLAG} the {@code "post"} flag is added to the limit orders
+         */
+        ADD_FLAG,
+
+        /**
+         * {@code REJECT} the orders fail fast
+         */
+        REJECT
+
+    }
+
+    /**
+     * {@code CIRCUIT_OPEN_ERROR} is the error of the requests that fail fast because the circuit is open
+     */
+    public static final String CIRCUIT_OPEN_ERROR = "EBreaker:Circuit open";
+
+    /**
+     * {@code CANCEL_ONLY_ERROR} is the error of the orders that fail fast because the status is
+     * {@link Status#CANCEL_ONLY}
+     */
+    public static final String CANCEL_ONLY_ERROR = "EBreaker:Cancel only";
+
+    /**
+     * {@code POST_ONLY_ERROR} is the error of the orders that fail fast because the status is {@link Status#POST_ONLY}
+     */
+    public static final String POST_ONLY_ERROR = "EBreaker:Post only";
+
+    /**
+     * {@code LIMIT_ONLY_ERROR} is the error of the orders that fail fast because the status is
+     * {@link Status#LIMIT_ONLY}
+     */
+    public static final String LIMIT_ONLY_ERROR = "EBreaker:Limit only";
+
+    /**
+     * {@code DEFAULT_POLLING_INTERVAL} is the default interval, in milliseconds, between two polls of the status
+     */
+    public static final long DEFAULT_POLLING_INTERVAL = 30000;
+
+    /**
+     * {@code DEFAULT_FAILURE_THRESHOLD} is the default number of the consecutive failed responses that open the circuit
+     */
+    public static final int DEFAULT_FAILURE_THRESHOLD = 5;
+
+    /**
+     * {@code DEFAULT_MIN_BACKOFF} is the default minimum time, in milliseconds, between two probes while the circuit
+     * is open
+     */
+    public static final long DEFAULT_MIN_BACKOFF = 2000;
+
+    /**
+     * {@code DEFAULT_MAX_BACKOFF} is the default maximum time, in milliseconds, between two probes while the circuit
+     * is open
+     */
+    public static final long DEFAULT_MAX_BACKOFF = 60000;
+
+    /**
+     * {@code SERVICE_ERROR_PREFIX} is the prefix of the errors sent when the service of Kraken is degraded
+     */
+    private static final String SERVICE_ERROR_PREFIX = "EService:";
+
+    /**
+     * {@code EXEMPT_ENDPOINTS} are the endpoints always sent, useful to check the status of Kraken
+     */
+    private static final Set<String> EXEMPT_ENDPOINTS = Set.of(GET_SYSTEM_STATUS_ENDPOINT, GET_SERVER_TIME_ENDPOINT);
+
+    /**
+     * {@code ORDER_ENDPOINTS} are the endpoints that place or edit the orders
+     */
+    private static final Set<String> ORDER_ENDPOINTS = Set.of(ADD_ORDER_ENDPOINT, ADD_ORDER_BATCH_ENDPOINT,
+            EDIT_ORDER_ENDPOINT);
+
+    /**
+     * {@code scheduler} is the instance used to poll the status of all the breakers
+     */
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "kraken-status-breaker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * {@code statusEndpoint} is the endpoint polled to get the status
+     */
+    private final String statusEndpoint;
+
+    /**
+     * {@code transport} is the instance used to poll the status
+     */
+    private final KrakenTransport transport;
+
+    /**
+     * {@code pollingInterval} is the interval, in milliseconds, between two polls of the status
+     */
+    private volatile long pollingInterval;
+
+    /**
+     * {@code failureThreshold} is the number of the consecutive failed responses that open the circuit
+     */
+    private volatile int failureThreshold;
+
+    /**
+     * {@code minBackoff} is the minimum time, in milliseconds, between two probes while the circuit is open
+     */
+    private volatile long minBackoff;
+
+    /**
+     * {@code maxBackoff} is the maximum time, in milliseconds, between two probes while the circuit is open
+     */
+    private volatile long maxBackoff;
+
+    /**
+     * {@code postOnlyPolicy} is the policy for the orders while the status is {@link Status#POST_ONLY}
+     */
+    private volatile PostOnlyPolicy postOnlyPolicy;
+
+    /**
+     * {@code status} is the last status of Kraken
+     */
+    private volatile Status status;
+
+    /**
+     * {@code state} is the state of the circuit
+     */
+    private volatile State state;
+
+    /**
+     * {@code consecutiveFailures} is the number of the consecutive failed responses
+     */
+    private volatile int consecutiveFailures;
+
+    /**
+     * {@code backoff} is the current time, in milliseconds, between two probes, 0 if the circuit is closed
+     */
+    private long backoff;
+
+    /**
+     * {@code nextPoll} is the next poll of the status scheduled, null if the polling has not been started
+     */
+    private ScheduledFuture<?> nextPoll;
+
+    /**
+     * {@code started} whether the polling of the status has been started, read without locking by each check
+     */
+    private volatile boolean started;
+
+    /**
+     * {@code closed} whether the breaker has been closed
+     */
+    private boolean closed;
+
+    /**
+     * Constructor to init a {@link KrakenStatusBreaker} that polls the status of Kraken with the shared transport
+     * <br>
+     * No-any params required
+     */
+    public KrakenStatusBreaker() {
+        this(BASE_ENDPOINT, KrakenTransport.getSharedTransport());
+    }
+
+    /**
+     * Constructor to init a {@link KrakenStatusBreaker}
+     *
+     * @param baseEndpoint: base endpoint of the requests es. https://api.kraken.com/0
+     * @param transport:    transport used to poll the status
+     */
+    public KrakenStatusBreaker(String baseEndpoint, KrakenTransport transport) {
+        statusEndpoint = baseEndpoint + "/public/" + GET_SYSTEM_STATUS_ENDPOINT;
+        this.transport = transport;
+        pollingInterval = DEFAULT_POLLING_INTERVAL;
+        failureThreshold = DEFAULT_FAILURE_THRESHOLD;
+        minBackoff = DEFAULT_MIN_BACKOFF;
+        maxBackoff = DEFAULT_MAX_BACKOFF;
+        postOnlyPolicy = PostOnlyPolicy.ADD_FLAG;
+        status = Status.ONLINE;
+        state = State.CLOSED;
+    }
+
+    /**
+     * Method to check whether a request can be sent
+     *
+     * @param endpoint: endpoint of the request es. AddOrder
+     * @param params:   body params of the request, null if the request has not params, they are modified when the
+     *                  {@code "post"} flag is added
+     * @return error of the request as {@link String}, null if the request can be sent
+     * @implNote while the status is {@link Status#POST_ONLY} the {@code "post"} flag is added directly to the given
+     * params of the limit orders, according to the {@link #postOnlyPolicy}, so the params that are reused for more
+     * requests must be copied before they are checked. The check does not take any lock, the polling is started
+     * only by the first check
+     */
+    public String check(String endpoint, Params params) {
+        if (!started)
+            start();
+        if (EXEMPT_ENDPOINTS.contains(endpoint))
+            return null;
+        if (state != State.CLOSED)
+            return CIRCUIT_OPEN_ERROR;
+        if (!ORDER_ENDPOINTS.contains(endpoint))
+            return null;
+        boolean limitOrder = endpoint.equals(EDIT_ORDER_ENDPOINT) || endpoint.equals(ADD_ORDER_BATCH_ENDPOINT)
+                || (params != null && isLimitOrder(params));
+        switch (status) {
+            case MAINTENANCE:
+                return CIRCUIT_OPEN_ERROR;
+            case CANCEL_ONLY:
+                return CANCEL_ONLY_ERROR;
+            case POST_ONLY:
+                if (!limitOrder || postOnlyPolicy == PostOnlyPolicy.REJECT || params == null
+                        || endpoint.equals(ADD_ORDER_BATCH_ENDPOINT))
+                    return POST_ONLY_ERROR;
+                addPostFlag(params);
+                return null;
+            case LIMIT_ONLY:
+                return limitOrder ? null : LIMIT_ONLY_ERROR;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Method to check whether an order is a limit order
+     *
+     * @param params: body params of the order
+     * @return whether the order is a limit order as boolean
+     */
+    private static boolean isLimitOrder(Params params) {
+        Object orderType = params.getParam("ordertype");
+        return limit.toString().equals(String.valueOf(orderType));
+    }
+
+    /**
+     * Method to add the {@code "post"} flag to the flags of an order
+     *
+     * @param params: body params of the order
+     */
+    private static void addPostFlag(Params params) {
+        Object flags = params.getParam("oflags");
+        if (flags == null || String.valueOf(flags).isBlank())
+            params.addParam("oflags", post.name());
+        else if (!Set.of(String.valueOf(flags).split(",")).contains(post.name()))
+            params.addParam("oflags", flags + "," + post.name());
+    }
+
+    /**
+     * Method to record the outcome of a response, the circuit is opened when too many consecutive responses have
+     * been failed because of the service of Kraken
+     *
+     * @param statusCode: status code of the response
+     * @param errors:     errors of the response, null if it has not errors
+     * @implNote a successful response does not take any lock, the count of the consecutive failures is reset only
+     * when it is not zero
+     */
+    public void onResponse(int statusCode, String errors) {
+        if (statusCode < 500 && (errors == null || !errors.contains(SERVICE_ERROR_PREFIX))) {
+            if (consecutiveFailures != 0)
+                consecutiveFailures = 0;
+            return;
+        }
+        synchronized (this) {
+            if (++consecutiveFailures >= failureThreshold && state == State.CLOSED)
+                open();
+        }
+    }
+
+    /**
+     * Method to start the polling of the status, if it has not been started yet <br>
+     * No-any params required
+     */
+    public synchronized void start() {
+        if (started)
+            return;
+        started = true;
+        if (!closed)
+            schedulePoll(0);
+    }
+
+    /**
+     * Method to stop the polling of the status, the requests are then checked against the last status <br>
+     * No-any params required
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (nextPoll != null)
+            nextPoll.cancel(false);
+    }
+
+    /**
+     * Method to poll the status of Kraken, also used as probe while the circuit is open <br>
+     * No-any params required
+     */
+    private void poll() {
+        synchronized (this) {
+            if (closed)
+                return;
+            if (state == State.OPEN)
+                state = State.HALF_OPEN;
+        }
+        Status polled = null;
+        try {
+            KrakenRequestTrace trace = KrakenRequestTrace.start(GET_SYSTEM_STATUS_ENDPOINT);
+            HttpResponse<String> response = transport.sendGetRequest(statusEndpoint, -1, trace);
+            if (response.statusCode() < 500)
+                polled = decodeStatus(response.body());
+        } catch (IOException ignored) {
+        }
+        synchronized (this) {
+            if (closed)
+                return;
+            if (polled != null)
+                status = polled;
+            if (polled == null || polled == Status.MAINTENANCE) {
+                if (state == State.CLOSED && polled == null)
+                    schedulePoll(pollingInterval);
+                else
+                    open();
+            } else {
+                state = State.CLOSED;
+                consecutiveFailures = 0;
+                backoff = 0;
+                schedulePoll(pollingInterval);
+            }
+        }
+    }
+
+    /**
+     * Method to decode the status from the response of the {@code "SystemStatus"} endpoint
+     *
+     * @param response: response to decode
+     * @return status as {@link Status}, null if the response has not the status
+     * @throws IOException when the response is not valid
+     */
+    private static Status decodeStatus(String response) throws IOException {
+        Status status = null;
+        try (KrakenJsonReader reader = new KrakenJsonReader(new StringReader(response))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName().equals("result")) {
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        if (reader.nextName().equals("status"))
+                            status = Status.fromValue(reader.nextString());
+                        else
+                            reader.skipValue();
+                    }
+                    reader.endObject();
+                } else
+                    reader.skipValue();
+            }
+        }
+        return status;
+    }
+
+    /**
+     * Method to open the circuit and schedule the next probe, doubling the backoff <br>
+     * No-any params required
+     */
+    private void open() {
+        state = State.OPEN;
+        backoff = backoff == 0 ? minBackoff : Math.min(backoff * 2, maxBackoff);
+        schedulePoll(backoff);
+    }
+
+    /**
+     * Method to schedule the next poll of the status, replacing the one already scheduled
+     *
+     * @param delay: delay of the poll in milliseconds
+     */
+    private void schedulePoll(long delay) {
+        if (closed)
+            return;
+        if (nextPoll != null)
+            nextPoll.cancel(false);
+        nextPoll = scheduler.schedule(this::poll, delay, MILLISECONDS);
+    }
+
+    /**
+     * Method to get {@link #status} instance <br>
+     * No-any params required
+     *
+     * @return {@link #status} instance as {@link Status}
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Method to get {@link #state} instance <br>
+     * No-any params required
+     *
+     * @return {@link #state} instance as {@link State}
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Method to get {@link #pollingInterval} instance <br>
+     * No-any params required
+     *
+     * @return {@link #pollingInterval} instance as long
+     */
+    public long getPollingInterval() {
+        return pollingInterval;
+    }
+
+    /**
+     * Method to set {@link #pollingInterval} instance
+     *
+     * @param pollingInterval: interval, in milliseconds, between two polls of the status
+     * @throws IllegalArgumentException when the interval is lower than 1
+     */
+    public void setPollingInterval(long pollingInterval) {
+        if (pollingInterval < 1)
+            throw new IllegalArgumentException("The polling interval must be at least 1 millisecond");
+        this.pollingInterval = pollingInterval;
+    }
+
+    /**
+     * Method to get {@link #failureThreshold} instance <br>
+     * No-any params required
+     *
+     * @return {@link #failureThreshold} instance as int
+     */
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    /**
+     * Method to set {@link #failureThreshold} instance
+     *
+     * @param failureThreshold: number of the consecutive failed responses that open the circuit
+     * @throws IllegalArgumentException when the threshold is lower than 1
+     */
+    public void setFailureThreshold(int failureThreshold) {
+        if (failureThreshold < 1)
+            throw new IllegalArgumentException("The failure threshold must be at least 1");
+        this.failureThreshold = failureThreshold;
+    }
+
+    /**
+     * Method to set the backoff between two probes while the circuit is open
+     *
+     * @param minBackoff: minimum time, in milliseconds, between two probes
+     * @param maxBackoff: maximum time, in milliseconds, between two probes
+     * @throws IllegalArgumentException when the minimum is lower than 1 or greater than the maximum
+     */
+    public void setBackoff(long minBackoff, long maxBackoff) {
+        if (minBackoff < 1 || minBackoff > maxBackoff)
+            throw new IllegalArgumentException("The minimum backoff must be at least 1 and not greater than the " +
+                    "maximum");
+        this.minBackoff = minBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    /**
+     * Method to get {@link #postOnlyPolicy} instance <br>
+     * No-any params required
+     *
+     * @return {@link #postOnlyPolicy} instance as {@link PostOnlyPolicy}
+     */
+    public PostOnlyPolicy getPostOnlyPolicy() {
+        return postOnlyPolicy;
+    }
+
+    /**
+     * Method to set {@link #postOnlyPolicy} instance
+     *
+     * @param postOnlyPolicy: policy for the orders while the status is {@link Status#POST_ONLY}
+     */
+    public void setPostOnlyPolicy(PostOnlyPolicy postOnlyPolicy) {
+        this.postOnlyPolicy = postOnlyPolicy;
+    }
+
+}
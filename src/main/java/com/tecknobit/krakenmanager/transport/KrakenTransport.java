@@ -0,0 +1,386 @@
+package com.tecknobit.krakenmanager.transport;
+
+import com.tecknobit.krakenmanager.metrics.KrakenEndpointMetrics;
+import com.tecknobit.krakenmanager.metrics.KrakenMetrics;
+import com.tecknobit.krakenmanager.metrics.KrakenRequestListener.Stage;
+import com.tecknobit.krakenmanager.metrics.KrakenRequestTrace;
+
+import java.io.*;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import static com.tecknobit.krakenmanager.metrics.KrakenRequestListener.Stage.*;
+import static com.tecknobit.krakenmanager.transport.KrakenDecodingInputStream.DEFLATE_ENCODING;
+import static com.tecknobit.krakenmanager.transport.KrakenDecodingInputStream.GZIP_ENCODING;
+import static java.net.http.HttpClient.Version.HTTP_2;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The {@code KrakenTransport} class is useful to send the HTTP requests to the Kraken's API over a shared
+ * {@link HttpClient} <br>
+ * The same client is shared by all the managers, so the connections are kept alive and multiplexed with the
+ * {@code "HTTP/2"} protocol and many requests can be in flight without a dedicated thread for each of them <br>
+ * Both the synchronous and the asynchronous requests of the managers are sent by this transport, that records their
+ * latency and their failures in the {@link KrakenMetrics} <br>
+ * The requests ask for the compressed responses, the compressed bodies are decompressed while they are read, so the
+ * streamed responses are decompressed straight into the parser
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ */
+public class KrakenTransport {
+
+    /**
+     * {@code DEFAULT_REQUEST_TIMEOUT} is the default timeout, in milliseconds, used when a custom timeout is not set
+     */
+    public static final int DEFAULT_REQUEST_TIMEOUT = 10000;
+
+    /**
+     * {@code ACCEPT_ENCODING_HEADER} is constant for Accept-Encoding header
+     */
+    public static final String ACCEPT_ENCODING_HEADER = "Accept-Encoding";
+
+    /**
+     * {@code CONTENT_ENCODING_HEADER} is constant for Content-Encoding header
+     */
+    public static final String CONTENT_ENCODING_HEADER = "Content-Encoding";
+
+    /**
+     * {@code ACCEPTED_ENCODINGS} is the value of the {@link #ACCEPT_ENCODING_HEADER} sent with the requests
+     */
+    public static final String ACCEPTED_ENCODINGS = GZIP_ENCODING + ", " + DEFLATE_ENCODING;
+
+    /**
+     * {@code sharedTransport} is the instance shared by all the managers
+     */
+    private static volatile KrakenTransport sharedTransport;
+
+    /**
+     * {@code httpClient} is the instance used to send the requests
+     */
+    private final HttpClient httpClient;
+
+    /**
+     * {@code metrics} is the instance where the latency and the failures of the requests are recorded
+     */
+    private final KrakenMetrics metrics;
+
+    /**
+     * Constructor to init a {@link KrakenTransport}
+     *
+     * @param httpClient: client used to send the requests
+     */
+    public KrakenTransport(HttpClient httpClient) {
+        this(httpClient, KrakenMetrics.getSharedMetrics());
+    }
+
+    /**
+     * Constructor to init a {@link KrakenTransport}
+     *
+     * @param httpClient: client used to send the requests
+     * @param metrics:    metrics where the latency and the failures of the requests are recorded
+     */
+    public KrakenTransport(HttpClient httpClient, KrakenMetrics metrics) {
+        this.httpClient = httpClient;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Method to get the {@link KrakenTransport} shared by all the managers <br>
+     * No-any params required
+     *
+     * @return shared transport as {@link KrakenTransport}
+     */
+    public static KrakenTransport getSharedTransport() {
+        KrakenTransport transport = sharedTransport;
+        if (transport == null) {
+            synchronized (KrakenTransport.class) {
+                transport = sharedTransport;
+                if (transport == null) {
+                    transport = new KrakenTransport(HttpClient.newBuilder()
+                            .version(HTTP_2)
+                            .connectTimeout(Duration.ofMillis(DEFAULT_REQUEST_TIMEOUT))
+                            .build());
+                    sharedTransport = transport;
+                }
+            }
+        }
+        return transport;
+    }
+
+    /**
+     * Method to send a GET request
+     *
+     * @param url:            url of the request
+     * @param requestTimeout: timeout of the request in milliseconds, -1 to use the {@link #DEFAULT_REQUEST_TIMEOUT}
+     * @param trace:          trace of the request
+     * @return response of the request as {@link HttpResponse}
+     * @throws IOException when the request has been go wrong or the calling thread has been interrupted
+     */
+    public HttpResponse<String> sendGetRequest(String url, int requestTimeout,
+                                               KrakenRequestTrace trace) throws IOException {
+        return send(createRequest(url, requestTimeout).GET().build(), this::ofDecodedString, trace);
+    }
+
+    /**
+     * Method to send a POST request
+     *
+     * @param url:            url of the request
+     * @param headers:        headers of the request
+     * @param body:           body payload of the request
+     * @param requestTimeout: timeout of the request in milliseconds, -1 to use the {@link #DEFAULT_REQUEST_TIMEOUT}
+     * @param trace:          trace of the request
+     * @return response of the request as {@link HttpResponse}
+     * @throws IOException when the request has been go wrong or the calling thread has been interrupted
+     */
+    public HttpResponse<String> sendPostRequest(String url, Map<String, String> headers, String body,
+                                                int requestTimeout, KrakenRequestTrace trace) throws IOException {
+        return send(createPostRequest(url, headers, body, requestTimeout), this::ofDecodedString, trace);
+    }
+
+    /**
+     * Method to send a GET request reading its response as stream
+     *
+     * @param url:            url of the request
+     * @param requestTimeout: timeout of the request in milliseconds, -1 to use the {@link #DEFAULT_REQUEST_TIMEOUT}
+     * @param trace:          trace of the request
+     * @return response of the request as {@link HttpResponse}, its body stream has to be closed after the reading
+     * @throws IOException when the request has been go wrong or the calling thread has been interrupted
+     */
+    public HttpResponse<InputStream> sendGetRequestStream(String url, int requestTimeout,
+                                                          KrakenRequestTrace trace) throws IOException {
+        return send(createRequest(url, requestTimeout).GET().build(), this::ofDecodedStream, trace);
+    }
+
+    /**
+     * Method to send a POST request reading its response as stream
+     *
+     * @param url:            url of the request
+     * @param headers:        headers of the request
+     * @param body:           body payload of the request
+     * @param requestTimeout: timeout of the request in milliseconds, -1 to use the {@link #DEFAULT_REQUEST_TIMEOUT}
+     * @param trace:          trace of the request
+     * @return response of the request as {@link HttpResponse}, its body stream has to be closed after the reading
+     * @throws IOException when the request has been go wrong or the calling thread has been interrupted
+     */
+    public HttpResponse<InputStream> sendPostRequestStream(String url, Map<String, String> headers, String body,
+                                                           int requestTimeout,
+                                                           KrakenRequestTrace trace) throws IOException {
+        return send(createPostRequest(url, headers, body, requestTimeout), this::ofDecodedStream, trace);
+    }
+
+    /**
+     * Method to send a GET request asynchronously
+     *
+     * @param url:            url of the request
+     * @param requestTimeout: timeout of the request in milliseconds, -1 to use the {@link #DEFAULT_REQUEST_TIMEOUT}
+     * @param trace:          trace of the request
+     * @return response of the request as {@link CompletableFuture} of {@link HttpResponse}
+     */
+    public CompletableFuture<HttpResponse<String>> sendGetRequestAsync(String url, int requestTimeout,
+                                                                       KrakenRequestTrace trace) {
+        return sendAsync(createRequest(url, requestTimeout).GET().build(), trace);
+    }
+
+    /**
+     * Method to send a POST request asynchronously
+     *
+     * @param url:            url of the request
+     * @param headers:        headers of the request
+     * @param body:           body payload of the request
+     * @param requestTimeout: timeout of the request in milliseconds, -1 to use the {@link #DEFAULT_REQUEST_TIMEOUT}
+     * @param trace:          trace of the request
+     * @return response of the request as {@link CompletableFuture} of {@link HttpResponse}
+     */
+    public CompletableFuture<HttpResponse<String>> sendPostRequestAsync(String url, Map<String, String> headers,
+                                                                        String body, int requestTimeout,
+                                                                        KrakenRequestTrace trace) {
+        return sendAsync(createPostRequest(url, headers, body, requestTimeout), trace);
+    }
+
+    /**
+     * Method to send a request waiting for its response
+     *
+     * @param request:     request to send
+     * @param bodyHandler: creator of the handler of the body of the response
+     * @param trace:       trace of the request
+     * @return response of the request as {@link HttpResponse}
+     * @throws IOException when the request has been go wrong or the calling thread has been interrupted
+     */
+    private <T> HttpResponse<T> send(HttpRequest request,
+                                     Function<KrakenEndpointMetrics, HttpResponse.BodyHandler<T>> bodyHandler,
+                                     KrakenRequestTrace trace) throws IOException {
+        KrakenEndpointMetrics endpointMetrics = metrics.getEndpointMetrics(request.uri());
+        trace.mark(SENT);
+        long startTime = System.nanoTime();
+        try {
+            HttpResponse<T> response = httpClient.send(request, traceFirstByte(bodyHandler.apply(endpointMetrics),
+                    trace));
+            endpointMetrics.recordLatency(System.nanoTime() - startTime);
+            trace.mark(RECEIVED);
+            return response;
+        } catch (InterruptedException e) {
+            endpointMetrics.recordTransportFailure(e);
+            trace.mark(FAILED);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        } catch (IOException e) {
+            endpointMetrics.recordTransportFailure(e);
+            trace.mark(FAILED);
+            throw e;
+        }
+    }
+
+    /**
+     * Method to send a request asynchronously
+     *
+     * @param request: request to send
+     * @param trace:   trace of the request
+     * @return response of the request as {@link CompletableFuture} of {@link HttpResponse}
+     */
+    private CompletableFuture<HttpResponse<String>> sendAsync(HttpRequest request, KrakenRequestTrace trace) {
+        KrakenEndpointMetrics endpointMetrics = metrics.getEndpointMetrics(request.uri());
+        trace.mark(SENT);
+        long startTime = System.nanoTime();
+        return httpClient.sendAsync(request, traceFirstByte(ofDecodedString(endpointMetrics), trace))
+                .whenComplete((response, throwable) -> {
+                    if (throwable != null) {
+                        endpointMetrics.recordTransportFailure(throwable.getCause() != null ? throwable.getCause()
+                                : throwable);
+                        trace.mark(FAILED);
+                    } else {
+                        endpointMetrics.recordLatency(System.nanoTime() - startTime);
+                        trace.mark(RECEIVED);
+                    }
+                });
+    }
+
+    /**
+     * Method to create the handler of a body read as {@link String}, decompressed when it is compressed
+     *
+     * @param endpointMetrics: metrics where the bytes of the compressed bodies are recorded
+     * @return handler of the body as {@link HttpResponse.BodyHandler} of {@link String}
+     * @implNote the compressed body is received as bytes and decompressed straight into the {@link String}, using the
+     * {@code "UTF-8"} charset of the Kraken's responses. The whole compressed body is buffered before it is
+     * decompressed, because the decompression cannot block the thread of the {@code "HTTP"} client, and the
+     * {@link String} is the body of the payloads returned as {@code "JSON"} or as {@link String}, so the responses
+     * that have to be read without any intermediate {@link String} are sent with {@link #ofDecodedStream} and decoded
+     * by the {@link KrakenJsonReader}
+     */
+    private HttpResponse.BodyHandler<String> ofDecodedString(KrakenEndpointMetrics endpointMetrics) {
+        return responseInfo -> {
+            String encoding = getEncoding(responseInfo);
+            if (encoding == null)
+                return HttpResponse.BodyHandlers.ofString().apply(responseInfo);
+            return HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofByteArray(), body -> {
+                try (InputStream decoded = new KrakenDecodingInputStream(new ByteArrayInputStream(body), encoding,
+                        endpointMetrics)) {
+                    return new String(decoded.readAllBytes(), UTF_8);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        };
+    }
+
+    /**
+     * Method to create the handler of a body read as stream, decompressed while it is read when it is compressed
+     *
+     * @param endpointMetrics: metrics where the bytes of the compressed bodies are recorded
+     * @return handler of the body as {@link HttpResponse.BodyHandler} of {@link InputStream}
+     */
+    private HttpResponse.BodyHandler<InputStream> ofDecodedStream(KrakenEndpointMetrics endpointMetrics) {
+        return responseInfo -> {
+            String encoding = getEncoding(responseInfo);
+            if (encoding == null)
+                return HttpResponse.BodySubscribers.ofInputStream();
+            return HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofInputStream(),
+                    body -> new KrakenDecodingInputStream(body, encoding, endpointMetrics));
+        };
+    }
+
+    /**
+     * Method to get the encoding of the body of a response
+     *
+     * @param responseInfo: information of the response
+     * @return encoding as {@link String}, null if the body is not compressed or its encoding is not supported
+     */
+    private static String getEncoding(HttpResponse.ResponseInfo responseInfo) {
+        return KrakenDecodingInputStream.getEncoding(responseInfo.headers().firstValue(CONTENT_ENCODING_HEADER)
+                .orElse(null));
+    }
+
+    /**
+     * Method to mark the {@link Stage#FIRST_BYTE} stage of a request when its response headers are received
+     *
+     * @param bodyHandler: handler of the body of the response
+     * @param trace:       trace of the request
+     * @return handler of the body of the response as {@link HttpResponse.BodyHandler}, the same one when the trace is
+     * not active
+     */
+    private <T> HttpResponse.BodyHandler<T> traceFirstByte(HttpResponse.BodyHandler<T> bodyHandler,
+                                                           KrakenRequestTrace trace) {
+        if (!trace.isActive())
+            return bodyHandler;
+        return responseInfo -> {
+            trace.mark(FIRST_BYTE);
+            return bodyHandler.apply(responseInfo);
+        };
+    }
+
+    /**
+     * Method to create a POST request
+     *
+     * @param url:            url of the request
+     * @param headers:        headers of the request
+     * @param body:           body payload of the request
+     * @param requestTimeout: timeout of the request in milliseconds, -1 to use the {@link #DEFAULT_REQUEST_TIMEOUT}
+     * @return POST request as {@link HttpRequest}
+     */
+    private HttpRequest createPostRequest(String url, Map<String, String> headers, String body, int requestTimeout) {
+        HttpRequest.Builder builder = createRequest(url, requestTimeout);
+        headers.forEach(builder::header);
+        return builder.POST(HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+
+    /**
+     * Method to create the base builder of a request
+     *
+     * @param url:            url of the request
+     * @param requestTimeout: timeout of the request in milliseconds, -1 to use the {@link #DEFAULT_REQUEST_TIMEOUT}
+     * @return builder of the request as {@link HttpRequest.Builder}
+     */
+    private HttpRequest.Builder createRequest(String url, int requestTimeout) {
+        if (requestTimeout == -1)
+            requestTimeout = DEFAULT_REQUEST_TIMEOUT;
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofMillis(requestTimeout))
+                .header(ACCEPT_ENCODING_HEADER, ACCEPTED_ENCODINGS);
+    }
+
+    /**
+     * Method to get {@link #httpClient} instance <br>
+     * No-any params required
+     *
+     * @return {@link #httpClient} instance as {@link HttpClient}
+     */
+    public HttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    /**
+     * Method to get {@link #metrics} instance <br>
+     * No-any params required
+     *
+     * @return {@link #metrics} instance as {@link KrakenMetrics}
+     */
+    public KrakenMetrics getMetrics() {
+        return metrics;
+    }
+
+}
@@ -0,0 +1,1028 @@
+package com.tecknobit.krakenmanager.transport;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * The {@code KrakenWebSocket} class is useful to keep a connection with the WebSocket API of Kraken <br>
+ * The connection is opened again with an exponential backoff when it is lost or when Kraken does not send any
+ * message for the {@link #heartbeatTimeout}, and the subclasses restore their subscriptions each time it is opened. The
+ * requests sent on the connection are matched with their responses by their {@code "req_id"} and the messages of the channels
+ * are decoded while they are read, then delivered by the {@link #callbackExecutor}, so the listeners never block the
+ * reading of the connection
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote see the official documentation at: <a href="https://docs.kraken.com/api/docs/websocket-v2/ping">
+ * WebSocket v2</a>
+ */
+public abstract class KrakenWebSocket implements Closeable {
+
+    /**
+     * {@code State} list of the states of a connection
+     */
+    public enum State {
+
+        /**
+         * {@code CONNECTING} the connection is opening for the first time
+         */
+        CONNECTING,
+
+        /**
+         * {@code CONNECTED} the connection is open
+         */
+        CONNECTED,
+
+        /**
+         * {@code RECONNECTING} the connection has been lost and it is opening again
+         */
+        RECONNECTING,
+
+        /**
+         * {@code CLOSED} the connection has been closed and it will not be opened again
+         */
+        CLOSED
+
+    }
+
+    /**
+     * {@code ConnectionListener} is the interface useful to be notified about the connection
+     */
+    public interface ConnectionListener {
+
+        /**
+         * Method invoked when the state of the connection changes
+         *
+         * @param state: new state of the connection
+         */
+        void onStateChanged(State state);
+
+        /**
+         * Method invoked when a message cannot be decoded, a request sent when the connection has been opened again
+         * has been refused or a listener has thrown an exception
+         *
+         * @param error: error occurred
+         */
+        default void onError(Throwable error) {
+        }
+
+    }
+
+    /**
+     * {@code DEFAULT_MIN_BACKOFF} is the default delay, in milliseconds, before opening again a connection lost
+     */
+    public static final long DEFAULT_MIN_BACKOFF = 1000;
+
+    /**
+     * {@code DEFAULT_MAX_BACKOFF} is the default maximum delay, in milliseconds, before opening again a connection lost
+     */
+    public static final long DEFAULT_MAX_BACKOFF = 30000;
+
+    /**
+     * {@code DEFAULT_HEARTBEAT_TIMEOUT} is the default time, in milliseconds, without messages after that the
+     * connection is considered lost
+     */
+    public static final long DEFAULT_HEARTBEAT_TIMEOUT = 15000;
+
+    /**
+     * {@code DEFAULT_RESPONSE_TIMEOUT} is the default time, in milliseconds, to wait the response of a request
+     */
+    public static final long DEFAULT_RESPONSE_TIMEOUT = 10000;
+
+    /**
+     * {@code scheduler} is the instance used to open again the connections and to check their heartbeats
+     */
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "kraken-websocket");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * {@code url} is the url of the WebSocket API es. wss://ws.kraken.com/v2
+     */
+    protected final String url;
+
+    /**
+     * {@code httpClient} is the instance used to open the connection
+     */
+    protected final HttpClient httpClient;
+
+    /**
+     * {@code callbackExecutor} is the instance used to deliver the messages to the listeners
+     */
+    protected volatile Executor callbackExecutor;
+
+    /**
+     * {@code ownedExecutor} is the executor created by the connection, shut down when it is closed, null when the
+     * {@link #callbackExecutor} has been set
+     */
+    private volatile ExecutorService ownedExecutor;
+
+    /**
+     * {@code connectionListener} is the instance notified about the connection, null if it has not been set
+     */
+    private volatile ConnectionListener connectionListener;
+
+    /**
+     * {@code pendingRequests} are the requests waiting for their responses by their {@code "req_id"}
+     */
+    private final ConcurrentHashMap<Long, PendingRequest> pendingRequests = new ConcurrentHashMap<>();
+
+    /**
+     * {@code requestIds} is the generator of the {@code "req_id"} of the requests
+     */
+    private final AtomicLong requestIds = new AtomicLong();
+
+    /**
+     * {@code connected} is the future completed when the connection is opened for the first time
+     */
+    private final CompletableFuture<Void> connected = new CompletableFuture<>();
+
+    /**
+     * {@code webSocket} is the current connection, null if it is not open
+     */
+    private volatile WebSocket webSocket;
+
+    /**
+     * {@code lastSend} is the last message sent, the messages are sent one after the other as the
+     * {@link WebSocket} requires
+     */
+    private CompletableFuture<?> lastSend = CompletableFuture.completedFuture(null);
+
+    /**
+     * {@code state} is the state of the connection
+     */
+    private volatile State state;
+
+    /**
+     * {@code heartbeat} is the task that checks the heartbeat of the connection
+     */
+    private ScheduledFuture<?> heartbeat;
+
+    /**
+     * {@code lastMessageTime} is the monotonic time, in nanoseconds, of the last message received
+     */
+    private volatile long lastMessageTime;
+
+    /**
+     * {@code minBackoff} is the delay, in milliseconds, before opening again a connection lost
+     */
+    private volatile long minBackoff = DEFAULT_MIN_BACKOFF;
+
+    /**
+     * {@code maxBackoff} is the maximum delay, in milliseconds, before opening again a connection lost
+     */
+    private volatile long maxBackoff = DEFAULT_MAX_BACKOFF;
+
+    /**
+     * {@code backoff} is the delay, in milliseconds, before the next attempt to open the connection
+     */
+    private long backoff = DEFAULT_MIN_BACKOFF;
+
+    /**
+     * {@code heartbeatTimeout} is the time, in milliseconds, without messages after that the connection is
+     * considered lost
+     */
+    private volatile long heartbeatTimeout = DEFAULT_HEARTBEAT_TIMEOUT;
+
+    /**
+     * {@code responseTimeout} is the time, in milliseconds, to wait the response of a request
+     */
+    private volatile long responseTimeout = DEFAULT_RESPONSE_TIMEOUT;
+
+    /**
+     * Constructor to init a {@link KrakenWebSocket}
+     *
+     * @param url:        url of the WebSocket API es. wss://ws.kraken.com/v2
+     * @param httpClient: client used to open the connection
+     */
+    protected KrakenWebSocket(String url, HttpClient httpClient) {
+        this.url = url;
+        this.httpClient = httpClient;
+    }
+
+    /**
+     * Method to open the connection <br>
+     * No-any params required
+     *
+     * @return future completed when the connection is open, the attempts are repeated with an exponential backoff
+     * until the connection is opened or closed
+     * @throws IllegalStateException when the connection has been closed
+     */
+    public synchronized CompletableFuture<Void> connect() {
+        if (state == State.CLOSED)
+            throw new IllegalStateException("The connection has been closed");
+        if (state == null) {
+            if (callbackExecutor == null) {
+                ownedExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "kraken-websocket-callbacks");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                callbackExecutor = ownedExecutor;
+            }
+            setState(State.CONNECTING);
+            open();
+        }
+        return connected;
+    }
+
+    /**
+     * Method to open a new connection <br>
+     * No-any params required
+     */
+    private void open() {
+        httpClient.newWebSocketBuilder()
+                .connectTimeout(Duration.ofMillis(responseTimeout))
+                .buildAsync(URI.create(url), new Listener())
+                .whenComplete((openedSocket, throwable) -> {
+                    if (throwable != null)
+                        scheduleReconnect();
+                    else
+                        onConnected(openedSocket);
+                });
+    }
+
+    /**
+     * Method invoked when a connection has been opened
+     *
+     * @param openedSocket: connection opened
+     */
+    private void onConnected(WebSocket openedSocket) {
+        synchronized (this) {
+            if (state == State.CLOSED) {
+                openedSocket.abort();
+                return;
+            }
+            webSocket = openedSocket;
+            lastSend = CompletableFuture.completedFuture(null);
+            lastMessageTime = System.nanoTime();
+            long period = Math.max(heartbeatTimeout / 4, 1);
+            heartbeat = scheduler.scheduleAtFixedRate(() -> checkHeartbeat(openedSocket), period, period,
+                    MILLISECONDS);
+            setState(State.CONNECTED);
+        }
+        CompletableFuture<Void> prepared;
+        try {
+            prepared = prepareOpen();
+        } catch (RuntimeException e) {
+            prepared = CompletableFuture.failedFuture(e);
+        }
+        prepared.whenComplete((ignored, throwable) -> onPrepared(openedSocket, throwable));
+    }
+
+    /**
+     * Method invoked when a connection opened has been prepared, the connection is dropped when it cannot be used
+     *
+     * @param openedSocket: connection opened
+     * @param throwable:    cause of the failure of the preparation, null if the connection can be used
+     */
+    private void onPrepared(WebSocket openedSocket, Throwable throwable) {
+        if (throwable != null) {
+            Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                    ? throwable.getCause() : throwable;
+            notifyError(cause);
+            openedSocket.abort();
+            onDisconnected(openedSocket, cause);
+            return;
+        }
+        if (webSocket != openedSocket)
+            return;
+        try {
+            onOpen();
+        } catch (RuntimeException e) {
+            notifyError(e);
+        }
+        synchronized (this) {
+            if (webSocket != openedSocket)
+                return;
+            backoff = minBackoff;
+        }
+        connected.complete(null);
+    }
+
+    /**
+     * Method to check the heartbeat of a connection, a ping is sent when the connection is idle and the connection is
+     * considered lost when there are not messages for the {@link #heartbeatTimeout}
+     *
+     * @param openedSocket: connection to check
+     */
+    private void checkHeartbeat(WebSocket openedSocket) {
+        long idle = (System.nanoTime() - lastMessageTime) / 1_000_000;
+        if (idle >= heartbeatTimeout) {
+            openedSocket.abort();
+            onDisconnected(openedSocket, new IOException("No messages received for " + idle + " ms"));
+        } else if (idle >= heartbeatTimeout / 2)
+            send(openedSocket, "{\"method\":\"ping\"}");
+    }
+
+    /**
+     * Method invoked when a connection has been lost
+     *
+     * @param lostSocket: connection lost
+     * @param cause:      cause of the loss
+     */
+    private void onDisconnected(WebSocket lostSocket, Throwable cause) {
+        synchronized (this) {
+            if (lostSocket != webSocket)
+                return;
+            webSocket = null;
+            if (heartbeat != null)
+                heartbeat.cancel(false);
+        }
+        failPendingRequests(cause);
+        if (state != State.CLOSED) {
+            setState(State.RECONNECTING);
+            scheduleReconnect();
+        }
+    }
+
+    /**
+     * Method to drop the current connection, it is opened again after the current backoff, useful when the connection
+     * cannot be used, es. when its subscriptions cannot be restored
+     *
+     * @param cause: cause of the drop, the requests waiting for their responses are completed exceptionally with it
+     */
+    protected void dropConnection(Throwable cause) {
+        WebSocket current = webSocket;
+        if (current != null) {
+            current.abort();
+            onDisconnected(current, cause);
+        }
+    }
+
+    /**
+     * Method to schedule a new attempt to open the connection after the current backoff <br>
+     * No-any params required
+     */
+    private synchronized void scheduleReconnect() {
+        if (state == State.CLOSED)
+            return;
+        long delay = backoff + ThreadLocalRandom.current().nextLong(backoff / 4 + 1);
+        backoff = Math.min(backoff * 2, maxBackoff);
+        scheduler.schedule(() -> {
+            if (state != State.CLOSED)
+                open();
+        }, delay, MILLISECONDS);
+    }
+
+    /**
+     * Method invoked when the connection has been opened, also when it has been opened again, useful to restore the
+     * subscriptions <br>
+     * No-any params required
+     */
+    protected abstract void onOpen();
+
+    /**
+     * Method invoked when the connection has been opened, before {@link #onOpen()}, useful to prepare what the
+     * connection needs without blocking the thread of the {@code "HTTP"} client, es. an authentication token <br>
+     * No-any params required
+     *
+     * @return future completed when the connection can be used, completed exceptionally when the connection cannot
+     * be used, in that case it is dropped and opened again after the backoff
+     * @implNote by default the connection can be used as soon as it has been opened
+     */
+    protected CompletableFuture<Void> prepareOpen() {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Method invoked when a message of a channel is received
+     *
+     * @param channel:  channel of the message es. ticker
+     * @param snapshot: whether the message is a snapshot of the channel
+     * @param reader:   reader positioned on the {@code "data"} value of the message, the value has to be consumed
+     * @throws IOException when the message is not valid
+     */
+    protected abstract void onData(String channel, boolean snapshot, KrakenJsonReader reader) throws IOException;
+
+    /**
+     * Method to send a request on the connection
+     *
+     * @param method:            method of the request es. subscribe
+     * @param params:            params of the request, null if the request has not params
+     * @param expectedResponses: number of the responses sent by Kraken, es. one for each symbol of a subscription
+     * @return future completed with the response, or with the first response refused when Kraken sends more
+     * responses, as {@link Response}, completed exceptionally with an {@link IOException} when the connection is not
+     * open or it has been lost, with a {@link TimeoutException} when the response has not been received in the
+     * {@link #responseTimeout}
+     */
+    protected CompletableFuture<Response> sendRequest(String method, Map<String, ?> params, int expectedResponses) {
+        WebSocket current = webSocket;
+        if (current == null)
+            return CompletableFuture.failedFuture(new IOException("The connection is not open"));
+        long requestId = requestIds.incrementAndGet();
+        StringBuilder request = new StringBuilder("{\"method\":\"").append(method).append('"');
+        if (params != null)
+            appendValue(request.append(",\"params\":"), params);
+        request.append(",\"req_id\":").append(requestId).append('}');
+        PendingRequest pendingRequest = new PendingRequest(Math.max(expectedResponses, 1));
+        pendingRequests.put(requestId, pendingRequest);
+        CompletableFuture<Response> response = pendingRequest.future
+                .orTimeout(responseTimeout, MILLISECONDS)
+                .whenComplete((ignored, throwable) -> pendingRequests.remove(requestId));
+        send(current, request.toString()).whenComplete((ignored, throwable) -> {
+            if (throwable != null)
+                pendingRequest.future.completeExceptionally(new IOException("The request has not been sent",
+                        throwable));
+        });
+        return response;
+    }
+
+    /**
+     * Method to send a message on a connection after the messages already sent
+     *
+     * @param openedSocket: connection where send the message
+     * @param text:         message to send
+     * @return future completed when the message has been sent
+     */
+    private synchronized CompletableFuture<?> send(WebSocket openedSocket, String text) {
+        CompletableFuture<?> sending = lastSend.handle((ignored, throwable) -> null)
+                .thenCompose(ignored -> openedSocket.sendText(text, true));
+        lastSend = sending;
+        return sending;
+    }
+
+    /**
+     * Method to handle a message received
+     *
+     * @param text: message received
+     */
+    private void onMessage(String text) {
+        lastMessageTime = System.nanoTime();
+        String channel = null;
+        boolean snapshot = false;
+        String method = null;
+        long requestId = -1;
+        boolean success = false;
+        String error = null;
+        Object result = null;
+        try (KrakenJsonReader reader = new KrakenJsonReader(new StringReader(text))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "channel" -> channel = reader.nextString();
+                    case "type" -> snapshot = "snapshot".equals(reader.nextString());
+                    case "data" -> {
+                        if (channel != null)
+                            onData(channel, snapshot, reader);
+                        else
+                            reader.skipValue();
+                    }
+                    case "method" -> method = reader.nextString();
+                    case "req_id" -> requestId = reader.nextLong();
+                    case "success" -> success = reader.nextBoolean();
+                    case "error" -> error = reader.nextString();
+                    case "result" -> result = readValue(reader);
+                    default -> reader.skipValue();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            notifyError(e);
+            return;
+        }
+        if (method != null && requestId != -1) {
+            PendingRequest pendingRequest = pendingRequests.get(requestId);
+            if (pendingRequest != null)
+                pendingRequest.onResponse(new Response(method, requestId, success, error, result));
+        }
+    }
+
+    /**
+     * Method to deliver a value to a listener with the {@link #callbackExecutor}
+     *
+     * @param delivery: delivery of the value
+     */
+    protected void deliver(Runnable delivery) {
+        callbackExecutor.execute(() -> {
+            try {
+                delivery.run();
+            } catch (RuntimeException e) {
+                notifyError(e);
+            }
+        });
+    }
+
+    /**
+     * Method to notify an error to the {@link #connectionListener}
+     *
+     * @param error: error occurred
+     */
+    protected void notifyError(Throwable error) {
+        ConnectionListener listener = connectionListener;
+        if (listener != null)
+            listener.onError(error);
+    }
+
+    /**
+     * Method to set the state of the connection notifying it to the {@link #connectionListener}
+     *
+     * @param state: new state of the connection
+     */
+    private void setState(State state) {
+        this.state = state;
+        ConnectionListener listener = connectionListener;
+        if (listener != null)
+            listener.onStateChanged(state);
+    }
+
+    /**
+     * Method to complete exceptionally all the requests waiting for their responses
+     *
+     * @param cause: cause of the failure
+     */
+    private void failPendingRequests(Throwable cause) {
+        for (PendingRequest pendingRequest : pendingRequests.values())
+            pendingRequest.future.completeExceptionally(new IOException("The connection has been lost", cause));
+        pendingRequests.clear();
+    }
+
+    /**
+     * Method to close the connection, it will not be opened again <br>
+     * No-any params required
+     */
+    @Override
+    public void close() {
+        WebSocket current;
+        synchronized (this) {
+            if (state == State.CLOSED)
+                return;
+            current = webSocket;
+            webSocket = null;
+            if (heartbeat != null)
+                heartbeat.cancel(false);
+            setState(State.CLOSED);
+        }
+        if (current != null)
+            current.sendClose(WebSocket.NORMAL_CLOSURE, "").whenComplete((ignored, throwable) -> current.abort());
+        failPendingRequests(new IOException("The connection has been closed"));
+        connected.completeExceptionally(new IOException("The connection has been closed"));
+        if (ownedExecutor != null)
+            ownedExecutor.shutdown();
+    }
+
+    /**
+     * Method to get whether the connection is open <br>
+     * No-any params required
+     *
+     * @return whether the connection is open as boolean
+     */
+    public boolean isConnected() {
+        return webSocket != null;
+    }
+
+    /**
+     * Method to get {@link #state} instance <br>
+     * No-any params required
+     *
+     * @return {@link #state} instance as {@link State}, null if the connection has not been opened yet
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Method to get {@link #url} instance <br>
+     * No-any params required
+     *
+     * @return {@link #url} instance as {@link String}
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * Method to set {@link #connectionListener} instance
+     *
+     * @param connectionListener: instance notified about the connection, null to not be notified
+     */
+    public void setConnectionListener(ConnectionListener connectionListener) {
+        this.connectionListener = connectionListener;
+    }
+
+    /**
+     * Method to set {@link #callbackExecutor} instance
+     *
+     * @param callbackExecutor: instance used to deliver the messages to the listeners
+     * @throws IllegalStateException when the connection has been already opened
+     * @apiNote the executor has to run the deliveries in order, es. with a single thread, to deliver the messages in
+     * the same order Kraken sent them, by default each connection has its own thread
+     */
+    public synchronized void setCallbackExecutor(Executor callbackExecutor) {
+        if (state != null)
+            throw new IllegalStateException("The executor has to be set before opening the connection");
+        this.callbackExecutor = Objects.requireNonNull(callbackExecutor);
+    }
+
+    /**
+     * Method to set the delays before opening again a connection lost
+     *
+     * @param minBackoff: delay, in milliseconds, of the first attempt
+     * @param maxBackoff: maximum delay, in milliseconds, the delay is doubled at each attempt
+     * @throws IllegalArgumentException when the delays are not valid
+     */
+    public synchronized void setBackoff(long minBackoff, long maxBackoff) {
+        if (minBackoff <= 0 || maxBackoff < minBackoff)
+            throw new IllegalArgumentException("The backoff delays are not valid");
+        this.minBackoff = minBackoff;
+        this.maxBackoff = maxBackoff;
+        backoff = minBackoff;
+    }
+
+    /**
+     * Method to get {@link #heartbeatTimeout} instance <br>
+     * No-any params required
+     *
+     * @return {@link #heartbeatTimeout} instance as long
+     */
+    public long getHeartbeatTimeout() {
+        return heartbeatTimeout;
+    }
+
+    /**
+     * Method to set {@link #heartbeatTimeout} instance
+     *
+     * @param heartbeatTimeout: time, in milliseconds, without messages after that the connection is considered lost
+     * @throws IllegalArgumentException when the timeout is not positive
+     * @apiNote the new timeout is used from the next opening of the connection
+     */
+    public void setHeartbeatTimeout(long heartbeatTimeout) {
+        if (heartbeatTimeout <= 0)
+            throw new IllegalArgumentException("The heartbeat timeout must be positive");
+        this.heartbeatTimeout = heartbeatTimeout;
+    }
+
+    /**
+     * Method to get {@link #responseTimeout} instance <br>
+     * No-any params required
+     *
+     * @return {@link #responseTimeout} instance as long
+     */
+    public long getResponseTimeout() {
+        return responseTimeout;
+    }
+
+    /**
+     * Method to set {@link #responseTimeout} instance
+     *
+     * @param responseTimeout: time, in milliseconds, to wait the response of a request
+     * @throws IllegalArgumentException when the timeout is not positive
+     */
+    public void setResponseTimeout(long responseTimeout) {
+        if (responseTimeout <= 0)
+            throw new IllegalArgumentException("The response timeout must be positive");
+        this.responseTimeout = responseTimeout;
+    }
+
+    /**
+     * Method to parse a timestamp sent by the WebSocket API
+     *
+     * @param timestamp: timestamp in {@code "RFC3339"} format es. 2023-09-25T07:49:37.708706Z
+     * @return timestamp in seconds as long, as the REST API sends them, -1 if the timestamp is null
+     */
+    protected static long parseTimestamp(String timestamp) {
+        if (timestamp == null)
+            return -1;
+        return Instant.parse(timestamp).getEpochSecond();
+    }
+
+    /**
+     * Method to read a value of a message as {@link Map}, {@link List}, {@link String}, {@link Double},
+     * {@link Boolean} or null
+     *
+     * @param reader: reader positioned on the value
+     * @return value read as {@link Object}
+     * @throws IOException when the value is not valid
+     */
+    protected static Object readValue(KrakenJsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case BEGIN_OBJECT -> {
+                LinkedHashMap<String, Object> object = new LinkedHashMap<>();
+                reader.beginObject();
+                while (reader.hasNext())
+                    object.put(reader.nextName(), readValue(reader));
+                reader.endObject();
+                return object;
+            }
+            case BEGIN_ARRAY -> {
+                ArrayList<Object> array = new ArrayList<>();
+                reader.beginArray();
+                while (reader.hasNext())
+                    array.add(readValue(reader));
+                reader.endArray();
+                return array;
+            }
+            case NUMBER -> {
+                return reader.nextDouble();
+            }
+            case BOOLEAN -> {
+                return reader.nextBoolean();
+            }
+            case NULL -> {
+                reader.nextNull();
+                return null;
+            }
+            default -> {
+                return reader.nextString();
+            }
+        }
+    }
+
+    /**
+     * Method to append a value to a request in {@code "JSON"} format
+     *
+     * @param request: request where append the value
+     * @param value:   value to append, {@link Map}, {@link Collection}, array, {@link Number}, {@link Boolean} or any
+     *                 other value appended as string
+     */
+    protected static void appendValue(StringBuilder request, Object value) {
+        if (value == null)
+            request.append("null");
+        else if (value instanceof Map<?, ?> map) {
+            request.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (entry.getValue() == null)
+                    continue;
+                if (!first)
+                    request.append(',');
+                appendValue(request, String.valueOf(entry.getKey()));
+                appendValue(request.append(':'), entry.getValue());
+                first = false;
+            }
+            request.append('}');
+        } else if (value instanceof Collection<?> collection)
+            appendValues(request, collection.toArray());
+        else if (value instanceof Object[] array)
+            appendValues(request, array);
+        else if (value instanceof Double || value instanceof Float) {
+            double number = ((Number) value).doubleValue();
+            request.append(Double.isFinite(number) ? BigDecimal.valueOf(number).toPlainString() : "null");
+        } else if (value instanceof Number || value instanceof Boolean)
+            request.append(value);
+        else {
+            String text = value.toString();
+            request.append('"');
+            for (int j = 0; j < text.length(); j++) {
+                char c = text.charAt(j);
+                switch (c) {
+                    case '"' -> request.append("\\\"");
+                    case '\\' -> request.append("\\\\");
+                    case '\n' -> request.append("\\n");
+                    case '\r' -> request.append("\\r");
+                    case '\t' -> request.append("\\t");
+                    default -> {
+                        if (c < 0x20)
+                            request.append(String.format("\\u%04x", (int) c));
+                        else
+                            request.append(c);
+                    }
+                }
+            }
+            request.append('"');
+        }
+    }
+
+    /**
+     * Method to append values to a request as {@code "JSON"} array
+     *
+     * @param request: request where append the values
+     * @param values:  values to append
+     */
+    private static void appendValues(StringBuilder request, Object[] values) {
+        request.append('[');
+        for (int j = 0; j < values.length; j++) {
+            if (j > 0)
+                request.append(',');
+            appendValue(request, values[j]);
+        }
+        request.append(']');
+    }
+
+    /**
+     * The {@code Listener} class is useful to receive the messages and the events of a connection
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     */
+    private class Listener implements WebSocket.Listener {
+
+        /**
+         * {@code message} is the buffer where the fragments of a message are joined
+         */
+        private final StringBuilder message = new StringBuilder();
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void onOpen(WebSocket openedSocket) {
+            openedSocket.request(1);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public CompletionStage<?> onText(WebSocket openedSocket, CharSequence data, boolean last) {
+            message.append(data);
+            if (last) {
+                String text = message.toString();
+                message.setLength(0);
+                onMessage(text);
+            }
+            openedSocket.request(1);
+            return null;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public CompletionStage<?> onClose(WebSocket closedSocket, int statusCode, String reason) {
+            onDisconnected(closedSocket, new IOException("The connection has been closed: " + statusCode + " "
+                    + reason));
+            return null;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void onError(WebSocket failedSocket, Throwable error) {
+            onDisconnected(failedSocket, error);
+        }
+
+    }
+
+    /**
+     * The {@code PendingRequest} class is useful to collect the responses of a request
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     */
+    private static final class PendingRequest {
+
+        /**
+         * {@code future} is the future completed with the response of the request
+         */
+        private final CompletableFuture<Response> future = new CompletableFuture<>();
+
+        /**
+         * {@code remaining} is the number of the responses not received yet
+         */
+        private final AtomicInteger remaining;
+
+        /**
+         * {@code refused} is the first response refused, null if all the responses have been successful
+         */
+        private volatile Response refused;
+
+        /**
+         * Constructor to init a {@link PendingRequest}
+         *
+         * @param expectedResponses: number of the responses sent by Kraken
+         */
+        private PendingRequest(int expectedResponses) {
+            remaining = new AtomicInteger(expectedResponses);
+        }
+
+        /**
+         * Method invoked when a response of the request is received
+         *
+         * @param response: response received
+         */
+        private void onResponse(Response response) {
+            if (!response.isSuccessful() && refused == null)
+                refused = response;
+            if (remaining.decrementAndGet() == 0)
+                future.complete(refused != null ? refused : response);
+        }
+
+    }
+
+    /**
+     * The {@code Response} class is useful to format the response of a request sent on the connection
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     */
+    public static final class Response {
+
+        /**
+         * {@code method} is the method of the request es. subscribe
+         */
+        private final String method;
+
+        /**
+         * {@code requestId} is the {@code "req_id"} of the request
+         */
+        private final long requestId;
+
+        /**
+         * {@code success} whether the request has been successful
+         */
+        private final boolean success;
+
+        /**
+         * {@code error} is the error of the request, null if the request has been successful
+         */
+        private final String error;
+
+        /**
+         * {@code result} is the result of the request, null if Kraken has not sent it
+         */
+        private final Object result;
+
+        /**
+         * Constructor to init a {@link Response}
+         *
+         * @param method:    method of the request es. subscribe
+         * @param requestId: {@code "req_id"} of the request
+         * @param success:   whether the request has been successful
+         * @param error:     error of the request, null if the request has been successful
+         * @param result:    result of the request, null if Kraken has not sent it
+         */
+        public Response(String method, long requestId, boolean success, String error, Object result) {
+            this.method = method;
+            this.requestId = requestId;
+            this.success = success;
+            this.error = error;
+            this.result = result;
+        }
+
+        /**
+         * Method to get {@link #method} instance <br>
+         * No-any params required
+         *
+         * @return {@link #method} instance as {@link String}
+         */
+        public String getMethod() {
+            return method;
+        }
+
+        /**
+         * Method to get {@link #requestId} instance <br>
+         * No-any params required
+         *
+         * @return {@link #requestId} instance as long
+         */
+        public long getRequestId() {
+            return requestId;
+        }
+
+        /**
+         * Method to get {@link #success} instance <br>
+         * No-any params required
+         *
+         * @return {@link #success} instance as boolean
+         */
+        public boolean isSuccessful() {
+            return success;
+        }
+
+        /**
+         * Method to get {@link #error} instance <br>
+         * No-any params required
+         *
+         * @return {@link #error} instance as {@link String}
+         */
+        public String getError() {
+            return error;
+        }
+
+        /**
+         * Method to get {@link #result} instance <br>
+         * No-any params required
+         *
+         * @return {@link #result} instance as {@link Object}, a {@link Map} when Kraken sent an object
+         */
+        public Object getResult() {
+            return result;
+        }
+
+        /**
+         * Returns a string representation of the object <br>
+         * No-any params required
+         *
+         * @return a string representation of the object as {@link String}
+         */
+        @Override
+        public String toString() {
+            return "Response{method=" + method + ", requestId=" + requestId + ", success=" + success
+                    + (success ? ", result=" + result : ", error=" + error) + "}";
+        }
+
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.tecknobit.krakenmanager;
+
+import org.junit.jupiter.api.Test;
+
+import static com.tecknobit.krakenmanager.KrakenError.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The {@code KrakenErrorTest} class is useful to test the lookup of the {@link KrakenError} by their codes, also when
+ * Kraken sends them with details
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ */
+public class KrakenErrorTest {
+
+    @Test
+    public void resolvesTheKnownCodes() {
+        for (KrakenError error : KrakenError.values()) {
+            assertSame(error, fromCode(error.getCode()), error.getCode());
+            assertEquals(error.getCode(), error.toString());
+            assertTrue(error.getCode().startsWith(error.getCategory() + ":"), error.getCode());
+        }
+    }
+
+    @Test
+    public void resolvesTheDetailedCodes() {
+        assertSame(INVALID_ARGUMENTS, fromCode("EGeneral:Invalid arguments:volume"));
+        assertSame(INVALID_ARGUMENTS, fromCode("EGeneral:Invalid arguments:price:must be positive"));
+        assertSame(INVALID_ARGUMENTS, fromCode("EGeneral:Invalid arguments:"));
+        assertSame(INDEX_UNAVAILABLE, fromCode("EGeneral:Invalid arguments:Index unavailable"));
+        assertSame(INDEX_UNAVAILABLE, fromCode("EGeneral:Invalid arguments:Index unavailable:XBTUSD"));
+        assertSame(INSUFFICIENT_FUNDS, fromCode("EOrder:Insufficient funds:XBT"));
+        assertSame(SERVICE_UNAVAILABLE, fromCode("EService:Unavailable:maintenance"));
+    }
+
+    @Test
+    public void resolvesTheUnknownCodesAsUnknown() {
+        assertSame(UNKNOWN, fromCode(null));
+        assertSame(UNKNOWN, fromCode(""));
+        assertSame(UNKNOWN, fromCode("EGeneral"));
+        assertSame(UNKNOWN, fromCode("EGeneral:"));
+        assertSame(UNKNOWN, fromCode("EGeneral:Invalid"));
+        assertSame(UNKNOWN, fromCode("EGeneral:Unknown"));
+        assertSame(UNKNOWN, fromCode("EOrder:Unknown reason:Insufficient funds"));
+        assertSame(UNKNOWN, fromCode("Invalid arguments:volume"));
+    }
+
+    @Test
+    public void classifiesTheErrors() {
+        assertEquals("EGeneral", INDEX_UNAVAILABLE.getCategory());
+        assertEquals("EOrder", ORDER_RATE_LIMIT_EXCEEDED.getCategory());
+        assertTrue(RATE_LIMIT_EXCEEDED.isRetryable());
+        assertTrue(SERVICE_UNAVAILABLE.isRetryable());
+        assertFalse(INVALID_KEY.isRetryable());
+        assertFalse(UNKNOWN.isRetryable());
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.tecknobit.krakenmanager.metrics;
+
+import com.tecknobit.krakenmanager.metrics.KrakenHistogram.Snapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The {@code KrakenHistogramTest} class is useful to test the bounds of the buckets of the {@link KrakenHistogram} and
+ * the percentiles computed from them
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ */
+public class KrakenHistogramTest {
+
+    @Test
+    public void countsTheSmallValuesExactly() {
+        for (long value = 0; value < 16; value++)
+            assertEquals(value, getUpperBound(value));
+    }
+
+    @Test
+    public void boundsTheBucketsContiguously() {
+        List<Long> values = new ArrayList<>();
+        for (long value = 0; value <= 10_000; value++)
+            values.add(value);
+        for (int exponent = 14; exponent < 63; exponent++) {
+            long power = 1L << exponent;
+            values.add(power - 1);
+            values.add(power);
+            values.add(power + 1);
+            values.add(power + (power >> 1));
+        }
+        values.add(Long.MAX_VALUE);
+        for (long value : values) {
+            long upperBound = getUpperBound(value);
+            assertTrue(upperBound >= value, value + " -> " + upperBound);
+            assertTrue(upperBound - value <= value / 8, value + " -> " + upperBound);
+            assertEquals(upperBound, getUpperBound(upperBound), String.valueOf(value));
+            if (upperBound < Long.MAX_VALUE)
+                assertTrue(getUpperBound(upperBound + 1) > upperBound, String.valueOf(value));
+        }
+    }
+
+    @Test
+    public void computesThePercentilesWithinTheBucketError() {
+        KrakenHistogram histogram = new KrakenHistogram();
+        for (long value = 1; value <= 1000; value++)
+            histogram.record(value);
+        Snapshot snapshot = histogram.snapshot();
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(500.5, snapshot.getMean());
+        assertEquals(1000, snapshot.getMax());
+        assertWithinBucketError(500, snapshot.getP50());
+        assertWithinBucketError(900, snapshot.getP90());
+        assertWithinBucketError(990, snapshot.getP99());
+        assertWithinBucketError(999, snapshot.getP999());
+        assertEquals(1, histogram.getValueAtPercentile(0));
+        assertEquals(1000, histogram.getValueAtPercentile(100));
+        assertEquals(1000, histogram.getValueAtPercentile(150));
+    }
+
+    @Test
+    public void clampsThePercentilesToTheMaximum() {
+        KrakenHistogram histogram = new KrakenHistogram();
+        histogram.record(1000);
+        assertEquals(1000, histogram.getValueAtPercentile(50));
+        assertEquals(1000, histogram.snapshot().getP999());
+    }
+
+    @Test
+    public void recordsTheNegativeValuesAsZero() {
+        KrakenHistogram histogram = new KrakenHistogram();
+        histogram.record(-5);
+        assertEquals(1, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getValueAtPercentile(50));
+        assertEquals(0.0, histogram.getMean());
+    }
+
+    @Test
+    public void describesAnEmptyDistribution() {
+        Snapshot snapshot = new KrakenHistogram().snapshot();
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0.0, snapshot.getMean());
+        assertEquals(0, snapshot.getP50());
+        assertEquals(0, snapshot.getP999());
+        assertEquals(0, snapshot.getMax());
+    }
+
+    /**
+     * Method to get the upper bound of the bucket of a value, recording it with the maximum value so the percentile is
+     * not clamped by the maximum recorded
+     *
+     * @param value: value to get the upper bound of its bucket
+     * @return upper bound of the bucket as long
+     */
+    private static long getUpperBound(long value) {
+        KrakenHistogram histogram = new KrakenHistogram();
+        histogram.record(value);
+        histogram.record(Long.MAX_VALUE);
+        return histogram.getValueAtPercentile(50);
+    }
+
+    /**
+     * Method to assert that a percentile is the upper bound of the bucket of its exact value
+     *
+     * @param expected: exact value of the percentile
+     * @param actual:   value of the percentile computed by the histogram
+     */
+    private static void assertWithinBucketError(long expected, long actual) {
+        assertTrue(actual >= expected && actual - expected <= expected / 8, expected + " -> " + actual);
+    }
+
+}
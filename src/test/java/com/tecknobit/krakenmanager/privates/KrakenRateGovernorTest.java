@@ -0,0 +1,109 @@
+package com.tecknobit.krakenmanager.privates;
+
+import com.tecknobit.krakenmanager.privates.KrakenRateGovernor.VerificationTier;
+import org.junit.jupiter.api.Test;
+
+import static com.tecknobit.krakenmanager.privates.KrakenRateGovernor.VerificationTier.*;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The {@code KrakenRateGovernorTest} class is useful to test the costs of the endpoints and the decay of the counter
+ * of the {@link KrakenRateGovernor}
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ */
+public class KrakenRateGovernorTest {
+
+    /**
+     * {@code TOLERANCE} is the decay of the counter allowed by the time elapsed during a test
+     */
+    private static final double TOLERANCE = 0.1;
+
+    @Test
+    public void chargesTheCostsOfTheEndpoints() {
+        assertEquals(2, KrakenRateGovernor.getCost("Ledgers"));
+        assertEquals(2, KrakenRateGovernor.getCost("QueryLedgers"));
+        assertEquals(2, KrakenRateGovernor.getCost("TradesHistory"));
+        assertEquals(1, KrakenRateGovernor.getCost("Balance"));
+        assertEquals(1, KrakenRateGovernor.getCost("OpenOrders"));
+        for (String endpoint : new String[]{"AddOrder", "AddOrderBatch", "EditOrder", "CancelOrder", "CancelAll",
+                "CancelAllOrdersAfter", "CancelOrderBatch"})
+            assertEquals(0, KrakenRateGovernor.getCost(endpoint), endpoint);
+    }
+
+    @Test
+    public void keepsTheLimitsOfTheTiers() {
+        assertEquals(15, STARTER.getMaxCounter());
+        assertEquals(0.33, STARTER.getDecayRate());
+        assertEquals(20, INTERMEDIATE.getMaxCounter());
+        assertEquals(0.5, INTERMEDIATE.getDecayRate());
+        assertEquals(20, PRO.getMaxCounter());
+        assertEquals(1.0, PRO.getDecayRate());
+    }
+
+    @Test
+    public void delaysTheRequestsOverTheCounter() {
+        KrakenRateGovernor governor = new KrakenRateGovernor(PRO);
+        for (int i = 0; i < PRO.getMaxCounter(); i++)
+            assertEquals(0, governor.reserve(1));
+        assertDelay(1, governor.reserve(1));
+        assertDelay(3, governor.reserve(2));
+        assertTrue(governor.getCounter() > PRO.getMaxCounter() + 3 - TOLERANCE);
+    }
+
+    @Test
+    public void decaysTheCounterOverTime() throws Exception {
+        KrakenRateGovernor governor = new KrakenRateGovernor(PRO);
+        governor.reserve(PRO.getMaxCounter());
+        MILLISECONDS.sleep(500);
+        double counter = governor.getCounter();
+        assertTrue(counter <= PRO.getMaxCounter() - 0.5, String.valueOf(counter));
+        assertTrue(counter > PRO.getMaxCounter() - 0.5 - TOLERANCE * 5, String.valueOf(counter));
+        assertFalse(governor.tryAcquire("Ledgers"));
+        assertTrue(governor.tryAcquire("AddOrder"));
+    }
+
+    @Test
+    public void triesToAcquireOnlyTheAvailableBudget() {
+        KrakenRateGovernor governor = new KrakenRateGovernor(STARTER);
+        for (int i = 0; i < STARTER.getMaxCounter() / 2; i++)
+            assertTrue(governor.tryAcquire("Ledgers"));
+        assertFalse(governor.tryAcquire("Ledgers"));
+        assertTrue(governor.tryAcquire("Balance"));
+        assertFalse(governor.tryAcquire("Balance"));
+        assertEquals(STARTER.getMaxCounter(), governor.getCounter(), TOLERANCE);
+    }
+
+    @Test
+    public void alignsTheCounterWhenTheRateLimitIsExceeded() {
+        KrakenRateGovernor governor = new KrakenRateGovernor(INTERMEDIATE);
+        governor.reserve(3);
+        governor.onRateLimitExceeded();
+        assertEquals(INTERMEDIATE.getMaxCounter(), governor.getCounter(), TOLERANCE);
+        assertFalse(governor.tryAcquire("Balance"));
+        governor.setTier(PRO);
+        assertSame(PRO, governor.getTier());
+    }
+
+    @Test
+    public void sharesTheGovernorOfTheSameApiKey() {
+        KrakenRateGovernor governor = KrakenRateGovernor.getSharedGovernor("governor-test-key");
+        assertSame(governor, KrakenRateGovernor.getSharedGovernor("governor-test-key"));
+        assertNotSame(governor, KrakenRateGovernor.getSharedGovernor("governor-test-other-key"));
+        assertSame(VerificationTier.STARTER, governor.getTier());
+    }
+
+    /**
+     * Method to assert the delay of a request
+     *
+     * @param seconds: the expected delay, in seconds, with the {@link VerificationTier#PRO} tier
+     * @param delay:   the delay, in nanoseconds, returned by the governor
+     */
+    private static void assertDelay(double seconds, long delay) {
+        double actual = (double) delay / SECONDS.toNanos(1);
+        assertTrue(actual <= seconds && actual > seconds - TOLERANCE, String.valueOf(actual));
+    }
+
+}
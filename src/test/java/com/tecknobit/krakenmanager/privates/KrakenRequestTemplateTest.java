@@ -0,0 +1,154 @@
+package com.tecknobit.krakenmanager.privates;
+
+import com.tecknobit.krakenmanager.KrakenManager.Params;
+import com.tecknobit.krakenmanager.privates.KrakenRequestTemplate.Field;
+import com.tecknobit.krakenmanager.privates.KrakenRequestTemplate.Request;
+import org.junit.jupiter.api.Test;
+
+import java.net.URLEncoder;
+
+import static com.tecknobit.krakenmanager.privates.KrakenRequestTemplate.MAX_FIELDS;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The {@code KrakenRequestTemplateTest} class is useful to test the encoding of the bodies of the requests of a
+ * {@link KrakenRequestTemplate}, with the decimal and the text values of its fields
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ */
+public class KrakenRequestTemplateTest {
+
+    /**
+     * {@code NONCE} is the nonce of the requests of the tests
+     */
+    private static final long NONCE = 1616492376594L;
+
+    @Test
+    public void encodesTheConstantParamsAndTheFields() {
+        KrakenRequestTemplate template = new KrakenRequestTemplate("AddOrder", new Params(),
+                "ordertype=limit&pair=XBTUSD&type=buy", Field.decimal("price"), Field.decimal("volume"));
+        Request request = template.request().set("price", 37500).set("volume", 1.25);
+        assertEquals("nonce=1616492376594&ordertype=limit&pair=XBTUSD&type=buy&price=37500&volume=1.25",
+                request.encode(NONCE).toString());
+        request.set(template.indexOf("volume"), 0.5);
+        assertEquals("nonce=1&ordertype=limit&pair=XBTUSD&type=buy&price=37500&volume=0.5",
+                request.encode(1).toString());
+        assertSame(request, template.request());
+        assertEquals("nonce=7&amount=2", new KrakenRequestTemplate("Withdraw", new Params(), null,
+                Field.decimal("amount")).request().set("amount", 2).encode(7).toString());
+    }
+
+    @Test
+    public void roundsTheDecimalsToEightDigits() {
+        assertDecimal("0", 0);
+        assertDecimal("1", 1.0);
+        assertDecimal("0.25", 0.25);
+        assertDecimal("27500.5", 27500.5);
+        assertDecimal("0.1", 0.1);
+        assertDecimal("0.3", 0.1 + 0.2);
+        assertDecimal("0.00000001", 0.00000001);
+        assertDecimal("0.0000001", 1e-7);
+        assertDecimal("0.12345679", 0.123456789);
+        assertDecimal("0.00012346", 0.000123456);
+        assertDecimal("2", 1.999999999);
+        assertDecimal("0", 0.000000001);
+        assertDecimal("10000000000", 1e10);
+        assertDecimal("12345678.12345678", 12345678.12345678);
+    }
+
+    @Test
+    public void encodesTheNegativeDecimals() {
+        assertDecimal("-1.5", -1.5);
+        assertDecimal("-27500.05", -27500.05);
+        assertDecimal("-0.00000001", -0.00000001);
+        assertDecimal("-0.12345679", -0.123456789);
+        assertDecimal("0", -0.0);
+        assertDecimal("0", -0.000000001);
+    }
+
+    @Test
+    public void rejectsTheDecimalsThatCannotBeEncoded() {
+        for (double value : new double[]{Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, 1e11, -1e11}) {
+            Request request = template(Field.decimal("price")).request().set("price", value);
+            assertThrows(IllegalArgumentException.class, () -> request.encode(NONCE), String.valueOf(value));
+        }
+    }
+
+    @Test
+    public void encodesTheTextsAsUrlEncoder() {
+        for (char c = 1; c < 0x80; c++)
+            assertText(URLEncoder.encode(String.valueOf(c), UTF_8), String.valueOf(c));
+        assertText("a+b%26c%3Dd", "a b&c=d");
+        assertText("%C3%A8+%E2%82%AC", "è €");
+        assertText("", "");
+        assertText("OUQ4SG-2XWEM-ABCDEF", new StringBuilder("OUQ4SG-2XWEM-ABCDEF"));
+    }
+
+    @Test
+    public void checksTheFieldsOfTheRequests() {
+        KrakenRequestTemplate template = template(Field.decimal("price"), Field.text("userref"));
+        Request request = template.request();
+        assertThrows(IllegalArgumentException.class, () -> request.set("price", "1"));
+        assertThrows(IllegalArgumentException.class, () -> request.set("userref", 1));
+        assertThrows(IllegalArgumentException.class, () -> request.set("volume", 1));
+        assertThrows(NullPointerException.class, () -> request.set("userref", null));
+        request.set("price", 1);
+        assertThrows(IllegalStateException.class, () -> request.encode(NONCE));
+        request.set("userref", "42");
+        assertEquals("nonce=1616492376594&price=1&userref=42", request.encode(NONCE).toString());
+        assertEquals(1, template.indexOf("userref"));
+        assertEquals("KrakenRequestTemplate{endpoint=AddOrder, fields=[price, userref]}", template.toString());
+    }
+
+    @Test
+    public void checksTheFieldsOfTheTemplates() {
+        assertThrows(IllegalArgumentException.class, () -> template(Field.decimal("price"), Field.text("price")));
+        Field[] fields = new Field[MAX_FIELDS];
+        for (int j = 0; j < MAX_FIELDS; j++)
+            fields[j] = Field.decimal("f" + j);
+        Request request = template(fields).request();
+        for (int j = 0; j < MAX_FIELDS - 1; j++)
+            request.set(j, j);
+        assertThrows(IllegalStateException.class, () -> request.encode(NONCE));
+        request.set(MAX_FIELDS - 1, 0.5);
+        assertTrue(request.encode(NONCE).toString().endsWith("&f30=30&f31=0.5"));
+        Field[] tooManyFields = new Field[MAX_FIELDS + 1];
+        System.arraycopy(fields, 0, tooManyFields, 0, MAX_FIELDS);
+        tooManyFields[MAX_FIELDS] = Field.decimal("f" + MAX_FIELDS);
+        assertThrows(IllegalArgumentException.class, () -> template(tooManyFields));
+    }
+
+    /**
+     * Method to create a template without constant params
+     *
+     * @param fields: fields of the template
+     * @return template as {@link KrakenRequestTemplate}
+     */
+    private static KrakenRequestTemplate template(Field... fields) {
+        return new KrakenRequestTemplate("AddOrder", new Params(), "", fields);
+    }
+
+    /**
+     * Method to assert the encoding of a decimal value
+     *
+     * @param expected: expected encoded value
+     * @param value:    value to encode
+     */
+    private static void assertDecimal(String expected, double value) {
+        CharSequence body = template(Field.decimal("price")).request().set("price", value).encode(NONCE);
+        assertEquals("nonce=" + NONCE + "&price=" + expected, body.toString(), String.valueOf(value));
+    }
+
+    /**
+     * Method to assert the encoding of a text value
+     *
+     * @param expected: expected encoded value
+     * @param value:    value to encode
+     */
+    private static void assertText(String expected, CharSequence value) {
+        CharSequence body = template(Field.text("userref")).request().set("userref", value).encode(NONCE);
+        assertEquals("nonce=" + NONCE + "&userref=" + expected, body.toString(), value.toString());
+    }
+
+}
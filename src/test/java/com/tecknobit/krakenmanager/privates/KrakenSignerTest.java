@@ -0,0 +1,98 @@
+package com.tecknobit.krakenmanager.privates;
+
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.concurrent.*;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The {@code KrakenSignerTest} class is useful to test the {@link KrakenSigner} against the signature example of the
+ * Kraken's documentation and against a plain {@code "HMAC-SHA512"} of the same message
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ */
+public class KrakenSignerTest {
+
+    /**
+     * {@code API_SIGN} is the private key of the signature example of the Kraken's documentation
+     */
+    private static final String API_SIGN = "kQH5HW/8p1uGOVjbgWA7FunAmGO8lsSUXNsu3eow76sz84Q18fWxnyRzBHCd3pd5nE9qa99HA"
+            + "ZtuZuj6F1huXg==";
+
+    /**
+     * {@code NONCE} is the nonce of the signature example of the Kraken's documentation
+     */
+    private static final long NONCE = 1616492376594L;
+
+    /**
+     * {@code BODY} is the encoded payload of the signature example of the Kraken's documentation
+     */
+    private static final String BODY = "nonce=1616492376594&ordertype=limit&pair=XBTUSD&price=37500&type=buy"
+            + "&volume=1.25";
+
+    /**
+     * {@code SIGNATURE} is the signature of the signature example of the Kraken's documentation
+     */
+    private static final String SIGNATURE = "4/dpxb3iT4tp/ZCVEwSnEsLxx0bqyhLpdfOpc6fn7OR8+UClSV5n9E6aSS8MPtnRfp32bAb0n"
+            + "mbRn6H8ndwLUQ==";
+
+    @Test
+    public void signsTheDocumentationExample() {
+        assertEquals(SIGNATURE, new KrakenSigner(API_SIGN).sign("AddOrder", NONCE, BODY));
+    }
+
+    @Test
+    public void reusesItsBuffersBetweenSignatures() throws Exception {
+        KrakenSigner signer = new KrakenSigner(API_SIGN);
+        String longBody = "nonce=7&" + "asset=XBT&".repeat(200) + "type=buy";
+        assertEquals(sign("Balance", 7, longBody), signer.sign("Balance", 7, longBody));
+        assertEquals(sign("Balance", 8, "nonce=8"), signer.sign("Balance", 8, "nonce=8"));
+        assertEquals(SIGNATURE, signer.sign("AddOrder", NONCE, new StringBuilder(BODY)));
+    }
+
+    @Test
+    public void signsConcurrentlyWithTheSameResult() throws Exception {
+        KrakenSigner signer = new KrakenSigner(API_SIGN);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CompletableFuture<?>[] signatures = new CompletableFuture<?>[64];
+            for (int j = 0; j < signatures.length; j++) {
+                signatures[j] = CompletableFuture.runAsync(() -> {
+                    for (int k = 0; k < 50; k++)
+                        assertEquals(SIGNATURE, signer.sign("AddOrder", NONCE, BODY));
+                }, executor);
+            }
+            CompletableFuture.allOf(signatures).get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void rejectsAnApiSignThatIsNotBase64() {
+        assertThrows(IllegalArgumentException.class, () -> new KrakenSigner("not base64!"));
+    }
+
+    /**
+     * Method to sign a request with a plain {@code "HMAC-SHA512"}, as described by the Kraken's documentation
+     *
+     * @param endpoint: endpoint of the request
+     * @param nonce:    nonce of the request
+     * @param body:     encoded body of the request
+     * @return signature as {@link String}
+     */
+    private static String sign(String endpoint, long nonce, String body) throws Exception {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest((nonce + body).getBytes(UTF_8));
+        Mac mac = Mac.getInstance("HmacSHA512");
+        mac.init(new SecretKeySpec(Base64.getDecoder().decode(API_SIGN), "HmacSHA512"));
+        mac.update(("/0/private/" + endpoint).getBytes(UTF_8));
+        return Base64.getEncoder().encodeToString(mac.doFinal(digest));
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.tecknobit.krakenmanager.privates.usertrading;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.tecknobit.krakenmanager.privates.KrakenRateGovernor.VerificationTier.*;
+import static com.tecknobit.krakenmanager.privates.usertrading.KrakenTradingRateLimiter.*;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The {@code KrakenTradingRateLimiterTest} class is useful to test the penalties and the decay of the counters of the
+ * {@link KrakenTradingRateLimiter}
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ */
+public class KrakenTradingRateLimiterTest {
+
+    /**
+     * {@code PAIR} is the pair of the orders of the tests
+     */
+    private static final String PAIR = "XBTUSD";
+
+    /**
+     * {@code TOLERANCE} is the decay of the counters allowed by the time elapsed during a test
+     */
+    private static final double TOLERANCE = 0.1;
+
+    @Test
+    public void decaysThePenaltiesWithTheAgeOfTheOrders() {
+        long[] ages = {0, 4_999, 5_000, 9_999, 10_000, 14_999, 15_000, 44_999, 45_000, 89_999, 90_000, 299_999,
+                300_000, 3_600_000};
+        int[] edits = {6, 6, 5, 5, 4, 4, 2, 2, 1, 1, 0, 0, 0, 0};
+        int[] cancels = {8, 8, 6, 6, 5, 5, 4, 4, 2, 2, 1, 1, 0, 0};
+        for (int j = 0; j < ages.length; j++) {
+            long age = MILLISECONDS.toNanos(ages[j]);
+            assertEquals(edits[j], getDecayingPenalty(age, EDIT_PENALTIES), "edit at " + ages[j]);
+            assertEquals(cancels[j], getDecayingPenalty(age, CANCEL_PENALTIES), "cancel at " + ages[j]);
+        }
+    }
+
+    @Test
+    public void penalisesTheFreshOrders() {
+        KrakenTradingRateLimiter limiter = new KrakenTradingRateLimiter(STARTER);
+        limiter.onOrdersAdded(PAIR, List.of("O1", "O2"), ADD_ORDER_PENALTY);
+        assertEquals(EDIT_ORDER_PENALTY + 6, limiter.getEditPenalty("O1"));
+        assertEquals(8, limiter.getCancelPenalty("O2"));
+        assertEquals(EDIT_ORDER_PENALTY, limiter.getEditPenalty("UNKNOWN"));
+        assertEquals(EDIT_ORDER_PENALTY, limiter.getEditPenalty(null));
+        assertEquals(0, limiter.getCancelPenalty("UNKNOWN"));
+        assertEquals(ADD_ORDER_PENALTY, limiter.getBatchPenalty(1));
+        assertEquals(ADD_ORDER_PENALTY + 7, limiter.getBatchPenalty(15));
+    }
+
+    @Test
+    public void chargesThePenaltiesOfTheOrders() {
+        KrakenTradingRateLimiter limiter = new KrakenTradingRateLimiter(STARTER);
+        limiter.onOrdersAdded(PAIR, List.of("O1", "O2"), ADD_ORDER_PENALTY);
+        limiter.onOrderEdited(PAIR, "O1", "O3");
+        assertEquals(EDIT_ORDER_PENALTY + 6, limiter.getEditPenalty("O3"));
+        assertEquals(0, limiter.getCancelPenalty("O1"));
+        limiter.onOrderCancelled("O2");
+        limiter.onOrderCancelled("O2");
+        assertEquals(ADD_ORDER_PENALTY + EDIT_ORDER_PENALTY + 6 + 8, limiter.getCounter(PAIR), TOLERANCE);
+        assertEquals(0, limiter.getCounter("ETHUSD"));
+        limiter.onAllOrdersCancelled();
+        assertEquals(0, limiter.getCancelPenalty("O3"));
+        assertTrue(limiter.canCancelOrder("O3"));
+    }
+
+    @Test
+    public void decaysTheCountersOverTime() throws Exception {
+        KrakenTradingRateLimiter limiter = new KrakenTradingRateLimiter(PRO);
+        assertEquals(180, limiter.getMaxCounter());
+        limiter.onRateLimitExceeded(PAIR);
+        assertEquals(180, limiter.getCounter(PAIR), TOLERANCE);
+        assertFalse(limiter.canAddOrder(PAIR));
+        MILLISECONDS.sleep(400);
+        double counter = limiter.getCounter(PAIR);
+        assertTrue(counter <= 180 - 0.4 * 3.75, String.valueOf(counter));
+        assertTrue(counter > 180 - 3.75, String.valueOf(counter));
+        assertTrue(limiter.canAddOrder(PAIR));
+        assertFalse(limiter.canAddOrderBatch(PAIR, 15));
+    }
+
+    @Test
+    public void keepsTheLimitsOfTheTiers() {
+        KrakenTradingRateLimiter limiter = new KrakenTradingRateLimiter(STARTER);
+        assertEquals(60, limiter.getMaxCounter());
+        assertEquals(1.0, limiter.getDecayRate());
+        limiter.setTier(INTERMEDIATE);
+        assertEquals(125, limiter.getMaxCounter());
+        assertEquals(2.34, limiter.getDecayRate());
+        limiter.setTier(PRO);
+        assertEquals(180, limiter.getMaxCounter());
+        assertEquals(3.75, limiter.getDecayRate());
+    }
+
+    @Test
+    public void sharesTheLimiterOfTheSameApiKey() {
+        KrakenTradingRateLimiter limiter = KrakenTradingRateLimiter.getSharedLimiter("limiter-test-key");
+        assertSame(limiter, KrakenTradingRateLimiter.getSharedLimiter("limiter-test-key"));
+        assertNotSame(limiter, KrakenTradingRateLimiter.getSharedLimiter("limiter-test-other-key"));
+        assertSame(STARTER, limiter.getTier());
+    }
+
+}
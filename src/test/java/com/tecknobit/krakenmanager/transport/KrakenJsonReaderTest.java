@@ -0,0 +1,117 @@
+package com.tecknobit.krakenmanager.transport;
+
+import com.tecknobit.krakenmanager.transport.KrakenJsonReader.Token;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The {@code KrakenJsonReaderTest} class is useful to test the {@link KrakenJsonReader}, its fast path to parse the
+ * numbers and the skip of the values not required
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ */
+public class KrakenJsonReaderTest {
+
+    /**
+     * {@code NUMBERS} are the numbers parsed by the fast path and by the slow path of the {@link KrakenJsonReader}
+     */
+    private static final String[] NUMBERS = {"0", "1", "-1", "0.1", "37500.0", "1.25", "-0.00012345", "0.000000001",
+            "123456789012345", "12345678.9012345", "999999999999999.9", "1e3", "1.5E-7", "-2.5e+10",
+            "0.12345678901234567", "1.0000000000000002", "0.3", "-0.0", "9007199254740993"};
+
+    @Test
+    public void parsesTheNumbersAsDoubleParseDouble() throws IOException {
+        for (String number : NUMBERS) {
+            double expected = Double.parseDouble(number);
+            assertEquals(expected, reader(number).nextDouble(), number);
+            assertEquals(expected, reader("\"" + number + "\"").nextDouble(), number);
+        }
+    }
+
+    @Test
+    public void parsesTheNumbersOfAnArray() throws IOException {
+        KrakenJsonReader reader = reader("[\"37500.1\",\"1.25000000\",1616492376,-3]");
+        reader.beginArray();
+        assertEquals(37500.1, reader.nextDouble());
+        assertEquals(1.25, reader.nextDouble());
+        assertEquals(1616492376L, reader.nextLong());
+        assertEquals(-3, reader.nextInt());
+        assertFalse(reader.hasNext());
+        reader.endArray();
+        assertEquals(Token.END_DOCUMENT, reader.peek());
+    }
+
+    @Test
+    public void truncatesTheDecimalPartOfTheLongs() throws IOException {
+        assertEquals(123, reader("123.9").nextLong());
+        assertEquals(-123, reader("-123.9").nextLong());
+        assertEquals(1616492376, reader("\"1616492376.5813\"").nextLong());
+        assertEquals(1500, reader("1.5e3").nextLong());
+    }
+
+    @Test
+    public void parsesTheLongsOutOfTheFastPath() throws IOException {
+        assertEquals(Long.MAX_VALUE, reader(Long.toString(Long.MAX_VALUE)).nextLong());
+        assertEquals(Long.MIN_VALUE, reader(Long.toString(Long.MIN_VALUE)).nextLong());
+        assertEquals(999999999999999999L, reader("999999999999999999").nextLong());
+        assertEquals(-7, reader("\"-7\"").nextLong());
+    }
+
+    @Test
+    public void rejectsTheIntsOutOfRange() {
+        assertThrows(IOException.class, () -> reader("2147483648").nextInt());
+        assertDoesNotThrow(() -> reader("-2147483648").nextInt());
+    }
+
+    @Test
+    public void rejectsTheMalformedNumbers() {
+        for (String number : new String[]{".", "-", "-.", "\".\"", "\"-\"", "1.2.3", "--1", "e5"}) {
+            assertThrows(IOException.class, () -> reader(number).nextDouble(), number);
+            assertThrows(IOException.class, () -> reader(number).nextLong(), number);
+        }
+    }
+
+    @Test
+    public void skipsTheNestedValues() throws IOException {
+        KrakenJsonReader reader = reader("{\"error\":[],\"skip\":{\"a\":[1,{\"b\":\"}]\"},[true,false,null]],"
+                + "\"c\":-1.5e3},\"result\":{\"last\":42}}");
+        reader.beginObject();
+        assertEquals("error", reader.nextName());
+        reader.skipValue();
+        assertEquals("skip", reader.nextName());
+        reader.skipValue();
+        assertEquals("result", reader.nextName());
+        reader.beginObject();
+        assertEquals("last", reader.nextName());
+        assertEquals(42, reader.nextInt());
+        reader.endObject();
+        reader.endObject();
+        assertEquals(Token.END_DOCUMENT, reader.peek());
+    }
+
+    @Test
+    public void skipsTheRemainingValues() throws IOException {
+        KrakenJsonReader reader = reader("[[\"1.5\",[2,3],{\"x\":null}],7]");
+        reader.beginArray();
+        reader.beginArray();
+        assertEquals(1.5, reader.nextDouble());
+        reader.skipRemaining();
+        assertEquals(7, reader.nextLong());
+        reader.endArray();
+    }
+
+    /**
+     * Method to create a {@link KrakenJsonReader} for a test
+     *
+     * @param json: the {@code "JSON"} to read
+     * @return reader as {@link KrakenJsonReader}
+     */
+    private static KrakenJsonReader reader(String json) {
+        return new KrakenJsonReader(new StringReader(json));
+    }
+
+}
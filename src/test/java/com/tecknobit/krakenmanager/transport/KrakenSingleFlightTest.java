@@ -0,0 +1,211 @@
+package com.tecknobit.krakenmanager.transport;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+import static java.lang.Thread.State.RUNNABLE;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The {@code KrakenSingleFlightTest} class is useful to test the coalescing of the flights of the
+ * {@link KrakenSingleFlight}, with the propagation of their values and of their failures
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ */
+public class KrakenSingleFlightTest {
+
+    /**
+     * {@code FOLLOWERS} is the number of the callers that join the flight in progress
+     */
+    private static final int FOLLOWERS = 7;
+
+    /**
+     * {@code KEY} is the key of the flights of the tests
+     */
+    private static final String KEY = "https://api.kraken.com/0/public/Assets";
+
+    /**
+     * {@code executor} is the executor of the callers of the tests
+     */
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    /**
+     * {@code singleFlight} is the instance under test
+     */
+    private final KrakenSingleFlight<StringBuilder> singleFlight = new KrakenSingleFlight<>();
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void coalescesTheFlightsInProgress() throws Exception {
+        AtomicInteger requests = new AtomicInteger();
+        CountDownLatch landing = new CountDownLatch(1);
+        List<Future<StringBuilder>> callers = startCallers(() -> {
+            requests.incrementAndGet();
+            await(landing);
+            return new StringBuilder("landed");
+        }, value -> value);
+        landing.countDown();
+        StringBuilder shared = callers.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<StringBuilder> caller : callers)
+            assertSame(shared, caller.get(5, TimeUnit.SECONDS));
+        assertEquals("landed", shared.toString());
+        assertEquals(1, requests.get());
+        assertEquals(0, singleFlight.getFlightsInProgress());
+        assertEquals("again", singleFlight.execute(KEY, () -> new StringBuilder("again")).toString());
+    }
+
+    @Test
+    public void givesTheFollowersTheirOwnValues() throws Exception {
+        CountDownLatch landing = new CountDownLatch(1);
+        List<Future<StringBuilder>> callers = startCallers(() -> {
+            await(landing);
+            return new StringBuilder("landed");
+        }, value -> new StringBuilder(value));
+        landing.countDown();
+        List<StringBuilder> values = new ArrayList<>();
+        for (Future<StringBuilder> caller : callers) {
+            StringBuilder value = caller.get(5, TimeUnit.SECONDS);
+            assertEquals("landed", value.toString());
+            for (StringBuilder other : values)
+                assertNotSame(other, value);
+            values.add(value);
+        }
+    }
+
+    @Test
+    public void propagatesTheFailureToTheFollowers() throws Exception {
+        CountDownLatch landing = new CountDownLatch(1);
+        List<Future<StringBuilder>> callers = startCallers(() -> {
+            await(landing);
+            throw new IOException("EService:Unavailable");
+        }, value -> value);
+        landing.countDown();
+        for (Future<StringBuilder> caller : callers) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> caller.get(5, TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof IOException);
+            assertEquals("EService:Unavailable", e.getCause().getMessage());
+        }
+        assertEquals(0, singleFlight.getFlightsInProgress());
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute(KEY, () -> {
+            throw new IllegalStateException();
+        }));
+        assertEquals(0, singleFlight.getFlightsInProgress());
+    }
+
+    @Test
+    public void landsTheFlightsFailedWithAnError() throws Exception {
+        CountDownLatch landing = new CountDownLatch(1);
+        List<Future<StringBuilder>> callers = startCallers(() -> {
+            await(landing);
+            throw new StackOverflowError();
+        }, value -> value);
+        landing.countDown();
+        for (Future<StringBuilder> caller : callers) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> caller.get(5, TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof StackOverflowError);
+        }
+        assertEquals(0, singleFlight.getFlightsInProgress());
+        assertEquals("again", singleFlight.execute(KEY, () -> new StringBuilder("again")).toString());
+        CompletableFuture<StringBuilder> failed = singleFlight.executeAsync(KEY, () -> {
+            throw new StackOverflowError();
+        });
+        assertTrue(failed.isCompletedExceptionally());
+        assertEquals(0, singleFlight.getFlightsInProgress());
+    }
+
+    @Test
+    public void coalescesTheAsyncFlightsInProgress() throws Exception {
+        AtomicInteger requests = new AtomicInteger();
+        CompletableFuture<StringBuilder> landing = new CompletableFuture<>();
+        List<CompletableFuture<StringBuilder>> callers = new ArrayList<>();
+        for (int j = 0; j <= FOLLOWERS; j++) {
+            callers.add(singleFlight.executeAsync(KEY, () -> {
+                requests.incrementAndGet();
+                return landing;
+            }, value -> new StringBuilder(value).append(" again")));
+        }
+        assertEquals(1, singleFlight.getFlightsInProgress());
+        landing.complete(new StringBuilder("landed"));
+        assertEquals("landed", callers.get(0).get(5, TimeUnit.SECONDS).toString());
+        for (int j = 1; j <= FOLLOWERS; j++)
+            assertEquals("landed again", callers.get(j).get(5, TimeUnit.SECONDS).toString());
+        assertEquals(1, requests.get());
+        assertEquals(0, singleFlight.getFlightsInProgress());
+    }
+
+    @Test
+    public void propagatesTheFailureToTheAsyncFollowers() {
+        CompletableFuture<StringBuilder> landing = new CompletableFuture<>();
+        CompletableFuture<StringBuilder> leader = singleFlight.executeAsync(KEY, () -> landing);
+        CompletableFuture<StringBuilder> follower = singleFlight.executeAsync(KEY, () -> {
+            throw new AssertionError("The follower must not send the request");
+        });
+        landing.completeExceptionally(new IOException("EService:Unavailable"));
+        for (CompletableFuture<StringBuilder> caller : List.of(leader, follower)) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> caller.get(5, TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof IOException);
+        }
+        CompletableFuture<StringBuilder> failed = singleFlight.executeAsync(KEY, () -> {
+            throw new IllegalStateException();
+        });
+        assertTrue(failed.isCompletedExceptionally());
+        assertEquals(0, singleFlight.getFlightsInProgress());
+    }
+
+    /**
+     * Method to start the leader of a flight and the {@link #FOLLOWERS} that join it, the followers are started when
+     * the leader is flying and this method returns when all of them are waiting for the flight
+     *
+     * @param flight: flight sent by the leader
+     * @param follow: function to derive the values of the followers
+     * @return callers, the leader as first, as {@link List} of {@link Future}
+     * @throws InterruptedException when the test has been interrupted
+     */
+    private List<Future<StringBuilder>> startCallers(KrakenSingleFlight.Flight<StringBuilder> flight,
+                                                     UnaryOperator<StringBuilder> follow)
+            throws InterruptedException {
+        List<Future<StringBuilder>> callers = new ArrayList<>();
+        List<Thread> waiting = new CopyOnWriteArrayList<>();
+        callers.add(executor.submit(() -> singleFlight.execute(KEY, flight, follow)));
+        while (singleFlight.getFlightsInProgress() == 0)
+            Thread.sleep(1);
+        for (int j = 0; j < FOLLOWERS; j++) {
+            callers.add(executor.submit(() -> {
+                waiting.add(Thread.currentThread());
+                return singleFlight.execute(KEY, () -> {
+                    throw new AssertionError("The follower must not send the request");
+                }, follow);
+            }));
+        }
+        while (waiting.size() < FOLLOWERS || waiting.stream().anyMatch(thread -> thread.getState() == RUNNABLE))
+            Thread.sleep(1);
+        return callers;
+    }
+
+    /**
+     * Method to wait for the landing of a flight
+     *
+     * @param landing: latch released when the flight can land
+     * @throws IOException when the test has been interrupted
+     */
+    private static void await(CountDownLatch landing) throws IOException {
+        try {
+            if (!landing.await(5, TimeUnit.SECONDS))
+                throw new IOException("The flight has not been released");
+        } catch (InterruptedException e) {
+            throw new IOException(e);
+        }
+    }
+
+}